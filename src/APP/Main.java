@@ -5,10 +5,63 @@ import EXECUTOR.*;
 import CORE.*;
 import UI.RelaxConsole;
 
+import java.nio.file.Path;
 import java.util.*;
 
+/**
+ * Entry point.
+ *
+ * <pre>
+ * java APP.Main                                 interactive console
+ * java APP.Main --script nightly.relax [--timing]   batch mode: no prompts, buffered output
+ * java APP.Main --data ./relax-data             keep relations in a directory across restarts
+ * java APP.Main --data ./relax-data --memory 268435456   ...loading them on first use, within 256 MiB
+ * </pre>
+ */
 public class Main {
     public static void main(String[] args) throws Exception {
-        new RelaxConsole().run();
+        Path script = null;
+        Path data = null;
+        long memory = Long.MAX_VALUE;
+        boolean timing = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--script" -> {
+                    if (i + 1 == args.length) usage();
+                    script = Path.of(args[++i]);
+                }
+                case "--data" -> {
+                    if (i + 1 == args.length) usage();
+                    data = Path.of(args[++i]);
+                }
+                case "--memory" -> {
+                    if (i + 1 == args.length) usage();
+                    try {
+                        memory = Long.parseLong(args[++i]);
+                        if (memory < 0) usage();
+                    } catch (NumberFormatException e) {
+                        usage();
+                    }
+                }
+                case "--timing" -> timing = true;
+                default -> usage();
+            }
+        }
+
+        RelaxConsole console = new RelaxConsole();
+        console.setTiming(timing);
+        console.setMemoryBudget(memory);
+        if (data != null) console.openStore(data);
+        try {
+            if (script == null) console.run();
+            else console.runScript(script);
+        } finally {
+            console.closeStore();
+        }
+    }
+
+    private static void usage() {
+        System.err.println("usage: java APP.Main [--script <file>] [--data <dir> [--memory <bytes>]] [--timing]");
+        System.exit(2);
     }
 }
@@ -88,6 +88,28 @@ public class Schema {
         return new Schema(attrs);
     }
 
+    /** @return names present in both schemas, in this schema's attribute order */
+    public List<String> commonAttributes(Schema other) {
+        List<String> out = new ArrayList<>();
+        for (Attribute a : attributes) if (other.has(a.name())) out.add(a.name());
+        return out;
+    }
+
+    /**
+     * Output schema of a natural join: left attrs, then the right attrs not already on the left.
+     * @throws IllegalArgumentException if a shared attribute has different types on the two sides
+     */
+    public static Schema naturalMerge(Schema left, Schema right) {
+        List<Attribute> attrs = new ArrayList<>(left.attributes);
+        for (Attribute a : right.attributes) {
+            if (!left.has(a.name())) { attrs.add(a); continue; }
+            if (left.typeOf(a.name()) != a.type())
+                throw new IllegalArgumentException("Natural join attribute " + a.name() + " has type "
+                        + left.typeOf(a.name()) + " on the left but " + a.type() + " on the right");
+        }
+        return new Schema(attrs);
+    }
+
     public static void checkCompatible(Schema a, Schema b) {
         if (!a.isCompatible(b)) {
             throw new IllegalArgumentException(
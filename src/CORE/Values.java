@@ -0,0 +1,72 @@
+package CORE;
+
+/**
+ * Typed comparison of attribute values.
+ *
+ * Responsibilities:
+ *  - Map a runtime value to its {@link CORE.DataType}.
+ *  - Compare two values of compatible types without raw {@code Comparable} casts;
+ *    INT and DOUBLE are compatible and compared as doubles.
+ *
+ * Collaborators:
+ *  - PARSER.EXPR.Binary : generic condition evaluation.
+ *  - EXECUTOR : compiled predicates, zone maps and column statistics.
+ *
+ * Example:
+ *  Values.compare(30, 30.5)    // < 0
+ *  Values.equal(30, 30.0)      // true
+ *  Values.compare("a", 1)      // IllegalArgumentException
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class Values {
+    private Values() {}
+
+    /** @return the type of {@code v}, or null for null */
+    public static DataType typeOf(Object v) {
+        if (v == null) return null;
+        if (v instanceof Integer) return DataType.INT;
+        if (v instanceof Double) return DataType.DOUBLE;
+        if (v instanceof String) return DataType.STRING;
+        if (v instanceof Boolean) return DataType.BOOL;
+        throw new IllegalArgumentException("Unsupported value type: " + v.getClass().getSimpleName());
+    }
+
+    public static boolean isNumeric(DataType t) {
+        return t == DataType.INT || t == DataType.DOUBLE;
+    }
+
+    /** @return true if values of types {@code a} and {@code b} can be ordered against each other */
+    public static boolean comparable(DataType a, DataType b) {
+        return a == b || isNumeric(a) && isNumeric(b);
+    }
+
+    /**
+     * Compare two non-null values of comparable types.
+     * @throws IllegalArgumentException if the types cannot be compared
+     */
+    public static int compare(Object a, Object b) {
+        if (a instanceof Integer x && b instanceof Integer y) return Integer.compare(x, y);
+        if (a instanceof Number x && b instanceof Number y) return Double.compare(x.doubleValue(), y.doubleValue());
+        if (a instanceof String x && b instanceof String y) return x.compareTo(y);
+        if (a instanceof Boolean x && b instanceof Boolean y) return Boolean.compare(x, y);
+        throw new IllegalArgumentException("Cannot compare " + describe(a) + " with " + describe(b));
+    }
+
+    /** Equality across numeric types ({@code 30 = 30.0}); values of other differing types are never equal. */
+    public static boolean equal(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) return compare(x, y) == 0;
+        return a != null && a.equals(b);
+    }
+
+    /** @return {@code v} converted to {@code type} where that is a widening (INT → DOUBLE), else {@code v} */
+    public static Object widen(Object v, DataType type) {
+        return type == DataType.DOUBLE && v instanceof Integer i ? Double.valueOf(i) : v;
+    }
+
+    private static String describe(Object v) {
+        DataType t = v == null ? null : typeOf(v);
+        return t == null ? "null" : t + " " + (v instanceof String ? "'" + v + "'" : v);
+    }
+}
@@ -10,6 +10,7 @@
  *  - {@link CORE.Attribute} : Represents a column in a relation (name + datatype)
  *  - {@link CORE.DataType}  : Enum for supported datatypes (e.g., INT, STRING)
  *  - {@link CORE.Schema}    : Holds a collection of attributes, representing the structure of a relation
+ *  - {@link CORE.Values}    : Typed comparison of attribute values (INT/DOUBLE widening)
  *
  * Collaborators:
  *  - PARSER package: consumes schemas and attributes when parsing queries
@@ -0,0 +1,111 @@
+package EXECUTOR;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * AdaptiveConjunction
+ *
+ * <p>An n-ary AND (or OR) of compiled terms whose evaluation order follows
+ * the data rather than the query text. One row in {@link #SAMPLE_EVERY} is
+ * profiled: every term is evaluated and timed, and its pass count updated.
+ * Every {@link #REORDER_EVERY} rows the terms are re-sorted so the one most
+ * likely to decide the row per nanosecond runs first.</p>
+ *
+ * <h3>Ordering</h3>
+ * <ul>
+ *   <li>AND — ascending {@code cost / (1 - passRate)}: cheap terms that reject many rows first.</li>
+ *   <li>OR — ascending {@code cost / passRate}: cheap terms that accept many rows first.</li>
+ *   <li>Statistics are halved after each reordering, so the order follows drifting data.</li>
+ *   <li>The learned order ({@link #order()}) is reported in query plans once the terms were reordered.</li>
+ * </ul>
+ *
+ * <p>Terms are side-effect free, so the order never changes the result. Not
+ * thread-safe: each evaluation of a selection compiles its own instance.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class AdaptiveConjunction implements RowPredicate {
+    /** Profile one row out of this many (a power of two). */
+    static final int SAMPLE_EVERY = 64;
+    /** Rows between two reorderings. */
+    static final int REORDER_EVERY = 4096;
+
+    private static final class Term {
+        final RowPredicate predicate;
+        final String label;
+        long nanos;     // total time over profiled rows
+        long passed;    // profiled rows it accepted
+        long sampled;   // profiled rows
+        double rank;
+
+        Term(RowPredicate predicate, String label) {
+            this.predicate = predicate;
+            this.label = label;
+        }
+    }
+
+    private final boolean and;
+    private final Term[] terms;
+    private final RowPredicate[] order;   // predicates of terms, in evaluation order
+    private long rows;
+    private int reorderings;
+
+    /**
+     * @param and    true for a conjunction, false for a disjunction
+     * @param labels the condition each term was compiled from, as shown in plans
+     */
+    AdaptiveConjunction(boolean and, List<RowPredicate> terms, List<String> labels) {
+        this.and = and;
+        this.terms = new Term[terms.size()];
+        for (int i = 0; i < this.terms.length; i++) this.terms[i] = new Term(terms.get(i), labels.get(i));
+        this.order = terms.toArray(new RowPredicate[0]);
+    }
+
+    @Override
+    public boolean test(InMemoryRow row) {
+        if ((++rows & (SAMPLE_EVERY - 1)) == 0) return profile(row);
+        for (RowPredicate p : order) {
+            if (p.test(row) != and) return !and;   // AND: first false decides; OR: first true
+        }
+        return and;
+    }
+
+    /** @return the labels of the terms in their current evaluation order */
+    List<String> order() {
+        return Arrays.stream(terms).map(t -> t.label).toList();
+    }
+
+    /** @return how many times the terms were re-sorted so far */
+    int reorderings() { return reorderings; }
+
+    private boolean profile(InMemoryRow row) {
+        boolean result = and;
+        for (Term t : terms) {
+            long start = System.nanoTime();
+            boolean p = t.predicate.test(row);
+            t.nanos += System.nanoTime() - start;
+            t.sampled++;
+            if (p) t.passed++;
+            if (p != and) result = !and;
+        }
+        if (rows % REORDER_EVERY == 0) reorder();
+        return result;
+    }
+
+    private void reorder() {
+        for (Term t : terms) {
+            double cost = Math.max(1, (double) t.nanos / Math.max(1, t.sampled));
+            double passRate = (t.passed + 0.5) / (t.sampled + 1.0);   // smoothed, never 0 or 1
+            t.rank = cost / (and ? 1 - passRate : passRate);
+            t.nanos /= 2;
+            t.passed /= 2;
+            t.sampled /= 2;
+        }
+        Arrays.sort(terms, Comparator.comparingDouble(t -> t.rank));
+        for (int i = 0; i < terms.length; i++) order[i] = terms[i].predicate;
+        reorderings++;
+    }
+}
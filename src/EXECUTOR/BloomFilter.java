@@ -0,0 +1,71 @@
+package EXECUTOR;
+
+import java.util.List;
+
+/**
+ * BloomFilter
+ *
+ * <p>Compact approximate set of join keys: about 10 bits per key and 7 probes,
+ * for a false-positive rate near 1%. {@link #mightContain} never returns false
+ * for a key that was added, so a row it rejects cannot find a join partner.</p>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>The bit array is a {@code long[]} sized to a power of two.</li>
+ *   <li>Probe positions use double hashing ({@code h1 + i·h2}) of one 64-bit key hash.</li>
+ *   <li>Keys compare by {@code equals}, as in {@link EXECUTOR.HashJoin}; an INT key never
+ *       matches a DOUBLE key of the same value.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class BloomFilter {
+    private static final int BITS_PER_KEY = 10;
+    private static final int PROBES = 7;
+
+    private final long[] words;
+    private final int mask;   // bit count - 1
+
+    /** @param expectedKeys number of keys that will be added (may be 0) */
+    BloomFilter(int expectedKeys) {
+        long bits = Math.max(64, Long.highestOneBit(Math.max(1L, (long) expectedKeys * BITS_PER_KEY) - 1) << 1);
+        bits = Math.min(bits, 1L << 30);
+        this.words = new long[(int) (bits >>> 6)];
+        this.mask = (int) bits - 1;
+    }
+
+    void add(List<Object> key) {
+        long h = hash(key);
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    boolean mightContain(List<Object> key) {
+        long h = hash(key);
+        int h1 = (int) h, h2 = (int) (h >>> 32) | 1;
+        for (int i = 0; i < PROBES; i++) {
+            int bit = (h1 + i * h2) & mask;
+            if ((words[bit >>> 6] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit hash of a key tuple (murmur3 finalizer over the combined value hashes); keys come
+     * from {@link EXECUTOR.JoinKeys#key}, whose numeric values are already widened to DOUBLE.
+     */
+    private static long hash(List<Object> key) {
+        long h = 0x9E3779B97F4A7C15L;
+        for (Object v : key) h = (h ^ v.hashCode()) * 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE5D9D5B4L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
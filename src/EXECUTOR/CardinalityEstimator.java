@@ -0,0 +1,149 @@
+package EXECUTOR;
+
+import CORE.Schema;
+import PARSER.EXPR.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CardinalityEstimator
+ *
+ * <p>Estimates the number of rows a subtree will produce, without evaluating
+ * it. Base relations contribute their actual size; predicates and join keys
+ * are estimated from {@link TableStats} when the relation has been analyzed
+ * ({@code :analyze}), and from fixed guesses otherwise.</p>
+ *
+ * <h3>Formulas</h3>
+ * <ul>
+ *   <li>σ — input rows × product of conjunct selectivities ({@link ColumnStats#selectivity}).</li>
+ *   <li>Equi-join — {@code |L|·|R| / max(ndv(L.k), ndv(R.k))} per key.</li>
+ *   <li>π / γ — bounded by the product of the distinct counts of the kept attributes.</li>
+ * </ul>
+ *
+ * <h3>Used by</h3>
+ * <ul>
+ *   <li>{@link EXECUTOR.Optimizer} — greedy ordering of natural-join chains.</li>
+ *   <li>{@link EXECUTOR.ExprEvaluator} — hash-join build side (and so the direction of runtime
+ *       filters) and whether a scan builds a zone map.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class CardinalityEstimator {
+    private final EvaluationContext ctx;
+    private final Optimizer optimizer;
+    private final Map<Expr, Double> memo = new IdentityHashMap<>();
+
+    CardinalityEstimator(EvaluationContext ctx, Optimizer optimizer) {
+        this.ctx = ctx;
+        this.optimizer = optimizer;
+    }
+
+    /** @return estimated output rows of {@code e} */
+    double rows(Expr e) {
+        Double known = memo.get(e);
+        if (known != null) return known;
+        double r = Math.max(0, estimate(e));
+        memo.put(e, r);
+        return r;
+    }
+
+    private double estimate(Expr e) {
+        if (e instanceof RelationRef r) return ctx.table(r.name()).size();
+        if (e instanceof Selection s) return rows(s.child()) * selectivity(s.condition(), s.child());
+        if (e instanceof Rename r) return rows(r.child());
+        if (e instanceof Sort t) return t.limit() == Sort.NO_LIMIT ? rows(t.child()) : Math.min(t.limit(), rows(t.child()));
+        if (e instanceof Projection p) {
+            double in = rows(p.child());
+            return p.distinct() ? Math.min(in, distinctCombos(p.child(), p.attrs())) : in;
+        }
+        if (e instanceof Aggregation a) {
+            double in = rows(a.child());
+            return a.groupBy().isEmpty() ? 1 : Math.min(in, distinctCombos(a.child(), a.groupBy()));
+        }
+        if (e instanceof SemiJoin s) return rows(s.left()) * 0.5;
+        if (e instanceof SetOp s) {
+            return switch (s.kind()) {
+                case UNION     -> rows(s.left()) + rows(s.right());
+                case INTERSECT -> Math.min(rows(s.left()), rows(s.right()));
+                case MINUS     -> rows(s.left());
+            };
+        }
+        if (e instanceof Join j) {
+            double product = rows(j.left()) * rows(j.right());
+            if (j.kind() == Join.Kind.CROSS) return product;
+            Schema ls = optimizer.schemaOf(j.left()), rs = optimizer.schemaOf(j.right());
+            JoinKeys keys = JoinKeys.forJoin(j, ls, rs);
+            if (!keys.isEqui()) return product * ColumnStats.DEFAULT_RANGE;
+            double out = product;
+            for (int i = 0; i < keys.leftKeys().size(); i++) {
+                out /= Math.max(1, Math.max(distinct(j.left(), keys.leftKeys().get(i)),
+                                            distinct(j.right(), keys.rightKeys().get(i))));
+            }
+            return out;
+        }
+        return 1;
+    }
+
+    /** Estimated fraction of the rows of {@code input} satisfying {@code cond}. */
+    double selectivity(Expr cond, Expr input) {
+        return selectivity(cond, input instanceof RelationRef r ? ctx.table(r.name()).statistics() : null);
+    }
+
+    /** Estimated fraction of rows satisfying {@code cond}, from {@code stats} if not null. */
+    static double selectivity(Expr cond, TableStats stats) {
+        double sel = 1;
+        for (Expr c : JoinKeys.conjuncts(cond)) sel *= conjunctSelectivity(c, stats);
+        return sel;
+    }
+
+    private static double conjunctSelectivity(Expr c, TableStats stats) {
+        if (c instanceof Binary b && b.op() == Op.OR) {
+            double l = conjunctSelectivity(b.left(), stats), r = conjunctSelectivity(b.right(), stats);
+            return l + r - l * r;
+        }
+        if (c instanceof Not n) return 1 - conjunctSelectivity(n.inner(), stats);
+        if (c instanceof Literal l && l.value() instanceof Boolean v) return v ? 1 : 0;
+        if (!(c instanceof Binary b)) return 0.5;
+        String attr = null;
+        Object value = null;
+        Op op = b.op();
+        if (b.left() instanceof AttrRef a && b.right() instanceof Literal l) { attr = a.name(); value = l.value(); }
+        else if (b.left() instanceof Literal l && b.right() instanceof AttrRef a) { attr = a.name(); value = l.value(); op = op.flipped(); }
+        ColumnStats col = stats == null || attr == null ? null : stats.column(attr);
+        if (col != null) return col.selectivity(op, value, stats.rowCount());
+        return op == Op.EQ ? ColumnStats.DEFAULT_EQ : op == Op.NEQ ? 1 - ColumnStats.DEFAULT_EQ : ColumnStats.DEFAULT_RANGE;
+    }
+
+    /** Estimated distinct values of {@code attr} in the output of {@code e}. */
+    double distinct(Expr e, String attr) {
+        double cap = rows(e);
+        Expr base = e;
+        while (true) {                   // follow the attribute down to the relation it comes from
+            if (base instanceof Selection s) base = s.child();
+            else if (base instanceof Rename r) base = r.child();
+            else if (base instanceof Sort t) base = t.child();
+            else if (base instanceof Projection p) base = p.child();
+            else if (base instanceof SemiJoin s) base = s.left();
+            else if (base instanceof Join j) base = optimizer.schemaOf(j.left()).has(attr) ? j.left() : j.right();
+            else break;
+        }
+        if (base instanceof RelationRef r) {
+            InMemoryTable t = ctx.table(r.name());
+            TableStats stats = t.statistics();
+            ColumnStats col = stats == null ? null : stats.column(attr);
+            double d = col != null ? col.distinct() : t.size();
+            return Math.min(d, cap);
+        }
+        return cap;
+    }
+
+    private double distinctCombos(Expr input, List<String> attrs) {
+        double d = 1;
+        for (String a : attrs) d *= distinct(input, a);
+        return d;
+    }
+}
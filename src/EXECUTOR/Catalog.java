@@ -0,0 +1,476 @@
+package EXECUTOR;
+
+import CORE.Schema;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Catalog
+ *
+ * <p>The named base relations of a session, versioned: every {@link #put} or
+ * {@link #remove} creates a new version. Queries read a {@link Snapshot} — the
+ * relations of one version — so replacing a relation never pulls a table out
+ * from under a running query.</p>
+ *
+ * <h3>Lazy relations and the memory budget</h3>
+ * <ul>
+ *   <li>A relation saved on disk can be registered by reference ({@link EXECUTOR.RelationSource});
+ *       registering one reads no rows, so a catalog of any size opens at once.</li>
+ *   <li>It is loaded the first time a snapshot (or {@link #get}) resolves its name, and counted
+ *       against the memory budget by {@link EXECUTOR.InMemoryTable#estimatedBytes()}.</li>
+ *   <li>While the resident relations exceed the budget, the least recently used ones are evicted,
+ *       to be loaded again on their next use. Only unchanged copies of a source are evicted: never a
+ *       relation read by an open snapshot, changed (or obtained with {@link #get}) since it was
+ *       loaded or saved, followed by a materialized view, or held only in memory. The budget is a
+ *       target, not a hard limit.</li>
+ *   <li>Statistics computed with {@link Snapshot#analyze} are kept with the registration and given
+ *       back to the table each time it is loaded, so an eviction does not lose them.</li>
+ * </ul>
+ *
+ * <h3>Table lifecycle</h3>
+ * <ul>
+ *   <li>A table replaced or removed from the catalog is <em>retired</em> at the version it
+ *       stopped being visible.</li>
+ *   <li>A retired table is released ({@link EXECUTOR.InMemoryTable#release()}, which frees the
+ *       native memory of off-heap tables) as soon as no open snapshot is older than that
+ *       version — immediately, if none is open.</li>
+ *   <li>Tables still in the catalog are never released, even if also registered under another name.</li>
+ *   <li>A table registered with {@link #putTransient} (a materialized view, derived from other relations)
+ *       is queried like any other but never saved by a checkpoint.</li>
+ * </ul>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * try (Catalog.Snapshot s = catalog.snapshot()) {
+ *     InMemoryTable result = new ExprEvaluator(new EvaluationContext(s, limits)).eval(ast);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>All methods are thread-safe.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class Catalog {
+    /** What {@link #info} knows about a relation; {@code table} is null while it is not loaded. */
+    public record Info(Schema schema, int rows, InMemoryTable table) { }
+
+    /** Figures of the relation cache, see {@link #cacheStats()}. */
+    public record CacheStats(long budget, long residentBytes, int resident, int relations, long loads, long evictions) { }
+
+    /**
+     * One relation as it must be saved by a checkpoint: copy {@code source} if it is non-null (the
+     * relation is unchanged since it was loaded from it), else write {@code table}.
+     */
+    record Registration(String name, Schema schema, int rows, RelationSource source, InMemoryTable table,
+                        long changes, Slot slot) { }
+
+    private final Map<String, Slot> entries = new LinkedHashMap<>();
+    /** Unmodifiable copy of {@link #entries} for the current version, shared by its snapshots. */
+    private Map<String, Slot> current = Map.of();
+    private long version;
+    /** Open snapshots per version. */
+    private final TreeMap<Long, Integer> pinned = new TreeMap<>();
+    private final List<Retired> retired = new ArrayList<>();
+    /** Resident entries of the current version, least recently used first. */
+    private final LinkedHashMap<Slot, Boolean> lru = new LinkedHashMap<>(16, 0.75f, true);
+    private long budget;
+    /** {@link Slot#savedChanges} of a table handed out for changes; no table has that many. */
+    private static final long HANDED_OUT = -1;
+    private long residentBytes, loads, evictions;
+
+    /** A registration last visible at version {@code lastVersion}. */
+    private record Retired(Slot slot, long lastVersion) { }
+
+    /** One registration of a name: a table in memory, a source on disk, or both. */
+    static final class Slot {
+        private final String name;
+        /** null while not loaded (or evicted) */
+        private InMemoryTable table;
+        /** null for relations that exist only in memory */
+        private RelationSource source;
+        private long bytes;
+        /** {@link InMemoryTable#changes()} when the table last matched {@link #source} */
+        private long savedChanges;
+        /** open snapshots that resolved this entry */
+        private int pins;
+        /** registered with {@link #putTransient}: left out of checkpoints */
+        private boolean isTransient;
+        /** statistics from the last analyze, handed back to the table whenever it is loaded; null if none */
+        private TableStats stats;
+
+        private Slot(String name, InMemoryTable table, RelationSource source) {
+            this.name = name;
+            this.table = table;
+            this.source = source;
+        }
+    }
+
+    /** A catalog without a memory budget: loaded relations stay resident. */
+    public Catalog() { this(Long.MAX_VALUE); }
+
+    /** @param memoryBudget bytes of resident relations above which unused ones are evicted */
+    public Catalog(long memoryBudget) { this.budget = requireBudget(memoryBudget); }
+
+    private static long requireBudget(long bytes) {
+        if (bytes < 0) throw new IllegalArgumentException("memory budget must be >= 0: " + bytes);
+        return bytes;
+    }
+
+    /** Change the memory budget, evicting at once if the resident relations now exceed it. */
+    public synchronized void setMemoryBudget(long bytes) {
+        budget = requireBudget(bytes);
+        evict();
+    }
+
+    /**
+     * @return the relation registered as {@code name} (loading it if needed), or null. Meant for
+     *         changing a relation in place: the table is not evicted before a checkpoint has saved
+     *         it (and it is unused again); queries should read through a {@link #snapshot()}.
+     * @throws UncheckedIOException if the relation cannot be loaded
+     */
+    public InMemoryTable get(String name) {
+        Slot e;
+        synchronized (this) { e = entries.get(name); }
+        return e == null ? null : resolve(e, null);
+    }
+
+    /** @return true if {@code name} is registered (nothing is loaded) */
+    public synchronized boolean contains(String name) { return entries.containsKey(name); }
+
+    /** @return schema, row count and (if loaded) table of relation {@code name}, or null; nothing is loaded */
+    public synchronized Info info(String name) {
+        Slot e = entries.get(name);
+        if (e == null) return null;
+        InMemoryTable t = e.table;
+        return t != null ? new Info(t.schema(), t.size(), t) : new Info(e.source.schema(), e.source.rows(), null);
+    }
+
+    /**
+     * Register {@code table} as {@code name}, replacing (and retiring) any previous table of that name.
+     * @return the replaced table, or null (also if it was not loaded)
+     */
+    public synchronized InMemoryTable put(String name, InMemoryTable table) {
+        return put(name, table, false);
+    }
+
+    /**
+     * Register {@code table} as {@code name} like {@link #put}, as a relation derived from others
+     * (a materialized view): checkpoints do not save it, so it does not come back as a base relation.
+     * @return the replaced table, or null (also if it was not loaded)
+     */
+    public synchronized InMemoryTable putTransient(String name, InMemoryTable table) {
+        return put(name, table, true);
+    }
+
+    private InMemoryTable put(String name, InMemoryTable table, boolean isTransient) {
+        Objects.requireNonNull(table, "table");
+        Slot e = new Slot(Objects.requireNonNull(name, "name"), table, null);
+        e.savedChanges = table.changes();
+        e.isTransient = isTransient;
+        e.stats = table.statistics();
+        Slot old = register(e);
+        return old == null ? null : old.table;
+    }
+
+    /** Register the relation saved in {@code source} as {@code name}, to be loaded when first used. */
+    synchronized void putStored(String name, RelationSource source) {
+        register(new Slot(Objects.requireNonNull(name, "name"), null, Objects.requireNonNull(source, "source")));
+    }
+
+    private Slot register(Slot e) {
+        Slot old = entries.put(e.name, e);
+        forget(old);
+        if (e.table != null) admit(e);
+        changed(old);
+        return old;
+    }
+
+    /** Drop relation {@code name}, retiring its table. @return the removed table, or null (also if not loaded) */
+    public synchronized InMemoryTable remove(String name) {
+        Slot old = entries.remove(name);
+        if (old == null) return null;
+        forget(old);
+        changed(old);
+        return old.table;
+    }
+
+    /** @return relation names, in registration order (a copy) */
+    public synchronized List<String> names() { return List.copyOf(entries.keySet()); }
+
+    public synchronized boolean isEmpty() { return entries.isEmpty(); }
+
+    /** @return the current version; 0 for a new catalog */
+    public synchronized long version() { return version; }
+
+    /** @return budget, resident relations and their estimated bytes, loads and evictions so far */
+    public synchronized CacheStats cacheStats() {
+        return new CacheStats(budget, residentBytes, lru.size(), entries.size(), loads, evictions);
+    }
+
+    /** Pin the current version until the returned snapshot is closed. */
+    public synchronized Snapshot snapshot() {
+        pinned.merge(version, 1, Integer::sum);
+        return new Snapshot(version, current);
+    }
+
+    private void changed(Slot old) {
+        current = Collections.unmodifiableMap(new LinkedHashMap<>(entries));
+        if (old != null) retired.add(new Retired(old, version));
+        version++;
+        releaseUnreachable();
+        evict();
+    }
+
+    private synchronized void unpin(long v) {
+        pinned.computeIfPresent(v, (k, n) -> n == 1 ? null : n - 1);
+        releaseUnreachable();
+        evict();
+    }
+
+    /** Release every retired table that no open snapshot can see. */
+    private void releaseUnreachable() {
+        long oldest = pinned.isEmpty() ? Long.MAX_VALUE : pinned.firstKey();
+        for (Iterator<Retired> it = retired.iterator(); it.hasNext(); ) {
+            Retired r = it.next();
+            if (r.lastVersion() >= oldest) continue;
+            it.remove();
+            InMemoryTable t = r.slot().table;
+            if (t != null && !registered(t, null)) t.release();      // re-registered since: keep it
+        }
+    }
+
+    /** @return true if {@code t} is the table of a current entry other than {@code except} */
+    private boolean registered(InMemoryTable t, Slot except) {
+        for (Slot e : entries.values()) if (e != except && e.table == t) return true;
+        return false;
+    }
+
+    // ----------------------------------------------------------------------
+    // loading and eviction
+    // ----------------------------------------------------------------------
+
+    /**
+     * @return the table of {@code e}, loading it from its source if needed; pinned for
+     *         {@code snapshot} (if non-null) until it is closed
+     */
+    private InMemoryTable resolve(Slot e, Snapshot snapshot) {
+        synchronized (e) {                                      // one load per entry; other entries load in parallel
+            RelationSource source;
+            synchronized (this) {
+                if (e.table != null) {
+                    lru.get(e);                                 // most recently used
+                    claim(e, snapshot);
+                    return e.table;
+                }
+                source = e.source;
+            }
+            InMemoryTable t;
+            try {
+                t = source.load();
+            } catch (IOException ex) {
+                throw new UncheckedIOException("cannot load relation " + e.name + ": " + ex.getMessage(), ex);
+            }
+            synchronized (this) {
+                if (e.stats != null) t.useStatistics(e.stats);
+                e.table = t;
+                e.savedChanges = t.changes();
+                loads++;
+                if (entries.get(e.name) == e) admit(e);        // a retired entry read by an old snapshot is not cached
+                claim(e, snapshot);
+                evict();
+                return t;
+            }
+        }
+    }
+
+    /**
+     * Keep {@code e} resident for its reader: pinned until {@code snapshot} closes, or — for a
+     * table handed out by {@link #get}, which the caller may change at any time — treated as
+     * changed until a checkpoint saves it.
+     */
+    private void claim(Slot e, Snapshot snapshot) {
+        if (snapshot != null) snapshot.pin(e);
+        else e.savedChanges = HANDED_OUT;
+    }
+
+    /** Count a resident entry against the budget. */
+    private void admit(Slot e) {
+        e.bytes = e.table.estimatedBytes();
+        residentBytes += e.bytes;
+        lru.put(e, Boolean.TRUE);
+    }
+
+    /** Stop counting an entry that left the catalog. */
+    private void forget(Slot e) {
+        if (e != null && lru.remove(e) != null) residentBytes -= e.bytes;
+    }
+
+    /** Evict least recently used entries until the resident ones fit the budget, or none can go. */
+    private void evict() {
+        for (Iterator<Slot> it = lru.keySet().iterator(); residentBytes > budget && it.hasNext(); ) {
+            Slot e = it.next();
+            InMemoryTable t = e.table;
+            if (e.pins > 0 || e.source == null || t.changes() != e.savedChanges || t.hasListeners()) continue;
+            it.remove();
+            residentBytes -= e.bytes;
+            e.table = null;
+            e.bytes = 0;
+            evictions++;
+            if (!registered(t, e)) t.release();
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // checkpoints (CatalogStore)
+    // ----------------------------------------------------------------------
+
+    /** @return every current relation but the transient ones, with what a checkpoint must save for it */
+    synchronized List<Registration> registrations() {
+        List<Registration> out = new ArrayList<>(entries.size());
+        for (Slot e : entries.values()) {
+            if (e.isTransient) continue;
+            InMemoryTable t = e.table;
+            boolean clean = e.source != null && (t == null || t.changes() == e.savedChanges);
+            Schema schema = t != null ? t.schema() : e.source.schema();
+            int rows = t != null ? t.size() : e.source.rows();
+            out.add(new Registration(e.name, schema, rows, clean ? e.source : null, t,
+                    t == null ? 0 : t.changes(), e));
+        }
+        return out;
+    }
+
+    /**
+     * Record that {@code r}'s relation, as of {@link #registrations()}, is now saved in
+     * {@code source}: unless changed since, it becomes evictable.
+     */
+    synchronized void saved(Registration r, RelationSource source) {
+        Slot e = r.slot();
+        if (entries.get(e.name) != e) return;                   // replaced or dropped meanwhile
+        e.source = source;
+        if (e.table != null && e.table == r.table()) {
+            e.savedChanges = r.changes();
+            forget(e);
+            admit(e);                                           // re-estimate: it may have grown since it was loaded
+        }
+        evict();
+    }
+
+    /**
+     * @return sources of retired registrations that an open snapshot may still load; a
+     *         checkpoint must keep their files
+     */
+    synchronized Set<RelationSource> retiredSources() {
+        Set<RelationSource> out = new HashSet<>();
+        for (Retired r : retired) if (r.slot().source != null) out.add(r.slot().source);
+        return out;
+    }
+
+    /**
+     * The relations of one catalog version, kept readable until {@link #close()}.
+     * Closing twice has no further effect.
+     */
+    public final class Snapshot implements AutoCloseable {
+        private final long version;
+        private final Map<String, Slot> entries;
+        private final Map<String, InMemoryTable> tables = new Tables();
+        /** Entries this snapshot resolved, pinned until it is closed. */
+        private final Set<Slot> used = new HashSet<>();
+        private boolean closed;
+
+        private Snapshot(long version, Map<String, Slot> entries) {
+            this.version = version;
+            this.entries = entries;
+        }
+
+        /** @return the catalog version this snapshot reads */
+        public long version() { return version; }
+
+        /**
+         * @return the relations of this version (unmodifiable); a relation is loaded when
+         *         {@code get} (or iteration) first reaches it, and stays resident until close
+         */
+        public Map<String, InMemoryTable> tables() { return tables; }
+
+        /**
+         * Compute the statistics of relation {@code name} ({@link InMemoryTable#analyze()}) and keep
+         * them with its registration, so they come back with the table if it is evicted and loaded again.
+         * @return the statistics, or null if this version has no such relation
+         * @throws UncheckedIOException if the relation cannot be loaded
+         */
+        public TableStats analyze(String name) {
+            Slot e = entries.get(name);
+            if (e == null) return null;
+            TableStats stats = resolve(e, this).analyze();
+            synchronized (Catalog.this) { e.stats = stats; }
+            return stats;
+        }
+
+        /** Called with the catalog locked. */
+        private void pin(Slot e) {
+            if (closed) throw new IllegalStateException("snapshot of version " + version + " is closed");
+            if (used.add(e)) e.pins++;
+        }
+
+        @Override
+        public void close() {
+            synchronized (Catalog.this) {
+                if (closed) return;
+                closed = true;
+                for (Slot e : used) e.pins--;
+                used.clear();
+                unpin(version);
+            }
+        }
+
+        /** Name → table view that resolves entries on access. */
+        private final class Tables extends AbstractMap<String, InMemoryTable> {
+            @Override
+            public InMemoryTable get(Object name) {
+                Slot e = entries.get(name);
+                return e == null ? null : resolve(e, Snapshot.this);
+            }
+
+            @Override public boolean containsKey(Object name) { return entries.containsKey(name); }
+
+            @Override public int size() { return entries.size(); }
+
+            @Override public Set<String> keySet() { return entries.keySet(); }
+
+            @Override
+            public Set<Map.Entry<String, InMemoryTable>> entrySet() {
+                return new AbstractSet<>() {
+                    @Override public int size() { return entries.size(); }
+
+                    @Override
+                    public Iterator<Map.Entry<String, InMemoryTable>> iterator() {
+                        Iterator<Slot> it = entries.values().iterator();
+                        return new Iterator<>() {
+                            @Override public boolean hasNext() { return it.hasNext(); }
+
+                            @Override
+                            public Map.Entry<String, InMemoryTable> next() {
+                                Slot e = it.next();
+                                return new SimpleImmutableEntry<>(e.name, resolve(e, Snapshot.this));
+                            }
+                        };
+                    }
+                };
+            }
+        }
+    }
+}
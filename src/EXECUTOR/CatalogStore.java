@@ -0,0 +1,436 @@
+package EXECUTOR;
+
+import CORE.Schema;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * CatalogStore
+ *
+ * <p>Durability for a {@link EXECUTOR.Catalog}: every change (relation created or
+ * replaced, dropped, row inserted or deleted) is appended to a
+ * {@link EXECUTOR.WriteAheadLog} with group commit, and the whole catalog is
+ * periodically written as a binary checkpoint. Opening a store reads only the
+ * manifest of the latest checkpoint — its relations are registered by reference and
+ * loaded on first use — and replays the log records after it, so restart time depends
+ * on how often checkpoints are taken, not on how much data the catalog holds.</p>
+ *
+ * <h3>Directory layout</h3>
+ * <pre>
+ * checkpoint-&lt;lsn&gt;/manifest     relation names, schemas, row counts and files, as of log record &lt;lsn&gt;
+ * checkpoint-&lt;lsn&gt;/r&lt;i&gt;.rel     one relation ({@link EXECUTOR.RelationCodec} layout + CRC32)
+ * wal-&lt;first lsn&gt;.log          log records after the checkpoint
+ * </pre>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * CatalogStore store = CatalogStore.open(dir, catalog);     // recovers into catalog
+ * table.add(row);                                           // apply the change...
+ * store.logInsert("Employees", row);                        // ...then make it durable
+ * if (store.checkpointDue()) store.checkpoint();
+ * }</pre>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Changes are logged after they were applied in memory; a change is durable once its
+ *       {@code log*} (or {@link #commit}) call returns.</li>
+ *   <li>Threads may append and commit concurrently (commits share disk syncs), but a
+ *       {@link #checkpoint()} must not overlap with a change that is applied and not yet appended.</li>
+ *   <li>A checkpoint is written to a temporary directory and renamed into place; older
+ *       checkpoints and log segments are deleted only after that. An older checkpoint that an
+ *       open snapshot may still load a replaced or dropped relation from is kept until a later
+ *       checkpoint finds it unused.</li>
+ *   <li>Relations unchanged since they were loaded are hard-linked (or copied) from the previous
+ *       checkpoint instead of being loaded and written again.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class CatalogStore implements Closeable {
+    /** Log volume after which {@link #checkpointDue()} reports true, unless configured otherwise. */
+    public static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20;
+
+    /** What {@link #open} found: the checkpoint used and the log records replayed on top of it. */
+    public record Recovery(long checkpointLsn, int relations, int replayed, long millis) { }
+
+    private static final int MANIFEST_MAGIC = 0x524c5843;          // "RLXC"
+    private static final int FORMAT = 1;
+    private static final byte PUT = 1, DROP = 2, INSERT = 3, DELETE = 4;
+
+    private final Path dir;
+    private final Catalog catalog;
+    private final long checkpointBytes;
+    private final WriteAheadLog log;
+    private final Recovery recovery;
+    private long checkpointLsn;
+
+    /** One relation file of a checkpoint, read when the catalog first needs the relation. */
+    private record CheckpointFile(Path file, Schema schema, int rows) implements RelationSource {
+        @Override
+        public InMemoryTable load() throws IOException {
+            try (DataInputStream r = verified(file)) {
+                return RelationCodec.readRelation(r);
+            }
+        }
+    }
+
+    private CatalogStore(Path dir, Catalog catalog, long checkpointBytes, WriteAheadLog log,
+                         Recovery recovery) {
+        this.dir = dir;
+        this.catalog = catalog;
+        this.checkpointBytes = checkpointBytes;
+        this.log = log;
+        this.recovery = recovery;
+        this.checkpointLsn = recovery.checkpointLsn();
+    }
+
+    /** {@link #open(Path, Catalog, long)} with {@link #DEFAULT_CHECKPOINT_BYTES}. */
+    public static CatalogStore open(Path dir, Catalog catalog) throws IOException {
+        return open(dir, catalog, DEFAULT_CHECKPOINT_BYTES);
+    }
+
+    /**
+     * Open (creating if needed) the store in {@code dir} and recover its relations into
+     * {@code catalog}: the latest checkpoint's relations by reference, then every log record
+     * after it (a relation changed by the log is loaded to replay the change).
+     * @param checkpointBytes log volume after which a checkpoint is due
+     * @throws IOException if the directory cannot be read or a checkpoint is corrupt
+     */
+    public static CatalogStore open(Path dir, Catalog catalog, long checkpointBytes) throws IOException {
+        long start = System.nanoTime();
+        Files.createDirectories(dir);
+        removeStale(dir);
+        Path checkpoint = latestCheckpoint(dir);
+        long lsn = checkpoint == null ? 0 : checkpointLsn(checkpoint);
+        int relations = 0;
+        if (checkpoint != null) {
+            for (var e : readManifest(checkpoint).entrySet()) {
+                catalog.putStored(e.getKey(), e.getValue());
+                relations++;
+            }
+        }
+        List<WriteAheadLog.Record> tail = WriteAheadLog.read(dir, lsn);
+        long last = lsn;
+        for (WriteAheadLog.Record r : tail) {
+            replay(catalog, r);
+            last = r.lsn();
+        }
+        Recovery recovery = new Recovery(lsn, relations, tail.size(), (System.nanoTime() - start) / 1_000_000);
+        return new CatalogStore(dir, catalog, checkpointBytes, new WriteAheadLog(dir, last), recovery);
+    }
+
+    /** @return what was recovered when the store was opened */
+    public Recovery recovery() { return recovery; }
+
+    // ----------------------------------------------------------------------
+    // logging
+    // ----------------------------------------------------------------------
+
+    /** Append "relation {@code name} is now {@code table}" (created or replaced). @return its LSN */
+    public long appendPut(String name, InMemoryTable table) throws IOException {
+        return log.append(PUT, body(name, out -> RelationCodec.writeRelation(out, table)));
+    }
+
+    /** Append "relation {@code name} was dropped". @return its LSN */
+    public long appendDrop(String name) throws IOException {
+        return log.append(DROP, body(name, out -> { }));
+    }
+
+    /** Append "{@code row} was inserted into {@code name}". @return its LSN */
+    public long appendInsert(String name, InMemoryRow row) throws IOException {
+        Schema schema = existing(name);
+        return log.append(INSERT, body(name, out -> RelationCodec.writeRow(out, schema, row)));
+    }
+
+    /** Append "one occurrence of {@code row} was deleted from {@code name}". @return its LSN */
+    public long appendDelete(String name, InMemoryRow row) throws IOException {
+        Schema schema = existing(name);
+        return log.append(DELETE, body(name, out -> RelationCodec.writeRow(out, schema, row)));
+    }
+
+    /** Wait until every record up to {@code lsn} is on disk (group commit). */
+    public void commit(long lsn) throws IOException { log.commit(lsn); }
+
+    /** Append and commit a relation create/replace. */
+    public void logPut(String name, InMemoryTable table) throws IOException { commit(appendPut(name, table)); }
+
+    /** Append and commit a drop. */
+    public void logDrop(String name) throws IOException { commit(appendDrop(name)); }
+
+    /** Append and commit an insert. */
+    public void logInsert(String name, InMemoryRow row) throws IOException { commit(appendInsert(name, row)); }
+
+    /** Append and commit a delete. */
+    public void logDelete(String name, InMemoryRow row) throws IOException { commit(appendDelete(name, row)); }
+
+    private Schema existing(String name) {
+        Catalog.Info info = catalog.info(name);
+        if (info == null) throw new IllegalArgumentException("Unknown relation: " + name);
+        return info.schema();
+    }
+
+    private interface BodyWriter { void write(DataOutputStream out) throws IOException; }
+
+    private static byte[] body(String name, BodyWriter w) throws IOException {
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(b);
+        RelationCodec.writeString(out, name);
+        w.write(out);
+        out.flush();
+        return b.toByteArray();
+    }
+
+    private static void replay(Catalog catalog, WriteAheadLog.Record r) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(r.body()));
+        String name = RelationCodec.readString(in);
+        switch (r.type()) {
+            case PUT -> catalog.put(name, RelationCodec.readRelation(in));
+            case DROP -> catalog.remove(name);
+            case INSERT, DELETE -> {
+                InMemoryTable t = catalog.get(name);
+                if (t == null) throw new IOException("log record " + r.lsn() + " changes unknown relation " + name);
+                InMemoryRow row = RelationCodec.readRow(in, t.schema());
+                if (r.type() == INSERT) t.add(row);
+                else t.remove(row);
+            }
+            default -> throw new IOException("log record " + r.lsn() + " has unknown type " + r.type());
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // checkpoints
+    // ----------------------------------------------------------------------
+
+    /** @return true once the log since the last checkpoint exceeds the configured volume */
+    public boolean checkpointDue() { return log.bytesSinceRoll() >= checkpointBytes; }
+
+    /**
+     * Write every relation of the catalog as a new checkpoint, then drop the log records and
+     * checkpoints it supersedes (but those open snapshots may still load from). Relations changed since they were loaded become evictable.
+     * @return the LSN the checkpoint covers
+     */
+    public synchronized long checkpoint() throws IOException {
+        long lsn = log.lastLsn();
+        log.commit(lsn);
+        Path tmp = dir.resolve(checkpointName(lsn) + ".tmp"), done = dir.resolve(checkpointName(lsn));
+        if (Files.exists(done)) return lsn;                     // nothing logged since the last one
+        deleteTree(tmp);
+        Files.createDirectory(tmp);
+        List<Catalog.Registration> relations = catalog.registrations();
+        List<CheckpointFile> files = new ArrayList<>(relations.size());
+        try (DataOutputStream m = checked(tmp.resolve("manifest"))) {
+            m.writeInt(MANIFEST_MAGIC);
+            m.writeInt(FORMAT);
+            m.writeLong(lsn);
+            m.writeInt(relations.size());
+            for (int i = 0; i < relations.size(); i++) {
+                Catalog.Registration reg = relations.get(i);
+                String file = "r" + i + ".rel";
+                int rows = reg.rows();
+                if (reg.source() instanceof CheckpointFile previous) {
+                    link(previous.file(), tmp.resolve(file));
+                } else {
+                    InMemoryTable t = reg.table() != null ? reg.table() : reg.source().load();
+                    rows = t.size();
+                    try (DataOutputStream r = checked(tmp.resolve(file))) {
+                        RelationCodec.writeRelation(r, t);
+                    }
+                }
+                RelationCodec.writeString(m, reg.name());
+                RelationCodec.writeString(m, file);
+                RelationCodec.writeSchema(m, reg.schema());
+                m.writeInt(rows);
+                files.add(new CheckpointFile(done.resolve(file), reg.schema(), rows));
+            }
+        }
+        syncDirectory(tmp);
+        Files.move(tmp, done, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(dir);
+        for (int i = 0; i < relations.size(); i++) catalog.saved(relations.get(i), files.get(i));
+        log.roll();
+        Set<Path> inUse = new HashSet<>();
+        for (RelationSource s : catalog.retiredSources()) {
+            if (s instanceof CheckpointFile f) inUse.add(f.file().getParent());
+        }
+        for (Path p : checkpoints(dir)) if (!p.equals(done) && !inUse.contains(p)) deleteTree(p);
+        checkpointLsn = lsn;
+        return lsn;
+    }
+
+    /** @return the LSN covered by the latest checkpoint (0 if none) */
+    public long checkpointLsn() { return checkpointLsn; }
+
+    /** @return one line about the log: records, disk syncs, volume since the checkpoint */
+    public String status() {
+        long[] c = log.counters();
+        return "log: " + c[0] + " records in " + c[1] + " syncs, " + log.bytesSinceRoll()
+                + " bytes since checkpoint at LSN " + checkpointLsn + " (last LSN " + log.lastLsn() + ")";
+    }
+
+    /** Commit anything still buffered and close the log; no checkpoint is taken. */
+    @Override
+    public void close() throws IOException { log.close(); }
+
+    private static String checkpointName(long lsn) { return String.format("checkpoint-%019d", lsn); }
+
+    private static long checkpointLsn(Path checkpoint) {
+        return Long.parseLong(checkpoint.getFileName().toString().substring("checkpoint-".length()));
+    }
+
+    private static List<Path> checkpoints(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().matches("checkpoint-\\d{19}")).sorted().toList();
+        }
+    }
+
+    private static Path latestCheckpoint(Path dir) throws IOException {
+        List<Path> all = checkpoints(dir);
+        return all.isEmpty() ? null : all.get(all.size() - 1);
+    }
+
+    /** Remove half-written checkpoints left by a crash. */
+    private static void removeStale(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            for (Path p : s.filter(p -> p.getFileName().toString().matches("checkpoint-\\d{19}\\.tmp")).toList()) {
+                deleteTree(p);
+            }
+        }
+    }
+
+    /** @return the relations of a checkpoint by name; no relation file is read */
+    private static Map<String, CheckpointFile> readManifest(Path checkpoint) throws IOException {
+        Map<String, CheckpointFile> out = new LinkedHashMap<>();
+        try (DataInputStream m = verified(checkpoint.resolve("manifest"))) {
+            if (m.readInt() != MANIFEST_MAGIC || m.readInt() != FORMAT) {
+                throw new IOException("not a checkpoint manifest: " + checkpoint);
+            }
+            m.readLong();
+            for (int i = m.readInt(); i > 0; i--) {
+                String name = RelationCodec.readString(m), file = RelationCodec.readString(m);
+                Schema schema = RelationCodec.readSchema(m);
+                out.put(name, new CheckpointFile(checkpoint.resolve(file), schema, m.readInt()));
+            }
+        }
+        return out;
+    }
+
+    // ----------------------------------------------------------------------
+    // files
+    // ----------------------------------------------------------------------
+
+    /** Buffered output whose CRC32 is appended, and the file synced, on close. */
+    private static DataOutputStream checked(Path file) throws IOException {
+        FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        CRC32 crc = new CRC32();
+        OutputStream raw = Channels.newOutputStream(ch);
+        return new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(raw, crc), 1 << 16)) {
+            @Override
+            public void close() throws IOException {
+                flush();
+                new DataOutputStream(raw).writeLong(crc.getValue());
+                ch.force(true);
+                ch.close();
+            }
+        };
+    }
+
+    /** Input over a file written by {@link #checked}; its CRC32 is verified when fully read and closed. */
+    private static DataInputStream verified(Path file) throws IOException {
+        long size = Files.size(file);
+        if (size < 8) throw new IOException("truncated checkpoint file " + file);
+        InputStream raw = new BufferedInputStream(Files.newInputStream(file), 1 << 16);
+        CRC32 crc = new CRC32();
+        InputStream body = new CheckedInputStream(new BoundedInput(raw, size - 8), crc);
+        return new DataInputStream(body) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    while (body.read() >= 0) { }                // checksum covers every byte
+                    if (new DataInputStream(raw).readLong() != crc.getValue()) {
+                        throw new IOException("checksum mismatch in checkpoint file " + file);
+                    }
+                } finally {
+                    raw.close();
+                }
+            }
+        };
+    }
+
+    /** First {@code limit} bytes of a stream. */
+    private static final class BoundedInput extends InputStream {
+        private final InputStream in;
+        private long left;
+
+        BoundedInput(InputStream in, long limit) {
+            this.in = in;
+            this.left = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (left == 0) return -1;
+            int b = in.read();
+            if (b >= 0) left--;
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buf, int off, int len) throws IOException {
+            if (left == 0) return -1;
+            int n = in.read(buf, off, (int) Math.min(len, left));
+            if (n > 0) left -= n;
+            return n;
+        }
+    }
+
+    /** Give {@code target} the contents of the checkpoint file {@code source}, sharing it if the file system can. */
+    private static void link(Path source, Path target) throws IOException {
+        try {
+            Files.createLink(target, source);
+        } catch (UnsupportedOperationException | IOException e) {
+            Files.copy(source, target, StandardCopyOption.COPY_ATTRIBUTES);
+        }
+    }
+
+    private static void syncDirectory(Path d) {
+        try (FileChannel ch = FileChannel.open(d, StandardOpenOption.READ)) {
+            ch.force(true);
+        } catch (IOException ignored) {
+            // not supported on every platform; the rename itself is still atomic
+        }
+    }
+
+    private static void deleteTree(Path p) throws IOException {
+        if (!Files.exists(p)) return;
+        try (Stream<Path> s = Files.walk(p)) {
+            for (Path q : s.sorted(Comparator.reverseOrder()).toList()) Files.delete(q);
+        }
+    }
+}
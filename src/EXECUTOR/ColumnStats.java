@@ -0,0 +1,170 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.DataType;
+import CORE.Values;
+import PARSER.EXPR.Op;
+
+import java.util.*;
+
+/**
+ * ColumnStats
+ *
+ * <p>Data distribution of one column, computed by {@link InMemoryTable#analyze()}:
+ * null count, distinct count (HyperLogLog), min/max, an equi-depth histogram
+ * and the most common values. Used to estimate the selectivity of
+ * {@code attr op constant} predicates.</p>
+ *
+ * <h3>Maintenance</h3>
+ * <ul>
+ *   <li>Null count, min/max and the distinct sketch are updated on every append.</li>
+ *   <li>A removal lowers the null or non-null count; min/max and the distinct sketch cannot
+ *       shrink, so they may overstate the column until the next analyze (the distinct estimate
+ *       is capped at the non-null count).</li>
+ *   <li>Histogram and most-common values describe the table as of the last analyze.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class ColumnStats {
+    /** Histogram buckets (equi-depth). */
+    static final int BUCKETS = 32;
+    /** Most-common values kept. */
+    static final int MCV = 8;
+    /** Selectivity guesses when a predicate cannot be estimated from the statistics. */
+    static final double DEFAULT_EQ = 0.1, DEFAULT_RANGE = 1.0 / 3;
+
+    private final Attribute attribute;
+    private final HyperLogLog distinct = new HyperLogLog();
+    private long nulls;
+    /** Non-null values; the distinct estimate never exceeds it. */
+    private long nonNulls;
+    private Object min, max;
+    /** BUCKETS + 1 boundaries; bucket i holds about the same number of values between bounds i and i+1. */
+    private List<Object> histogram = List.of();
+    /** Value → number of rows, most frequent first. */
+    private Map<Object, Long> mostCommon = Map.of();
+    private long analyzedRows;
+
+    ColumnStats(Attribute attribute) {
+        this.attribute = attribute;
+    }
+
+    public String name() { return attribute.name(); }
+    public DataType type() { return attribute.type(); }
+    public long nullCount() { return nulls; }
+    /** @return estimated number of distinct non-null values, at most the number of non-null values */
+    public long distinct() { return Math.min(distinct.estimate(), nonNulls); }
+    public Object min() { return min; }
+    public Object max() { return max; }
+    /** @return equi-depth bucket boundaries (empty if the column has no non-null value) */
+    public List<Object> histogram() { return histogram; }
+    /** @return most common values with their row counts, most frequent first */
+    public Map<Object, Long> mostCommon() { return mostCommon; }
+
+    // --- maintenance ---
+
+    void added(Object v) {
+        if (v == null) { nulls++; return; }
+        nonNulls++;
+        distinct.add(v);
+        if (min == null || Values.compare(v, min) < 0) min = v;
+        if (max == null || Values.compare(v, max) > 0) max = v;
+    }
+
+    void removed(Object v) {
+        if (v == null) {
+            if (nulls > 0) nulls--;
+        } else if (nonNulls > 0) {
+            nonNulls--;
+        }
+    }
+
+    /** Recompute histogram and most-common values from a full column (nulls included). */
+    void summarize(List<Object> values) {
+        analyzedRows = values.size();
+        List<Object> sorted = new ArrayList<>(values.size());
+        Map<Object, Long> freq = new HashMap<>();
+        for (Object v : values) {
+            if (v == null) continue;
+            sorted.add(v);
+            freq.merge(v, 1L, Long::sum);
+        }
+        sorted.sort(Values::compare);
+        int n = sorted.size();
+        List<Object> bounds = new ArrayList<>();
+        if (n > 0) {
+            int buckets = Math.min(BUCKETS, n);
+            for (int i = 0; i < buckets; i++) bounds.add(sorted.get((int) ((long) i * n / buckets)));
+            bounds.add(sorted.get(n - 1));
+        }
+        this.histogram = Collections.unmodifiableList(bounds);
+
+        Map<Object, Long> mcv = new LinkedHashMap<>();
+        freq.entrySet().stream()
+                .filter(e -> e.getValue() > 1)
+                .sorted(Map.Entry.<Object, Long>comparingByValue().reversed())
+                .limit(MCV)
+                .forEach(e -> mcv.put(e.getKey(), e.getValue()));
+        this.mostCommon = Collections.unmodifiableMap(mcv);
+    }
+
+    // --- estimation ---
+
+    /**
+     * Estimated fraction of rows satisfying {@code attr op value} (nulls never do).
+     * @param rows current row count of the table
+     */
+    public double selectivity(Op op, Object value, long rows) {
+        if (rows == 0) return 0;
+        if (value == null || min == null) return 0;
+        if (!Values.comparable(type(), Values.typeOf(value))) return op == Op.EQ ? DEFAULT_EQ : DEFAULT_RANGE;
+        value = Values.widen(value, type());                 // 30 against a DOUBLE column looks up 30.0
+        double nonNull = Math.max(0, Math.min(1, 1 - (double) nulls / rows));
+        return switch (op) {
+            case EQ  -> equalFraction(value, rows, nonNull);
+            case NEQ -> Math.max(0, nonNull - equalFraction(value, rows, nonNull));
+            case LT  -> nonNull * below(value, false);
+            case LTE -> nonNull * below(value, true);
+            case GT  -> nonNull * (1 - below(value, true));
+            case GTE -> nonNull * (1 - below(value, false));
+            default  -> DEFAULT_RANGE;
+        };
+    }
+
+    private double equalFraction(Object value, long rows, double nonNull) {
+        if (Values.compare(value, min) < 0 || Values.compare(value, max) > 0) return 0;
+        Long c = mostCommon.get(value);
+        if (c != null && analyzedRows > 0) return (double) c / analyzedRows;
+        long mcvRows = 0;
+        for (long v : mostCommon.values()) mcvRows += v;
+        double rest = nonNull - (analyzedRows > 0 ? (double) mcvRows / analyzedRows : 0);
+        long others = Math.max(1, distinct() - mostCommon.size());
+        return Math.max(0, rest) / others;
+    }
+
+    /** Fraction of non-null values below {@code value} (or equal, if {@code inclusive}), from the histogram. */
+    private double below(Object value, boolean inclusive) {
+        int cMin = Values.compare(value, min), cMax = Values.compare(value, max);
+        if (cMin < 0 || (!inclusive && cMin == 0)) return 0;
+        if (cMax > 0 || (inclusive && cMax == 0)) return 1;
+        if (histogram.size() < 2) return 0.5;
+        int buckets = histogram.size() - 1;
+        for (int i = 0; i < buckets; i++) {
+            Object lo = histogram.get(i), hi = histogram.get(i + 1);
+            if (Values.compare(value, hi) > 0) continue;
+            return (i + within(lo, hi, value)) / buckets;
+        }
+        return 1;
+    }
+
+    /** Position of {@code v} inside bucket [lo, hi]: linear for numbers, halfway otherwise. */
+    private static double within(Object lo, Object hi, Object v) {
+        if (lo instanceof Number l && hi instanceof Number h && v instanceof Number x) {
+            double span = h.doubleValue() - l.doubleValue();
+            return span <= 0 ? 0.5 : Math.max(0, Math.min(1, (x.doubleValue() - l.doubleValue()) / span));
+        }
+        return 0.5;
+    }
+}
@@ -0,0 +1,141 @@
+package EXECUTOR;
+
+import PARSER.EXPR.*;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * CommonSubexpressions
+ *
+ * <p>Pre-evaluation pass that hash-conses structurally identical relational
+ * subtrees of a query into a DAG, and counts how many parents consume each
+ * node. {@link EXECUTOR.ExprEvaluator} evaluates a shared node once, hands the
+ * same result to every parent and drops it after the last consumer.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * (σ Age > 30 (Employees)) ∪ (σ Age > 30 (Employees) ∩ Contractors)
+ * // both σ subtrees intern to one node with 2 consumers → evaluated once
+ * }</pre>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Relies on the structural {@code equals}/{@code hashCode} of {@link PARSER.EXPR.Expr} nodes.</li>
+ *   <li>Condition expressions are compared but not shared; only relational operators are cached.</li>
+ *   <li>Base relations are never cached: resolving a {@link RelationRef} is already free.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class CommonSubexpressions {
+    private final Map<Expr, Expr> canonical = new HashMap<>();
+    private final Map<Expr, Integer> consumers = new IdentityHashMap<>();
+    private final Map<Expr, Integer> remaining = new IdentityHashMap<>();
+    private final Map<Expr, InMemoryTable> results = new IdentityHashMap<>();
+    private final Expr root;
+
+    private CommonSubexpressions(Expr query) {
+        this.root = intern(query);
+        countConsumers(root);
+    }
+
+    /** Intern all subtrees of {@code query} and count consumers of every DAG node. */
+    static CommonSubexpressions analyze(Expr query) {
+        return new CommonSubexpressions(query);
+    }
+
+    /** @return the query rewritten as a DAG: identical subtrees are the same instance */
+    Expr root() { return root; }
+
+    /** @return true if {@code e} (a DAG node) is consumed by more than one parent */
+    boolean isShared(Expr e) {
+        return !(e instanceof RelationRef) && consumers.getOrDefault(e, 0) > 1;
+    }
+
+    /**
+     * @return the cached result of a shared node, consuming one use of it;
+     *         {@code null} if it has not been evaluated yet
+     */
+    InMemoryTable take(Expr e) {
+        InMemoryTable t = results.get(e);
+        if (t != null) consume(e);
+        return t;
+    }
+
+    /** Cache the freshly evaluated result of a shared node; this counts as its first use. */
+    void put(Expr e, InMemoryTable result) {
+        results.put(e, result);
+        remaining.put(e, consumers.get(e));
+        consume(e);
+    }
+
+    private void consume(Expr e) {
+        int left = remaining.merge(e, -1, Integer::sum);
+        if (left <= 0) {              // last consumer: free the shared result
+            results.remove(e);
+            remaining.remove(e);
+        }
+    }
+
+    // --- hash-consing ---
+
+    private Expr intern(Expr e) {
+        Expr rebuilt = rebuild(e);
+        Expr existing = canonical.putIfAbsent(rebuilt, rebuilt);
+        return existing != null ? existing : rebuilt;
+    }
+
+    /** Rebuild a relational node over interned children (condition trees are kept as-is). */
+    private Expr rebuild(Expr e) {
+        if (e instanceof Selection s) {
+            Expr c = intern(s.child());
+            return c == s.child() ? s : new Selection(s.condition(), c);
+        }
+        if (e instanceof Projection p) {
+            Expr c = intern(p.child());
+            return c == p.child() ? p : new Projection(p.attrs(), c, p.distinct());
+        }
+        if (e instanceof Rename r) {
+            Expr c = intern(r.child());
+            return c == r.child() ? r : new Rename(r.newName(), c);
+        }
+        if (e instanceof Aggregation a) {
+            Expr c = intern(a.child());
+            return c == a.child() ? a : new Aggregation(a.groupBy(), a.aggregates(), c);
+        }
+        if (e instanceof Sort t) {
+            Expr c = intern(t.child());
+            return c == t.child() ? t : new Sort(t.keys(), t.limit(), c);
+        }
+        if (e instanceof Join j) {
+            Expr l = intern(j.left()), r = intern(j.right());
+            return l == j.left() && r == j.right() ? j : new Join(j.kind(), l, r, j.on());
+        }
+        if (e instanceof SemiJoin s) {
+            Expr l = intern(s.left()), r = intern(s.right());
+            return l == s.left() && r == s.right() ? s : new SemiJoin(l, r, s.on(), s.anti());
+        }
+        if (e instanceof SetOp s) {
+            Expr l = intern(s.left()), r = intern(s.right());
+            return l == s.left() && r == s.right() ? s : new SetOp(s.kind(), l, r);
+        }
+        return e;
+    }
+
+    // --- consumer counting: each DAG node's children are visited once ---
+
+    private void countConsumers(Expr node) {
+        if (consumers.merge(node, 1, Integer::sum) > 1) return;
+        if (node instanceof Selection s) countConsumers(s.child());
+        else if (node instanceof Projection p) countConsumers(p.child());
+        else if (node instanceof Rename r) countConsumers(r.child());
+        else if (node instanceof Aggregation a) countConsumers(a.child());
+        else if (node instanceof Sort t) countConsumers(t.child());
+        else if (node instanceof Join j) { countConsumers(j.left()); countConsumers(j.right()); }
+        else if (node instanceof SemiJoin s) { countConsumers(s.left()); countConsumers(s.right()); }
+        else if (node instanceof SetOp s) { countConsumers(s.left()); countConsumers(s.right()); }
+    }
+}
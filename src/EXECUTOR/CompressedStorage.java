@@ -0,0 +1,258 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.DataType;
+import CORE.Schema;
+import PARSER.EXPR.AggCall;
+import PARSER.EXPR.AggFunc;
+import PARSER.EXPR.Op;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.StringJoiner;
+
+/**
+ * CompressedStorage
+ *
+ * <p>Columnar storage with lightweight compression, for base relations that are
+ * scanned far more often than changed. INT, BOOL (as 0/1) and STRING columns
+ * (as codes of a per-column {@link EXECUTOR.StringDictionary}) are kept in
+ * {@link EXECUTOR.IntColumn}s, whose encoding (RLE or frame of reference with
+ * bit-packing) is chosen per chunk as the chunk fills; DOUBLE columns are kept in a
+ * plain {@code double[]}. Rows are decoded into {@link InMemoryRow}s when read.</p>
+ *
+ * <h3>Compressed execution</h3>
+ * <ul>
+ *   <li>{@link #select} evaluates {@code attr op constant} conjuncts of a selection on the
+ *       encoded chunks (STRING columns for = and ≠ only), so only candidate rows are decoded.</li>
+ *   <li>{@link #aggregate} computes count/sum/avg/min/max over INT columns from per-chunk
+ *       run sums and min/max, without decoding a row.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class CompressedStorage implements TableStorage {
+    private final String[] names;
+    private final DataType[] types;
+    private final IntColumn[] ints;                 // INT, BOOL and STRING columns; null for DOUBLE
+    private final StringDictionary[] dictionaries;  // STRING columns only
+    private final double[][] doubles;               // DOUBLE columns only
+    private final BitSet[] doubleNulls;
+    private int size;
+    private final List<InMemoryRow> view = new RowView();
+
+    CompressedStorage(Schema schema) {
+        int n = schema.size();
+        names = new String[n];
+        types = new DataType[n];
+        ints = new IntColumn[n];
+        dictionaries = new StringDictionary[n];
+        doubles = new double[n][];
+        doubleNulls = new BitSet[n];
+        for (int c = 0; c < n; c++) {
+            Attribute a = schema.attribute(c);
+            names[c] = a.name();
+            types[c] = a.type();
+            if (a.type() == DataType.DOUBLE) {
+                doubles[c] = new double[IntColumn.CHUNK];
+                doubleNulls[c] = new BitSet();
+            } else {
+                ints[c] = new IntColumn();
+                if (a.type() == DataType.STRING) dictionaries[c] = new StringDictionary(256);
+            }
+        }
+    }
+
+    @Override public int size() { return size; }
+
+    @Override
+    public InMemoryRow get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int c = 0; c < names.length; c++) values.put(names[c], read(c, i));
+        return new InMemoryRow(values);
+    }
+
+    @Override
+    public void add(InMemoryRow row) {
+        for (int c = 0; c < names.length; c++) {
+            Object v = row.get(names[c]);
+            if (types[c] == DataType.DOUBLE) {
+                if (size == doubles[c].length) doubles[c] = Arrays.copyOf(doubles[c], size * 2);
+                writeDouble(c, size, v);
+            } else {
+                ints[c].add(encode(c, v));
+            }
+        }
+        size++;
+    }
+
+    @Override
+    public void set(int i, InMemoryRow row) {
+        for (int c = 0; c < names.length; c++) {
+            Object v = row.get(names[c]);
+            if (types[c] == DataType.DOUBLE) writeDouble(c, i, v);
+            else ints[c].set(i, encode(c, v));
+        }
+    }
+
+    @Override
+    public void removeLast() {
+        size--;
+        for (int c = 0; c < names.length; c++) {
+            if (ints[c] != null) ints[c].removeLast();
+            else doubleNulls[c].clear(size);
+        }
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        for (int c = 0; c < names.length; c++) {
+            if (ints[c] != null) ints[c].clear();
+            else doubleNulls[c].clear();
+        }
+    }
+
+    @Override public void release() { }
+
+    @Override public List<InMemoryRow> rows() { return view; }
+
+    @Override
+    public long estimatedBytes() {
+        long bytes = 0;
+        for (int c = 0; c < names.length; c++) bytes += ints[c] == null ? doubles[c].length * 8L : ints[c].bytes();
+        return bytes;
+    }
+
+    @Override
+    public String describe() {
+        StringJoiner encodings = new StringJoiner(", ");
+        for (int c = 0; c < names.length; c++) {
+            if (ints[c] == null) continue;
+            int rle = ints[c].chunksEncoded(IntColumn.Encoding.RLE), fr = ints[c].chunksEncoded(IntColumn.Encoding.FOR);
+            if (rle + fr > 0) encodings.add(names[c] + " RLE×" + rle + " FOR×" + fr);
+        }
+        return "compressed, " + estimatedBytes() + " bytes" + (encodings.length() == 0 ? "" : ": " + encodings);
+    }
+
+    private Object read(int c, int i) {
+        return switch (types[c]) {
+            case DOUBLE -> doubleNulls[c].get(i) ? null : doubles[c][i];
+            case INT -> ints[c].value(i);
+            case BOOL -> ints[c].isNull(i) ? null : ints[c].get(i) != 0;
+            case STRING -> ints[c].isNull(i) ? null : dictionaries[c].decode(ints[c].get(i));
+        };
+    }
+
+    private Integer encode(int c, Object v) {
+        if (v == null) return null;
+        return switch (types[c]) {
+            case INT -> (Integer) v;
+            case BOOL -> (Boolean) v ? 1 : 0;
+            case STRING -> dictionaries[c].encode((String) v);
+            case DOUBLE -> throw new IllegalStateException("DOUBLE column " + names[c] + " is not int-coded");
+        };
+    }
+
+    private void writeDouble(int c, int i, Object v) {
+        doubleNulls[c].set(i, v == null);
+        doubles[c][i] = v == null ? 0 : (Double) v;
+    }
+
+    // ----------------------------------------------------------------------
+    // compressed execution
+    // ----------------------------------------------------------------------
+
+    /**
+     * Evaluate the bounds that can run on encoded values against rows
+     * {@code [chunk * CHUNK_ROWS, ...)}.
+     *
+     * @return bitmap of the chunk's candidate rows (every other row fails some bound),
+     *         or null if no bound could be evaluated in compressed form
+     */
+    long[] select(int chunk, List<ZoneMap.Bound> bounds) {
+        long[] result = null, one = new long[IntColumn.WORDS];
+        for (ZoneMap.Bound b : bounds) {
+            int c = b.column();
+            long constant;
+            Op op = b.op();
+            if (types[c] == DataType.INT && b.value() instanceof Integer v) {
+                constant = v;
+            } else if (types[c] == DataType.BOOL && b.value() instanceof Boolean v && (op == Op.EQ || op == Op.NEQ)) {
+                constant = v ? 1 : 0;
+            } else if (types[c] == DataType.STRING && b.value() instanceof String v && (op == Op.EQ || op == Op.NEQ)) {
+                constant = dictionaries[c].code(v);       // -1 if absent: = matches nothing, ≠ every non-null
+            } else {
+                continue;
+            }
+            ints[c].select(chunk, op, constant, one);
+            if (result == null) {
+                result = one.clone();
+            } else {
+                for (int w = 0; w < result.length; w++) result[w] &= one[w];
+            }
+        }
+        return result;
+    }
+
+    /** @return true if every call can be answered by {@link #aggregate} */
+    boolean canAggregate(List<AggCall> calls) {
+        for (AggCall a : calls) {
+            if (a.attr() == null || a.func() == AggFunc.COUNT) continue;
+            int c = indexOf(a.attr());
+            if (c < 0 || types[c] != DataType.INT) return false;
+        }
+        return true;
+    }
+
+    /** Value of a global (ungrouped) aggregate; see {@link #canAggregate}. */
+    Object aggregate(AggCall call) {
+        if (call.attr() == null) return size;
+        int c = indexOf(call.attr());
+        if (ints[c] == null) return size - doubleNulls[c].cardinality();
+        IntColumn col = ints[c];
+        long n = 0, sum = 0;
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE;
+        for (int k = 0; k < col.chunks(); k++) {
+            int nonNull = col.nonNull(k);
+            if (nonNull == 0) continue;
+            n += nonNull;
+            switch (call.func()) {
+                case SUM, AVG -> sum += col.sum(k);
+                case MIN -> min = Math.min(min, col.extreme(k, true));
+                case MAX -> max = Math.max(max, col.extreme(k, false));
+                case COUNT -> { }
+            }
+        }
+        return switch (call.func()) {
+            case COUNT -> Math.toIntExact(n);
+            case SUM -> {
+                if (n == 0) yield null;
+                if (sum != (int) sum)
+                    throw new ArithmeticException("sum overflows INT (" + sum + "); aggregate a DOUBLE attribute instead");
+                yield (int) sum;
+            }
+            case AVG -> n == 0 ? null : (double) sum / n;
+            case MIN -> n == 0 ? null : min;
+            case MAX -> n == 0 ? null : max;
+        };
+    }
+
+    private int indexOf(String name) {
+        for (int c = 0; c < names.length; c++) if (names[c].equals(name)) return c;
+        return -1;
+    }
+
+    /** Read-only list whose elements are decoded on access. */
+    private final class RowView extends AbstractList<InMemoryRow> implements RandomAccess {
+        @Override public InMemoryRow get(int i) { return CompressedStorage.this.get(i); }
+        @Override public int size() { return size; }
+    }
+}
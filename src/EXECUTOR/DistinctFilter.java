@@ -0,0 +1,52 @@
+package EXECUTOR;
+
+import java.util.Arrays;
+
+/**
+ * DistinctFilter
+ *
+ * <p>Streaming hash-distinct over fixed-arity tuples of slot values. Each
+ * tuple is fingerprinted slot by slot into a primitive {@code long} and its
+ * index kept in a {@link EXECUTOR.LongKeyTable}, so duplicates are rejected
+ * without building a row or a map entry first; tuples are only compared on a
+ * fingerprint match.</p>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * DistinctFilter seen = new DistinctFilter();
+ * if (seen.firstSight(new Object[]{dept})) emit(...);   // emits each tuple once, on first sight
+ * }</pre>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class DistinctFilter {
+    private final LongKeyTable table = new LongKeyTable(64);
+    private Object[][] entries = new Object[64][];
+    private int size;
+
+    /**
+     * @return true (and remember the tuple) if it has not been seen before;
+     *         the caller must not modify {@code slots} afterwards
+     */
+    boolean firstSight(Object[] slots) {
+        long h = fingerprint(slots);
+        for (int e = table.first(h); e >= 0; e = table.next(e)) {
+            if (Arrays.equals(entries[table.id(e)], slots)) return false;
+        }
+        if (size == entries.length) entries = Arrays.copyOf(entries, size * 2);
+        entries[size] = slots;
+        table.add(h, size++);
+        return true;
+    }
+
+    /** @return number of distinct tuples seen */
+    int size() { return size; }
+
+    /** Slot-wise 64-bit fingerprint: equal tuples give equal fingerprints. */
+    static long fingerprint(Object[] slots) {
+        long h = 1;
+        for (Object v : slots) h = h * 0x9e3779b97f4a7c15L + (v == null ? 0 : v.hashCode());
+        return LongKeyTable.mix(h);
+    }
+}
@@ -13,6 +13,7 @@ import java.util.Map;
  * <ul>
  *   <li>Provide a stable lookup from relation name → base table.</li>
  *   <li>Fail fast with a clear error when a relation is unknown.</li>
+ *   <li>Carry the {@link EXECUTOR.QueryLimits} (timeout, row/byte caps) applied to queries.</li>
  * </ul>
  *
  * <h3>Collaborators</h3>
@@ -35,22 +36,57 @@ import java.util.Map;
  */
 
 public final class EvaluationContext {
-    /** Immutable catalog: relation name → base table. */
+    /**
+     * Relation name → base table: an immutable copy, or the live view of a
+     * {@link Catalog.Snapshot} that loads relations kept on disk on first lookup.
+     */
     private final Map<String, InMemoryTable> catalog;
+    /** Resource limits for queries evaluated against this context. */
+    private final QueryLimits limits;
 
     /**
-     * Create a new context with a catalog of base relations.
+     * Create a new context with a catalog of base relations and no query limits.
      * @param catalog map of relation names to tables; will be defensively copied
      */
     public EvaluationContext(Map<String, InMemoryTable> catalog) {
+        this(catalog, QueryLimits.NONE);
+    }
+
+    /**
+     * Create a new context with a catalog of base relations and query limits.
+     * @param catalog map of relation names to tables; will be defensively copied
+     * @param limits  timeout and materialization caps for each query
+     */
+    public EvaluationContext(Map<String, InMemoryTable> catalog, QueryLimits limits) {
         this.catalog = Map.copyOf(catalog);
+        this.limits = limits == null ? QueryLimits.NONE : limits;
+    }
+
+    /**
+     * Create a context reading one version of a {@link EXECUTOR.Catalog}; the snapshot must stay
+     * open until the query's result has been consumed. Relations kept on disk are loaded the
+     * first time {@link #table} resolves them, and cannot be evicted while the snapshot is open.
+     * @param snapshot relations to resolve names against
+     * @param limits   timeout and materialization caps for each query
+     */
+    public EvaluationContext(Catalog.Snapshot snapshot, QueryLimits limits) {
+        this.catalog = snapshot.tables();
+        this.limits = limits == null ? QueryLimits.NONE : limits;
+    }
+
+    /** @return the limits applied to each query evaluated in this context */
+    public QueryLimits limits() {
+        return limits;
     }
 
     /**
-     * Resolve a relation by name.
+     * Resolve a relation by name. In a snapshot-backed context the first lookup of a
+     * relation kept on disk reads it into memory, where it stays until the snapshot closes.
      * @param name logical name used in queries (e.g., "Employees")
      * @return the base {@link InMemoryTable}
      * @throws IllegalArgumentException if no such relation exists
+     * @throws java.io.UncheckedIOException if the relation has to be loaded and cannot be read
+     * @throws IllegalStateException if the backing snapshot has already been closed
      */
     public InMemoryTable table(String name) {
         InMemoryTable t = catalog.get(name);
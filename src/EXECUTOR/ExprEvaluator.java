@@ -11,20 +11,42 @@ import PARSER.EXPR.*;
  *
  * <h3>Supported operators</h3>
  * <ul>
- *   <li>Selection (σ) — filters rows by a boolean condition expression.</li>
- *   <li>Projection (π) — reduces the schema to a specified attribute list.</li>
+ *   <li>Selection (σ) — filters rows by a boolean condition expression; scans of base relations
+ *       skip chunks ruled out by the table's {@link EXECUTOR.ZoneMap}.</li>
+ *   <li>Projection (π) — reduces the schema to a specified attribute list; removes duplicates
+ *       with a streaming hash-distinct unless in bag mode ({@code π bag ...}).</li>
  *   <li>Rename (ρ) — renames a relation; currently treated as a no-op on schema.</li>
- *   <li>Join (⋈) — nested-loop join; supports both natural joins and θ-joins with conditions.</li>
- *   <li>Set operations — UNION (∪), INTERSECT (∩), MINUS (−), with schema compatibility checks.</li>
+ *   <li>Sort (τ) — multi-key ordering, bounded-heap top-k with a limit (see {@link EXECUTOR.RowSorter}).</li>
+ *   <li>Aggregation (γ) — hash grouping with primitive accumulators (see {@link EXECUTOR.HashAggregator}).</li>
+ *   <li>Join (⋈) — the algorithm is chosen once both inputs are materialized, from their actual
+ *       sizes: a nested loop when the inputs are tiny; for natural joins and θ-joins with equality
+ *       conjuncts, a merge join when both inputs are already sorted on the keys and otherwise a
+ *       hash join building the smaller input, radix-partitioned across cores for large inputs
+ *       (see {@link EXECUTOR.HashJoin}); θ-joins with an
+ *       inequality {@code L.a < R.b} run as band joins (see {@link EXECUTOR.SortMergeJoin}); the
+ *       explicit cross product (×) and the remaining θ-joins use a nested loop.</li>
+ *   <li>Semi-join (⋉) / anti-join (▷) — hash set over the right side's join keys; left rows are
+ *       emitted untouched.</li>
+ *   <li>Set operations — UNION (∪), INTERSECT (∩), MINUS (−), with schema compatibility checks;
+ *       hash-partitioned across cores for large inputs (see {@link EXECUTOR.SetOperations}).</li>
  *   <li>Base relations — {@link PARSER.EXPR.RelationRef} nodes resolved through the {@link EvaluationContext} catalog.</li>
  * </ul>
  *
  * <h3>Design</h3>
  * <ul>
- *   <li>Recursive: children are always evaluated before parent operators.</li>
- *   <li>Tuple-at-a-time algorithms (nested loop, row copying), adequate for small datasets.</li>
+ *   <li>Queries are first rewritten by the {@link EXECUTOR.Optimizer} (e.g. π over a join
+ *       into a semi-join).</li>
+ *   <li>Recursive: children are always evaluated before parent operators. Hash joins evaluate
+ *       their build side first — the input with fewer estimated rows
+ *       ({@link EXECUTOR.CardinalityEstimator}) — and push a Bloom filter of its keys into the
+ *       probe side's σ/scan (see {@link EXECUTOR.RuntimeFilter}).</li>
+ *   <li>Structurally identical subtrees are evaluated once per query and shared
+ *       (see {@link EXECUTOR.CommonSubexpressions}).</li>
+ *   <li>Tuple-at-a-time algorithms (row copying), adequate for small datasets.</li>
  *   <li>Uses only core Java collections and custom in-memory data structures.</li>
  *   <li>Delegates schema checks to {@link CORE.Schema} (e.g., set op compatibility).</li>
+ *   <li>Cooperative cancellation: operator loops poll a {@link EXECUTOR.QueryGuard} for
+ *       cancel/timeout and account materialized rows against {@link EXECUTOR.QueryLimits}.</li>
  * </ul>
  *
  * <h3>Collaborators</h3>
@@ -42,6 +64,7 @@ import PARSER.EXPR.*;
  * var ctx = new EvaluationContext(Map.of("Employees", employeesTable));
  * var evaluator = new ExprEvaluator(ctx);
  * InMemoryTable result = evaluator.eval(ast);
+ * String plan = evaluator.explain(ast);     // runs it too: per-node rows and join algorithms
  * }</pre>
  *
  * @author Seydi Cheikh Wade: 101323727
@@ -53,36 +76,152 @@ import PARSER.EXPR.*;
 public class ExprEvaluator {
 
     private final EvaluationContext ctx;
+    /** Guard of the query currently being evaluated; an evaluator runs one query at a time. */
+    private QueryGuard guard = new QueryGuard(QueryLimits.NONE);
+    /** Shared-subtree bookkeeping of the query currently being evaluated. */
+    private CommonSubexpressions shared;
+    /** Rewrites and schema derivation for the query currently being evaluated. */
+    private Optimizer optimizer;
+    /** Join-key filters pushed into probe-side nodes that have not been evaluated yet. */
+    private final Map<Expr, List<RuntimeFilter>> runtimeFilters = new IdentityHashMap<>();
+    /** Join inputs with at most this many row pairs use a nested loop: no hash table to build. */
+    static final long NESTED_LOOP_PAIRS = 256;
+    /** Recorder of the query being explained, or null when not explaining. */
+    private QueryPlan plan;
 
     public ExprEvaluator(EvaluationContext ctx) {
         this.ctx = ctx;
     }
 
-    /** Entry point: evaluate any Expr AST into an InMemoryTable */
+    /** Entry point: evaluate any Expr AST into an InMemoryTable under the context's limits */
     public InMemoryTable eval(Expr e) {
-        if (e instanceof RelationRef r) {
-            return ctx.table(r.name());
+        return eval(e, new QueryGuard(ctx.limits()));
+    }
+
+    /**
+     * Evaluate under an explicit guard, so the caller can {@link QueryGuard#cancel()}
+     * the query from another thread.
+     * @throws QueryAbortedException if the query is cancelled, times out or exceeds its limits;
+     *         intermediate tables are released before the exception propagates
+     */
+    public InMemoryTable eval(Expr e, QueryGuard guard) {
+        this.guard = guard;
+        this.optimizer = new Optimizer(ctx);
+        this.shared = CommonSubexpressions.analyze(optimizer.optimize(e));
+        if (plan != null) plan.root(shared.root());
+        try {
+            InMemoryTable result = evalNode(shared.root());
+            guard.finish();
+            return result;
+        } catch (QueryAbortedException ex) {
+            guard.release();
+            throw ex;
+        } finally {
+            shared = null;
+            optimizer = null;
+            runtimeFilters.clear();
+        }
+    }
+
+    /**
+     * Evaluate {@code e} and describe how it ran: the optimized operator tree with the rows
+     * each node produced and the join algorithms chosen from the actual input sizes.
+     */
+    public String explain(Expr e) {
+        return explain(e, new QueryGuard(ctx.limits()));
+    }
+
+    /** {@link #explain(Expr)} under an explicit guard. */
+    public String explain(Expr e, QueryGuard guard) {
+        plan = new QueryPlan();
+        try {
+            eval(e, guard);
+            return plan.render();
+        } finally {
+            plan = null;
+        }
+    }
+
+    /** Evaluate a DAG node; shared subtrees are computed once and reused by every parent. */
+    private InMemoryTable evalNode(Expr e) {
+        InMemoryTable result;
+        if (!shared.isShared(e)) {
+            result = evalOperator(e);
+        } else {
+            result = shared.take(e);
+            if (result == null) {
+                result = evalOperator(e);
+                shared.put(e, result);
+            }
         }
+        if (plan != null) plan.rows(e, result.size());
+        return result;
+    }
+
+    private InMemoryTable evalOperator(Expr e) {
+        guard.check();
+        List<RuntimeFilter> filters = runtimeFilters.remove(e);
         if (e instanceof Selection s) {
-            InMemoryTable child = eval(s.child());
-            return evalSelection(s.condition(), child);
+            if (PredicateSimplifier.isFalse(s.condition())) return newTable(optimizer.schemaOf(s.child()));
+            return evalSelection(s, evalNode(s.child()), filters);
+        }
+        InMemoryTable result = evalUnfiltered(e);
+        return filters == null ? result : evalRuntimeFilters(result, filters);
+    }
+
+    private InMemoryTable evalUnfiltered(Expr e) {
+        if (e instanceof RelationRef r) {
+            return ctx.table(r.name());
         }
         if (e instanceof Projection p) {
-            InMemoryTable child = eval(p.child());
-            return evalProjection(p.attrs(), child);
+            InMemoryTable child = evalNode(p.child());
+            return evalProjection(p, child);
         }
         if (e instanceof Rename r) {
-            InMemoryTable child = eval(r.child());
+            InMemoryTable child = evalNode(r.child());
             return evalRename(r.newName(), child);
         }
+        if (e instanceof Aggregation a) {
+            InMemoryTable child = evalNode(a.child());
+            return evalAggregation(a, child);
+        }
+        if (e instanceof Sort t) {
+            InMemoryTable child = evalNode(t.child());
+            return evalSort(t, child);
+        }
         if (e instanceof Join j) {
-            InMemoryTable left = eval(j.left());
-            InMemoryTable right = eval(j.right());
-            return evalJoin(left, right, j.on());
+            JoinKeys keys = JoinKeys.forJoin(j, optimizer.schemaOf(j.left()), optimizer.schemaOf(j.right()));
+            if (!keys.isEqui()) {
+                InMemoryTable left = evalNode(j.left());
+                return evalThetaJoin(j, left, evalNode(j.right()));
+            }
+            // likely hash build side first, so its keys can filter the probe side while it is produced
+            CardinalityEstimator est = optimizer.estimator();
+            boolean buildLeft = est.rows(j.left()) < est.rows(j.right());
+            InMemoryTable left, right;
+            if (buildLeft) {
+                left = evalNode(j.left());
+                pushRuntimeFilter(j.right(), keys.rightKeys(), left, keys.leftKeys());
+                right = evalNode(j.right());
+            } else {
+                right = evalNode(j.right());
+                pushRuntimeFilter(j.left(), keys.leftKeys(), right, keys.rightKeys());
+                left = evalNode(j.left());
+            }
+            return evalEquiJoin(j, left, right, buildLeft);
+        }
+        if (e instanceof SemiJoin s) {
+            InMemoryTable right = evalNode(s.right());
+            if (!s.anti()) {
+                JoinKeys keys = JoinKeys.forSemiJoin(s, optimizer.schemaOf(s.left()), right.schema());
+                if (keys.isEqui()) pushRuntimeFilter(s.left(), keys.leftKeys(), right, keys.rightKeys());
+            }
+            InMemoryTable left = evalNode(s.left());
+            return evalSemiJoin(s, left, right);
         }
         if (e instanceof SetOp s) {
-            InMemoryTable left = eval(s.left());
-            InMemoryTable right = eval(s.right());
+            InMemoryTable left = evalNode(s.left());
+            InMemoryTable right = evalNode(s.right());
             return switch (s.kind()) {
                 case UNION     -> evalUnion(left, right);
                 case INTERSECT -> evalIntersect(left, right);
@@ -92,20 +231,158 @@ public class ExprEvaluator {
         throw new UnsupportedOperationException("Unknown expr: " + e);
     }
 
+    // --- Output helpers: every materialized row is accounted against the query limits ---
+    private InMemoryTable newTable(Schema schema) {
+        return guard.track(new InMemoryTable(schema));
+    }
+
+    private void emit(InMemoryTable out, InMemoryRow row) {
+        guard.materialized(row);
+        out.add(row);
+    }
+
     // --- Selection (σ) ---
-    private InMemoryTable evalSelection(Expr cond, InMemoryTable input) {
-        InMemoryTable out = new InMemoryTable(input.schema());
-        for (InMemoryRow row : input.rows()) {
-            Object val = cond.eval(row.asMap());
-            if (val instanceof Boolean b && b) {
-                out.add(row);
+    /**
+     * When {@code input} is a base relation (σ directly over a name), its zone map is used to skip
+     * chunks that cannot satisfy the condition's {@code attr op constant} conjuncts, on compressed
+     * storage those conjuncts are evaluated on the encoded columns, and the scan is shared with
+     * concurrent scans of the same table ({@link EXECUTOR.SharedScan}).
+     */
+    private InMemoryTable evalSelection(Selection s, InMemoryTable input, List<RuntimeFilter> filters) {
+        Expr cond = s.condition();
+        boolean scan = s.child() instanceof RelationRef;
+        InMemoryTable out = newTable(input.schema());
+        List<InMemoryRow> rows = input.rows();
+        CompressedStorage packed = scan && input.storage() instanceof CompressedStorage c ? c : null;
+        List<ZoneMap.Bound> bounds = scan && (rows.size() > ZoneMap.CHUNK_ROWS || packed != null)
+                ? ZoneMap.bounds(cond, input.schema()) : List.of();
+        // building a zone map costs a scan: skip it if the statistics say most rows qualify anyway
+        boolean useZones = !bounds.isEmpty() && packed == null && (input.hasZoneMap() || input.statistics() == null
+                || CardinalityEstimator.selectivity(cond, input.statistics()) < 0.5);
+        ZoneMap zones = useZones ? input.zoneMap() : null;
+        RowPredicate predicate = PredicateCompiler.compile(cond, input.schema());
+        int chunks = (rows.size() + ZoneMap.CHUNK_ROWS - 1) / ZoneMap.CHUNK_ROWS;
+        List<String> notes = new ArrayList<>();
+        if (packed != null) notes.add("scan of compressed columns");
+        if (!scan || chunks < SharedScan.MIN_CHUNKS) {
+            for (int chunk = 0; chunk < chunks; chunk++) {
+                selectChunk(chunk, rows, zones, packed, bounds, filters, predicate, out, null);
+            }
+        } else {
+            try (SharedScan.Cursor cursor = SharedScan.open(input, chunks)) {
+                if (cursor.start() > 0) notes.add("shared scan, joined at chunk " + cursor.start() + " of " + chunks);
+                // the table's tail is read first: keep its rows aside so the result stays in table order
+                List<InMemoryRow> tail = new ArrayList<>();
+                for (int chunk; (chunk = cursor.next()) >= 0; ) {
+                    selectChunk(chunk, rows, zones, packed, bounds, filters, predicate, out,
+                            cursor.beforeWrap(chunk) ? tail : null);
+                }
+                out.addAll(tail);
+            }
+        }
+        if (predicate instanceof AdaptiveConjunction c && c.reorderings() > 0) {
+            notes.add("terms in learned order: " + String.join(", ", c.order()));
+        }
+        if (!notes.isEmpty()) note(s, String.join(", ", notes));
+        out.markSortedOn(input.sortedOn());
+        return out;
+    }
+
+    /** Select the qualifying rows of one chunk into {@code out}, or into {@code aside} if non-null. */
+    private void selectChunk(int chunk, List<InMemoryRow> rows, ZoneMap zones, CompressedStorage packed,
+                             List<ZoneMap.Bound> bounds, List<RuntimeFilter> filters, RowPredicate predicate,
+                             InMemoryTable out, List<InMemoryRow> aside) {
+        if (zones != null && !zones.mayMatch(chunk, bounds)) return;
+        long[] candidates = packed == null || bounds.isEmpty() ? null : packed.select(chunk, bounds);
+        int start = chunk * ZoneMap.CHUNK_ROWS, end = Math.min(rows.size(), start + ZoneMap.CHUNK_ROWS);
+        for (int i = start; i < end; i++) {
+            // rows the encoded columns already rejected are never decoded
+            if (candidates != null && (candidates[(i - start) >>> 6] & 1L << (i - start)) == 0) continue;
+            guard.check();
+            InMemoryRow row = rows.get(i);
+            if (filters != null && !passes(filters, row)) continue;
+            if (!predicate.test(row)) continue;
+            if (aside == null) {
+                emit(out, row);
+            } else {
+                guard.materialized(row);                        // counted now, added to out later
+                aside.add(row);
             }
         }
+    }
+
+    // --- Runtime join filters ---
+
+    /**
+     * Summarize the build side's keys in a Bloom filter and attach it to the deepest
+     * probe-side nodes it can be pushed to. Nothing is pushed when the filter could
+     * only be checked right before the join, which probes its hash table anyway.
+     */
+    private void pushRuntimeFilter(Expr probe, List<String> probeKeys, InMemoryTable build, List<String> buildKeys) {
+        if (build.size() > RuntimeFilter.MAX_BUILD_ROWS || shared.isShared(probe)) return;
+        List<Expr> targets = new ArrayList<>();
+        collectFilterTargets(probe, probeKeys, targets, true);
+        if (targets.isEmpty()) return;
+        RuntimeFilter f = RuntimeFilter.build(build, buildKeys, probeKeys, guard);
+        for (Expr t : targets) runtimeFilters.computeIfAbsent(t, x -> new ArrayList<>()).add(f);
+    }
+
+    private void collectFilterTargets(Expr node, List<String> attrs, List<Expr> out, boolean top) {
+        List<Expr> next = filterableChildren(node, attrs);
+        // base relations and shared subtrees are read by other consumers too: stop above them
+        if (!next.isEmpty() && next.stream().noneMatch(c -> c instanceof RelationRef || shared.isShared(c))) {
+            for (Expr c : next) collectFilterTargets(c, attrs, out, false);
+        } else if (!top || node instanceof Selection) {
+            out.add(node);
+        }
+    }
+
+    /** Children of {@code node} a filter on {@code attrs} can move into without changing the node's other rows. */
+    private List<Expr> filterableChildren(Expr node, List<String> attrs) {
+        if (node instanceof Selection s) return List.of(s.child());
+        if (node instanceof Projection p) return List.of(p.child());
+        if (node instanceof Rename r) return List.of(r.child());
+        if (node instanceof Sort t) return t.limit() == Sort.NO_LIMIT ? List.of(t.child()) : List.of();
+        if (node instanceof Aggregation a) return a.groupBy().containsAll(attrs) ? List.of(a.child()) : List.of();
+        if (node instanceof SemiJoin s) return List.of(s.left());
+        if (node instanceof Join j) {
+            if (hasAll(optimizer.schemaOf(j.left()), attrs)) return List.of(j.left());
+            if (hasAll(optimizer.schemaOf(j.right()), attrs)) return List.of(j.right());
+            return List.of();
+        }
+        if (node instanceof SetOp s) {
+            if (s.kind() != SetOp.Kind.UNION) return List.of(s.left());
+            // set operations match columns by position: only push into both sides if the names agree
+            boolean sameNames = optimizer.schemaOf(s.left()).attributes().stream().map(Attribute::name).toList()
+                    .equals(optimizer.schemaOf(s.right()).attributes().stream().map(Attribute::name).toList());
+            return sameNames ? List.of(s.left(), s.right()) : List.of();
+        }
+        return List.of();
+    }
+
+    private static boolean hasAll(Schema schema, List<String> attrs) {
+        for (String a : attrs) if (!schema.has(a)) return false;
+        return true;
+    }
+
+    private static boolean passes(List<RuntimeFilter> filters, InMemoryRow row) {
+        for (RuntimeFilter f : filters) if (!f.mightMatch(row)) return false;
+        return true;
+    }
+
+    private InMemoryTable evalRuntimeFilters(InMemoryTable input, List<RuntimeFilter> filters) {
+        InMemoryTable out = newTable(input.schema());
+        for (InMemoryRow row : input.rows()) {
+            guard.check();
+            if (passes(filters, row)) emit(out, row);
+        }
+        out.markSortedOn(input.sortedOn());
         return out;
     }
 
     // --- Projection (π) ---
-    private InMemoryTable evalProjection(List<String> attrs, InMemoryTable input) {
+    private InMemoryTable evalProjection(Projection spec, InMemoryTable input) {
+        List<String> attrs = spec.attrs();
         // build new schema with selected attributes
         List<Attribute> projectedAttrs = new ArrayList<>();
         for (String a : attrs) {
@@ -113,14 +390,54 @@ public class ExprEvaluator {
         }
         Schema schema = new Schema(projectedAttrs);
 
-        InMemoryTable out = new InMemoryTable(schema);
+        // set semantics: streaming hash-distinct emits each projected tuple on first sight
+        DistinctFilter seen = spec.distinct() ? new DistinctFilter() : null;
+        InMemoryTable out = newTable(schema);
         for (InMemoryRow row : input.rows()) {
-            InMemoryRow projected = InMemoryRow.empty();
-            for (String a : attrs) {
-                projected = projected.with(a, row.asMap().get(a));
-            }
-            out.add(projected);
+            guard.check();
+            Object[] slots = new Object[attrs.size()];
+            for (int i = 0; i < slots.length; i++) slots[i] = row.get(attrs.get(i));
+            if (seen != null && !seen.firstSight(slots)) continue;
+
+            Map<String, Object> projected = new LinkedHashMap<>();
+            for (int i = 0; i < slots.length; i++) projected.put(attrs.get(i), slots[i]);
+            emit(out, new InMemoryRow(projected));
         }
+        out.markSortedOn(keptSortPrefix(input.sortedOn(), attrs));
+        return out;
+    }
+
+    /** Longest prefix of an input sort order that survives projection onto {@code attrs}. */
+    private static List<String> keptSortPrefix(List<String> sortedOn, List<String> attrs) {
+        int n = 0;
+        while (n < sortedOn.size() && attrs.contains(sortedOn.get(n))) n++;
+        return sortedOn.subList(0, n);
+    }
+
+    // --- Aggregation (γ) ---
+    private InMemoryTable evalAggregation(Aggregation spec, InMemoryTable input) {
+        HashAggregator agg = new HashAggregator(spec, input.schema(), guard);
+        InMemoryTable out = newTable(agg.outputSchema());
+        if (agg.aggregateCompressed(input, out)) {
+            note(spec, "on compressed columns");
+        } else {
+            agg.aggregate(input, out);
+        }
+        return out;
+    }
+
+    // --- Sort / top-k (τ) ---
+    private InMemoryTable evalSort(Sort spec, InMemoryTable input) {
+        int[] order = new RowSorter(spec.keys(), input.schema(), guard).order(input.rows(), spec.limit());
+        InMemoryTable out = newTable(input.schema());
+        List<InMemoryRow> rows = input.rows();
+        for (int i : order) emit(out, rows.get(i));
+        List<String> sortedOn = new ArrayList<>();
+        for (SortKey k : spec.keys()) {
+            if (k.descending()) break;            // sortedOn records ascending orders only
+            sortedOn.add(k.attr());
+        }
+        out.markSortedOn(sortedOn);
         return out;
     }
 
@@ -131,68 +448,123 @@ public class ExprEvaluator {
         return input;
     }
 
-    // --- Join (⋈) ---
-    private InMemoryTable evalJoin(InMemoryTable left, InMemoryTable right, Expr on) {
-        Schema schema = Schema.merge(left.schema(), right.schema());
-        InMemoryTable out = new InMemoryTable(schema);
+    // --- Join (⋈, ×): the algorithm is picked from the actual input sizes ---
+    /**
+     * Natural joins and θ-joins with at least one {@code L.a = R.b} conjunct.
+     * @param plannedBuildLeft the build side the evaluation order was planned for, kept on ties
+     */
+    private InMemoryTable evalEquiJoin(Join j, InMemoryTable left, InMemoryTable right, boolean plannedBuildLeft) {
+        JoinKeys keys = JoinKeys.forJoin(j, left.schema(), right.schema());
+        InMemoryTable out = newTable(JoinKeys.outputSchema(j.kind(), left.schema(), right.schema()));
+        if (tiny(left, right)) {
+            note(j, "nested loop, " + left.size() + " × " + right.size() + " rows");
+            nestedLoop(j, keys, left, right, out);
+        } else if (SortMergeJoin.sortedOn(left, keys.leftKeys()) && SortMergeJoin.sortedOn(right, keys.rightKeys())) {
+            note(j, "merge join on " + keys.leftKeys() + " = " + keys.rightKeys());
+            new SortMergeJoin(guard).merge(keys, left, right, out);
+        } else {
+            boolean buildLeft = left.size() == right.size() ? plannedBuildLeft : left.size() < right.size();
+            InMemoryTable build = buildLeft ? left : right, probe = buildLeft ? right : left;
+            note(j, (HashJoin.parallel(build.size(), probe.size()) ? "parallel radix " : "") + "hash join, build " + (buildLeft ? "left" : "right") + ": " + build.size()
+                    + " rows, probe " + (buildLeft ? "right" : "left") + ": " + probe.size() + " rows");
+            new HashJoin(keys, guard).join(left, right, out, buildLeft);
+        }
+        return out;
+    }
 
+    /** Cross products and θ-joins without equality conjuncts: band join on an inequality, else nested loop. */
+    private InMemoryTable evalThetaJoin(Join j, InMemoryTable left, InMemoryTable right) {
+        JoinKeys keys = JoinKeys.forJoin(j, left.schema(), right.schema());
+        InMemoryTable out = newTable(JoinKeys.outputSchema(j.kind(), left.schema(), right.schema()));
+        SortMergeJoin.Band band = j.kind() == Join.Kind.THETA && !tiny(left, right)
+                ? SortMergeJoin.band(j.on(), left.schema(), right.schema()) : null;
+        if (band != null) {
+            note(j, "band join on " + band + ", right sorted: " + right.size() + " rows");
+            new SortMergeJoin(guard).band(band, left, right, out);
+        } else {
+            note(j, "nested loop, " + left.size() + " × " + right.size() + " rows");
+            nestedLoop(j, keys, left, right, out);
+        }
+        return out;
+    }
+
+    private static boolean tiny(InMemoryTable left, InMemoryTable right) {
+        return (long) left.size() * right.size() <= NESTED_LOOP_PAIRS;
+    }
+
+    /** Every pair of rows; natural joins match on the common attributes, θ-joins on their condition. */
+    private void nestedLoop(Join j, JoinKeys keys, InMemoryTable left, InMemoryTable right, InMemoryTable out) {
+        RowPredicate on = j.on() == null ? row -> true : PredicateCompiler.compile(j.on(), out.schema());
+        boolean natural = j.kind() == Join.Kind.NATURAL;
         for (InMemoryRow lrow : left.rows()) {
+            List<Object> key = natural ? JoinKeys.key(lrow, keys.leftKeys()) : null;
+            if (natural && key == null) continue;              // null keys never match
             for (InMemoryRow rrow : right.rows()) {
-                // build combined row
-                InMemoryRow combined = InMemoryRow.empty();
-                for (var entry : lrow.asMap().entrySet()) {
-                    combined = combined.with(entry.getKey(), entry.getValue());
-                }
-                for (var entry : rrow.asMap().entrySet()) {
-                    combined = combined.with(entry.getKey(), entry.getValue());
-                }
-
-                boolean ok = true;
-                if (on != null) {
-                    Object val = on.eval(combined.asMap());
-                    ok = (val instanceof Boolean b && b);
-                }
-                if (ok) out.add(combined);
+                guard.check();
+                if (natural && !key.equals(JoinKeys.key(rrow, keys.rightKeys()))) continue;
+                InMemoryRow combined = combine(lrow, rrow);
+                if (on.test(combined)) emit(out, combined);
             }
         }
-        return out;
+        out.markSortedOn(left.sortedOn()); // nested loop keeps the outer (left) order
     }
 
-    // --- Set operations ---
-    private InMemoryTable evalUnion(InMemoryTable a, InMemoryTable b) {
-        Schema.checkCompatible(a.schema(), b.schema());
-        InMemoryTable out = new InMemoryTable(a.schema());
+    private void note(Expr node, String strategy) {
+        if (plan != null) plan.strategy(node, strategy);
+    }
 
-        Set<InMemoryRow> seen = new HashSet<>();
-        for (InMemoryRow row : a.rows()) {
-            if (seen.add(row)) {
-                out.add(row);
-            }
+    // --- Semi-join (⋉) / anti-join (▷): left rows with / without a match, emitted untouched ---
+    private InMemoryTable evalSemiJoin(SemiJoin s, InMemoryTable left, InMemoryTable right) {
+        JoinKeys keys = JoinKeys.forSemiJoin(s, left.schema(), right.schema());
+        InMemoryTable out = newTable(left.schema());
+        if (keys.isEqui()) {
+            note(s, "hash " + (s.anti() ? "anti" : "semi") + "-join, build right: " + right.size() + " rows");
+            new HashJoin(keys, guard).semi(left, right, out, s.anti());
+            return out;
         }
-        for (InMemoryRow row : b.rows()) {
-            if (seen.add(row)) {
-                out.add(row);
+        note(s, "nested loop, " + left.size() + " × " + right.size() + " rows");
+        RowPredicate on = PredicateCompiler.compile(s.on(), Schema.merge(left.schema(), right.schema()));
+        for (InMemoryRow lrow : left.rows()) {
+            boolean found = false;
+            for (InMemoryRow rrow : right.rows()) {
+                guard.check();
+                if (on.test(combine(lrow, rrow))) {
+                    found = true;
+                    break;
+                }
             }
+            if (found != s.anti()) emit(out, lrow);
         }
+        out.markSortedOn(left.sortedOn());
         return out;
     }
 
+    /** Concatenate a left and right row into one join output row (left attributes first). */
+    static InMemoryRow combine(InMemoryRow lrow, InMemoryRow rrow) {
+        Map<String, Object> m = new LinkedHashMap<>(lrow.asMap());
+        m.putAll(rrow.asMap());
+        return new InMemoryRow(m);
+    }
+
+    // --- Set operations (see SetOperations) ---
+    private InMemoryTable evalUnion(InMemoryTable a, InMemoryTable b) {
+        Schema.checkCompatible(a.schema(), b.schema());
+        InMemoryTable out = newTable(a.schema());
+        new SetOperations(guard).union(a, b, out);
+        return out;
+    }
 
     private InMemoryTable evalIntersect(InMemoryTable a, InMemoryTable b) {
         Schema.checkCompatible(a.schema(), b.schema());
-        InMemoryTable out = new InMemoryTable(a.schema());
-        for (InMemoryRow row : a.rows()) {
-            if (b.rows().contains(row)) out.add(row);
-        }
+        InMemoryTable out = newTable(a.schema());
+        new SetOperations(guard).intersect(a, b, out);
         return out;
     }
 
     private InMemoryTable evalMinus(InMemoryTable a, InMemoryTable b) {
         Schema.checkCompatible(a.schema(), b.schema());
-        InMemoryTable out = new InMemoryTable(a.schema());
-        for (InMemoryRow row : a.rows()) {
-            if (!b.rows().contains(row)) out.add(row);
-        }
+        InMemoryTable out = newTable(a.schema());
+        new SetOperations(guard).minus(a, b, out);
         return out;
     }
 }
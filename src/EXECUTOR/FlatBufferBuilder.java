@@ -0,0 +1,205 @@
+package EXECUTOR;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * FlatBufferBuilder
+ *
+ * <p>Minimal FlatBuffers encoder for the metadata of {@link ArrowWriter}: tables
+ * with scalar, string, table, table-vector and struct-vector fields. Tables are
+ * described up front and serialized front to back — every child is written after
+ * its parent, so all {@code uoffset} values are positive, and each vtable sits
+ * directly before its table.</p>
+ *
+ * <h3>Layout rules</h3>
+ * <ul>
+ *   <li>Little endian; scalars aligned to their size relative to the buffer start.</li>
+ *   <li>Inline fields are laid out largest first; a table holding 8-byte fields
+ *       starts at 4 mod 8 so those fields follow its 4-byte vtable offset aligned.</li>
+ *   <li>Struct vectors (Arrow's FieldNode, Buffer, Block) are sequences of
+ *       8-byte words, with their elements 8-aligned.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class FlatBufferBuilder {
+    private byte[] buf = new byte[256];
+    private int pos;
+
+    /** A table under construction; fields are identified by their schema field id. */
+    static final class Table {
+        private final List<Field> fields = new ArrayList<>();
+
+        Table addBool(int id, boolean v) { return scalar(id, 1, v ? 1 : 0); }
+        Table addByte(int id, int v)     { return scalar(id, 1, v); }
+        Table addShort(int id, int v)    { return scalar(id, 2, v); }
+        Table addInt(int id, int v)      { return scalar(id, 4, v); }
+        Table addLong(int id, long v)    { return scalar(id, 8, v); }
+
+        Table addString(int id, String s)       { return child(id, s); }
+        Table addTable(int id, Table t)         { return child(id, t); }
+        Table addTables(int id, List<Table> ts) { return child(id, ts); }
+
+        /** A vector of structs, each {@code wordsPerStruct} little-endian 8-byte words. */
+        Table addStructs(int id, int wordsPerStruct, long[] words) {
+            return child(id, new Structs(wordsPerStruct, words));
+        }
+
+        private Table scalar(int id, int size, long bits) {
+            fields.add(new Field(id, size, bits, null));
+            return this;
+        }
+
+        private Table child(int id, Object value) {
+            fields.add(new Field(id, 4, 0, value));
+            return this;
+        }
+    }
+
+    private record Field(int id, int size, long bits, Object child) { }
+    private record Structs(int wordsPerStruct, long[] words) { }
+
+    /** @return the serialized buffer with {@code root} as its root table */
+    static byte[] finish(Table root) {
+        FlatBufferBuilder b = new FlatBufferBuilder();
+        b.putInt(0);
+        b.setInt(0, b.writeTable(root));
+        return Arrays.copyOf(b.buf, b.pos);
+    }
+
+    // --- objects ---
+
+    private int writeTable(Table t) {
+        int numFields = 0;
+        boolean wide = false;
+        for (Field f : t.fields) {
+            numFields = Math.max(numFields, f.id + 1);
+            wide |= f.size == 8;
+        }
+
+        align(2);
+        int vtable = pos;
+        putShort(4 + 2 * numFields);
+        putShort(0);                               // table size, patched below
+        for (int i = 0; i < numFields; i++) putShort(0);
+
+        if (wide) while (pos % 8 != 4) putByte(0);
+        else align(4);
+        int table = pos;
+        putInt(table - vtable);                    // soffset: vtable lies before the table
+
+        List<Field> inline = new ArrayList<>(t.fields);
+        inline.sort(Comparator.comparingInt(Field::size).reversed());
+        int[] slots = new int[inline.size()];
+        for (int i = 0; i < inline.size(); i++) {
+            Field f = inline.get(i);
+            align(f.size);
+            setShort(vtable + 4 + 2 * f.id, pos - table);
+            slots[i] = pos;
+            switch (f.size) {
+                case 1 -> putByte((int) f.bits);
+                case 2 -> putShort((int) f.bits);
+                case 4 -> putInt((int) f.bits);
+                default -> putLong(f.bits);
+            }
+        }
+        setShort(vtable + 2, pos - table);
+
+        for (int i = 0; i < inline.size(); i++) {
+            Object child = inline.get(i).child;
+            if (child == null) continue;
+            int at = writeChild(child);
+            setInt(slots[i], at - slots[i]);
+        }
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int writeChild(Object child) {
+        if (child instanceof Table t) return writeTable(t);
+        if (child instanceof String s) return writeString(s);
+        if (child instanceof Structs s) return writeStructs(s);
+        return writeTables((List<Table>) child);
+    }
+
+    private int writeString(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        align(4);
+        int at = pos;
+        putInt(bytes.length);
+        ensure(bytes.length + 1);
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+        putByte(0);
+        return at;
+    }
+
+    private int writeTables(List<Table> tables) {
+        align(4);
+        int at = pos;
+        putInt(tables.size());
+        int first = pos;
+        for (int i = 0; i < tables.size(); i++) putInt(0);
+        for (int i = 0; i < tables.size(); i++) {
+            int slot = first + 4 * i;
+            setInt(slot, writeTable(tables.get(i)) - slot);
+        }
+        return at;
+    }
+
+    private int writeStructs(Structs s) {
+        while (pos % 8 != 4) putByte(0);
+        int at = pos;
+        putInt(s.words.length / s.wordsPerStruct);
+        for (long w : s.words) putLong(w);
+        return at;
+    }
+
+    // --- little-endian primitives ---
+
+    private void align(int n) {
+        while (pos % n != 0) putByte(0);
+    }
+
+    private void ensure(int n) {
+        if (pos + n > buf.length) buf = Arrays.copyOf(buf, Math.max(buf.length * 2, pos + n));
+    }
+
+    private void putByte(int v) {
+        ensure(1);
+        buf[pos++] = (byte) v;
+    }
+
+    private void putShort(int v) {
+        ensure(2);
+        setShort(pos, v);
+        pos += 2;
+    }
+
+    private void putInt(int v) {
+        ensure(4);
+        setInt(pos, v);
+        pos += 4;
+    }
+
+    private void putLong(long v) {
+        ensure(8);
+        setInt(pos, (int) v);
+        setInt(pos + 4, (int) (v >>> 32));
+        pos += 8;
+    }
+
+    private void setShort(int at, int v) {
+        buf[at] = (byte) v;
+        buf[at + 1] = (byte) (v >>> 8);
+    }
+
+    private void setInt(int at, int v) {
+        for (int i = 0; i < 4; i++) buf[at + i] = (byte) (v >>> (8 * i));
+    }
+}
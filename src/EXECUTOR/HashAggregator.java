@@ -0,0 +1,418 @@
+package EXECUTOR;
+
+import CORE.*;
+import PARSER.EXPR.*;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+
+/**
+ * HashAggregator
+ *
+ * <p>Implements γ (grouping and aggregation). Groups are mapped to dense
+ * slot numbers and every aggregate keeps its running state in primitive
+ * arrays indexed by slot, so no accumulator objects are allocated per group
+ * or per row.</p>
+ *
+ * <h3>Execution paths</h3>
+ * <ul>
+ *   <li><b>Streaming</b> — if the input is known to be sorted on the grouping
+ *       attributes ({@link InMemoryTable#sortedOn()}), groups arrive contiguously:
+ *       a single slot is reused and each group is emitted when its key changes.</li>
+ *   <li><b>Parallel partial</b> — inputs of at least {@link #PARALLEL_THRESHOLD}
+ *       rows are split into chunks aggregated into per-thread partial tables,
+ *       which are then merged slot by slot.</li>
+ *   <li><b>Hash</b> — otherwise a single hash table of groups.</li>
+ *   <li><b>Compressed</b> — a global aggregate of INT columns of a compressed table is
+ *       read from per-chunk sums and min/max ({@link #aggregateCompressed}).</li>
+ * </ul>
+ *
+ * <h3>Result types</h3>
+ * <ul>
+ *   <li>{@code count} → INT, {@code avg} → DOUBLE.</li>
+ *   <li>{@code sum}, {@code min}, {@code max} → type of the input attribute.</li>
+ *   <li>Nulls are ignored by every aggregate except {@code count(*)}; an aggregate
+ *       over no non-null values yields null.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class HashAggregator {
+    /** Inputs at least this large are aggregated in parallel partial tables. */
+    static final int PARALLEL_THRESHOLD = 50_000;
+    /** Key used for the single group of an aggregation without grouping attributes. */
+    private static final Object ALL = new Object();
+
+    private final List<String> groupBy;
+    private final List<AggCall> aggs;
+    private final DataType[] inTypes; // input type per aggregate (null for count(*))
+    private final Schema outSchema;
+    private final QueryGuard guard;
+
+    HashAggregator(Aggregation spec, Schema input, QueryGuard guard) {
+        this.groupBy = spec.groupBy();
+        this.aggs = spec.aggregates();
+        this.guard = guard;
+        this.inTypes = new DataType[aggs.size()];
+        for (int i = 0; i < aggs.size(); i++) {
+            AggCall a = aggs.get(i);
+            inTypes[i] = a.attr() == null ? null : input.typeOf(a.attr());
+        }
+        this.outSchema = outputSchema(spec, input);
+    }
+
+    Schema outputSchema() { return outSchema; }
+
+    /** Output schema of {@code spec} over {@code input}: grouping attributes, then one column per aggregate. */
+    static Schema outputSchema(Aggregation spec, Schema input) {
+        List<Attribute> out = new ArrayList<>();
+        for (String g : spec.groupBy()) out.add(input.attribute(input.indexOf(g)));
+        for (AggCall a : spec.aggregates()) {
+            out.add(new Attribute(a.alias(), resultType(a.func(), a.attr() == null ? null : input.typeOf(a.attr()))));
+        }
+        return new Schema(out);
+    }
+
+    /** Aggregate {@code input}, writing one row per group into {@code out}. */
+    void aggregate(InMemoryTable input, InMemoryTable out) {
+        List<InMemoryRow> rows = input.rows();
+        if (!groupBy.isEmpty() && sortedOnGroups(input.sortedOn())) {
+            streaming(rows, out);
+            out.markSortedOn(input.sortedOn().subList(0, groupBy.size()));
+            return;
+        }
+        GroupTable result;
+        if (rows.size() >= PARALLEL_THRESHOLD && Parallel.workers() > 1) {
+            result = parallel(rows);
+        } else {
+            result = new GroupTable();
+            for (InMemoryRow r : rows) {
+                guard.check();
+                result.accumulate(r);
+            }
+        }
+        if (groupBy.isEmpty()) result.slot(ALL); // a global aggregate always yields one row
+        for (int s = 0; s < result.size; s++) emit(out, result.keys.get(s), result.accs, s);
+    }
+
+    /**
+     * Answer a global aggregate of a compressed table ({@link EXECUTOR.CompressedStorage}) from its
+     * encoded columns, without decoding rows.
+     * @return false (and nothing written) if the input or the aggregates do not allow it
+     */
+    boolean aggregateCompressed(InMemoryTable input, InMemoryTable out) {
+        if (!groupBy.isEmpty() || !(input.storage() instanceof CompressedStorage c) || !c.canAggregate(aggs)) {
+            return false;
+        }
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (AggCall a : aggs) m.put(a.alias(), c.aggregate(a));
+        InMemoryRow row = new InMemoryRow(m);
+        guard.materialized(row);
+        out.add(row);
+        return true;
+    }
+
+    // ----------------------------------------------------------------------
+    // execution paths
+    // ----------------------------------------------------------------------
+
+    private GroupTable parallel(List<InMemoryRow> rows) {
+        int parts = Parallel.workers();
+        int chunk = (rows.size() + parts - 1) / parts;
+        List<Callable<GroupTable>> tasks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunk) {
+            List<InMemoryRow> slice = rows.subList(from, Math.min(rows.size(), from + chunk));
+            tasks.add(() -> {
+                GroupTable partial = new GroupTable();
+                for (InMemoryRow r : slice) {
+                    guard.check();
+                    partial.accumulate(r);
+                }
+                return partial;
+            });
+        }
+        List<GroupTable> partials = Parallel.invokeAll(tasks);
+        GroupTable merged = partials.get(0);
+        for (int i = 1; i < partials.size(); i++) merged.mergeFrom(partials.get(i));
+        return merged;
+    }
+
+    private void streaming(List<InMemoryRow> rows, InMemoryTable out) {
+        Acc[] accs = newAccs();
+        for (Acc a : accs) a.grow(1);
+        Object current = null;
+        boolean open = false;
+        for (InMemoryRow r : rows) {
+            guard.check();
+            Object key = keyOf(r);
+            if (open && !Objects.equals(key, current)) {
+                emit(out, current, accs, 0);
+                for (Acc a : accs) a.reset(0);
+            }
+            current = key;
+            open = true;
+            for (int i = 0; i < accs.length; i++) accs[i].add(0, valueOf(r, i));
+        }
+        if (open) emit(out, current, accs, 0);
+    }
+
+    /** Rows with equal grouping values are contiguous iff the leading sort keys are exactly the group attributes. */
+    private boolean sortedOnGroups(List<String> sortedOn) {
+        return sortedOn.size() >= groupBy.size()
+                && new HashSet<>(sortedOn.subList(0, groupBy.size())).equals(new HashSet<>(groupBy));
+    }
+
+    // ----------------------------------------------------------------------
+    // helpers
+    // ----------------------------------------------------------------------
+
+    private Object keyOf(InMemoryRow r) {
+        if (groupBy.isEmpty()) return ALL;
+        if (groupBy.size() == 1) return r.get(groupBy.get(0));
+        Object[] k = new Object[groupBy.size()];
+        for (int i = 0; i < k.length; i++) k[i] = r.get(groupBy.get(i));
+        return Arrays.asList(k);
+    }
+
+    private Object valueOf(InMemoryRow r, int agg) {
+        String attr = aggs.get(agg).attr();
+        return attr == null ? Boolean.TRUE : r.get(attr); // count(*) counts every row
+    }
+
+    private void emit(InMemoryTable out, Object key, Acc[] accs, int slot) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        if (groupBy.size() == 1) {
+            m.put(groupBy.get(0), key);
+        } else if (groupBy.size() > 1) {
+            List<?> k = (List<?>) key;
+            for (int i = 0; i < groupBy.size(); i++) m.put(groupBy.get(i), k.get(i));
+        }
+        for (int i = 0; i < accs.length; i++) m.put(aggs.get(i).alias(), accs[i].result(slot));
+        InMemoryRow row = new InMemoryRow(m);
+        guard.materialized(row);
+        out.add(row);
+    }
+
+    private Acc[] newAccs() {
+        Acc[] accs = new Acc[aggs.size()];
+        for (int i = 0; i < accs.length; i++) accs[i] = Acc.of(aggs.get(i).func(), inTypes[i]);
+        return accs;
+    }
+
+    private static DataType resultType(AggFunc f, DataType in) {
+        return switch (f) {
+            case COUNT -> DataType.INT;
+            case AVG -> {
+                requireNumeric(f, in);
+                yield DataType.DOUBLE;
+            }
+            case SUM -> {
+                requireNumeric(f, in);
+                yield in;
+            }
+            case MIN, MAX -> in;
+        };
+    }
+
+    private static void requireNumeric(AggFunc f, DataType t) {
+        if (t != DataType.INT && t != DataType.DOUBLE)
+            throw new IllegalArgumentException(f.name().toLowerCase() + " requires an INT or DOUBLE attribute, got " + t);
+    }
+
+    /** Groups of one (partial) aggregation: key → dense slot, plus per-slot accumulator state. */
+    private final class GroupTable {
+        final Map<Object, Integer> slots = new HashMap<>();
+        final List<Object> keys = new ArrayList<>();
+        final Acc[] accs = newAccs();
+        int size;
+
+        int slot(Object key) {
+            Integer s = slots.get(key);
+            if (s != null) return s;
+            int slot = size++;
+            slots.put(key, slot);
+            keys.add(key);
+            for (Acc a : accs) a.grow(size);
+            return slot;
+        }
+
+        void accumulate(InMemoryRow r) {
+            int s = slot(keyOf(r));
+            for (int i = 0; i < accs.length; i++) accs[i].add(s, valueOf(r, i));
+        }
+
+        void mergeFrom(GroupTable other) {
+            for (int os = 0; os < other.size; os++) {
+                int s = slot(other.keys.get(os));
+                for (int i = 0; i < accs.length; i++) accs[i].merge(s, other.accs[i], os);
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // primitive accumulators (state in arrays indexed by group slot)
+    // ----------------------------------------------------------------------
+
+    private abstract static class Acc {
+        abstract void grow(int slots);
+        abstract void add(int slot, Object v);
+        abstract void merge(int slot, Acc other, int otherSlot);
+        abstract Object result(int slot);
+        abstract void reset(int slot);
+
+        static Acc of(AggFunc f, DataType t) {
+            return switch (f) {
+                case COUNT -> new Count();
+                case SUM -> t == DataType.INT ? new IntSum() : new DoubleSum(false);
+                case AVG -> new DoubleSum(true);
+                case MIN, MAX -> switch (t) {
+                    case INT -> new IntMinMax(f == AggFunc.MIN);
+                    case DOUBLE -> new DoubleMinMax(f == AggFunc.MIN);
+                    default -> new ObjectMinMax(f == AggFunc.MIN);
+                };
+            };
+        }
+
+        static int capacity(int current, int needed) {
+            return Math.max(needed, Math.max(16, current * 2));
+        }
+    }
+
+    private static final class Count extends Acc {
+        long[] n = new long[0];
+        void grow(int slots) { if (slots > n.length) n = Arrays.copyOf(n, capacity(n.length, slots)); }
+        void add(int slot, Object v) { if (v != null) n[slot]++; }
+        void merge(int slot, Acc o, int os) { n[slot] += ((Count) o).n[os]; }
+        Object result(int slot) { return Math.toIntExact(n[slot]); }
+        void reset(int slot) { n[slot] = 0; }
+    }
+
+    private static final class IntSum extends Acc {
+        long[] sum = new long[0];
+        long[] n = new long[0];
+        void grow(int slots) {
+            if (slots > n.length) {
+                int c = capacity(n.length, slots);
+                sum = Arrays.copyOf(sum, c);
+                n = Arrays.copyOf(n, c);
+            }
+        }
+        void add(int slot, Object v) {
+            if (v == null) return;
+            sum[slot] += (Integer) v;
+            n[slot]++;
+        }
+        void merge(int slot, Acc o, int os) {
+            IntSum x = (IntSum) o;
+            sum[slot] += x.sum[os];
+            n[slot] += x.n[os];
+        }
+        Object result(int slot) {
+            if (n[slot] == 0) return null;
+            if (sum[slot] != (int) sum[slot])
+                throw new ArithmeticException("sum overflows INT (" + sum[slot] + "); aggregate a DOUBLE attribute instead");
+            return (int) sum[slot];
+        }
+        void reset(int slot) { sum[slot] = 0; n[slot] = 0; }
+    }
+
+    /** sum over DOUBLE, or avg over INT/DOUBLE. */
+    private static final class DoubleSum extends Acc {
+        final boolean average;
+        double[] sum = new double[0];
+        long[] n = new long[0];
+        DoubleSum(boolean average) { this.average = average; }
+        void grow(int slots) {
+            if (slots > n.length) {
+                int c = capacity(n.length, slots);
+                sum = Arrays.copyOf(sum, c);
+                n = Arrays.copyOf(n, c);
+            }
+        }
+        void add(int slot, Object v) {
+            if (v == null) return;
+            sum[slot] += ((Number) v).doubleValue();
+            n[slot]++;
+        }
+        void merge(int slot, Acc o, int os) {
+            DoubleSum x = (DoubleSum) o;
+            sum[slot] += x.sum[os];
+            n[slot] += x.n[os];
+        }
+        Object result(int slot) {
+            if (n[slot] == 0) return null;
+            return average ? sum[slot] / n[slot] : sum[slot];
+        }
+        void reset(int slot) { sum[slot] = 0; n[slot] = 0; }
+    }
+
+    private static final class IntMinMax extends Acc {
+        final boolean min;
+        int[] v = new int[0];
+        boolean[] seen = new boolean[0];
+        IntMinMax(boolean min) { this.min = min; }
+        void grow(int slots) {
+            if (slots > v.length) {
+                int c = capacity(v.length, slots);
+                v = Arrays.copyOf(v, c);
+                seen = Arrays.copyOf(seen, c);
+            }
+        }
+        void add(int slot, Object o) { if (o != null) put(slot, (Integer) o); }
+        private void put(int slot, int x) {
+            if (!seen[slot] || (min ? x < v[slot] : x > v[slot])) v[slot] = x;
+            seen[slot] = true;
+        }
+        void merge(int slot, Acc o, int os) {
+            IntMinMax x = (IntMinMax) o;
+            if (x.seen[os]) put(slot, x.v[os]);
+        }
+        Object result(int slot) { return seen[slot] ? v[slot] : null; }
+        void reset(int slot) { seen[slot] = false; }
+    }
+
+    private static final class DoubleMinMax extends Acc {
+        final boolean min;
+        double[] v = new double[0];
+        boolean[] seen = new boolean[0];
+        DoubleMinMax(boolean min) { this.min = min; }
+        void grow(int slots) {
+            if (slots > v.length) {
+                int c = capacity(v.length, slots);
+                v = Arrays.copyOf(v, c);
+                seen = Arrays.copyOf(seen, c);
+            }
+        }
+        void add(int slot, Object o) { if (o != null) put(slot, ((Number) o).doubleValue()); }
+        private void put(int slot, double x) {
+            if (!seen[slot] || (min ? x < v[slot] : x > v[slot])) v[slot] = x;
+            seen[slot] = true;
+        }
+        void merge(int slot, Acc o, int os) {
+            DoubleMinMax x = (DoubleMinMax) o;
+            if (x.seen[os]) put(slot, x.v[os]);
+        }
+        Object result(int slot) { return seen[slot] ? v[slot] : null; }
+        void reset(int slot) { seen[slot] = false; }
+    }
+
+    /** min/max over STRING or BOOL values (natural ordering). */
+    private static final class ObjectMinMax extends Acc {
+        final boolean min;
+        Object[] v = new Object[0];
+        ObjectMinMax(boolean min) { this.min = min; }
+        void grow(int slots) { if (slots > v.length) v = Arrays.copyOf(v, capacity(v.length, slots)); }
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        void add(int slot, Object o) {
+            if (o == null) return;
+            Object cur = v[slot];
+            if (cur == null) { v[slot] = o; return; }
+            int c = ((Comparable) o).compareTo(cur);
+            if (min ? c < 0 : c > 0) v[slot] = o;
+        }
+        void merge(int slot, Acc o, int os) { add(slot, ((ObjectMinMax) o).v[os]); }
+        Object result(int slot) { return v[slot]; }
+        void reset(int slot) { v[slot] = null; }
+    }
+}
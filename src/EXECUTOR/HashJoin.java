@@ -0,0 +1,252 @@
+package EXECUTOR;
+
+import CORE.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * HashJoin
+ *
+ * <p>Equi-join in O(n + m): the build input (normally the smaller one) is loaded
+ * into a {@link EXECUTOR.RowIndex} keyed on its join attributes — an
+ * open-addressing table of row indexes, specialised for INT and STRING keys —
+ * then the other input is
+ * streamed through it and each row is combined with its matches. Used for natural joins
+ * (keyed on the common attributes) and for θ-joins with at least one
+ * {@code L.a = R.b} conjunct; the rest of the condition is checked on the
+ * combined row.</p>
+ *
+ * <p>Semi- and anti-joins ({@link #semi}) only test for existence: without a
+ * residual condition a key lookup decides each left row, and left rows are emitted untouched — no combined rows are built.</p>
+ *
+ * <h3>Execution paths</h3>
+ * <ul>
+ *   <li><b>Single table</b> — one hash table over the whole build input, probed in order.</li>
+ *   <li><b>Parallel radix</b> — inputs of at least {@link #PARALLEL_THRESHOLD} rows in total
+ *       are hashed in parallel chunks and scattered by the top bits of their key hash into
+ *       partitions of about {@link #PARTITION_ROWS} build rows, whose hash tables stay in
+ *       cache. Partitions are built concurrently and then probed concurrently in slices, so
+ *       a partition with many probe rows is shared by several workers. A build partition
+ *       far above the target size (skewed keys) is split again on the next hash bits until
+ *       it fits or holds a single hash value.</li>
+ * </ul>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Rows with a null key value never match (null ≠ null).</li>
+ *   <li>The single-table path follows the probe input's order, so its {@code sortedOn} is
+ *       kept; the radix path groups output by partition and keeps no order. Combined
+ *       rows always list the left input's attributes first.</li>
+ *   <li>Shared attributes of a natural join are equal on both sides, so combining the
+ *       rows keeps one copy in the left attribute's position.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class HashJoin {
+    /** Joins with at least this many input rows (build + probe) run radix-partitioned in parallel. */
+    static final int PARALLEL_THRESHOLD = 50_000;
+    /** Target build rows per partition. */
+    static final int PARTITION_ROWS = 4_096;
+    /** Hash bits consumed by each split of a skewed partition. */
+    private static final int SPLIT_BITS = 4;
+    /** Upper bound on the first-level fan-out. */
+    private static final int MAX_FANOUT_BITS = 14;
+
+    private final JoinKeys keys;
+    private final QueryGuard guard;
+
+    HashJoin(JoinKeys keys, QueryGuard guard) {
+        if (!keys.isEqui()) throw new IllegalArgumentException("Hash join needs at least one key pair");
+        this.keys = keys;
+        this.guard = guard;
+    }
+
+    /**
+     * @param buildLeft hash the left input and stream the right one (output then follows the
+     *                  right input's order); otherwise hash the right input
+     */
+    void join(InMemoryTable left, InMemoryTable right, InMemoryTable out, boolean buildLeft) {
+        InMemoryTable build = buildLeft ? left : right, probe = buildLeft ? right : left;
+        if (parallel(build.size(), probe.size())) {
+            partitioned(build, probe, buildLeft, out);
+            return;
+        }
+        RowIndex index = index(build, null, probe, buildLeft);
+        RowPredicate residual = keys.residual() == null ? null : PredicateCompiler.compile(keys.residual(), out.schema());
+        for (InMemoryRow p : probe.rows()) {
+            guard.check();
+            for (int m = index.first(p); m >= 0; m = index.next(m, p)) {
+                InMemoryRow b = index.row(m);
+                InMemoryRow combined = buildLeft ? ExprEvaluator.combine(b, p) : ExprEvaluator.combine(p, b);
+                if (residual != null && !residual.test(combined)) continue;
+                emit(out, combined);
+            }
+        }
+        out.markSortedOn(probe.sortedOn());
+    }
+
+    /** @return true if a join of inputs this large takes the parallel radix path */
+    static boolean parallel(int buildRows, int probeRows) {
+        return (long) buildRows + probeRows >= PARALLEL_THRESHOLD && Parallel.workers() > 1;
+    }
+
+    /**
+     * Emit the left rows that have a match on the right ({@code anti == false})
+     * or that have none ({@code anti == true}).
+     */
+    void semi(InMemoryTable left, InMemoryTable right, InMemoryTable out, boolean anti) {
+        RowIndex index = index(right, null, left, false);
+        RowPredicate residual = keys.residual() == null ? null
+                : PredicateCompiler.compile(keys.residual(), Schema.merge(left.schema(), right.schema()));
+        for (InMemoryRow l : left.rows()) {
+            guard.check();
+            boolean found = false;
+            for (int m = index.first(l); m >= 0 && !found; m = index.next(m, l)) {
+                found = residual == null || residual.test(ExprEvaluator.combine(l, index.row(m)));
+            }
+            if (found != anti) emit(out, l);
+        }
+        out.markSortedOn(left.sortedOn());
+    }
+
+    // ----------------------------------------------------------------------
+    // parallel radix path
+    // ----------------------------------------------------------------------
+
+    /** Key hash of every row of one input, and whether its key has no null value. */
+    private record Keyed(List<InMemoryRow> rows, boolean[] hasKey, int[] hashes) {}
+
+    /** Hash table of one (sub)partition and the probe rows routed to it. */
+    private record Unit(RowIndex index, int[] probe) {}
+
+    private void partitioned(InMemoryTable build, InMemoryTable probe, boolean buildLeft, InMemoryTable out) {
+        int workers = Parallel.workers();
+        Keyed b = keyed(build.rows(), buildLeft ? keys.leftKeys() : keys.rightKeys(), workers);
+        Keyed p = keyed(probe.rows(), buildLeft ? keys.rightKeys() : keys.leftKeys(), workers);
+        int bits = fanoutBits(build.size());
+        int[][] buildParts = Parallel.radix(b.hashes(), i -> b.hasKey()[i], bits);
+        int[][] probeParts = Parallel.radix(p.hashes(), i -> p.hasKey()[i], bits);
+
+        // phase 1: one hash table per partition (skewed partitions split further)
+        int heavy = Math.max(PARTITION_ROWS, 4 * build.size() >> bits);
+        List<Callable<List<Unit>>> builds = new ArrayList<>();
+        for (int i = 0; i < buildParts.length; i++) {
+            int[] bp = buildParts[i], pp = probeParts[i];
+            if (bp.length > 0 && pp.length > 0) builds.add(() -> units(build, b, bp, probe, p, pp, buildLeft, bits, heavy));
+        }
+        List<Unit> units = new ArrayList<>();
+        for (List<Unit> u : Parallel.invokeAll(builds)) units.addAll(u);
+
+        // phase 2: probe in slices, so one hot partition is spread over several workers
+        int slice = Math.max(1_024, probe.size() / (workers * 4));
+        List<Callable<List<InMemoryRow>>> probes = new ArrayList<>();
+        for (Unit u : units) {
+            for (int from = 0; from < u.probe().length; from += slice) {
+                int start = from, end = Math.min(u.probe().length, from + slice);
+                probes.add(() -> probe(u, start, end, probe.rows(), buildLeft, out));
+            }
+        }
+        for (List<InMemoryRow> rows : Parallel.invokeAll(probes)) {
+            for (InMemoryRow r : rows) out.add(r);      // already accounted by the worker
+        }
+    }
+
+    /** First-level fan-out: enough partitions for the build side to fit {@link #PARTITION_ROWS}, and for every worker. */
+    private static int fanoutBits(int buildRows) {
+        int bits = 32 - Integer.numberOfLeadingZeros(Math.max(1, buildRows / PARTITION_ROWS - 1));
+        return Math.min(MAX_FANOUT_BITS, Math.max(Parallel.fanoutBits(), bits));
+    }
+
+    private Keyed keyed(List<InMemoryRow> rows, List<String> attrs, int workers) {
+        String[] names = attrs.toArray(new String[0]);
+        boolean[] hasKey = new boolean[rows.size()];
+        int[] hashes = new int[rows.size()];
+        int chunk = Math.max(1, (rows.size() + workers - 1) / workers);
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += chunk) {
+            int start = from, end = Math.min(rows.size(), from + chunk);
+            tasks.add(() -> {
+                for (int i = start; i < end; i++) {
+                    guard.check();
+                    InMemoryRow row = rows.get(i);
+                    hasKey[i] = RowIndex.hasKey(row, names);
+                    if (hasKey[i]) hashes[i] = (int) (RowIndex.fingerprint(row, names) >>> 32);
+                }
+                return null;
+            });
+        }
+        Parallel.invokeAll(tasks);
+        return new Keyed(rows, hasKey, hashes);
+    }
+
+    /**
+     * Hash tables for one partition. A build side above {@code heavy} rows is split on the next
+     * {@link #SPLIT_BITS} hash bits, recursively, unless all its rows share one hash value.
+     */
+    private List<Unit> units(InMemoryTable build, Keyed b, int[] buildRows, InMemoryTable probe, Keyed p, int[] probeRows,
+                             boolean buildLeft, int used, int heavy) {
+        if (buildRows.length <= heavy || used + SPLIT_BITS > 32 || singleHash(b, buildRows)) {
+            return List.of(new Unit(index(build, buildRows, probe, buildLeft), probeRows));
+        }
+        int[][] bs = split(b, buildRows, used), ps = split(p, probeRows, used);
+        List<Unit> out = new ArrayList<>();
+        for (int i = 0; i < bs.length; i++) {
+            if (bs[i].length > 0 && ps[i].length > 0) {
+                out.addAll(units(build, b, bs[i], probe, p, ps[i], buildLeft, used + SPLIT_BITS, heavy));
+            }
+        }
+        return out;
+    }
+
+    private static boolean singleHash(Keyed k, int[] rows) {
+        for (int i : rows) if (k.hashes()[i] != k.hashes()[rows[0]]) return false;
+        return true;
+    }
+
+    private static int[][] split(Keyed k, int[] rows, int used) {
+        int[] sizes = new int[1 << SPLIT_BITS];
+        for (int i : rows) sizes[Parallel.bucket(k.hashes()[i], used, SPLIT_BITS)]++;
+        int[][] parts = new int[sizes.length][];
+        for (int s = 0; s < sizes.length; s++) parts[s] = new int[sizes[s]];
+        int[] fill = new int[sizes.length];
+        for (int i : rows) {
+            int s = Parallel.bucket(k.hashes()[i], used, SPLIT_BITS);
+            parts[s][fill[s]++] = i;
+        }
+        return parts;
+    }
+
+    /** Probe rows {@code [start, end)} of a unit; the worker's output rows, already accounted. */
+    private List<InMemoryRow> probe(Unit u, int start, int end, List<InMemoryRow> probeRows, boolean buildLeft, InMemoryTable out) {
+        RowPredicate residual = keys.residual() == null ? null : PredicateCompiler.compile(keys.residual(), out.schema());
+        List<InMemoryRow> result = new ArrayList<>();
+        for (int x = start; x < end; x++) {
+            guard.check();
+            InMemoryRow row = probeRows.get(u.probe()[x]);
+            for (int m = u.index().first(row); m >= 0; m = u.index().next(m, row)) {
+                InMemoryRow b = u.index().row(m);
+                InMemoryRow combined = buildLeft ? ExprEvaluator.combine(b, row) : ExprEvaluator.combine(row, b);
+                if (residual != null && !residual.test(combined)) continue;
+                guard.materialized(combined);
+                result.add(combined);
+            }
+        }
+        return result;
+    }
+
+    /** Index {@code build} (or its rows in {@code subset}) on its join keys, for lookups by {@code probe} rows. */
+    private RowIndex index(InMemoryTable build, int[] subset, InMemoryTable probe, boolean buildLeft) {
+        List<String> buildKeys = buildLeft ? keys.leftKeys() : keys.rightKeys();
+        List<String> probeKeys = buildLeft ? keys.rightKeys() : keys.leftKeys();
+        return new RowIndex(build.rows(), subset, buildKeys, build.schema(), probeKeys, probe.schema(), guard);
+    }
+
+    private void emit(InMemoryTable out, InMemoryRow row) {
+        guard.materialized(row);
+        out.add(row);
+    }
+}
@@ -73,6 +73,19 @@ public class InMemoryRow {
         return Collections.unmodifiableMap(data);
     }
 
+    /**
+     * Rough heap footprint of this row (map, entries and boxed values), used
+     * for per-query memory accounting. Attribute names are shared and not counted.
+     */
+    long estimatedBytes() {
+        long total = 64 + 40L * data.size();
+        for (Object v : data.values()) {
+            if (v instanceof String str) total += 40 + 2L * str.length();
+            else if (v != null && !(v instanceof Boolean)) total += 16;
+        }
+        return total;
+    }
+
     /** Convenience factory for a brand-new empty row. */
     public static InMemoryRow empty() {
         return new InMemoryRow();
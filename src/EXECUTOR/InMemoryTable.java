@@ -7,9 +7,11 @@ import java.util.List;
 /**
  * InMemoryTable
  *
- * <p>A list-backed relation that carries a {@link CORE.Schema} and a set of
+ * <p>A relation that carries a {@link CORE.Schema} and a set of
  * {@link InMemoryRow} tuples. Enforces that inserted rows match the schema
- * (no missing/extra attributes; shallow Java-type checks).</p>
+ * (no missing/extra attributes; shallow Java-type checks). Rows are kept in a
+ * {@link EXECUTOR.TableStorage}: a list of row objects by default, or columns in
+ * native memory for large base relations ({@link #offHeap(Schema)}).</p>
  *
  * <h3>Responsibilities</h3>
  * <ul>
@@ -17,6 +19,9 @@ import java.util.List;
  *   <li>Carry the schema describing attribute names and types.</li>
  *   <li>Validate inserted rows against the schema.</li>
  *   <li>Provide {@code newEmpty(Schema)} for operators that change headings.</li>
+ *   <li>Notify {@link EXECUTOR.TableListener}s of inserted/removed rows.</li>
+ *   <li>Keep per-chunk min/max metadata ({@link EXECUTOR.ZoneMap}) for data skipping once a scan asks for it.</li>
+ *   <li>Keep column statistics ({@link EXECUTOR.TableStats}) once analyzed.</li>
  * </ul>
  *
  * <h3>Collaborators</h3>
@@ -29,7 +34,8 @@ import java.util.List;
  *
  * <h3>Notes</h3>
  * <ul>
- *   <li>{@link #rows()} should be treated as read-only by callers; use {@link #add(InMemoryRow)} to insert.</li>
+ *   <li>{@link #rows()} should be treated as read-only by callers; use {@link #add(InMemoryRow)} to insert
+ *       and {@link #remove(InMemoryRow)} to delete.</li>
  *   <li>Row order is not semantically meaningful in relational algebra.</li>
  * </ul>
  *
@@ -38,16 +44,69 @@ import java.util.List;
  */
 public class InMemoryTable {
     private final Schema schema;
-    private final List<InMemoryRow> rows = new ArrayList<>();
+    private final TableStorage storage;
+    /** Change subscribers (e.g. materialized views); empty for intermediate results. */
+    private final List<TableListener> listeners = new ArrayList<>();
+    /** Attributes the rows are known to be ordered by (leading key first); empty if unknown. */
+    private List<String> sortedOn = List.of();
+    /** Per-chunk min/max metadata; built on first use, extended on append, dropped on removal. */
+    private ZoneMap zones;
+    /** Column statistics from the last {@link #analyze()}; null if never analyzed. */
+    private TableStats stats;
+    /** Inserts and removals so far; lets a {@link EXECUTOR.Catalog} tell whether a loaded table changed. */
+    private long changes;
+    /** Row → storage positions, after {@link #indexRows()}; null for tables that are rarely removed from. */
+    private RowPositions positions;
 
     /**
      * Create an empty table with a schema.
      * @param schema heading of the relation (attribute names/types)
      */
     public InMemoryTable(Schema schema) {
+        this(schema, new TableStorage.Heap());
+    }
+
+    private InMemoryTable(Schema schema, TableStorage storage) {
         this.schema = Objects.requireNonNull(schema, "schema");
+        this.storage = storage;
+    }
+
+    /**
+     * Create an empty table whose column values live outside the Java heap, so its rows
+     * cost the garbage collector nothing; rows are decoded on each access. Its memory is
+     * freed when the table is retired from a {@link EXECUTOR.Catalog}.
+     */
+    public static InMemoryTable offHeap(Schema schema) {
+        return new InMemoryTable(schema, new OffHeapStorage(Objects.requireNonNull(schema, "schema")));
+    }
+
+    /**
+     * Create an empty table whose columns are compressed chunk by chunk (run-length or
+     * bit-packed frame-of-reference, whichever is smaller); selections and global aggregates
+     * over it run on the compressed columns where they can.
+     */
+    public static InMemoryTable compressed(Schema schema) {
+        return new InMemoryTable(schema, new CompressedStorage(Objects.requireNonNull(schema, "schema")));
     }
 
+    /** @return true if the rows are stored in native memory (see {@link #offHeap(Schema)}) */
+    public boolean isOffHeap() { return storage instanceof OffHeapStorage; }
+
+    /** @return bytes of native memory held by this table (0 for heap tables) */
+    public long offHeapBytes() { return storage.offHeapBytes(); }
+
+    /** @return approximate bytes held by the rows (heap objects, native memory or compressed columns) */
+    public long estimatedBytes() { return storage.estimatedBytes(); }
+
+    /** @return true if the columns are compressed (see {@link #compressed(Schema)}) */
+    public boolean isCompressed() { return storage instanceof CompressedStorage; }
+
+    /** @return how the rows are stored, e.g. {@code heap} or {@code compressed, 5120 bytes: Age RLE×2 FOR×8} */
+    public String describeStorage() { return storage.describe(); }
+
+    /** @return the row storage, for operators that can work on its representation */
+    TableStorage storage() { return storage; }
+
     /** @return the relation schema */
     public Schema schema() { return schema; }
 
@@ -55,7 +114,7 @@ public class InMemoryTable {
      * @return an unmodifiable view of the rows to prevent bypassing schema checks.
      *         Use {@link #add(InMemoryRow)} / {@link #addAll(Collection)} to insert.
      */
-    public List<InMemoryRow> rows() { return Collections.unmodifiableList(rows); }
+    public List<InMemoryRow> rows() { return storage.rows(); }
 
     /**
      * Create a new empty table (same concrete class) with a given schema.
@@ -63,8 +122,53 @@ public class InMemoryTable {
      */
     public InMemoryTable newEmpty(Schema s) { return new InMemoryTable(s); }
 
+    /**
+     * @return attributes the rows are known to be sorted by (ascending, nulls last), leading key first;
+     *         empty when no order is known. Inserting or removing rows clears it.
+     */
+    public List<String> sortedOn() { return sortedOn; }
+
+    /** Record that the rows are ordered by {@code attrs}; called by operators after filling a table. */
+    void markSortedOn(List<String> attrs) { this.sortedOn = List.copyOf(attrs); }
+
+    /**
+     * Compute row count, per-column distinct counts, null counts, min/max, histograms and
+     * most-common values, and keep them with the table (see {@link #statistics()}).
+     */
+    public TableStats analyze() {
+        stats = new TableStats(schema, storage.rows());
+        return stats;
+    }
+
+    /** @return statistics from the last {@link #analyze()}, kept current on insert/remove; null if never analyzed */
+    public TableStats statistics() { return stats; }
+
+    /** Adopt statistics computed for an earlier copy of the same rows (a relation loaded again after eviction). */
+    void useStatistics(TableStats stats) { this.stats = stats; }
+
+    /** @return true if a zone map has already been built (using it costs no extra scan) */
+    boolean hasZoneMap() { return zones != null; }
+
+    /** @return the table's zone map, building it from the current rows if needed */
+    ZoneMap zoneMap() {
+        if (zones == null) {
+            ZoneMap z = new ZoneMap(schema);
+            for (InMemoryRow r : storage.rows()) z.append(r);
+            zones = z;
+        }
+        return zones;
+    }
+
     /** @return number of rows in the table */
-    public int size() { return rows.size(); }
+    public int size() { return storage.size(); }
+
+    /**
+     * Keep an index of where each row is stored, so {@link #remove} takes O(1) instead of a scan
+     * of the table. Used for the tables of materialized views, which remove a row per deleted derivation.
+     */
+    void indexRows() {
+        if (positions == null) positions = new RowPositions(storage.rows());
+    }
 
     /**
      * Insert a row after validating it matches this table's schema.
@@ -72,7 +176,13 @@ public class InMemoryTable {
      */
     public void add(InMemoryRow r) {
         assertRowMatchesSchema(r);
-        rows.add(r);
+        storage.add(r);
+        changes++;
+        if (positions != null) positions.added(r, storage.size() - 1);
+        if (zones != null) zones.append(r);
+        if (stats != null) stats.added(r);
+        if (!sortedOn.isEmpty()) sortedOn = List.of();
+        if (!listeners.isEmpty()) notifyListeners(r, +1);
     }
 
     /**
@@ -83,6 +193,67 @@ public class InMemoryTable {
         for (InMemoryRow r : toAdd) add(r);
     }
 
+    /**
+     * Remove one occurrence of a row (row order is not preserved: the last row
+     * takes the removed row's place).
+     * @return true if a matching row was found and removed
+     */
+    public boolean remove(InMemoryRow r) {
+        int i = positions != null ? positions.find(r) : lastIndexOf(r);
+        if (i < 0) return false;
+        int last = storage.size() - 1;
+        InMemoryRow moved = storage.get(last);
+        if (i != last) storage.set(i, moved);
+        storage.removeLast();
+        if (positions != null) positions.removed(r, i, moved, last);
+        changes++;
+        sortedOn = List.of();
+        zones = null;
+        if (stats != null) stats.removed(r);
+        if (!listeners.isEmpty()) notifyListeners(r, -1);
+        return true;
+    }
+
+    private int lastIndexOf(InMemoryRow r) {
+        for (int i = storage.size() - 1; i >= 0; i--) {
+            if (storage.get(i).equals(r)) return i;
+        }
+        return -1;
+    }
+
+    /** Subscribe to row inserts/deletes on this table. */
+    public void addListener(TableListener l) { listeners.add(Objects.requireNonNull(l)); }
+
+    /** Unsubscribe a previously registered listener. */
+    public void removeListener(TableListener l) { listeners.remove(l); }
+
+    /** @return true if some listener (e.g. a materialized view) follows this table's changes */
+    boolean hasListeners() { return !listeners.isEmpty(); }
+
+    /** @return number of inserts, removals and clears applied so far */
+    long changes() { return changes; }
+
+    private void notifyListeners(InMemoryRow r, int delta) {
+        for (TableListener l : List.copyOf(listeners)) l.rowChanged(this, r, delta);
+    }
+
+    /** Drop all rows; used to release intermediate results of an aborted query. */
+    void clear() {
+        storage.clear();
+        changes++;
+        if (positions != null) positions = new RowPositions(List.of());
+        zones = null;
+    }
+
+    /**
+     * Free the table's native memory (see {@link #offHeap(Schema)}); reading it afterwards
+     * fails. Called by the {@link EXECUTOR.Catalog} once no snapshot can still see the table.
+     */
+    void release() {
+        storage.release();
+        zones = null;
+    }
+
     // -------------------------- Validation helpers --------------------------
 
     private void assertRowMatchesSchema(InMemoryRow r) {
@@ -126,6 +297,7 @@ public class InMemoryTable {
         if (val == null) return true;
         return switch (t) {
             case INT    -> val instanceof Integer;
+            case DOUBLE -> val instanceof Double;
             case STRING -> val instanceof String;
             case BOOL   -> val instanceof Boolean;
             default     -> throw new IllegalArgumentException(
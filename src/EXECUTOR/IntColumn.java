@@ -0,0 +1,331 @@
+package EXECUTOR;
+
+import PARSER.EXPR.Op;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * IntColumn
+ *
+ * <p>A compressed column of nullable {@code int}s, in chunks of
+ * {@link ZoneMap#CHUNK_ROWS} values. Values are appended to an uncompressed
+ * tail chunk; when it is full it is <em>sealed</em> with whichever encoding
+ * is smaller for its data:</p>
+ * <ul>
+ *   <li><b>RLE</b> — (value, end) pairs, one per run of equal values: sorted or
+ *       repetitive data such as status codes.</li>
+ *   <li><b>FOR</b> — frame of reference plus bit-packing: every value is stored as its
+ *       offset from the chunk minimum in just enough bits for the chunk's range
+ *       (0 bits for a constant chunk, 7 for ages).</li>
+ * </ul>
+ *
+ * <p>Comparisons against a constant ({@link #select}) and sums ({@link #sum}) run on the
+ * encoded form: once per run for RLE, on the packed offsets for FOR, and a chunk
+ * whose min/max settle the comparison is decided without reading its values.</p>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Nulls are kept in a per-chunk bitmap (absent if the chunk has none); a null slot repeats
+ *       the previous value so it does not break runs.</li>
+ *   <li>Overwriting a sealed value decodes and re-encodes its chunk.</li>
+ *   <li>Reads may run on several threads; writes must not overlap with anything.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class IntColumn {
+    static final int CHUNK = ZoneMap.CHUNK_ROWS;
+    /** 64-bit words in a bitmap of one chunk. */
+    static final int WORDS = CHUNK / 64;
+
+    enum Encoding { RLE, FOR }
+
+    /** A sealed chunk of {@link #CHUNK} values. */
+    private static final class Chunk {
+        Encoding encoding;
+        int min, max;               // over non-null values; min is the FOR base
+        int nonNull;
+        long[] nulls;               // bit set = null; null if the chunk has no nulls
+        int[] runValues, runEnds;   // RLE: run i covers [runEnds[i-1], runEnds[i])
+        int bits;                   // FOR: bits per offset
+        long[] packed;
+    }
+
+    private final List<Chunk> sealed = new ArrayList<>();
+    private int[] tail = new int[CHUNK];
+    private long[] tailNulls = new long[WORDS];
+    private int size;
+
+    int size() { return size; }
+
+    /** @return number of chunks, counting a non-empty tail */
+    int chunks() { return (size + CHUNK - 1) / CHUNK; }
+
+    /** @return number of values in {@code chunk} */
+    int count(int chunk) { return Math.min(CHUNK, size - chunk * CHUNK); }
+
+    private int tailCount() { return size - sealed.size() * CHUNK; }
+
+    void add(Integer v) {
+        if (tailCount() == CHUNK) {
+            sealed.add(encode(tail, tailNulls));
+            tail = new int[CHUNK];
+            tailNulls = new long[WORDS];
+        }
+        size++;
+        write(tail, tailNulls, tailCount() - 1, v);
+    }
+
+    void set(int i, Integer v) {
+        int c = i / CHUNK;
+        if (c == sealed.size()) {
+            write(tail, tailNulls, i % CHUNK, v);
+            return;
+        }
+        int[] values = new int[CHUNK];
+        long[] nulls = new long[WORDS];
+        decode(sealed.get(c), values, nulls);
+        write(values, nulls, i % CHUNK, v);
+        sealed.set(c, encode(values, nulls));
+    }
+
+    void removeLast() {
+        if (tailCount() == 0) {                   // reopen the last sealed chunk as the tail
+            Chunk last = sealed.remove(sealed.size() - 1);
+            Arrays.fill(tailNulls, 0);
+            decode(last, tail, tailNulls);
+        }
+        size--;
+        tailNulls[tailCount() >>> 6] &= ~(1L << tailCount());
+    }
+
+    void clear() {
+        sealed.clear();
+        Arrays.fill(tailNulls, 0);
+        size = 0;
+    }
+
+    private static void write(int[] values, long[] nulls, int r, Integer v) {
+        if (v == null) {
+            nulls[r >>> 6] |= 1L << r;
+            values[r] = r == 0 ? 0 : values[r - 1];
+        } else {
+            nulls[r >>> 6] &= ~(1L << r);
+            values[r] = v;
+        }
+    }
+
+    // ----------------------------------------------------------------------
+    // reads
+    // ----------------------------------------------------------------------
+
+    boolean isNull(int i) {
+        int c = i / CHUNK, r = i % CHUNK;
+        long[] nulls = c == sealed.size() ? tailNulls : sealed.get(c).nulls;
+        return nulls != null && (nulls[r >>> 6] & 1L << r) != 0;
+    }
+
+    /** @return value {@code i}; unspecified if it is null */
+    int get(int i) {
+        int c = i / CHUNK, r = i % CHUNK;
+        if (c == sealed.size()) return tail[r];
+        Chunk k = sealed.get(c);
+        if (k.encoding == Encoding.FOR) return (int) (k.min + unpack(k.packed, k.bits, r));
+        int run = Arrays.binarySearch(k.runEnds, r + 1);
+        return k.runValues[run >= 0 ? run : -run - 1];
+    }
+
+    /** @return the value at {@code i}, or null */
+    Integer value(int i) {
+        return isNull(i) ? null : get(i);
+    }
+
+    /**
+     * Set in {@code out} (cleared first) the bits of the rows of {@code chunk} whose non-null
+     * value satisfies {@code value op constant}.
+     */
+    void select(int chunk, Op op, long constant, long[] out) {
+        Arrays.fill(out, 0);
+        int n = count(chunk);
+        long[] nulls;
+        if (chunk == sealed.size()) {
+            for (int r = 0; r < n; r++) if (test(tail[r], op, constant)) out[r >>> 6] |= 1L << r;
+            nulls = tailNulls;
+        } else {
+            Chunk k = sealed.get(chunk);
+            nulls = k.nulls;
+            if (k.nonNull == 0) return;
+            boolean lo = test(k.min, op, constant), hi = test(k.max, op, constant);
+            if (op != Op.NEQ && lo && hi) {
+                setRange(out, 0, n);                        // min and max both pass: every value does
+            } else if (op == Op.EQ ? constant < k.min || constant > k.max : op != Op.NEQ && !lo && !hi) {
+                return;                                     // neither end passes: no value does
+            } else if (k.encoding == Encoding.RLE) {
+                for (int run = 0, start = 0; run < k.runEnds.length; start = k.runEnds[run++]) {
+                    if (test(k.runValues[run], op, constant)) setRange(out, start, k.runEnds[run]);
+                }
+            } else {
+                long offset = constant - k.min;             // compare packed offsets without decoding
+                for (int r = 0; r < n; r++) {
+                    if (test(unpack(k.packed, k.bits, r), op, offset)) out[r >>> 6] |= 1L << r;
+                }
+            }
+        }
+        if (nulls != null) for (int w = 0; w < WORDS; w++) out[w] &= ~nulls[w];
+    }
+
+    private static boolean test(long v, Op op, long c) {
+        return switch (op) {
+            case EQ -> v == c;
+            case NEQ -> v != c;
+            case LT -> v < c;
+            case LTE -> v <= c;
+            case GT -> v > c;
+            case GTE -> v >= c;
+            default -> false;
+        };
+    }
+
+    /** @return number of non-null values in {@code chunk} */
+    int nonNull(int chunk) {
+        if (chunk < sealed.size()) return sealed.get(chunk).nonNull;
+        int nulls = 0;
+        for (long w : tailNulls) nulls += Long.bitCount(w);
+        return count(chunk) - nulls;
+    }
+
+    /** @return sum of the non-null values of {@code chunk} */
+    long sum(int chunk) {
+        if (chunk == sealed.size()) {
+            long s = 0;
+            for (int r = 0, n = count(chunk); r < n; r++) if ((tailNulls[r >>> 6] & 1L << r) == 0) s += tail[r];
+            return s;
+        }
+        Chunk k = sealed.get(chunk);
+        long s = 0;
+        if (k.nulls == null && k.encoding == Encoding.RLE) {
+            for (int run = 0, start = 0; run < k.runEnds.length; start = k.runEnds[run++]) {
+                s += (long) k.runValues[run] * (k.runEnds[run] - start);
+            }
+            return s;
+        }
+        if (k.encoding == Encoding.FOR && k.bits == 0) return (long) k.min * k.nonNull;
+        for (int r = 0; r < CHUNK; r++) {
+            if (k.nulls != null && (k.nulls[r >>> 6] & 1L << r) != 0) continue;
+            s += k.encoding == Encoding.FOR ? unpack(k.packed, k.bits, r) : get(chunk * CHUNK + r) - (long) k.min;
+        }
+        return s + (long) k.min * k.nonNull;
+    }
+
+    /** @return smallest ({@code min}) or largest non-null value of {@code chunk}; requires {@code nonNull(chunk) > 0} */
+    int extreme(int chunk, boolean min) {
+        if (chunk < sealed.size()) return min ? sealed.get(chunk).min : sealed.get(chunk).max;
+        int best = min ? Integer.MAX_VALUE : Integer.MIN_VALUE;
+        for (int r = 0, n = count(chunk); r < n; r++) {
+            if ((tailNulls[r >>> 6] & 1L << r) == 0) best = min ? Math.min(best, tail[r]) : Math.max(best, tail[r]);
+        }
+        return best;
+    }
+
+    /** @return number of sealed chunks using {@code e} */
+    int chunksEncoded(Encoding e) {
+        int n = 0;
+        for (Chunk k : sealed) if (k.encoding == e) n++;
+        return n;
+    }
+
+    /** @return approximate bytes used by the encoded data, null bitmaps and the tail */
+    long bytes() {
+        long b = (long) CHUNK * 4 + WORDS * 8;
+        for (Chunk k : sealed) {
+            b += 16 + (k.nulls == null ? 0 : WORDS * 8)
+                    + (k.encoding == Encoding.RLE ? k.runEnds.length * 8L : k.packed.length * 8L);
+        }
+        return b;
+    }
+
+    // ----------------------------------------------------------------------
+    // encoding
+    // ----------------------------------------------------------------------
+
+    /** Seal a full chunk with the smaller of RLE and FOR. */
+    private static Chunk encode(int[] values, long[] nulls) {
+        Chunk k = new Chunk();
+        int min = Integer.MAX_VALUE, max = Integer.MIN_VALUE, runs = 0;
+        for (int r = 0; r < CHUNK; r++) {
+            if ((nulls[r >>> 6] & 1L << r) == 0) {
+                k.nonNull++;
+                min = Math.min(min, values[r]);
+                max = Math.max(max, values[r]);
+            }
+            if (r == 0 || values[r] != values[r - 1]) runs++;
+        }
+        if (k.nonNull == 0) min = max = 0;
+        k.min = min;
+        k.max = max;
+        if (k.nonNull < CHUNK) k.nulls = nulls.clone();
+        int bits = 64 - Long.numberOfLeadingZeros((long) max - min);
+        long packedWords = ((long) CHUNK * bits + 63) / 64;
+        if (runs * 8L < packedWords * 8) {                  // (value, end) ints per run vs packed words
+            k.encoding = Encoding.RLE;
+            k.runValues = new int[runs];
+            k.runEnds = new int[runs];
+            int run = -1;
+            for (int r = 0; r < CHUNK; r++) {
+                if (r == 0 || values[r] != values[r - 1]) k.runValues[++run] = values[r];
+                k.runEnds[run] = r + 1;
+            }
+        } else {
+            k.encoding = Encoding.FOR;
+            k.bits = bits;
+            k.packed = new long[(int) packedWords];
+            // a null slot may repeat a value from before the chunk's non-null range: pack the base there
+            for (int r = 0; r < CHUNK; r++) {
+                boolean isNull = (nulls[r >>> 6] & 1L << r) != 0;
+                pack(k.packed, bits, r, isNull ? 0 : (long) values[r] - min);
+            }
+        }
+        return k;
+    }
+
+    private static void decode(Chunk k, int[] values, long[] nulls) {
+        if (k.nulls != null) System.arraycopy(k.nulls, 0, nulls, 0, WORDS);
+        if (k.encoding == Encoding.FOR) {
+            for (int r = 0; r < CHUNK; r++) values[r] = (int) (k.min + unpack(k.packed, k.bits, r));
+        } else {
+            for (int run = 0, start = 0; run < k.runEnds.length; start = k.runEnds[run++]) {
+                Arrays.fill(values, start, k.runEnds[run], k.runValues[run]);
+            }
+        }
+    }
+
+    private static void pack(long[] words, int bits, int r, long u) {
+        if (bits == 0) return;
+        long at = (long) r * bits;
+        int w = (int) (at >>> 6), off = (int) (at & 63);
+        words[w] |= u << off;
+        if (off + bits > 64) words[w + 1] |= u >>> (64 - off);
+    }
+
+    private static long unpack(long[] words, int bits, int r) {
+        if (bits == 0) return 0;
+        long at = (long) r * bits;
+        int w = (int) (at >>> 6), off = (int) (at & 63);
+        long v = words[w] >>> off;
+        if (off + bits > 64) v |= words[w + 1] << (64 - off);
+        return v & ((1L << bits) - 1);
+    }
+
+    /** Set bits {@code [from, to)} of a chunk bitmap. */
+    static void setRange(long[] bits, int from, int to) {
+        for (int r = from; r < to; ) {
+            int w = r >>> 6, end = Math.min(to, (w + 1) << 6);
+            long mask = (end - r == 64 ? -1L : ((1L << (end - r)) - 1)) << (r & 63);
+            bits[w] |= mask;
+            r = end;
+        }
+    }
+}
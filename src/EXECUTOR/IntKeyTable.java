@@ -0,0 +1,90 @@
+package EXECUTOR;
+
+import java.util.Arrays;
+
+/**
+ * IntKeyTable
+ *
+ * <p>Open-addressing multimap from {@code int} keys to {@code int} ids, for
+ * join keys that are INT columns: the key is the value itself, so no key
+ * object, fingerprint or equality check is needed. Layout and probing are
+ * those of {@link EXECUTOR.LongKeyTable} with {@code int} key slots; ids under
+ * one key are visited in insertion order.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class IntKeyTable {
+    private int[] keys;
+    private int[] heads;        // first entry + 1 per slot, 0 = empty slot
+    private int[] tails;        // last entry per slot
+    private int[] ids;
+    private int[] next;
+    private int slots, entries;
+    private int shift;          // 32 - log2(capacity)
+
+    /** @param expected number of ids expected, to size the arrays up front */
+    IntKeyTable(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new int[capacity];
+        shift = Integer.numberOfLeadingZeros(capacity) + 1;
+        heads = new int[capacity];
+        tails = new int[capacity];
+        ids = new int[Math.max(16, expected)];
+        next = new int[ids.length];
+    }
+
+    /** Add {@code id} under {@code key}, after the ids already there. */
+    void add(int key, int id) {
+        if (entries == ids.length) {
+            ids = Arrays.copyOf(ids, entries * 2);
+            next = Arrays.copyOf(next, entries * 2);
+        }
+        int e = entries++;
+        ids[e] = id;
+        next[e] = -1;
+        int s = slot(key);
+        if (heads[s] == 0) {
+            keys[s] = key;
+            heads[s] = e + 1;
+            tails[s] = e;
+            if (++slots * 2 > keys.length) rehash();
+        } else {
+            next[tails[s]] = e;
+            tails[s] = e;
+        }
+    }
+
+    /** @return the first entry under {@code key}, or -1 */
+    int first(int key) {
+        return heads[slot(key)] - 1;
+    }
+
+    /** @return the entry after {@code entry} under the same key, or -1 */
+    int next(int entry) { return next[entry]; }
+
+    /** @return the id stored in {@code entry} */
+    int id(int entry) { return ids[entry]; }
+
+    private int slot(int key) {
+        int mask = keys.length - 1;
+        int s = (key * 0x9e3779b9) >>> shift;          // Fibonacci hashing: sequential keys spread out
+        while (heads[s] != 0 && keys[s] != key) s = (s + 1) & mask;
+        return s;
+    }
+
+    private void rehash() {
+        int[] oldKeys = keys, oldHeads = heads, oldTails = tails;
+        keys = new int[oldKeys.length * 2];
+        shift--;
+        heads = new int[keys.length];
+        tails = new int[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] == 0) continue;
+            int s = slot(oldKeys[i]);
+            keys[s] = oldKeys[i];
+            heads[s] = oldHeads[i];
+            tails[s] = oldTails[i];
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package EXECUTOR;
+
+import CORE.DataType;
+import CORE.Schema;
+import CORE.Values;
+import PARSER.EXPR.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JoinKeys
+ *
+ * <p>Splits a join condition into equi-join key pairs ({@code L.a = R.b}
+ * conjuncts with one attribute from each input) and a residual predicate made
+ * of the remaining conjuncts. Hash-based join algorithms key on the pairs and
+ * evaluate only the residual on the combined row.</p>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * EmpDept = DeptCode and Age > 30
+ * // leftKeys = [EmpDept], rightKeys = [DeptCode], residual = (Age GT 30)
+ * }</pre>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class JoinKeys {
+    private final List<String> leftKeys;
+    private final List<String> rightKeys;
+    private final Expr residual; // null when every conjunct is an equi-join key
+
+    private JoinKeys(List<String> leftKeys, List<String> rightKeys, Expr residual) {
+        this.leftKeys = Collections.unmodifiableList(leftKeys);
+        this.rightKeys = Collections.unmodifiableList(rightKeys);
+        this.residual = residual;
+    }
+
+    /**
+     * @param on    join condition (may be null)
+     * @param left  schema of the left input
+     * @param right schema of the right input
+     */
+    static JoinKeys extract(Expr on, Schema left, Schema right) {
+        List<String> lk = new ArrayList<>(), rk = new ArrayList<>();
+        Expr residual = null;
+        for (Expr c : conjuncts(on)) {
+            if (c instanceof Binary b && b.op() == Op.EQ
+                    && b.left() instanceof AttrRef x && b.right() instanceof AttrRef y) {
+                String xs = x.name(), ys = y.name();
+                if (left.has(xs) && right.has(ys) && !right.has(xs) && !left.has(ys)) {
+                    lk.add(xs); rk.add(ys); continue;
+                }
+                if (left.has(ys) && right.has(xs) && !right.has(ys) && !left.has(xs)) {
+                    lk.add(ys); rk.add(xs); continue;
+                }
+            }
+            residual = residual == null ? c : new Binary(residual, Op.AND, c);
+        }
+        return new JoinKeys(lk, rk, residual);
+    }
+
+    /** Key pairs on explicitly given attribute names (e.g. the common attributes of a natural join). */
+    static JoinKeys of(List<String> leftKeys, List<String> rightKeys) {
+        return new JoinKeys(new ArrayList<>(leftKeys), new ArrayList<>(rightKeys), null);
+    }
+
+    /**
+     * Keys of a join node: the common attributes of a natural join, the equi-join
+     * conjuncts of a θ-join, and none for a cross product.
+     * @throws IllegalArgumentException for a natural join of inputs that share no attribute
+     */
+    static JoinKeys forJoin(Join j, Schema left, Schema right) {
+        return switch (j.kind()) {
+            case NATURAL -> natural(left, right);
+            case THETA   -> extract(j.on(), left, right);
+            case CROSS   -> of(List.of(), List.of());
+        };
+    }
+
+    /** Keys of a semi-/anti-join: common attributes without a condition, equi-join conjuncts with one. */
+    static JoinKeys forSemiJoin(SemiJoin s, Schema left, Schema right) {
+        if (s.on() == null) return natural(left, right);
+        requireDisjoint(left, right);
+        return extract(s.on(), left, right);
+    }
+
+    private static JoinKeys natural(Schema left, Schema right) {
+        Schema.naturalMerge(left, right);           // shared attributes must agree on type
+        List<String> common = left.commonAttributes(right);
+        if (common.isEmpty())
+            throw new IllegalArgumentException("Natural join inputs share no attributes "
+                    + left + " / " + right + "; use × (cross join) for a Cartesian product");
+        return of(common, common);
+    }
+
+    /**
+     * Output schema of a join node. A natural join emits each shared attribute once;
+     * θ-joins and cross products need disjoint attribute names.
+     */
+    static Schema outputSchema(Join.Kind kind, Schema left, Schema right) {
+        if (kind == Join.Kind.NATURAL) return Schema.naturalMerge(left, right);
+        requireDisjoint(left, right);
+        return Schema.merge(left, right);
+    }
+
+    private static void requireDisjoint(Schema left, Schema right) {
+        List<String> common = left.commonAttributes(right);
+        if (!common.isEmpty())
+            throw new IllegalArgumentException("Join inputs share attributes " + common
+                    + "; use a natural join (⋈ without a condition) or project them away first");
+    }
+
+    List<String> leftKeys() { return leftKeys; }
+    List<String> rightKeys() { return rightKeys; }
+    Expr residual() { return residual; }
+
+    /** @return true if at least one equi-join key pair was found */
+    boolean isEqui() { return !leftKeys.isEmpty(); }
+
+    /**
+     * Extract the key values of a row; {@code null} if any key value is null
+     * (null never joins). INT values are widened to DOUBLE, so an INT key equals
+     * the same number in a DOUBLE key, as in σ and the merge join.
+     */
+    static List<Object> key(InMemoryRow row, List<String> attrs) {
+        Object[] vals = new Object[attrs.size()];
+        for (int i = 0; i < vals.length; i++) {
+            Object v = row.get(attrs.get(i));
+            if (v == null) return null;
+            vals[i] = Values.widen(v, DataType.DOUBLE);
+        }
+        return Arrays.asList(vals);
+    }
+
+    /** Flatten a tree of ANDs into its conjuncts. */
+    static List<Expr> conjuncts(Expr e) {
+        List<Expr> out = new ArrayList<>();
+        collect(e, out);
+        return out;
+    }
+
+    private static void collect(Expr e, List<Expr> out) {
+        if (e == null) return;
+        if (e instanceof Binary b && b.op() == Op.AND) {
+            collect(b.left(), out);
+            collect(b.right(), out);
+        } else {
+            out.add(e);
+        }
+    }
+}
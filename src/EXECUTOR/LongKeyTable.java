@@ -0,0 +1,109 @@
+package EXECUTOR;
+
+import java.util.Arrays;
+
+/**
+ * LongKeyTable
+ *
+ * <p>Open-addressing multimap from {@code long} keys (usually 64-bit
+ * fingerprints) to {@code int} ids (usually row indexes). Slots are probed
+ * linearly in a power-of-two array of keys; each slot heads a chain of
+ * entries kept in parallel {@code int} arrays, so adding an id allocates
+ * nothing beyond occasional array growth.</p>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * LongKeyTable t = new LongKeyTable(rows.size());
+ * t.add(fingerprint, rowIndex);
+ * for (int e = t.first(fingerprint); e >= 0; e = t.next(e)) check(rows.get(t.id(e)));
+ * }</pre>
+ *
+ * <p>A fingerprint match is not a key match: callers compare the actual values.
+ * Ids under one key are visited in insertion order.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class LongKeyTable {
+    private long[] keys;
+    private int[] heads;        // first entry + 1 per slot, 0 = empty slot
+    private int[] tails;        // last entry per slot
+    private int[] ids;
+    private int[] next;
+    private int slots, entries;
+
+    /** @param expected number of ids expected, to size the arrays up front */
+    LongKeyTable(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        heads = new int[capacity];
+        tails = new int[capacity];
+        ids = new int[Math.max(16, expected)];
+        next = new int[ids.length];
+    }
+
+    /** Add {@code id} under {@code key}, after the ids already there. */
+    void add(long key, int id) {
+        if (entries == ids.length) {
+            ids = Arrays.copyOf(ids, entries * 2);
+            next = Arrays.copyOf(next, entries * 2);
+        }
+        int e = entries++;
+        ids[e] = id;
+        next[e] = -1;
+        int s = slot(key);
+        if (heads[s] == 0) {
+            keys[s] = key;
+            heads[s] = e + 1;
+            tails[s] = e;
+            if (++slots * 2 > keys.length) rehash();
+        } else {
+            next[tails[s]] = e;
+            tails[s] = e;
+        }
+    }
+
+    /** @return the first entry under {@code key}, or -1 */
+    int first(long key) {
+        return heads[slot(key)] - 1;
+    }
+
+    /** @return the entry after {@code entry} under the same key, or -1 */
+    int next(int entry) { return next[entry]; }
+
+    /** @return the id stored in {@code entry} */
+    int id(int entry) { return ids[entry]; }
+
+    /** @return number of distinct keys */
+    int keyCount() { return slots; }
+
+    /** Slot holding {@code key}, or the empty slot where it would go. */
+    private int slot(long key) {
+        int mask = keys.length - 1;
+        int s = (int) (key ^ key >>> 32) & mask;
+        while (heads[s] != 0 && keys[s] != key) s = (s + 1) & mask;
+        return s;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        int[] oldHeads = heads, oldTails = tails;
+        keys = new long[oldKeys.length * 2];
+        heads = new int[keys.length];
+        tails = new int[keys.length];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldHeads[i] == 0) continue;
+            int s = slot(oldKeys[i]);
+            keys[s] = oldKeys[i];
+            heads[s] = oldHeads[i];
+            tails[s] = oldTails[i];
+        }
+    }
+
+    /** 64-bit finalizer (SplitMix64), for turning {@code hashCode}s into well-spread fingerprints. */
+    static long mix(long h) {
+        h = (h ^ h >>> 30) * 0xbf58476d1ce4e5b9L;
+        h = (h ^ h >>> 27) * 0x94d049bb133111ebL;
+        return h ^ h >>> 31;
+    }
+}
@@ -0,0 +1,343 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.Schema;
+import PARSER.EXPR.*;
+
+import java.util.*;
+
+/**
+ * MaterializedView
+ *
+ * <p>A query result stored as a relation and kept up to date by delta
+ * propagation: the view subscribes to the base {@link InMemoryTable}s it reads
+ * and, for every inserted or removed base row, pushes a signed delta up a
+ * network of incremental operators. Refresh cost is proportional to the size
+ * of the change, not to the size of the base data.</p>
+ *
+ * <h3>Delta rules</h3>
+ * <ul>
+ *   <li>Selection (σ) — filter the delta.</li>
+ *   <li>Projection (π) — project the delta; under set semantics each output row keeps a
+ *       derivation count and appears/disappears only when the count leaves/reaches zero.</li>
+ *   <li>Rename (ρ) — pass the delta through.</li>
+ *   <li>Join (⋈, ×) — {@code ΔL ⋈ R} and {@code L' ⋈ ΔR}, probing hash indexes on the
+ *       join keys (common attributes of a natural join) of each side's current contents.</li>
+ *   <li>Semi-/anti-join (⋉, ▷) — the number of right rows per join key; a left delta passes
+ *       if its key is (not) present, and a right delta that makes a key appear or disappear
+ *       adds or retracts every left row with that key.</li>
+ *   <li>Set operations — per-row counts of both inputs; the output multiplicity is a
+ *       function of the counts (∪: present in either, ∩: kept while the right count is
+ *       positive, −: kept while it is zero), so a deletion only removes a row once
+ *       its last derivation is gone.</li>
+ * </ul>
+ *
+ * <h3>Collaborators</h3>
+ * <ul>
+ *   <li>{@link EXECUTOR.TableListener} — receives base-table changes.</li>
+ *   <li>{@link EXECUTOR.JoinKeys} — equi-join keys for the join indexes.</li>
+ *   <li>{@link EXECUTOR.EvaluationContext} — resolves base relations when the view is created.</li>
+ * </ul>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * var v = MaterializedView.create("Seniors", new Parser("σ Age > 30 (Employees)").parse(), ctx);
+ * employees.add(row);          // v.table() now contains the new row if Age > 30
+ * }</pre>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class MaterializedView {
+    private final String name;
+    private final Expr query;
+    private final Node root;
+    private final InMemoryTable table;
+    /** Base table → leaves of the delta network that read it (several for self-joins). */
+    private final Map<InMemoryTable, List<Leaf>> leaves = new IdentityHashMap<>();
+    private final TableListener listener = this::onBaseChange;
+
+    private MaterializedView(String name, Expr query, EvaluationContext ctx) {
+        this.name = name;
+        this.query = query;
+        this.root = build(query, ctx);
+        this.table = new InMemoryTable(root.schema);
+        table.indexRows();                                  // every retracted derivation removes a row
+
+        // initial contents: feed every base table through the network as one big insert
+        for (List<Leaf> ls : leaves.values()) {
+            for (Leaf leaf : ls) {
+                Map<InMemoryRow, Integer> all = new LinkedHashMap<>();
+                for (InMemoryRow r : leaf.base.rows()) addCount(all, r, 1);
+                propagate(leaf, all);
+            }
+        }
+        for (InMemoryTable base : leaves.keySet()) base.addListener(listener);
+    }
+
+    /**
+     * Materialize {@code query} and start maintaining it incrementally.
+     * @throws UnsupportedOperationException if the query uses an operator without a delta rule
+     */
+    public static MaterializedView create(String name, Expr query, EvaluationContext ctx) {
+        return new MaterializedView(name, query, ctx);
+    }
+
+    public String name() { return name; }
+    public Expr query() { return query; }
+
+    /** @return the maintained result; register it in the catalog to query the view */
+    public InMemoryTable table() { return table; }
+
+    /** @return true if the view reads {@code base} */
+    public boolean dependsOn(InMemoryTable base) { return leaves.containsKey(base); }
+
+    /** Stop maintaining the view (its table keeps the last contents). */
+    public synchronized void detach() {
+        for (InMemoryTable base : leaves.keySet()) base.removeListener(listener);
+    }
+
+    // ----------------------------------------------------------------------
+    // change propagation
+    // ----------------------------------------------------------------------
+
+    private synchronized void onBaseChange(InMemoryTable base, InMemoryRow row, int delta) {
+        for (Leaf leaf : leaves.getOrDefault(base, List.of())) {
+            Map<InMemoryRow, Integer> d = new LinkedHashMap<>();
+            d.put(row, delta);
+            propagate(leaf, d);
+        }
+    }
+
+    private void propagate(Node from, Map<InMemoryRow, Integer> delta) {
+        Node n = from;
+        while (n.parent != null) {
+            if (delta.isEmpty()) return;
+            delta = n.parent.apply(n, delta);
+            n = n.parent;
+        }
+        for (var e : delta.entrySet()) {
+            int k = e.getValue();
+            for (; k > 0; k--) table.add(e.getKey());
+            for (; k < 0; k++) table.remove(e.getKey());
+        }
+    }
+
+    private static void addCount(Map<InMemoryRow, Integer> m, InMemoryRow r, int d) {
+        if (d == 0) return;
+        m.merge(r, d, (a, b) -> a + b == 0 ? null : a + b);
+    }
+
+    // ----------------------------------------------------------------------
+    // delta network
+    // ----------------------------------------------------------------------
+
+    private Node build(Expr e, EvaluationContext ctx) {
+        if (e instanceof RelationRef r) {
+            Leaf leaf = new Leaf(ctx.table(r.name()));
+            leaves.computeIfAbsent(leaf.base, k -> new ArrayList<>()).add(leaf);
+            return leaf;
+        }
+        if (e instanceof Selection s) return adopt(new SelectNode(s.condition(), build(s.child(), ctx)));
+        if (e instanceof Projection p) return adopt(new ProjectNode(p, build(p.child(), ctx)));
+        if (e instanceof Rename r) return build(r.child(), ctx);
+        if (e instanceof Join j) return adopt(new JoinNode(j, build(j.left(), ctx), build(j.right(), ctx)));
+        if (e instanceof SemiJoin s) return adopt(new SemiJoinNode(s, build(s.left(), ctx), build(s.right(), ctx)));
+        if (e instanceof SetOp s) return adopt(new SetOpNode(s.kind(), build(s.left(), ctx), build(s.right(), ctx)));
+        throw new UnsupportedOperationException("Cannot materialize: " + e);
+    }
+
+    private static Node adopt(Node parent) {
+        for (Node c : parent.children) c.parent = parent;
+        return parent;
+    }
+
+    /** An incremental operator: turns a delta of one child into a delta of its own output. */
+    private abstract static class Node {
+        final Schema schema;
+        final List<Node> children;
+        Node parent;
+
+        Node(Schema schema, Node... children) {
+            this.schema = schema;
+            this.children = List.of(children);
+        }
+
+        abstract Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta);
+    }
+
+    private static final class Leaf extends Node {
+        final InMemoryTable base;
+        Leaf(InMemoryTable base) { super(base.schema()); this.base = base; }
+        @Override Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta) { return delta; }
+    }
+
+    private static final class SelectNode extends Node {
+        /** Compiled like an ad-hoc σ, so rows whose condition is unknown (nulls) are filtered the same way. */
+        final RowPredicate cond;
+        SelectNode(Expr cond, Node child) { super(child.schema, child); this.cond = PredicateCompiler.compile(cond, child.schema); }
+
+        @Override Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta) {
+            Map<InMemoryRow, Integer> out = new LinkedHashMap<>();
+            for (var e : delta.entrySet()) {
+                if (cond.test(e.getKey())) out.put(e.getKey(), e.getValue());
+            }
+            return out;
+        }
+    }
+
+    private static final class ProjectNode extends Node {
+        final List<String> attrs;
+        final boolean distinct;
+        /** Projected row → number of input rows deriving it (set semantics only). */
+        final Map<InMemoryRow, Integer> derivations = new HashMap<>();
+
+        ProjectNode(Projection spec, Node child) {
+            super(projectedSchema(spec.attrs(), child.schema), child);
+            this.attrs = spec.attrs();
+            this.distinct = spec.distinct();
+        }
+
+        private static Schema projectedSchema(List<String> attrs, Schema in) {
+            List<Attribute> out = new ArrayList<>();
+            for (String a : attrs) out.add(in.attribute(in.indexOf(a)));
+            return new Schema(out);
+        }
+
+        @Override Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta) {
+            Map<InMemoryRow, Integer> out = new LinkedHashMap<>();
+            for (var e : delta.entrySet()) {
+                Map<String, Object> m = new LinkedHashMap<>();
+                for (String a : attrs) m.put(a, e.getKey().get(a));
+                InMemoryRow projected = new InMemoryRow(m);
+                if (!distinct) {
+                    addCount(out, projected, e.getValue());
+                    continue;
+                }
+                int before = derivations.getOrDefault(projected, 0);
+                int after = before + e.getValue();
+                if (after == 0) derivations.remove(projected); else derivations.put(projected, after);
+                addCount(out, projected, (after > 0 ? 1 : 0) - (before > 0 ? 1 : 0));
+            }
+            return out;
+        }
+    }
+
+    private static final class JoinNode extends Node {
+        final JoinKeys keys;
+        final RowPredicate residual;    // null when every conjunct is an equi-join key
+        /** Current contents of each input, indexed by join key. */
+        final Map<List<Object>, Map<InMemoryRow, Integer>> leftIndex = new HashMap<>();
+        final Map<List<Object>, Map<InMemoryRow, Integer>> rightIndex = new HashMap<>();
+
+        JoinNode(Join spec, Node left, Node right) {
+            super(JoinKeys.outputSchema(spec.kind(), left.schema, right.schema), left, right);
+            this.keys = JoinKeys.forJoin(spec, left.schema, right.schema);
+            this.residual = keys.residual() == null ? null : PredicateCompiler.compile(keys.residual(), schema);
+        }
+
+        @Override Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta) {
+            boolean fromLeft = child == children.get(0);
+            List<String> myKeys = fromLeft ? keys.leftKeys() : keys.rightKeys();
+            var mine = fromLeft ? leftIndex : rightIndex;
+            var other = fromLeft ? rightIndex : leftIndex;
+
+            Map<InMemoryRow, Integer> out = new LinkedHashMap<>();
+            for (var e : delta.entrySet()) {
+                InMemoryRow row = e.getKey();
+                List<Object> k = JoinKeys.key(row, myKeys);
+                if (k == null) continue;                          // null keys never join
+                for (var m : other.getOrDefault(k, Map.of()).entrySet()) {
+                    InMemoryRow combined = fromLeft
+                            ? ExprEvaluator.combine(row, m.getKey())
+                            : ExprEvaluator.combine(m.getKey(), row);
+                    if (residual == null || residual.test(combined)) {
+                        addCount(out, combined, e.getValue() * m.getValue());
+                    }
+                }
+                Map<InMemoryRow, Integer> bucket = mine.computeIfAbsent(k, x -> new HashMap<>());
+                addCount(bucket, row, e.getValue());
+                if (bucket.isEmpty()) mine.remove(k);
+            }
+            return out;
+        }
+    }
+
+    private static final class SemiJoinNode extends Node {
+        final JoinKeys keys;
+        final boolean anti;
+        /** Left contents by join key, and the number of right rows per join key. */
+        final Map<List<Object>, Map<InMemoryRow, Integer>> leftIndex = new HashMap<>();
+        final Map<List<Object>, Integer> rightCounts = new HashMap<>();
+
+        SemiJoinNode(SemiJoin spec, Node left, Node right) {
+            super(left.schema, left, right);
+            this.keys = JoinKeys.forSemiJoin(spec, left.schema, right.schema);
+            if (!keys.isEqui() || keys.residual() != null)
+                throw new UnsupportedOperationException("Cannot materialize a semi-join on a non-equality condition: " + spec);
+            this.anti = spec.anti();
+        }
+
+        @Override Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta) {
+            Map<InMemoryRow, Integer> out = new LinkedHashMap<>();
+            if (child == children.get(0)) {
+                for (var e : delta.entrySet()) {
+                    List<Object> k = JoinKeys.key(e.getKey(), keys.leftKeys());
+                    boolean present = k != null && rightCounts.containsKey(k);
+                    if (present != anti) addCount(out, e.getKey(), e.getValue());
+                    if (k == null) continue;
+                    Map<InMemoryRow, Integer> bucket = leftIndex.computeIfAbsent(k, x -> new HashMap<>());
+                    addCount(bucket, e.getKey(), e.getValue());
+                    if (bucket.isEmpty()) leftIndex.remove(k);
+                }
+                return out;
+            }
+            for (var e : delta.entrySet()) {
+                List<Object> k = JoinKeys.key(e.getKey(), keys.rightKeys());
+                if (k == null) continue;
+                int before = rightCounts.getOrDefault(k, 0);
+                int after = before + e.getValue();
+                if (after == 0) rightCounts.remove(k); else rightCounts.put(k, after);
+                if ((before > 0) == (after > 0)) continue;       // key presence unchanged
+                int sign = (after > 0) != anti ? 1 : -1;
+                for (var m : leftIndex.getOrDefault(k, Map.of()).entrySet()) addCount(out, m.getKey(), sign * m.getValue());
+            }
+            return out;
+        }
+    }
+
+    private static final class SetOpNode extends Node {
+        final SetOp.Kind kind;
+        /** Row → {count in left input, count in right input}. */
+        final Map<InMemoryRow, int[]> counts = new HashMap<>();
+
+        SetOpNode(SetOp.Kind kind, Node left, Node right) {
+            super(left.schema, left, right);
+            Schema.checkCompatible(left.schema, right.schema);
+            this.kind = kind;
+        }
+
+        /** Output multiplicity of a row, matching the evaluator's set operators. */
+        private int multiplicity(int[] c) {
+            return switch (kind) {
+                case UNION     -> c[0] + c[1] > 0 ? 1 : 0;
+                case INTERSECT -> c[1] > 0 ? c[0] : 0;
+                case MINUS     -> c[1] > 0 ? 0 : c[0];
+            };
+        }
+
+        @Override Map<InMemoryRow, Integer> apply(Node child, Map<InMemoryRow, Integer> delta) {
+            int side = child == children.get(0) ? 0 : 1;
+            Map<InMemoryRow, Integer> out = new LinkedHashMap<>();
+            for (var e : delta.entrySet()) {
+                int[] c = counts.computeIfAbsent(e.getKey(), k -> new int[2]);
+                int before = multiplicity(c);
+                c[side] += e.getValue();
+                int after = multiplicity(c);
+                if (c[0] == 0 && c[1] == 0) counts.remove(e.getKey());
+                addCount(out, e.getKey(), after - before);
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.DataType;
+import CORE.Schema;
+
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * OffHeapStorage
+ *
+ * <p>Column storage in native memory ({@link MemorySegment}s allocated from one
+ * shared {@link Arena}), so a large relation costs the garbage collector a few
+ * hundred segment handles instead of a map and boxed values per row. Rows are
+ * decoded into short-lived {@link InMemoryRow}s when read.</p>
+ *
+ * <h3>Layout</h3>
+ * <ul>
+ *   <li>Rows are stored in chunks of {@link #CHUNK_ROWS}; a chunk is one segment holding,
+ *       per column, a validity bitmap followed by the column's values.</li>
+ *   <li>INT (4 bytes), DOUBLE (8 bytes) and BOOL (1 byte) values are stored inline.</li>
+ *   <li>STRING values are stored in a variable-length area of blocks (doubling from 4 KiB to 1 MiB) as
+ *       {@code [length][UTF-8 bytes]}; the column holds an 8-byte (block, offset) reference.</li>
+ * </ul>
+ *
+ * <h3>Lifecycle</h3>
+ * <ul>
+ *   <li>Memory is returned only by {@link #release()}, which closes the arena. Tables in a
+ *       {@link EXECUTOR.Catalog} are released once no catalog version that contains them is
+ *       still in use; reading a released table throws {@link IllegalStateException}.</li>
+ *   <li>Removing rows does not reclaim the string bytes of the removed values.</li>
+ *   <li>Reads may run on several threads; writes must not overlap with anything.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class OffHeapStorage implements TableStorage {
+    /** Rows per chunk (same granularity as {@link EXECUTOR.ZoneMap}). */
+    static final int CHUNK_ROWS = ZoneMap.CHUNK_ROWS;
+    private static final int FIRST_STRING_BLOCK = 4096;
+    private static final int STRING_BLOCK = 1 << 20;
+    private static final long VALIDITY_BYTES = CHUNK_ROWS / 8;
+
+    private final Arena arena = Arena.ofShared();
+    private final String[] names;
+    private final DataType[] types;
+    /** Offset of each column's validity bitmap inside a chunk; its values follow the bitmap. */
+    private final long[] columnOffsets;
+    private final long chunkBytes;
+    private final List<MemorySegment> chunks = new ArrayList<>();
+    private final List<MemorySegment> blocks = new ArrayList<>();
+    private long blockUsed;
+    private long allocated;
+    private int size;
+    private final List<InMemoryRow> view = new RowView();
+
+    OffHeapStorage(Schema schema) {
+        int n = schema.size();
+        names = new String[n];
+        types = new DataType[n];
+        columnOffsets = new long[n];
+        long offset = 0;
+        for (int c = 0; c < n; c++) {
+            Attribute a = schema.attribute(c);
+            names[c] = a.name();
+            types[c] = a.type();
+            columnOffsets[c] = offset;
+            offset += align8(VALIDITY_BYTES + (long) width(a.type()) * CHUNK_ROWS);
+        }
+        chunkBytes = Math.max(8, offset);
+    }
+
+    private static int width(DataType t) {
+        return switch (t) {
+            case INT -> 4;
+            case DOUBLE, STRING -> 8;
+            case BOOL -> 1;
+        };
+    }
+
+    @Override public int size() { return size; }
+
+    @Override
+    public InMemoryRow get(int i) {
+        if (i < 0 || i >= size) throw new IndexOutOfBoundsException(i);
+        MemorySegment chunk = chunks.get(i / CHUNK_ROWS);
+        int r = i % CHUNK_ROWS;
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int c = 0; c < names.length; c++) values.put(names[c], read(chunk, c, r));
+        return new InMemoryRow(values);
+    }
+
+    @Override
+    public void add(InMemoryRow row) {
+        if (size == chunks.size() * CHUNK_ROWS) {
+            chunks.add(arena.allocate(chunkBytes, 8));         // zero-filled: all values null
+            allocated += chunkBytes;
+        }
+        write(size++, row);
+    }
+
+    @Override public void set(int i, InMemoryRow row) { write(i, row); }
+
+    @Override public void removeLast() { size--; }
+
+    @Override public void clear() { size = 0; }
+
+    @Override
+    public void release() {
+        if (arena.scope().isAlive()) arena.close();          // later reads fail with IllegalStateException
+    }
+
+    @Override public List<InMemoryRow> rows() { return view; }
+
+    @Override public long offHeapBytes() { return allocated; }
+
+    @Override public long estimatedBytes() { return allocated; }
+
+    @Override public String describe() { return "off-heap, " + allocated + " bytes"; }
+
+    // ----------------------------------------------------------------------
+    // encoding
+    // ----------------------------------------------------------------------
+
+    private Object read(MemorySegment chunk, int c, int r) {
+        long base = columnOffsets[c];
+        if ((chunk.get(ValueLayout.JAVA_BYTE, base + (r >>> 3)) & 1 << (r & 7)) == 0) return null;
+        long at = base + VALIDITY_BYTES + (long) width(types[c]) * r;
+        return switch (types[c]) {
+            case INT -> chunk.get(ValueLayout.JAVA_INT, at);
+            case DOUBLE -> chunk.get(ValueLayout.JAVA_DOUBLE, at);
+            case BOOL -> chunk.get(ValueLayout.JAVA_BYTE, at) != 0;
+            case STRING -> string(chunk.get(ValueLayout.JAVA_LONG, at));
+        };
+    }
+
+    private void write(int i, InMemoryRow row) {
+        MemorySegment chunk = chunks.get(i / CHUNK_ROWS);
+        int r = i % CHUNK_ROWS;
+        for (int c = 0; c < names.length; c++) {
+            Object v = row.get(names[c]);
+            long base = columnOffsets[c], bits = base + (r >>> 3);
+            byte mask = (byte) (1 << (r & 7));
+            byte old = chunk.get(ValueLayout.JAVA_BYTE, bits);
+            chunk.set(ValueLayout.JAVA_BYTE, bits, (byte) (v == null ? old & ~mask : old | mask));
+            if (v == null) continue;
+            long at = base + VALIDITY_BYTES + (long) width(types[c]) * r;
+            switch (types[c]) {
+                case INT -> chunk.set(ValueLayout.JAVA_INT, at, (Integer) v);
+                case DOUBLE -> chunk.set(ValueLayout.JAVA_DOUBLE, at, (Double) v);
+                case BOOL -> chunk.set(ValueLayout.JAVA_BYTE, at, (byte) ((Boolean) v ? 1 : 0));
+                case STRING -> chunk.set(ValueLayout.JAVA_LONG, at, store((String) v));
+            }
+        }
+    }
+
+    /** Append {@code s} to the string area; @return its (block, offset) reference */
+    private long store(String s) {
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        long need = align4(4L + bytes.length);
+        MemorySegment block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (block == null || blockUsed + need > block.byteSize()) {
+            long blockSize = Math.max(need, Math.min(STRING_BLOCK, (long) FIRST_STRING_BLOCK << blocks.size()));
+            block = arena.allocate(blockSize, 8);
+            blocks.add(block);
+            allocated += blockSize;
+            blockUsed = 0;
+        }
+        long offset = blockUsed;
+        block.set(ValueLayout.JAVA_INT, offset, bytes.length);
+        MemorySegment.copy(bytes, 0, block, ValueLayout.JAVA_BYTE, offset + 4, bytes.length);
+        blockUsed += need;
+        return (long) (blocks.size() - 1) << 32 | offset;
+    }
+
+    private String string(long ref) {
+        MemorySegment block = blocks.get((int) (ref >>> 32));
+        long offset = ref & 0xffffffffL;
+        byte[] bytes = new byte[block.get(ValueLayout.JAVA_INT, offset)];
+        MemorySegment.copy(block, ValueLayout.JAVA_BYTE, offset + 4, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static long align8(long n) { return (n + 7) & ~7L; }
+
+    private static long align4(long n) { return (n + 3) & ~3L; }
+
+    /** Read-only list whose elements are decoded on access. */
+    private final class RowView extends AbstractList<InMemoryRow> implements RandomAccess {
+        @Override public InMemoryRow get(int i) { return OffHeapStorage.this.get(i); }
+        @Override public int size() { return size; }
+    }
+}
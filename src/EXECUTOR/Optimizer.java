@@ -0,0 +1,185 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.Schema;
+import PARSER.EXPR.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Optimizer
+ *
+ * <p>Rule-based rewrites applied to a query before it is evaluated. Rules are
+ * applied bottom-up and only where they preserve the result exactly.</p>
+ *
+ * <h3>Rules</h3>
+ * <ul>
+ *   <li><b>Predicate simplification</b> — selection conditions are folded and normalized by
+ *       {@link EXECUTOR.PredicateSimplifier}; a selection that always holds is removed, one
+ *       that never holds is answered with an empty relation without reading its input.</li>
+ *   <li><b>Join to semi-join</b> — {@code π A (L ⋈ R)} becomes {@code π A (L ⋉ R)} when every
+ *       attribute of {@code A} comes from {@code L} (symmetrically {@code π A (R ⋉ L)}
+ *       when they all come from {@code R}). Only for duplicate-eliminating projections: the
+ *       join repeats a left row once per match, the semi-join emits it once.</li>
+ *   <li><b>Natural-join ordering</b> — a chain of three or more natural joins is flattened and
+ *       rebuilt greedily: start from the smallest estimated input, then repeatedly join the
+ *       connected input giving the smallest estimated intermediate result (never a Cartesian
+ *       product). A bag projection restores the original column order if it changed.</li>
+ * </ul>
+ *
+ * <h3>Collaborators</h3>
+ * <ul>
+ *   <li>{@link EXECUTOR.EvaluationContext} — schemas of base relations.</li>
+ *   <li>{@link EXECUTOR.CardinalityEstimator} — estimated sizes, from {@code :analyze} statistics.</li>
+ *   <li>{@link EXECUTOR.ExprEvaluator} — runs the optimizer before evaluation.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class Optimizer {
+    private final EvaluationContext ctx;
+    private final CardinalityEstimator estimator;
+
+    Optimizer(EvaluationContext ctx) {
+        this.ctx = ctx;
+        this.estimator = new CardinalityEstimator(ctx, this);
+    }
+
+    /** @return the size estimator over the same catalog */
+    CardinalityEstimator estimator() { return estimator; }
+
+    /** @return an equivalent query; unchanged subtrees are returned as-is */
+    Expr optimize(Expr e) {
+        if (e instanceof Selection s) {
+            Expr c = optimize(s.child());
+            Expr cond = PredicateSimplifier.simplify(s.condition());
+            if (PredicateSimplifier.isTrue(cond)) return c;
+            return c == s.child() && cond == s.condition() ? s : new Selection(cond, c);
+        }
+        if (e instanceof Projection p) {
+            Expr c = optimize(p.child());
+            Projection q = c == p.child() ? p : new Projection(p.attrs(), c, p.distinct());
+            return joinToSemiJoin(q);
+        }
+        if (e instanceof Rename r) {
+            Expr c = optimize(r.child());
+            return c == r.child() ? r : new Rename(r.newName(), c);
+        }
+        if (e instanceof Aggregation a) {
+            Expr c = optimize(a.child());
+            return c == a.child() ? a : new Aggregation(a.groupBy(), a.aggregates(), c);
+        }
+        if (e instanceof Sort t) {
+            Expr c = optimize(t.child());
+            return c == t.child() ? t : new Sort(t.keys(), t.limit(), c);
+        }
+        if (e instanceof Join j) {
+            if (j.kind() == Join.Kind.NATURAL) {
+                Expr reordered = reorderNaturalJoins(j);
+                if (reordered != null) return reordered;
+            }
+            Expr l = optimize(j.left()), r = optimize(j.right());
+            return l == j.left() && r == j.right() ? j : new Join(j.kind(), l, r, j.on());
+        }
+        if (e instanceof SemiJoin s) {
+            Expr l = optimize(s.left()), r = optimize(s.right());
+            return l == s.left() && r == s.right() ? s : new SemiJoin(l, r, s.on(), s.anti());
+        }
+        if (e instanceof SetOp s) {
+            Expr l = optimize(s.left()), r = optimize(s.right());
+            return l == s.left() && r == s.right() ? s : new SetOp(s.kind(), l, r);
+        }
+        return e;
+    }
+
+    /** π A (L ⋈ R) → π A (L ⋉ R) when A ⊆ attrs(L) and π removes duplicates. */
+    private Expr joinToSemiJoin(Projection p) {
+        if (!p.distinct() || !(p.child() instanceof Join j) || j.kind() == Join.Kind.CROSS) return p;
+        if (names(schemaOf(j.left())).containsAll(p.attrs())) {
+            return new Projection(p.attrs(), new SemiJoin(j.left(), j.right(), j.on(), false), true);
+        }
+        if (names(schemaOf(j.right())).containsAll(p.attrs())) {
+            return new Projection(p.attrs(), new SemiJoin(j.right(), j.left(), j.on(), false), true);
+        }
+        return p;
+    }
+
+    /**
+     * Greedy join ordering of a natural-join chain.
+     * @return the reordered chain, or null if it has fewer than three inputs or the order is kept
+     */
+    private Expr reorderNaturalJoins(Join chain) {
+        List<Expr> inputs = new ArrayList<>();
+        flattenNatural(chain, inputs);
+        if (inputs.size() < 3) return null;
+        inputs.replaceAll(this::optimize);
+
+        List<Expr> remaining = new ArrayList<>(inputs);
+        Expr first = remaining.get(0);
+        for (Expr in : remaining) if (estimator.rows(in) < estimator.rows(first)) first = in;
+        remaining.remove(first);
+        Expr tree = first;
+        List<Expr> order = new ArrayList<>(List.of(first));
+        while (!remaining.isEmpty()) {
+            Schema current = schemaOf(tree);
+            Expr best = null, bestJoin = null;
+            for (Expr in : remaining) {
+                if (current.commonAttributes(schemaOf(in)).isEmpty()) continue;   // no Cartesian products
+                Expr candidate = new Join(tree, in, null);
+                if (bestJoin == null || estimator.rows(candidate) < estimator.rows(bestJoin)) {
+                    best = in;
+                    bestJoin = candidate;
+                }
+            }
+            if (best == null) return null;            // disconnected chain: keep it (and its error) as written
+            remaining.remove(best);
+            order.add(best);
+            tree = bestJoin;
+        }
+        if (order.equals(inputs)) return null;
+
+        List<String> original = names(naturalSchema(inputs));
+        return names(schemaOf(tree)).equals(original) ? tree : new Projection(original, tree, false);
+    }
+
+    private static void flattenNatural(Expr e, List<Expr> out) {
+        if (e instanceof Join j && j.kind() == Join.Kind.NATURAL) {
+            flattenNatural(j.left(), out);
+            flattenNatural(j.right(), out);
+        } else {
+            out.add(e);
+        }
+    }
+
+    /** Schema of the natural join of {@code inputs} in the given order. */
+    private Schema naturalSchema(List<Expr> inputs) {
+        Schema s = schemaOf(inputs.get(0));
+        for (int i = 1; i < inputs.size(); i++) s = Schema.naturalMerge(s, schemaOf(inputs.get(i)));
+        return s;
+    }
+
+    private static List<String> names(Schema s) {
+        return s.attributes().stream().map(Attribute::name).toList();
+    }
+
+    /** Output schema of {@code e} without evaluating it. */
+    Schema schemaOf(Expr e) {
+        if (e instanceof RelationRef r) return ctx.table(r.name()).schema();
+        if (e instanceof Selection s) return schemaOf(s.child());
+        if (e instanceof Rename r) return schemaOf(r.child());
+        if (e instanceof Sort t) return schemaOf(t.child());
+        if (e instanceof SemiJoin s) return schemaOf(s.left());
+        if (e instanceof SetOp s) return schemaOf(s.left());
+        if (e instanceof Projection p) {
+            Schema in = schemaOf(p.child());
+            List<Attribute> out = new ArrayList<>();
+            for (String a : p.attrs()) out.add(in.attribute(in.indexOf(a)));
+            return new Schema(out);
+        }
+        if (e instanceof Aggregation a) return HashAggregator.outputSchema(a, schemaOf(a.child()));
+        if (e instanceof Join j) return JoinKeys.outputSchema(j.kind(), schemaOf(j.left()), schemaOf(j.right()));
+        throw new UnsupportedOperationException("Unknown expr: " + e);
+    }
+}
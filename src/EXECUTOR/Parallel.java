@@ -0,0 +1,135 @@
+package EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.IntPredicate;
+
+/**
+ * Parallel
+ *
+ * <p>Small helper for data-parallel operators: runs independent tasks on the
+ * common fork-join pool and rethrows the first task failure unchanged, so a
+ * {@link QueryAbortedException} raised in a worker reaches the caller as-is.
+ * {@link #radix} scatters row indexes into hash partitions for operators that
+ * then work on each partition independently.</p>
+ *
+ * <p>Operators split their work into {@link #workers()} tasks, one per core by
+ * default (the common pool keeps a core free for the calling thread, which
+ * submits and joins them). The {@value #WORKERS_PROPERTY} system
+ * property (or {@link #setWorkers}) forces another count, so the partitioned
+ * paths can be exercised on a single-core machine.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class Parallel {
+    /** System property forcing the worker count, read when the class is loaded. */
+    static final String WORKERS_PROPERTY = "relax.workers";
+
+    /** Forced worker count; 0 means one per available core. */
+    private static volatile int forced = Math.max(0, Integer.getInteger(WORKERS_PROPERTY, 0));
+
+    private Parallel() {}
+
+    /** @return number of workers available to data-parallel operators: every core, unless forced */
+    static int workers() {
+        int n = forced;
+        return n > 0 ? n : Runtime.getRuntime().availableProcessors();
+    }
+
+    /** Force {@link #workers()} to {@code n}; 0 restores one worker per core. */
+    static void setWorkers(int n) {
+        if (n < 0) throw new IllegalArgumentException("worker count must be >= 0: " + n);
+        forced = n;
+    }
+
+    /** Run all tasks to completion and return their results in task order. */
+    static <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        List<Future<T>> futures = ForkJoinPool.commonPool().invokeAll(tasks);
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> f : futures) {
+            try {
+                results.add(f.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException re) throw re;
+                if (cause instanceof Error err) throw err;
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new QueryAbortedException(QueryAbortedException.Reason.CANCELLED, "Query interrupted");
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Group the indexes {@code i} with {@code include.test(i)} into {@code 2^bits} partitions by
+     * the top {@code bits} of {@code hashes[i]}: a histogram per chunk in parallel, prefix sums,
+     * then a parallel scatter. Each partition lists its indexes in ascending order.
+     */
+    static int[][] radix(int[] hashes, IntPredicate include, int bits) {
+        int n = hashes.length, fanout = 1 << bits;
+        int chunk = Math.max(1, (n + workers() - 1) / workers());
+        List<Callable<int[]>> counts = new ArrayList<>();
+        for (int from = 0; from < n; from += chunk) {
+            int start = from, end = Math.min(n, from + chunk);
+            counts.add(() -> {
+                int[] hist = new int[fanout];
+                for (int i = start; i < end; i++) if (include.test(i)) hist[bucket(hashes[i], 0, bits)]++;
+                return hist;
+            });
+        }
+        List<int[]> hists = invokeAll(counts);
+
+        int[][] parts = new int[fanout][];
+        int[][] cursors = new int[hists.size()][fanout];
+        for (int part = 0; part < fanout; part++) {
+            int size = 0;
+            for (int c = 0; c < hists.size(); c++) {
+                cursors[c][part] = size;
+                size += hists.get(c)[part];
+            }
+            parts[part] = new int[size];
+        }
+
+        List<Callable<Void>> scatter = new ArrayList<>();
+        for (int c = 0, from = 0; from < n; c++, from += chunk) {
+            int start = from, end = Math.min(n, from + chunk);
+            int[] cursor = cursors[c];
+            scatter.add(() -> {
+                for (int i = start; i < end; i++) {
+                    if (!include.test(i)) continue;
+                    int part = bucket(hashes[i], 0, bits);
+                    parts[part][cursor[part]++] = i;
+                }
+                return null;
+            });
+        }
+        invokeAll(scatter);
+        return parts;
+    }
+
+    /** Murmur3 finalizer: spreads a {@code hashCode} over the high bits {@link #radix} reads. */
+    static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ h >>> 16;
+    }
+
+    /** The {@code bits} hash bits below the top {@code used} bits ({@code 0 < bits <= 32 - used}). */
+    static int bucket(int hash, int used, int bits) {
+        return (hash << used) >>> (32 - bits);
+    }
+
+    /** Number of radix bits giving about four partitions per worker. */
+    static int fanoutBits() {
+        return 32 - Integer.numberOfLeadingZeros(Math.max(1, workers() * 4 - 1));
+    }
+}
@@ -0,0 +1,186 @@
+package EXECUTOR;
+
+import CORE.DataType;
+import CORE.Schema;
+import CORE.Values;
+import PARSER.EXPR.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * PredicateCompiler
+ *
+ * <p>Turns a condition tree into a {@link RowPredicate} specialised for the
+ * input {@link Schema}. Operand types are resolved once per query — attribute
+ * types from the schema, constant types from the {@link Literal} — so each row
+ * only unboxes its value and runs a primitive {@code int}, {@code double},
+ * {@code String} or {@code boolean} comparison against a pre-converted constant.</p>
+ *
+ * <h3>Semantics</h3>
+ * <ul>
+ *   <li>INT against DOUBLE widens to {@code double}: {@code σ Salary > 30} works on a DOUBLE column.</li>
+ *   <li>A comparison with a null operand is false, and {@code not} is pushed into the
+ *       comparisons, so rows whose condition is unknown are filtered out either way.</li>
+ *   <li>Ordering values of incompatible types (STRING against INT) is rejected up front;
+ *       {@code =} between them is simply false and {@code !=} true for non-null values.</li>
+ *   <li>Unknown attributes are rejected up front instead of comparing nulls row by row.</li>
+ * </ul>
+ *
+ * <p>Chains of {@code and} (or {@code or}) are flattened into one
+ * {@link EXECUTOR.AdaptiveConjunction}, which reorders its terms by their observed
+ * cost and pass rate while the selection runs.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class PredicateCompiler {
+    private static final IntPredicate EQ = c -> c == 0, NEQ = c -> c != 0,
+            LT = c -> c < 0, LTE = c -> c <= 0, GT = c -> c > 0, GTE = c -> c >= 0;
+
+    private PredicateCompiler() {}
+
+    /** @return a predicate over rows of {@code schema} equivalent to {@code cond} */
+    static RowPredicate compile(Expr cond, Schema schema) {
+        return compile(cond, schema, false);
+    }
+
+    private static RowPredicate compile(Expr e, Schema schema, boolean negate) {
+        if (e instanceof Not n) return compile(n.inner(), schema, !negate);
+        if (e instanceof Binary b && (b.op() == Op.AND || b.op() == Op.OR)) {
+            boolean and = (b.op() == Op.AND) != negate;          // De Morgan under negation
+            List<RowPredicate> terms = new ArrayList<>();
+            List<String> labels = new ArrayList<>();
+            flatten(e, schema, negate, and, terms, labels);
+            return new AdaptiveConjunction(and, terms, labels);
+        }
+        if (e instanceof Binary b) return comparison(b.left(), negate ? b.op().negated() : b.op(), b.right(), schema);
+        if (e instanceof Literal lit) {
+            boolean v = lit.value() instanceof Boolean x && x != negate;
+            return row -> v;
+        }
+        if (e instanceof AttrRef a) {
+            requireType(a, schema, DataType.BOOL);
+            String name = a.name();
+            Boolean expected = !negate;
+            return row -> expected.equals(row.get(name));
+        }
+        throw new IllegalArgumentException("Unsupported condition: " + e);
+    }
+
+    /** Collect the terms of a chain of ANDs (or ORs), looking through negations. */
+    private static void flatten(Expr e, Schema schema, boolean negate, boolean and,
+                                List<RowPredicate> out, List<String> labels) {
+        if (e instanceof Not n) {
+            flatten(n.inner(), schema, !negate, and, out, labels);
+        } else if (e instanceof Binary b && (b.op() == Op.AND || b.op() == Op.OR) && ((b.op() == Op.AND) != negate) == and) {
+            flatten(b.left(), schema, negate, and, out, labels);
+            flatten(b.right(), schema, negate, and, out, labels);
+        } else {
+            out.add(compile(e, schema, negate));
+            labels.add((negate ? new Not(e) : e).toString());
+        }
+    }
+
+    private static RowPredicate comparison(Expr left, Op op, Expr right, Schema schema) {
+        if (left instanceof Literal && !(right instanceof Literal)) {   // constant on the right
+            Expr t = left;
+            left = right;
+            right = t;
+            op = op.flipped();
+        }
+        DataType lt = typeOf(left, schema), rt = typeOf(right, schema);
+        if (lt == null || rt == null) return row -> false;              // compared with a null literal
+        if (!Values.comparable(lt, rt)) {
+            if (op != Op.EQ && op != Op.NEQ) {
+                throw new IllegalArgumentException("Cannot compare " + lt + " with " + rt + ": " + left + " " + op + " " + right);
+            }
+            if (op == Op.EQ) return row -> false;
+            Operand l = operand(left), r = operand(right);
+            return row -> l.get(row) != null && r.get(row) != null;
+        }
+        IntPredicate holds = holds(op);
+        DataType common = lt == rt ? lt : DataType.DOUBLE;
+
+        if (right instanceof Literal lit) {
+            if (left instanceof Literal l) {
+                boolean v = holds.test(Values.compare(l.value(), lit.value()));
+                return row -> v;
+            }
+            String a = ((AttrRef) left).name();
+            return switch (common) {
+                case INT -> {
+                    int c = (Integer) lit.value();
+                    yield row -> row.get(a) instanceof Integer v && holds.test(Integer.compare(v, c));
+                }
+                case DOUBLE -> {
+                    double c = ((Number) lit.value()).doubleValue();
+                    yield row -> row.get(a) instanceof Number v && holds.test(Double.compare(v.doubleValue(), c));
+                }
+                case STRING -> {
+                    String c = (String) lit.value();
+                    yield row -> row.get(a) instanceof String v && holds.test(v.compareTo(c));
+                }
+                case BOOL -> {
+                    boolean c = (Boolean) lit.value();
+                    yield row -> row.get(a) instanceof Boolean v && holds.test(Boolean.compare(v, c));
+                }
+            };
+        }
+
+        String a = ((AttrRef) left).name(), b = ((AttrRef) right).name();
+        return switch (common) {
+            case INT -> row -> row.get(a) instanceof Integer x && row.get(b) instanceof Integer y
+                    && holds.test(Integer.compare(x, y));
+            case DOUBLE -> row -> row.get(a) instanceof Number x && row.get(b) instanceof Number y
+                    && holds.test(Double.compare(x.doubleValue(), y.doubleValue()));
+            case STRING -> row -> row.get(a) instanceof String x && row.get(b) instanceof String y
+                    && holds.test(x.compareTo(y));
+            case BOOL -> row -> row.get(a) instanceof Boolean x && row.get(b) instanceof Boolean y
+                    && holds.test(Boolean.compare(x, y));
+        };
+    }
+
+    /** Reads one operand of a comparison from a row. */
+    private interface Operand {
+        Object get(InMemoryRow row);
+    }
+
+    private static Operand operand(Expr e) {
+        if (e instanceof Literal l) {
+            Object v = l.value();
+            return row -> v;
+        }
+        String name = ((AttrRef) e).name();
+        return row -> row.get(name);
+    }
+
+    /** @return the type of an operand: from the schema for attributes, from the value for literals */
+    private static DataType typeOf(Expr e, Schema schema) {
+        if (e instanceof Literal l) return Values.typeOf(l.value());
+        if (e instanceof AttrRef a) {
+            if (!schema.has(a.name())) throw new IllegalArgumentException("Unknown attribute in condition: " + a.name());
+            return schema.typeOf(a.name());
+        }
+        throw new IllegalArgumentException("Unsupported operand: " + e);
+    }
+
+    private static void requireType(AttrRef a, Schema schema, DataType type) {
+        if (typeOf(a, schema) != type) {
+            throw new IllegalArgumentException("Condition " + a.name() + " must be " + type + ", not " + schema.typeOf(a.name()));
+        }
+    }
+
+    private static IntPredicate holds(Op op) {
+        return switch (op) {
+            case EQ  -> EQ;
+            case NEQ -> NEQ;
+            case LT  -> LT;
+            case LTE -> LTE;
+            case GT  -> GT;
+            case GTE -> GTE;
+            default  -> throw new IllegalStateException("not a comparison: " + op);
+        };
+    }
+}
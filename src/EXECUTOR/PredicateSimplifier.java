@@ -0,0 +1,106 @@
+package EXECUTOR;
+
+import PARSER.EXPR.*;
+
+import java.util.Map;
+
+/**
+ * PredicateSimplifier
+ *
+ * <p>Rewrites a selection condition into an equivalent, cheaper one before any
+ * row is evaluated. Works on {@link Binary}, {@link Not}, {@link Literal} and
+ * {@link AttrRef} trees; anything else is left untouched.</p>
+ *
+ * <h3>Rules</h3>
+ * <ul>
+ *   <li>Constant folding — a comparison of two literals becomes a boolean literal.</li>
+ *   <li>Negation push-down — {@code not} moves inward by De Morgan's laws, double
+ *       negations cancel and a negated comparison flips ({@code not (Age <= 30)} → {@code Age > 30}).
+ *       Conditions are three-valued, so this holds with nulls too: both sides are unknown
+ *       for a null {@code Age}, and the row is filtered out either way.</li>
+ *   <li>Boolean identities — {@code true and x} → {@code x}, {@code false and x} → {@code false},
+ *       {@code true or x} → {@code true}, {@code false or x} → {@code x}, {@code x and x} → {@code x}.</li>
+ * </ul>
+ *
+ * <h3>Example</h3>
+ * <pre>{@code
+ * not (Age <= 30) and 1 = 1   →   Age > 30
+ * Age > 30 and 1 = 2          →   false
+ * }</pre>
+ *
+ * <p>A condition that simplifies to {@code true} or {@code false} lets the
+ * {@link EXECUTOR.Optimizer} drop the selection or the {@link EXECUTOR.ExprEvaluator}
+ * skip its input entirely (see {@link #isFalse}).</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class PredicateSimplifier {
+    static final Literal TRUE = new Literal(Boolean.TRUE);
+    static final Literal FALSE = new Literal(Boolean.FALSE);
+
+    private PredicateSimplifier() {}
+
+    /** @return an equivalent condition; {@code cond} itself if nothing simplifies */
+    static Expr simplify(Expr cond) {
+        if (cond instanceof Not n) return negate(n.inner(), n);
+        if (!(cond instanceof Binary b)) return cond;
+
+        Expr l = simplify(b.left()), r = simplify(b.right());
+        switch (b.op()) {
+            case AND -> {
+                if (isFalse(l) || isFalse(r)) return FALSE;
+                if (isTrue(l)) return r;
+                if (isTrue(r) || l.equals(r)) return l;
+            }
+            case OR -> {
+                if (isTrue(l) || isTrue(r)) return TRUE;
+                if (isFalse(l)) return r;
+                if (isFalse(r) || l.equals(r)) return l;
+            }
+            default -> {
+                if (l instanceof Literal && r instanceof Literal) {
+                    Expr folded = fold(new Binary(l, b.op(), r));
+                    if (folded != null) return folded;
+                }
+            }
+        }
+        return l == b.left() && r == b.right() ? b : new Binary(l, b.op(), r);
+    }
+
+    /** @return the simplified negation of {@code inner}; {@code original} if it cannot be pushed further */
+    private static Expr negate(Expr inner, Not original) {
+        if (inner instanceof Not n) return simplify(n.inner());
+        if (inner instanceof Literal lit && lit.value() instanceof Boolean v) return v ? FALSE : TRUE;
+        if (inner instanceof Binary b) {
+            return switch (b.op()) {
+                case AND -> simplify(new Binary(new Not(b.left()), Op.OR, new Not(b.right())));
+                case OR  -> simplify(new Binary(new Not(b.left()), Op.AND, new Not(b.right())));
+                default  -> simplify(new Binary(b.left(), b.op().negated(), b.right()));
+            };
+        }
+        Expr s = simplify(inner);
+        return s == inner ? original : new Not(s);
+    }
+
+    /**
+     * Evaluate a literal-only comparison; null if it would fail (left to fail, or not, at run time).
+     * An unknown result folds to false: negations are pushed below every comparison first, so a
+     * folded comparison only ever decides whether rows are kept.
+     */
+    private static Expr fold(Binary b) {
+        try {
+            return Boolean.TRUE.equals(b.eval(Map.of())) ? TRUE : FALSE;
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    static boolean isTrue(Expr e) {
+        return e instanceof Literal l && Boolean.TRUE.equals(l.value());
+    }
+
+    static boolean isFalse(Expr e) {
+        return e instanceof Literal l && Boolean.FALSE.equals(l.value());
+    }
+}
@@ -0,0 +1,30 @@
+package EXECUTOR;
+
+/**
+ * Thrown when a running query is stopped before completion — cancelled by the
+ * user, past its wall-clock timeout, or over its materialization limits.
+ *
+ * Collaborators:
+ *  - {@link EXECUTOR.QueryGuard} : raises this from inside operator loops
+ *  - {@link EXECUTOR.ExprEvaluator} : releases intermediate tables before rethrowing
+ *
+ * Example:
+ *  throw new QueryAbortedException(Reason.TIMEOUT, "Query timed out after 5000 ms")
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public class QueryAbortedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason { CANCELLED, TIMEOUT, ROW_LIMIT, BYTE_LIMIT }
+
+    private final Reason reason;
+
+    public QueryAbortedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason reason() { return reason; }
+}
@@ -0,0 +1,133 @@
+package EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * QueryGuard
+ *
+ * <p>Per-execution cancellation token and resource accountant. Operators call
+ * {@link #check()} cooperatively inside their row loops and report every row
+ * they materialize through {@link #materialized(InMemoryRow)}; the guard
+ * aborts the query with a {@link QueryAbortedException} once it is cancelled,
+ * past its deadline, or over its row/byte caps.</p>
+ *
+ * <h3>Responsibilities</h3>
+ * <ul>
+ *   <li>Carry a cancellation flag that may be set from another thread (e.g. Ctrl-C).</li>
+ *   <li>Enforce the wall-clock timeout from {@link QueryLimits}.</li>
+ *   <li>Count rows / estimated bytes materialized by all operators of the query.</li>
+ *   <li>Track intermediate tables so they can be released when the query aborts.</li>
+ * </ul>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * QueryGuard guard = new QueryGuard(QueryLimits.NONE.withTimeoutMillis(5_000));
+ * // another thread may call guard.cancel() at any time
+ * InMemoryTable result = new ExprEvaluator(ctx).eval(ast, guard);
+ * }</pre>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class QueryGuard {
+    /** Deadline is only re-read every {@code CLOCK_MASK + 1} checks to keep {@link #check()} cheap. */
+    private static final int CLOCK_MASK = 1023;
+    /**
+     * Checks made by the calling thread. Per thread rather than per guard, so parallel
+     * workers of one query never share (and lose updates to) an unsynchronized counter.
+     */
+    private static final ThreadLocal<int[]> TICKS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final QueryLimits limits;
+    private final long startNanos = System.nanoTime();
+    private final long deadlineNanos;
+    private volatile boolean cancelled;
+    private final AtomicLong rows = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final List<InMemoryTable> intermediates = new ArrayList<>();
+    /** Intermediate tables dropped by {@link #release()}. */
+    private int released;
+
+    public QueryGuard(QueryLimits limits) {
+        this.limits = limits == null ? QueryLimits.NONE : limits;
+        this.deadlineNanos = this.limits.timeoutMillis() == 0
+                ? Long.MAX_VALUE
+                : startNanos + this.limits.timeoutMillis() * 1_000_000L;
+    }
+
+    /** Request cancellation; the running query stops at its next check. Safe from any thread. */
+    public void cancel() { cancelled = true; }
+
+    public boolean isCancelled() { return cancelled; }
+
+    /** @return rows materialized so far by all operators of the query */
+    public long rowsMaterialized() { return rows.get(); }
+
+    /** @return estimated bytes materialized so far by all operators of the query */
+    public long bytesMaterialized() { return bytes.get(); }
+
+    /** @return intermediate tables whose rows were dropped because the query aborted */
+    public int releasedTables() {
+        synchronized (intermediates) { return released; }
+    }
+
+    /**
+     * Cooperative checkpoint for operator loops.
+     * @throws QueryAbortedException if cancelled or past the deadline
+     */
+    public void check() {
+        if (cancelled) {
+            throw new QueryAbortedException(QueryAbortedException.Reason.CANCELLED, "Query cancelled");
+        }
+        if (deadlineNanos != Long.MAX_VALUE && (++TICKS.get()[0] & CLOCK_MASK) == 0) checkDeadline();
+    }
+
+    /**
+     * Account for one row written into an operator's output.
+     * @throws QueryAbortedException if a row/byte cap is exceeded, or on cancel/timeout
+     */
+    void materialized(InMemoryRow row) {
+        check();
+        long r = rows.incrementAndGet();
+        if (limits.maxRows() != 0 && r > limits.maxRows()) {
+            throw new QueryAbortedException(QueryAbortedException.Reason.ROW_LIMIT,
+                    "Query exceeded row limit of " + limits.maxRows() + " materialized rows");
+        }
+        if (limits.maxBytes() != 0) {
+            long b = bytes.addAndGet(row.estimatedBytes());
+            if (b > limits.maxBytes()) {
+                throw new QueryAbortedException(QueryAbortedException.Reason.BYTE_LIMIT,
+                        "Query exceeded memory limit of " + limits.maxBytes() + " bytes");
+            }
+        }
+    }
+
+    /** Register an intermediate table so it can be released if the query aborts. */
+    InMemoryTable track(InMemoryTable t) {
+        synchronized (intermediates) { intermediates.add(t); }
+        return t;
+    }
+
+    /** Drop the rows of every tracked intermediate table (called on abort). */
+    void release() {
+        synchronized (intermediates) {
+            for (InMemoryTable t : intermediates) t.clear();
+            released += intermediates.size();
+            intermediates.clear();
+        }
+    }
+
+    /** Forget tracked tables after a successful run; the result stays owned by the caller. */
+    void finish() {
+        synchronized (intermediates) { intermediates.clear(); }
+    }
+
+    private void checkDeadline() {
+        if (System.nanoTime() - deadlineNanos > 0) {
+            throw new QueryAbortedException(QueryAbortedException.Reason.TIMEOUT,
+                    "Query timed out after " + limits.timeoutMillis() + " ms");
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package EXECUTOR;
+
+/**
+ * QueryLimits
+ *
+ * <p>Immutable resource limits applied to every query run through an
+ * {@link EXECUTOR.ExprEvaluator}: a wall-clock timeout and a cap on the
+ * number of rows / estimated bytes materialized by all operators of the query.
+ * A value of {@code 0} means "unlimited".</p>
+ *
+ * <h3>Collaborators</h3>
+ * <ul>
+ *   <li>{@link EXECUTOR.EvaluationContext} — carries the limits for a session or query.</li>
+ *   <li>{@link EXECUTOR.QueryGuard} — enforces the limits while operators run.</li>
+ * </ul>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * var limits = QueryLimits.NONE.withTimeoutMillis(5_000).withMaxRows(1_000_000);
+ * var ctx = new EvaluationContext(catalog, limits);
+ * }</pre>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class QueryLimits {
+    /** No timeout, no row cap, no byte cap. */
+    public static final QueryLimits NONE = new QueryLimits(0, 0, 0);
+
+    private final long timeoutMillis;
+    private final long maxRows;
+    private final long maxBytes;
+
+    /**
+     * @param timeoutMillis wall-clock budget per query in milliseconds (0 = none)
+     * @param maxRows       cap on rows materialized by the query (0 = none)
+     * @param maxBytes      cap on estimated bytes materialized by the query (0 = none)
+     */
+    public QueryLimits(long timeoutMillis, long maxRows, long maxBytes) {
+        if (timeoutMillis < 0 || maxRows < 0 || maxBytes < 0)
+            throw new IllegalArgumentException("Query limits must be >= 0 (0 = unlimited)");
+        this.timeoutMillis = timeoutMillis;
+        this.maxRows = maxRows;
+        this.maxBytes = maxBytes;
+    }
+
+    public long timeoutMillis() { return timeoutMillis; }
+    public long maxRows() { return maxRows; }
+    public long maxBytes() { return maxBytes; }
+
+    public QueryLimits withTimeoutMillis(long ms) { return new QueryLimits(ms, maxRows, maxBytes); }
+    public QueryLimits withMaxRows(long rows) { return new QueryLimits(timeoutMillis, rows, maxBytes); }
+    public QueryLimits withMaxBytes(long bytes) { return new QueryLimits(timeoutMillis, maxRows, bytes); }
+
+    @Override public String toString() {
+        return "timeout=" + fmt(timeoutMillis, " ms") + ", maxRows=" + fmt(maxRows, "")
+                + ", maxBytes=" + fmt(maxBytes, "");
+    }
+
+    private static String fmt(long v, String unit) { return v == 0 ? "off" : v + unit; }
+}
@@ -0,0 +1,86 @@
+package EXECUTOR;
+
+import PARSER.EXPR.*;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * QueryPlan
+ *
+ * <p>What {@link EXECUTOR.ExprEvaluator#explain(Expr)} reports: the optimized
+ * operator tree as it actually ran, with the rows each node produced and the
+ * algorithm chosen at runtime for joins (from the real input sizes, not the
+ * estimates the tree was planned with).</p>
+ *
+ * <h3>Example</h3>
+ * <pre>
+ * ⋈ [hash join, build right: 2500 rows, probe left: 100000 rows] -> 50000 rows
+ *   Fact -> 100000 rows
+ *   Dim -> 2500 rows
+ * </pre>
+ *
+ * <p>Nodes are keyed by identity, so a shared subtree is listed under every
+ * parent with the same figures. Subtrees that were never evaluated (e.g. below
+ * a contradictory σ) show {@code not evaluated}.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class QueryPlan {
+    private final Map<Expr, String> strategies = new IdentityHashMap<>();
+    private final Map<Expr, Integer> rows = new IdentityHashMap<>();
+    private Expr root;
+
+    void root(Expr root) { this.root = root; }
+
+    void strategy(Expr node, String strategy) { strategies.put(node, strategy); }
+
+    void rows(Expr node, int count) { rows.put(node, count); }
+
+    String render() {
+        StringBuilder sb = new StringBuilder();
+        render(root, 0, sb);
+        return sb.toString();
+    }
+
+    private void render(Expr node, int depth, StringBuilder sb) {
+        sb.append("  ".repeat(depth)).append(label(node));
+        String strategy = strategies.get(node);
+        if (strategy != null) sb.append(" [").append(strategy).append(']');
+        Integer n = rows.get(node);
+        sb.append(n == null ? " -> not evaluated" : " -> " + n + (n == 1 ? " row" : " rows")).append('\n');
+        for (Expr child : children(node)) render(child, depth + 1, sb);
+    }
+
+    /** The operator alone, without its inputs. */
+    private static String label(Expr e) {
+        if (e instanceof RelationRef r) return r.name();
+        if (e instanceof Selection s) return "σ " + s.condition();
+        if (e instanceof Projection p) return "π " + (p.distinct() ? "" : "bag ") + p.attrs();
+        if (e instanceof Rename r) return "ρ " + r.newName();
+        if (e instanceof Sort t) return "τ " + t.keys() + (t.limit() == Sort.NO_LIMIT ? "" : " limit " + t.limit());
+        if (e instanceof Aggregation a) return "γ " + a.groupBy() + "; " + a.aggregates();
+        if (e instanceof Join j) return switch (j.kind()) {
+            case NATURAL -> "⋈";
+            case THETA   -> "⋈[" + j.on() + "]";
+            case CROSS   -> "×";
+        };
+        if (e instanceof SemiJoin s) return (s.anti() ? "▷" : "⋉") + (s.on() != null ? "[" + s.on() + "]" : "");
+        if (e instanceof SetOp s) return s.kind().toString();
+        return e.toString();
+    }
+
+    private static List<Expr> children(Expr e) {
+        if (e instanceof Selection s) return List.of(s.child());
+        if (e instanceof Projection p) return List.of(p.child());
+        if (e instanceof Rename r) return List.of(r.child());
+        if (e instanceof Sort t) return List.of(t.child());
+        if (e instanceof Aggregation a) return List.of(a.child());
+        if (e instanceof Join j) return List.of(j.left(), j.right());
+        if (e instanceof SemiJoin s) return List.of(s.left(), s.right());
+        if (e instanceof SetOp s) return List.of(s.left(), s.right());
+        return List.of();
+    }
+}
@@ -0,0 +1,126 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.DataType;
+import CORE.Schema;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RelationCodec
+ *
+ * <p>Binary encoding of schemas, rows and whole relations, shared by the
+ * write-ahead log records and the checkpoint files of a {@link EXECUTOR.CatalogStore}.
+ * Values are written by their declared column type, each preceded by a
+ * presence byte (0 = null), so no type tags or text parsing are needed to
+ * read them back.</p>
+ *
+ * <h3>Layout</h3>
+ * <pre>
+ * schema   := int columns, { string name, byte type }
+ * relation := schema, byte storage (0 heap, 1 off-heap, 2 compressed), int rows, { row }
+ * row      := { byte present, [value] }         one entry per column, in schema order
+ * string   := int length, UTF-8 bytes
+ * </pre>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class RelationCodec {
+    private static final DataType[] TYPES = DataType.values();
+
+    private RelationCodec() { }
+
+    static void writeRelation(DataOutput out, InMemoryTable t) throws IOException {
+        writeSchema(out, t.schema());
+        out.writeByte(t.isOffHeap() ? 1 : t.isCompressed() ? 2 : 0);
+        List<InMemoryRow> rows = t.rows();
+        out.writeInt(rows.size());
+        for (InMemoryRow r : rows) writeRow(out, t.schema(), r);
+    }
+
+    static InMemoryTable readRelation(DataInput in) throws IOException {
+        Schema schema = readSchema(in);
+        int storage = in.readByte();
+        InMemoryTable t = switch (storage) {
+            case 0 -> new InMemoryTable(schema);
+            case 1 -> InMemoryTable.offHeap(schema);
+            case 2 -> InMemoryTable.compressed(schema);
+            default -> throw new IOException("unknown storage kind " + storage);
+        };
+        for (int i = in.readInt(); i > 0; i--) t.add(readRow(in, schema));
+        return t;
+    }
+
+    static void writeSchema(DataOutput out, Schema schema) throws IOException {
+        out.writeInt(schema.size());
+        for (Attribute a : schema.attributes()) {
+            writeString(out, a.name());
+            out.writeByte(a.type().ordinal());
+        }
+    }
+
+    static Schema readSchema(DataInput in) throws IOException {
+        int n = in.readInt();
+        List<Attribute> attrs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String name = readString(in);
+            int type = in.readByte();
+            if (type < 0 || type >= TYPES.length) throw new IOException("unknown column type " + type);
+            attrs.add(new Attribute(name, TYPES[type]));
+        }
+        return new Schema(attrs);
+    }
+
+    static void writeRow(DataOutput out, Schema schema, InMemoryRow r) throws IOException {
+        for (Attribute a : schema.attributes()) {
+            Object v = r.get(a.name());
+            out.writeByte(v == null ? 0 : 1);
+            if (v == null) continue;
+            switch (a.type()) {
+                case INT -> out.writeInt((Integer) v);
+                case DOUBLE -> out.writeDouble((Double) v);
+                case BOOL -> out.writeBoolean((Boolean) v);
+                case STRING -> writeString(out, (String) v);
+            }
+        }
+    }
+
+    static InMemoryRow readRow(DataInput in, Schema schema) throws IOException {
+        Map<String, Object> m = new LinkedHashMap<>();
+        for (Attribute a : schema.attributes()) {
+            Object v = null;
+            if (in.readByte() != 0) {
+                v = switch (a.type()) {
+                    case INT -> in.readInt();
+                    case DOUBLE -> in.readDouble();
+                    case BOOL -> in.readBoolean();
+                    case STRING -> readString(in);
+                };
+            }
+            m.put(a.name(), v);
+        }
+        return new InMemoryRow(m);
+    }
+
+    static void writeString(DataOutput out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    static String readString(DataInput in) throws IOException {
+        int n = in.readInt();
+        if (n < 0) throw new IOException("negative string length " + n);
+        byte[] b = new byte[n];
+        in.readFully(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
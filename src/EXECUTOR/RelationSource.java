@@ -0,0 +1,26 @@
+package EXECUTOR;
+
+import CORE.Schema;
+
+import java.io.IOException;
+
+/**
+ * A relation saved outside memory, registered in a {@link EXECUTOR.Catalog} by
+ * reference and loaded the first time a query reads it. Its schema and row count
+ * are known without loading it, so listings never touch the rows.
+ *
+ * Implementations:
+ *  - {@code CatalogStore.CheckpointFile} : one relation file of a checkpoint
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+interface RelationSource {
+    Schema schema();
+
+    /** @return number of rows the loaded table will have */
+    int rows();
+
+    /** Read the relation into a new table; may be called again after the table was evicted. */
+    InMemoryTable load() throws IOException;
+}
@@ -0,0 +1,144 @@
+package EXECUTOR;
+
+import CORE.DataType;
+import CORE.Schema;
+import CORE.Values;
+
+import java.util.List;
+
+/**
+ * RowIndex
+ *
+ * <p>The hash table of a hash join: build rows indexed on their join key and
+ * looked up with probe rows. The key encoding is chosen once from the key
+ * columns' types, and rows are referred to by index only:</p>
+ * <ul>
+ *   <li><b>INT</b> — one INT key on both sides: the value itself is the key of an
+ *       {@link EXECUTOR.IntKeyTable}.</li>
+ *   <li><b>STRING</b> — one STRING key on both sides: build values are dictionary-coded
+ *       ({@link EXECUTOR.StringDictionary}) and the codes indexed in an
+ *       {@link EXECUTOR.IntKeyTable}; a probe value missing from the dictionary
+ *       is rejected without touching the table.</li>
+ *   <li><b>Fingerprint</b> — any other key: a 64-bit fingerprint of the key values in an
+ *       {@link EXECUTOR.LongKeyTable}, with the values compared on every candidate.</li>
+ * </ul>
+ *
+ * <p>Keys match as {@link CORE.Values#equal} on their values (null never matches;
+ * an INT key equals the same number in a DOUBLE key), and the rows of one key are
+ * visited in build order. Read-only once built, so one index
+ * can be probed from several threads.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class RowIndex {
+    private enum Mode { INT, STRING, FINGERPRINT }
+
+    private final List<InMemoryRow> rows;
+    private final String[] buildAttrs, probeAttrs;
+    private final Mode mode;
+    private IntKeyTable ints;
+    private StringDictionary dictionary;
+    private LongKeyTable fingerprints;
+
+    /**
+     * Index {@code rows} (or only the row indexes in {@code subset}, if not null) on {@code buildAttrs},
+     * for lookups by rows of {@code probeSchema} on {@code probeAttrs}.
+     */
+    RowIndex(List<InMemoryRow> rows, int[] subset, List<String> buildAttrs, Schema buildSchema,
+             List<String> probeAttrs, Schema probeSchema, QueryGuard guard) {
+        this.rows = rows;
+        this.buildAttrs = buildAttrs.toArray(new String[0]);
+        this.probeAttrs = probeAttrs.toArray(new String[0]);
+        this.mode = mode(buildAttrs, buildSchema, probeAttrs, probeSchema);
+        int n = subset == null ? rows.size() : subset.length;
+        switch (mode) {
+            case INT -> ints = new IntKeyTable(n);
+            case STRING -> {
+                ints = new IntKeyTable(n);
+                dictionary = new StringDictionary(Math.min(n, 1 << 16));
+            }
+            case FINGERPRINT -> fingerprints = new LongKeyTable(n);
+        }
+        for (int x = 0; x < n; x++) {
+            guard.check();
+            int i = subset == null ? x : subset[x];
+            InMemoryRow row = rows.get(i);
+            switch (mode) {
+                case INT -> {
+                    if (row.get(this.buildAttrs[0]) instanceof Integer v) ints.add(v, i);
+                }
+                case STRING -> {
+                    if (row.get(this.buildAttrs[0]) instanceof String v) ints.add(dictionary.encode(v), i);
+                }
+                case FINGERPRINT -> {
+                    if (hasKey(row, this.buildAttrs)) fingerprints.add(fingerprint(row, this.buildAttrs), i);
+                }
+            }
+        }
+    }
+
+    private static Mode mode(List<String> buildAttrs, Schema buildSchema, List<String> probeAttrs, Schema probeSchema) {
+        if (buildAttrs.size() != 1) return Mode.FINGERPRINT;
+        DataType b = buildSchema.typeOf(buildAttrs.get(0)), p = probeSchema.typeOf(probeAttrs.get(0));
+        if (b != p) return Mode.FINGERPRINT;
+        return b == DataType.INT ? Mode.INT : b == DataType.STRING ? Mode.STRING : Mode.FINGERPRINT;
+    }
+
+    /** @return the first entry matching {@code probe}'s key, or -1 */
+    int first(InMemoryRow probe) {
+        return switch (mode) {
+            case INT -> probe.get(probeAttrs[0]) instanceof Integer v ? ints.first(v) : -1;
+            case STRING -> {
+                int code = probe.get(probeAttrs[0]) instanceof String v ? dictionary.code(v) : -1;
+                yield code < 0 ? -1 : ints.first(code);
+            }
+            case FINGERPRINT -> hasKey(probe, probeAttrs)
+                    ? matching(fingerprints.first(fingerprint(probe, probeAttrs)), probe) : -1;
+        };
+    }
+
+    /** @return the entry after {@code entry} matching the same {@code probe}, or -1 */
+    int next(int entry, InMemoryRow probe) {
+        return mode == Mode.FINGERPRINT ? matching(fingerprints.next(entry), probe) : ints.next(entry);
+    }
+
+    /** @return the build row of {@code entry} */
+    InMemoryRow row(int entry) {
+        return rows.get(mode == Mode.FINGERPRINT ? fingerprints.id(entry) : ints.id(entry));
+    }
+
+    /** @return true if some build row has {@code probe}'s key */
+    boolean contains(InMemoryRow probe) {
+        return first(probe) >= 0;
+    }
+
+    /** Skip fingerprint collisions: first entry from {@code entry} on whose key values equal the probe's. */
+    private int matching(int entry, InMemoryRow probe) {
+        for (; entry >= 0; entry = fingerprints.next(entry)) {
+            InMemoryRow b = rows.get(fingerprints.id(entry));
+            boolean equal = true;
+            for (int k = 0; k < buildAttrs.length && equal; k++) {
+                equal = Values.equal(b.get(buildAttrs[k]), probe.get(probeAttrs[k]));
+            }
+            if (equal) return entry;
+        }
+        return -1;
+    }
+
+    /** @return false if any key value of {@code row} is null */
+    static boolean hasKey(InMemoryRow row, String[] attrs) {
+        for (String a : attrs) if (row.get(a) == null) return false;
+        return true;
+    }
+
+    /**
+     * 64-bit fingerprint of a row's key values; equal values give equal fingerprints
+     * (INT values are hashed widened to DOUBLE, so {@code 3} and {@code 3.0} agree).
+     */
+    static long fingerprint(InMemoryRow row, String[] attrs) {
+        long h = 0;
+        for (String a : attrs) h = h * 0x9e3779b97f4a7c15L + Values.widen(row.get(a), DataType.DOUBLE).hashCode();
+        return LongKeyTable.mix(h);
+    }
+}
@@ -0,0 +1,69 @@
+package EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RowPositions
+ *
+ * <p>Where each distinct row of an {@link EXECUTOR.InMemoryTable} is stored, so
+ * {@link EXECUTOR.InMemoryTable#remove} finds an occurrence without scanning.
+ * Kept only for tables that see many removals (the tables of materialized views).</p>
+ *
+ * <h3>Layout</h3>
+ * <ul>
+ *   <li>Row → list of its positions (several for duplicate rows, in no particular order).</li>
+ *   <li>Position → index within that list, so a position moved by the table's swap-with-last
+ *       removal is updated without searching the list: every change is O(1).</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class RowPositions {
+    private final Map<InMemoryRow, List<Integer>> byRow = new HashMap<>();
+    /** slot[p] = index of position p in the list of the row stored at p */
+    private int[] slot = new int[16];
+
+    /** Build the index of rows already stored. */
+    RowPositions(List<InMemoryRow> rows) {
+        for (int p = 0; p < rows.size(); p++) added(rows.get(p), p);
+    }
+
+    /** @return a position of {@code row}, or -1 if it is not stored */
+    int find(InMemoryRow row) {
+        List<Integer> ps = byRow.get(row);
+        return ps == null ? -1 : ps.get(ps.size() - 1);
+    }
+
+    /** Record that {@code row} was appended at position {@code p}. */
+    void added(InMemoryRow row, int p) {
+        if (p == slot.length) slot = Arrays.copyOf(slot, p * 2);
+        List<Integer> ps = byRow.computeIfAbsent(row, k -> new ArrayList<>(1));
+        slot[p] = ps.size();
+        ps.add(p);
+    }
+
+    /**
+     * Record that {@code row} was removed from position {@code p} and the row {@code moved}
+     * at the former last position {@code last} took its place (nothing moved if {@code p == last}).
+     */
+    void removed(InMemoryRow row, int p, InMemoryRow moved, int last) {
+        List<Integer> ps = byRow.get(row);
+        int i = slot[p];
+        int tail = ps.remove(ps.size() - 1);
+        if (tail != p) {
+            ps.set(i, tail);
+            slot[tail] = i;
+        }
+        if (ps.isEmpty()) byRow.remove(row);
+        if (p == last) return;
+        List<Integer> ms = byRow.get(moved);
+        int j = slot[last];
+        ms.set(j, p);
+        slot[p] = j;
+    }
+}
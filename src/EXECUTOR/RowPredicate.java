@@ -0,0 +1,13 @@
+package EXECUTOR;
+
+/**
+ * A condition compiled against a fixed schema by {@link EXECUTOR.PredicateCompiler}.
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+@FunctionalInterface
+interface RowPredicate {
+    /** @return true if {@code row} satisfies the condition (false when it is unknown because of nulls) */
+    boolean test(InMemoryRow row);
+}
@@ -0,0 +1,198 @@
+package EXECUTOR;
+
+import CORE.DataType;
+import CORE.Schema;
+import PARSER.EXPR.SortKey;
+
+import java.util.List;
+
+/**
+ * RowSorter
+ *
+ * <p>Implements τ. Sort keys are first extracted into primitive column arrays
+ * ({@code int[]}, {@code double[]}, {@code String[]}) with a null mask, and
+ * rows are ordered by sorting an {@code int[]} of row indexes with a
+ * per-{@link DataType} primitive comparator — no boxing and no comparator
+ * objects per row.</p>
+ *
+ * <h3>Algorithms</h3>
+ * <ul>
+ *   <li>Without a limit — merge sort of the index array, O(n log n).</li>
+ *   <li>With a limit {@code k < n} — a bounded max-heap of the best {@code k} indexes,
+ *       O(n log k), followed by sorting only those {@code k}. The full input is never sorted.</li>
+ * </ul>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Nulls sort last in both directions.</li>
+ *   <li>Ties are broken by input position, so both algorithms give identical, stable output.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class RowSorter {
+    /** Compares two row indexes. */
+    private interface IndexComparator {
+        int compare(int a, int b);
+    }
+
+    private final List<SortKey> keys;
+    private final Schema schema;
+    private final QueryGuard guard;
+
+    RowSorter(List<SortKey> keys, Schema schema, QueryGuard guard) {
+        for (SortKey k : keys) schema.indexOf(k.attr()); // fail fast on unknown attributes
+        this.keys = keys;
+        this.schema = schema;
+        this.guard = guard;
+    }
+
+    /**
+     * @param rows  input rows
+     * @param limit maximum number of rows to return, or {@code PARSER.EXPR.Sort.NO_LIMIT}
+     * @return indexes into {@code rows} in output order
+     */
+    int[] order(List<InMemoryRow> rows, int limit) {
+        int n = rows.size();
+        IndexComparator cmp = comparator(rows);
+        if (limit >= 0 && limit < n) return topK(n, limit, cmp);
+        int[] idx = new int[n];
+        for (int i = 0; i < n; i++) idx[i] = i;
+        mergeSort(idx, new int[n], 0, n, cmp);
+        return idx;
+    }
+
+    // ----------------------------------------------------------------------
+    // comparator over extracted primitive columns
+    // ----------------------------------------------------------------------
+
+    private IndexComparator comparator(List<InMemoryRow> rows) {
+        IndexComparator cmp = Integer::compare; // final tie-breaker: input position
+        for (int k = keys.size() - 1; k >= 0; k--) {
+            IndexComparator key = keyComparator(keys.get(k), rows);
+            IndexComparator next = cmp;
+            cmp = (a, b) -> {
+                int c = key.compare(a, b);
+                return c != 0 ? c : next.compare(a, b);
+            };
+        }
+        return cmp;
+    }
+
+    private IndexComparator keyComparator(SortKey key, List<InMemoryRow> rows) {
+        int n = rows.size();
+        String attr = key.attr();
+        int dir = key.descending() ? -1 : 1;
+        boolean[] nulls = new boolean[n];
+        DataType type = schema.typeOf(attr);
+        switch (type) {
+            case INT, BOOL -> {
+                int[] v = new int[n];
+                for (int i = 0; i < n; i++) {
+                    guard.check();
+                    Object o = rows.get(i).get(attr);
+                    if (o == null) nulls[i] = true;
+                    else v[i] = type == DataType.INT ? (Integer) o : ((Boolean) o ? 1 : 0);
+                }
+                return (a, b) -> nulls[a] || nulls[b] ? nullOrder(nulls[a], nulls[b]) : dir * Integer.compare(v[a], v[b]);
+            }
+            case DOUBLE -> {
+                double[] v = new double[n];
+                for (int i = 0; i < n; i++) {
+                    guard.check();
+                    Object o = rows.get(i).get(attr);
+                    if (o == null) nulls[i] = true;
+                    else v[i] = ((Number) o).doubleValue();
+                }
+                return (a, b) -> nulls[a] || nulls[b] ? nullOrder(nulls[a], nulls[b]) : dir * Double.compare(v[a], v[b]);
+            }
+            default -> {
+                String[] v = new String[n];
+                for (int i = 0; i < n; i++) {
+                    guard.check();
+                    Object o = rows.get(i).get(attr);
+                    if (o == null) nulls[i] = true;
+                    else v[i] = o.toString();
+                }
+                return (a, b) -> nulls[a] || nulls[b] ? nullOrder(nulls[a], nulls[b]) : dir * v[a].compareTo(v[b]);
+            }
+        }
+    }
+
+    /** Nulls last, regardless of direction. */
+    private static int nullOrder(boolean aNull, boolean bNull) {
+        return aNull == bNull ? 0 : (aNull ? 1 : -1);
+    }
+
+    // ----------------------------------------------------------------------
+    // full sort
+    // ----------------------------------------------------------------------
+
+    private void mergeSort(int[] a, int[] tmp, int from, int to, IndexComparator cmp) {
+        if (to - from <= 16) {                       // insertion sort for small runs
+            for (int i = from + 1; i < to; i++) {
+                int x = a[i], j = i - 1;
+                while (j >= from && cmp.compare(a[j], x) > 0) { a[j + 1] = a[j]; j--; }
+                a[j + 1] = x;
+            }
+            return;
+        }
+        guard.check();
+        int mid = (from + to) >>> 1;
+        mergeSort(a, tmp, from, mid, cmp);
+        mergeSort(a, tmp, mid, to, cmp);
+        if (cmp.compare(a[mid - 1], a[mid]) <= 0) return; // already in order
+        System.arraycopy(a, from, tmp, from, to - from);
+        int i = from, j = mid, k = from;
+        while (i < mid && j < to) a[k++] = cmp.compare(tmp[i], tmp[j]) <= 0 ? tmp[i++] : tmp[j++];
+        while (i < mid) a[k++] = tmp[i++];
+        while (j < to) a[k++] = tmp[j++];
+    }
+
+    // ----------------------------------------------------------------------
+    // top-k with a bounded heap
+    // ----------------------------------------------------------------------
+
+    /** Keep the best k indexes in a max-heap whose root is the worst kept row. */
+    private int[] topK(int n, int k, IndexComparator cmp) {
+        int[] heap = new int[k];
+        int size = 0;
+        for (int i = 0; i < n && k > 0; i++) {
+            guard.check();
+            if (size < k) {
+                heap[size] = i;
+                siftUp(heap, size++, cmp);
+            } else if (cmp.compare(i, heap[0]) < 0) {
+                heap[0] = i;
+                siftDown(heap, size, cmp);
+            }
+        }
+        mergeSort(heap, new int[size], 0, size, cmp);
+        return heap;
+    }
+
+    private static void siftUp(int[] h, int i, IndexComparator cmp) {
+        int x = h[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (cmp.compare(h[parent], x) >= 0) break;
+            h[i] = h[parent];
+            i = parent;
+        }
+        h[i] = x;
+    }
+
+    private static void siftDown(int[] h, int size, IndexComparator cmp) {
+        int x = h[0], i = 0;
+        while (true) {
+            int c = 2 * i + 1;
+            if (c >= size) break;
+            if (c + 1 < size && cmp.compare(h[c + 1], h[c]) > 0) c++;
+            if (cmp.compare(h[c], x) <= 0) break;
+            h[i] = h[c];
+            i = c;
+        }
+        h[i] = x;
+    }
+}
@@ -0,0 +1,62 @@
+package EXECUTOR;
+
+import java.util.List;
+
+/**
+ * RuntimeFilter
+ *
+ * <p>A join-key filter created while a query runs: once the build side of a
+ * hash join (or semi-join) has been evaluated, its keys are summarized in a
+ * {@link BloomFilter} and pushed into the probe side, where rows that cannot
+ * find a partner are dropped at the scan or {@code σ} instead of flowing
+ * through every operator up to the join.</p>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>The filter only names probe-side attributes, so it can be pushed through any operator
+ *       that keeps those attributes and never lets a dropped row influence other rows
+ *       (σ, π, ρ, τ without a limit, γ grouped on them, joins, ∪, the left side of ∩ and −).</li>
+ *   <li>Rows with a null key are dropped: null never joins.</li>
+ *   <li>False positives are harmless; the join itself still checks every key.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class RuntimeFilter {
+    /** Build sides larger than this are not summarized; the filter would cost more than it saves. */
+    static final int MAX_BUILD_ROWS = 1 << 22;
+
+    private final List<String> attrs;
+    private final BloomFilter bloom;
+
+    private RuntimeFilter(List<String> attrs, BloomFilter bloom) {
+        this.attrs = attrs;
+        this.bloom = bloom;
+    }
+
+    /**
+     * Summarize the build side.
+     * @param build     evaluated build-side input
+     * @param buildKeys key attributes on the build side
+     * @param probeKeys matching key attributes on the probe side, in the same order
+     */
+    static RuntimeFilter build(InMemoryTable build, List<String> buildKeys, List<String> probeKeys, QueryGuard guard) {
+        BloomFilter bloom = new BloomFilter(build.size());
+        for (InMemoryRow r : build.rows()) {
+            guard.check();
+            List<Object> k = JoinKeys.key(r, buildKeys);
+            if (k != null) bloom.add(k);
+        }
+        return new RuntimeFilter(List.copyOf(probeKeys), bloom);
+    }
+
+    /** @return probe-side attributes the filter tests */
+    List<String> attrs() { return attrs; }
+
+    /** @return false if the row certainly has no join partner */
+    boolean mightMatch(InMemoryRow row) {
+        List<Object> k = JoinKeys.key(row, attrs);
+        return k != null && bloom.mightContain(k);
+    }
+}
@@ -0,0 +1,179 @@
+package EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * SetOperations
+ *
+ * <p>UNION (∪), INTERSECT (∩) and MINUS (−) over whole rows. Every row gets a
+ * 64-bit fingerprint of its values, and rows are looked up by fingerprint in a
+ * {@link EXECUTOR.LongKeyTable} of row indexes, comparing the rows themselves
+ * only on a fingerprint match.</p>
+ *
+ * <h3>Execution paths</h3>
+ * <ul>
+ *   <li><b>Serial</b> — one table over the whole input.</li>
+ *   <li><b>Partitioned</b> — inputs of at least {@link #PARALLEL_THRESHOLD} rows in total are
+ *       fingerprinted in parallel and radix-partitioned on the fingerprint
+ *       ({@link EXECUTOR.Parallel#radix}). Equal rows always land in the same partition, so
+ *       every partition decides its rows with a small local table, concurrently. Partitions
+ *       only mark which rows to keep; the rows are then emitted in input order.</li>
+ * </ul>
+ *
+ * <h3>Semantics (identical on both paths)</h3>
+ * <ul>
+ *   <li>UNION — distinct rows of the left input, then the right input's rows not seen yet.</li>
+ *   <li>INTERSECT / MINUS — left rows with / without an equal row on the right, in left order;
+ *       duplicates on the left are kept, as the serial operators always did.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class SetOperations {
+    /** Set operations over at least this many rows (both inputs) are partitioned across workers. */
+    static final int PARALLEL_THRESHOLD = 50_000;
+
+    private enum Kind { UNION, INTERSECT, MINUS }
+
+    private final QueryGuard guard;
+
+    SetOperations(QueryGuard guard) {
+        this.guard = guard;
+    }
+
+    void union(InMemoryTable a, InMemoryTable b, InMemoryTable out) {
+        run(Kind.UNION, a, b, out);
+    }
+
+    void intersect(InMemoryTable a, InMemoryTable b, InMemoryTable out) {
+        run(Kind.INTERSECT, a, b, out);
+        out.markSortedOn(a.sortedOn());
+    }
+
+    void minus(InMemoryTable a, InMemoryTable b, InMemoryTable out) {
+        run(Kind.MINUS, a, b, out);
+        out.markSortedOn(a.sortedOn());
+    }
+
+    /** @return true if inputs this large take the partitioned path */
+    static boolean parallel(int leftRows, int rightRows) {
+        return (long) leftRows + rightRows >= PARALLEL_THRESHOLD && Parallel.workers() > 1;
+    }
+
+    private void run(Kind kind, InMemoryTable a, InMemoryTable b, InMemoryTable out) {
+        List<InMemoryRow> left = a.rows(), right = b.rows();
+        // indexes [0, left.size()) are left rows, the rest right rows
+        long[] fingerprints = new long[left.size() + right.size()];
+        boolean[] keep = parallel(left.size(), right.size())
+                ? partitioned(kind, left, right, fingerprints)
+                : serial(kind, left, right, fingerprints);
+        for (int i = 0; i < left.size(); i++) if (keep[i]) emit(out, left.get(i));
+        if (kind == Kind.UNION) {
+            for (int i = 0; i < right.size(); i++) if (keep[left.size() + i]) emit(out, right.get(i));
+        }
+    }
+
+    private boolean[] partitioned(Kind kind, List<InMemoryRow> left, List<InMemoryRow> right, long[] fingerprints) {
+        int n = fingerprints.length;
+        int[] hashes = new int[n];
+        int chunk = Math.max(1, (n + Parallel.workers() - 1) / Parallel.workers());
+        List<Callable<Void>> hashing = new ArrayList<>();
+        for (int from = 0; from < n; from += chunk) {
+            int start = from, end = Math.min(n, from + chunk);
+            hashing.add(() -> {
+                for (int i = start; i < end; i++) {
+                    guard.check();
+                    fingerprints[i] = fingerprint(row(left, right, i));
+                    hashes[i] = (int) (fingerprints[i] >>> 32);
+                }
+                return null;
+            });
+        }
+        Parallel.invokeAll(hashing);
+
+        boolean[] keep = new boolean[n];
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int[] part : Parallel.radix(hashes, i -> true, Parallel.fanoutBits())) {
+            if (part.length > 0) tasks.add(() -> {
+                mark(kind, left, right, part, fingerprints, keep);
+                return null;
+            });
+        }
+        Parallel.invokeAll(tasks);
+        return keep;
+    }
+
+    /** Serial path: every row is decided with one set. */
+    private boolean[] serial(Kind kind, List<InMemoryRow> left, List<InMemoryRow> right, long[] fingerprints) {
+        int[] all = new int[fingerprints.length];
+        for (int i = 0; i < all.length; i++) {
+            guard.check();
+            all[i] = i;
+            fingerprints[i] = fingerprint(row(left, right, i));
+        }
+        boolean[] keep = new boolean[all.length];
+        mark(kind, left, right, all, fingerprints, keep);
+        return keep;
+    }
+
+    /**
+     * Decide the rows of one partition (ascending indexes: left rows before right rows).
+     * Writes only {@code keep[i]} for indexes of this partition.
+     */
+    private void mark(Kind kind, List<InMemoryRow> left, List<InMemoryRow> right, int[] part,
+                      long[] fingerprints, boolean[] keep) {
+        if (kind == Kind.UNION) {
+            LongKeyTable seen = new LongKeyTable(part.length);
+            for (int i : part) {
+                guard.check();
+                keep[i] = find(seen, fingerprints[i], row(left, right, i), left, right) < 0;
+                if (keep[i]) seen.add(fingerprints[i], i);
+            }
+            return;
+        }
+        int firstRight = 0;
+        while (firstRight < part.length && part[firstRight] < left.size()) firstRight++;
+        LongKeyTable present = new LongKeyTable(part.length - firstRight);
+        for (int x = firstRight; x < part.length; x++) {
+            guard.check();
+            present.add(fingerprints[part[x]], part[x]);
+        }
+        for (int x = 0; x < firstRight; x++) {
+            guard.check();
+            int i = part[x];
+            keep[i] = find(present, fingerprints[i], left.get(i), left, right) >= 0 == (kind == Kind.INTERSECT);
+        }
+    }
+
+    /** @return the index of a row equal to {@code row} in {@code table}, or -1 */
+    private static int find(LongKeyTable table, long fingerprint, InMemoryRow row,
+                            List<InMemoryRow> left, List<InMemoryRow> right) {
+        for (int e = table.first(fingerprint); e >= 0; e = table.next(e)) {
+            if (row(left, right, table.id(e)).equals(row)) return table.id(e);
+        }
+        return -1;
+    }
+
+    /**
+     * 64-bit fingerprint consistent with {@link InMemoryRow#equals}: a sum over the
+     * (attribute, value) entries, so it does not depend on their order.
+     */
+    private static long fingerprint(InMemoryRow row) {
+        long h = 0;
+        for (Map.Entry<String, Object> e : row.asMap().entrySet()) h += LongKeyTable.mix(e.hashCode());
+        return LongKeyTable.mix(h);
+    }
+
+    private static InMemoryRow row(List<InMemoryRow> left, List<InMemoryRow> right, int i) {
+        return i < left.size() ? left.get(i) : right.get(i - left.size());
+    }
+
+    private void emit(InMemoryTable out, InMemoryRow row) {
+        guard.materialized(row);
+        out.add(row);
+    }
+}
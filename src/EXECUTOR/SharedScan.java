@@ -0,0 +1,98 @@
+package EXECUTOR;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * SharedScan
+ *
+ * <p>Cooperative scheduling of concurrent scans over the same base relation. A scan
+ * that starts while others are reading the table does not begin at chunk 0: it joins
+ * them at the chunk they are reading, moves through the rest of the table alongside
+ * them, then wraps around to the chunks it missed. Queries scanning together touch
+ * each chunk while it is still in the CPU caches, so N concurrent dashboard queries
+ * cost close to one stream of the table from memory instead of N.</p>
+ *
+ * <h3>Usage</h3>
+ * <pre>{@code
+ * try (SharedScan.Cursor c = SharedScan.open(table, chunks)) {
+ *     for (int chunk; (chunk = c.next()) >= 0; ) ...   // every chunk exactly once
+ * }
+ * }</pre>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Scans are not held in lockstep: the position a new scan joins at is the chunk most
+ *       recently started by any open scan of the table, and scans at similar speed stay together.</li>
+ *   <li>Chunk order wraps, so a caller that must produce rows in table order buffers the
+ *       chunks read before the wrap (see {@link Cursor#beforeWrap}).</li>
+ *   <li>Tables of fewer than {@link #MIN_CHUNKS} chunks fit in cache anyway; callers scan them directly.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class SharedScan {
+    /** Smallest table, in chunks, whose scans are coordinated. */
+    static final int MIN_CHUNKS = 8;
+
+    /** Tables with at least one open scan; guarded by itself. */
+    private static final Map<InMemoryTable, SharedScan> ACTIVE = new IdentityHashMap<>();
+
+    private final InMemoryTable table;
+    private int scanners;                   // guarded by ACTIVE
+    /** Chunk most recently started by any scan of the table. */
+    private volatile int position;
+
+    private SharedScan(InMemoryTable table) { this.table = table; }
+
+    /**
+     * Start a scan of {@code chunks} chunks of {@code table}, joining the scans already
+     * running on it, if any. The cursor must be closed when the scan ends or fails.
+     */
+    static Cursor open(InMemoryTable table, int chunks) {
+        synchronized (ACTIVE) {
+            SharedScan s = ACTIVE.computeIfAbsent(table, SharedScan::new);
+            int at = s.position;
+            int start = s.scanners > 0 && at < chunks ? at : 0;
+            s.scanners++;
+            return s.new Cursor(chunks, start);
+        }
+    }
+
+    /** One scan: hands out every chunk once, from its start position to the end, then from 0. */
+    final class Cursor implements AutoCloseable {
+        private final int chunks, start;
+        private int read;
+        private boolean closed;
+
+        private Cursor(int chunks, int start) {
+            this.chunks = chunks;
+            this.start = start;
+        }
+
+        /** @return the chunk this scan joined the others at; 0 if it ran alone or started them */
+        int start() { return start; }
+
+        /** @return true if {@code chunk} is read before the scan wraps around to chunk 0 (the table's tail) */
+        boolean beforeWrap(int chunk) { return start > 0 && chunk >= start; }
+
+        /** @return the next chunk to read, or -1 once every chunk was returned */
+        int next() {
+            if (read == chunks) return -1;
+            int chunk = start + read++;
+            if (chunk >= chunks) chunk -= chunks;
+            position = chunk;                       // where the next scan to open joins
+            return chunk;
+        }
+
+        @Override
+        public void close() {
+            synchronized (ACTIVE) {
+                if (closed) return;
+                closed = true;
+                if (--scanners == 0) ACTIVE.remove(table);
+            }
+        }
+    }
+}
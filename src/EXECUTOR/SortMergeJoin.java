@@ -0,0 +1,166 @@
+package EXECUTOR;
+
+import CORE.Schema;
+import CORE.Values;
+import PARSER.EXPR.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SortMergeJoin
+ *
+ * <p>Order-based join algorithms, chosen by {@link EXECUTOR.ExprEvaluator} once
+ * both inputs are materialized:</p>
+ * <ul>
+ *   <li><b>Merge join</b> ({@link #merge}) — equi-join of two inputs already sorted
+ *       ascending on their join keys (e.g. by τ): one synchronized pass over both,
+ *       no hash table.</li>
+ *   <li><b>Band join</b> ({@link #band}) — θ-join with an inequality {@code L.a op R.b}:
+ *       the right input is sorted on {@code b} once, and every left row binary-searches
+ *       the contiguous range of matching right rows instead of testing all of them.</li>
+ * </ul>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Null keys never match. Values compare through {@link CORE.Values}, the same
+ *       order {@link EXECUTOR.RowSorter} sorts by.</li>
+ *   <li>Output follows the left input's order, so its {@code sortedOn} is kept.</li>
+ *   <li>Remaining conjuncts are checked on the combined row.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class SortMergeJoin {
+    /** The inequality {@code leftAttr op rightAttr} driving a band join, and the rest of the condition. */
+    record Band(String leftAttr, Op op, String rightAttr, Expr rest) {
+        @Override public String toString() { return leftAttr + " " + op + " " + rightAttr; }
+    }
+
+    private final QueryGuard guard;
+
+    SortMergeJoin(QueryGuard guard) {
+        this.guard = guard;
+    }
+
+    /** @return true if {@code t} is known to be sorted ascending on {@code keys} (as a prefix of its order) */
+    static boolean sortedOn(InMemoryTable t, List<String> keys) {
+        List<String> order = t.sortedOn();
+        return order.size() >= keys.size() && order.subList(0, keys.size()).equals(keys);
+    }
+
+    /** @return the first usable {@code L.a op R.b} inequality of {@code on}, or null if there is none */
+    static Band band(Expr on, Schema left, Schema right) {
+        List<Expr> conjuncts = JoinKeys.conjuncts(on);
+        for (Expr c : conjuncts) {
+            if (!(c instanceof Binary b) || !isRange(b.op())
+                    || !(b.left() instanceof AttrRef x) || !(b.right() instanceof AttrRef y)) continue;
+            Band band = null;
+            if (left.has(x.name()) && right.has(y.name())) band = new Band(x.name(), b.op(), y.name(), null);
+            else if (left.has(y.name()) && right.has(x.name())) band = new Band(y.name(), b.op().flipped(), x.name(), null);
+            if (band == null || !Values.comparable(left.typeOf(band.leftAttr()), right.typeOf(band.rightAttr()))) continue;
+
+            Expr rest = null;
+            for (Expr other : conjuncts) {
+                if (other != c) rest = rest == null ? other : new Binary(rest, Op.AND, other);
+            }
+            return new Band(band.leftAttr(), band.op(), band.rightAttr(), rest);
+        }
+        return null;
+    }
+
+    private static boolean isRange(Op op) {
+        return op == Op.LT || op == Op.LTE || op == Op.GT || op == Op.GTE;
+    }
+
+    /** Equi-join of inputs sorted on {@code keys.leftKeys()} / {@code keys.rightKeys()}. */
+    void merge(JoinKeys keys, InMemoryTable left, InMemoryTable right, InMemoryTable out) {
+        RowPredicate residual = keys.residual() == null ? null : PredicateCompiler.compile(keys.residual(), out.schema());
+        List<InMemoryRow> l = left.rows(), r = right.rows();
+        Object[][] lk = keys(l, keys.leftKeys()), rk = keys(r, keys.rightKeys());
+        int i = 0, j = 0;
+        while (i < l.size() && j < r.size()) {
+            guard.check();
+            if (lk[i] == null) { i++; continue; }
+            if (rk[j] == null) { j++; continue; }
+            int c = compare(lk[i], rk[j]);
+            if (c < 0) { i++; continue; }
+            if (c > 0) { j++; continue; }
+            int runEnd = j + 1;                      // right rows with the same key
+            while (runEnd < r.size() && rk[runEnd] != null && compare(rk[runEnd], rk[j]) == 0) runEnd++;
+            for (; i < l.size() && lk[i] != null && compare(lk[i], rk[j]) == 0; i++) {
+                for (int m = j; m < runEnd; m++) {
+                    guard.check();
+                    emit(out, ExprEvaluator.combine(l.get(i), r.get(m)), residual);
+                }
+            }
+            j = runEnd;
+        }
+        out.markSortedOn(left.sortedOn());
+    }
+
+    /** θ-join driven by {@code band}; the right input is sorted on its attribute here. */
+    void band(Band band, InMemoryTable left, InMemoryTable right, InMemoryTable out) {
+        RowPredicate rest = band.rest() == null ? null : PredicateCompiler.compile(band.rest(), out.schema());
+        List<InMemoryRow> sorted = new ArrayList<>(right.size());
+        for (InMemoryRow row : right.rows()) if (row.get(band.rightAttr()) != null) sorted.add(row);
+        sorted.sort((a, b) -> Values.compare(a.get(band.rightAttr()), b.get(band.rightAttr())));
+        Object[] values = new Object[sorted.size()];
+        for (int k = 0; k < values.length; k++) values[k] = sorted.get(k).get(band.rightAttr());
+
+        for (InMemoryRow l : left.rows()) {
+            guard.check();
+            Object v = l.get(band.leftAttr());
+            if (v == null) continue;
+            int from = 0, to = values.length;
+            switch (band.op()) {
+                case LT  -> from = bound(values, v, true);     // v < b: after the values <= v
+                case LTE -> from = bound(values, v, false);    // v <= b: from the first value >= v
+                case GT  -> to = bound(values, v, false);      // v > b: before the first value >= v
+                default  -> to = bound(values, v, true);       // v >= b: up to the values <= v
+            }
+            for (int k = from; k < to; k++) {
+                guard.check();
+                emit(out, ExprEvaluator.combine(l, sorted.get(k)), rest);
+            }
+        }
+        out.markSortedOn(left.sortedOn());
+    }
+
+    /** First index whose value is {@code > v} (upper) or {@code >= v} (lower). */
+    private static int bound(Object[] values, Object v, boolean upper) {
+        int lo = 0, hi = values.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            int c = Values.compare(values[mid], v);
+            if (c < 0 || upper && c == 0) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    /** Key tuple of every row; null for rows with a null key value. */
+    private static Object[][] keys(List<InMemoryRow> rows, List<String> attrs) {
+        Object[][] out = new Object[rows.size()][];
+        for (int i = 0; i < out.length; i++) {
+            List<Object> k = JoinKeys.key(rows.get(i), attrs);
+            out[i] = k == null ? null : k.toArray();
+        }
+        return out;
+    }
+
+    private static int compare(Object[] a, Object[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int c = Values.compare(a[i], b[i]);
+            if (c != 0) return c;
+        }
+        return 0;
+    }
+
+    private void emit(InMemoryTable out, InMemoryRow row, RowPredicate condition) {
+        if (condition != null && !condition.test(row)) return;
+        guard.materialized(row);
+        out.add(row);
+    }
+}
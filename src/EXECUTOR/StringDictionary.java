@@ -0,0 +1,66 @@
+package EXECUTOR;
+
+import java.util.Arrays;
+
+/**
+ * StringDictionary
+ *
+ * <p>Assigns dense {@code int} codes {@code 0, 1, 2, ...} to distinct strings
+ * in order of first sight. Strings are kept once, in a code-indexed array, and
+ * found through an open-addressing table of codes (linear probing, cached
+ * {@code String} hashes), so a STRING join key can be replaced by its code and
+ * matched by integer comparison.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class StringDictionary {
+    private int[] table;              // code + 1 per slot, 0 = empty
+    private String[] values;
+    private int size;
+
+    /** @param expected number of distinct strings expected */
+    StringDictionary(int expected) {
+        table = new int[Integer.highestOneBit(Math.max(16, expected * 2 - 1)) << 1];
+        values = new String[Math.max(16, expected)];
+    }
+
+    /** @return the code of {@code s}, assigning the next one if it is new */
+    int encode(String s) {
+        int slot = slot(s);
+        if (table[slot] != 0) return table[slot] - 1;
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size] = s;
+        table[slot] = ++size;
+        if (size * 2 > table.length) rehash();
+        return size - 1;
+    }
+
+    /** @return the code of {@code s}, or -1 if it was never encoded */
+    int code(String s) {
+        return table[slot(s)] - 1;
+    }
+
+    /** @return the string with code {@code code} */
+    String decode(int code) { return values[code]; }
+
+    /** @return number of codes assigned */
+    int size() { return size; }
+
+    private int slot(String s) {
+        int mask = table.length - 1;
+        int i = Parallel.mix(s.hashCode()) & mask;
+        while (table[i] != 0 && !values[table[i] - 1].equals(s)) i = (i + 1) & mask;
+        return i;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        int mask = table.length - 1;
+        for (int code = 0; code < size; code++) {
+            int i = Parallel.mix(values[code].hashCode()) & mask;
+            while (table[i] != 0) i = (i + 1) & mask;
+            table[i] = code + 1;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package EXECUTOR;
+
+/**
+ * Callback for row-level changes to an {@link EXECUTOR.InMemoryTable}.
+ *
+ * Collaborators:
+ *  - {@link EXECUTOR.InMemoryTable} : notifies listeners after each insert/remove
+ *  - {@link EXECUTOR.MaterializedView} : propagates the change as a delta
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+@FunctionalInterface
+public interface TableListener {
+    /**
+     * @param table the table that changed
+     * @param row   the inserted or removed row
+     * @param delta +1 for an insert, -1 for a removal
+     */
+    void rowChanged(InMemoryTable table, InMemoryRow row, int delta);
+}
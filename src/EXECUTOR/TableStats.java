@@ -0,0 +1,66 @@
+package EXECUTOR;
+
+import CORE.Attribute;
+import CORE.Schema;
+
+import java.util.*;
+
+/**
+ * TableStats
+ *
+ * <p>Statistics of one relation: its row count and a {@link ColumnStats} per
+ * attribute. Created by {@link InMemoryTable#analyze()} and kept on the table,
+ * next to its rows, so every catalog that holds the relation sees them; a
+ * {@link Catalog} also keeps them with the relation's registration
+ * ({@link Catalog.Snapshot#analyze}), so they outlive its eviction.</p>
+ *
+ * <h3>Freshness</h3>
+ * <ul>
+ *   <li>Row count, null counts, min/max and distinct sketches follow every insert.</li>
+ *   <li>A removal lowers the row count and null counts; min/max and distinct sketches
+ *       keep the removed values until the next analyze.</li>
+ *   <li>Histograms and most-common values are refreshed by the next analyze;
+ *       {@link #modificationsSinceAnalyze()} tells how stale they may be.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+public final class TableStats {
+    private final Map<String, ColumnStats> columns = new LinkedHashMap<>();
+    private long rows;
+    private long modifications;
+
+    TableStats(Schema schema, List<InMemoryRow> contents) {
+        for (Attribute a : schema.attributes()) columns.put(a.name(), new ColumnStats(a));
+        for (InMemoryRow r : contents) added(r);
+        for (ColumnStats c : columns.values()) {
+            List<Object> values = new ArrayList<>(contents.size());
+            for (InMemoryRow r : contents) values.add(r.get(c.name()));
+            c.summarize(values);
+        }
+        modifications = 0;
+    }
+
+    public long rowCount() { return rows; }
+
+    /** @return statistics of {@code attr}, or null if the relation has no such attribute */
+    public ColumnStats column(String attr) { return columns.get(attr); }
+
+    public Collection<ColumnStats> columns() { return Collections.unmodifiableCollection(columns.values()); }
+
+    /** @return rows inserted or removed since the statistics were computed */
+    public long modificationsSinceAnalyze() { return modifications; }
+
+    void added(InMemoryRow r) {
+        rows++;
+        modifications++;
+        for (ColumnStats c : columns.values()) c.added(r.get(c.name()));
+    }
+
+    void removed(InMemoryRow r) {
+        rows--;
+        modifications++;
+        for (ColumnStats c : columns.values()) c.removed(r.get(c.name()));
+    }
+}
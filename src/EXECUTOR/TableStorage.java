@@ -0,0 +1,69 @@
+package EXECUTOR;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Where an {@link EXECUTOR.InMemoryTable} keeps its rows. The table validates
+ * rows and maintains its metadata; the storage only holds them by position.
+ *
+ * Implementations:
+ *  - {@link Heap} : an {@code ArrayList} of {@link EXECUTOR.InMemoryRow}s (intermediate results, small relations)
+ *  - {@link EXECUTOR.OffHeapStorage} : columns in native memory, rows decoded on access
+ *  - {@link EXECUTOR.CompressedStorage} : RLE / bit-packed columns, scanned without decoding where possible
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+interface TableStorage {
+    int size();
+
+    InMemoryRow get(int i);
+
+    void add(InMemoryRow row);
+
+    /** Overwrite position {@code i} (used to move the last row into a removed row's place). */
+    void set(int i, InMemoryRow row);
+
+    void removeLast();
+
+    void clear();
+
+    /** Free any memory not managed by the garbage collector; off-heap storage is unusable afterwards. */
+    void release();
+
+    /** @return read-only list view of the rows */
+    List<InMemoryRow> rows();
+
+    /** @return bytes held outside the Java heap */
+    default long offHeapBytes() { return 0; }
+
+    /** @return approximate memory held by the rows, on and off the heap */
+    long estimatedBytes();
+
+    /** @return short description of the storage for listings */
+    default String describe() { return "heap"; }
+
+    /** Row objects on the Java heap. */
+    final class Heap implements TableStorage {
+        private final List<InMemoryRow> rows = new ArrayList<>();
+        private final List<InMemoryRow> view = Collections.unmodifiableList(rows);
+
+        @Override public int size() { return rows.size(); }
+        @Override public InMemoryRow get(int i) { return rows.get(i); }
+        @Override public void add(InMemoryRow row) { rows.add(row); }
+        @Override public void set(int i, InMemoryRow row) { rows.set(i, row); }
+        @Override public void removeLast() { rows.remove(rows.size() - 1); }
+        @Override public void clear() { rows.clear(); }
+        @Override public void release() { }                    // garbage collected with the table
+        @Override public List<InMemoryRow> rows() { return view; }
+
+        @Override
+        public long estimatedBytes() {
+            long total = 8L * rows.size();                      // list slots
+            for (InMemoryRow r : rows) total += r.estimatedBytes();
+            return total;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package EXECUTOR;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * WriteAheadLog
+ *
+ * <p>Append-only log of catalog changes, in segment files {@code wal-<first lsn>.log}.
+ * Every record gets the next log sequence number (LSN) and is framed as
+ * {@code [int length][int crc32][long lsn][byte type][body]}.</p>
+ *
+ * <h3>Group commit</h3>
+ * <p>{@link #append} only buffers a record; {@link #commit} returns once it is on
+ * disk. The first committer writes every buffered record with one {@code write}
+ * and one {@code force}; threads that commit meanwhile wait and are covered by the
+ * next flush, so N concurrent commits cost far fewer than N syncs.</p>
+ *
+ * <h3>Recovery</h3>
+ * <p>{@link #read} returns the records of every segment in LSN order. A torn or corrupt
+ * record ends the log: it and everything after it in the last segment are cut off
+ * before new records are appended.</p>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class WriteAheadLog implements Closeable {
+    /** A record read back from the log. */
+    record Record(long lsn, byte type, byte[] body) { }
+
+    private static final int HEADER = 8;                   // length + crc
+
+    private final Path dir;
+    private final Object lock = new Object();
+    private FileChannel segment;
+    private ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private long lastLsn, durableLsn;
+    private boolean flushing;
+    /** Set when a flush failed: its records are lost, so later ones must not be acknowledged. */
+    private boolean failed;
+    private long bytesSinceRoll, records, syncs;
+
+    /**
+     * Open the log in {@code dir} for appending after {@code lastLsn}, the highest LSN
+     * recovered (or checkpointed) so far.
+     */
+    WriteAheadLog(Path dir, long lastLsn) throws IOException {
+        this.dir = dir;
+        this.lastLsn = this.durableLsn = lastLsn;
+        List<Path> segments = segments(dir);
+        segment = segments.isEmpty()
+                ? open(dir.resolve(segmentName(lastLsn + 1)))
+                : FileChannel.open(segments.get(segments.size() - 1), StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        bytesSinceRoll = segment.size();
+    }
+
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private static String segmentName(long firstLsn) { return String.format("wal-%019d.log", firstLsn); }
+
+    /** @return the segment files of {@code dir}, oldest first */
+    static List<Path> segments(Path dir) throws IOException {
+        try (Stream<Path> s = Files.list(dir)) {
+            return s.filter(p -> p.getFileName().toString().matches("wal-\\d{19}\\.log")).sorted().toList();
+        }
+    }
+
+    /**
+     * Read every record with an LSN above {@code afterLsn}, truncating a torn tail off the
+     * last segment.
+     */
+    static List<Record> read(Path dir, long afterLsn) throws IOException {
+        List<Record> out = new ArrayList<>();
+        List<Path> segments = segments(dir);
+        for (int s = 0; s < segments.size(); s++) {
+            byte[] data = Files.readAllBytes(segments.get(s));
+            ByteBuffer b = ByteBuffer.wrap(data);
+            while (b.remaining() >= HEADER) {
+                int start = b.position(), length = b.getInt(), crc = b.getInt();
+                if (length < 9 || length > b.remaining() || crc != crc(data, b.position(), length)) {
+                    b.position(start);
+                    break;
+                }
+                long lsn = b.getLong();
+                byte type = b.get();
+                byte[] body = new byte[length - 9];
+                b.get(body);
+                if (lsn > afterLsn) out.add(new Record(lsn, type, body));
+            }
+            if (b.position() < data.length) {
+                if (s < segments.size() - 1) {
+                    throw new IOException("corrupt log segment " + segments.get(s).getFileName() + " at byte " + b.position());
+                }
+                try (FileChannel c = FileChannel.open(segments.get(s), StandardOpenOption.WRITE)) {
+                    c.truncate(b.position());                  // torn write from a crash: drop it
+                    c.force(true);
+                }
+            }
+        }
+        return out;
+    }
+
+    private static int crc(byte[] data, int offset, int length) {
+        CRC32 c = new CRC32();
+        c.update(data, offset, length);
+        return (int) c.getValue();
+    }
+
+    /** Buffer a record; it is durable once {@link #commit} of its LSN returns. @return its LSN */
+    long append(byte type, byte[] body) throws IOException {
+        byte[] payload = new byte[9 + body.length];
+        ByteBuffer.wrap(payload).putLong(0).put(type).put(body);
+        synchronized (lock) {
+            if (failed) throw new IOException("write-ahead log is unusable after a failed write");
+            long lsn = ++lastLsn;
+            ByteBuffer.wrap(payload).putLong(lsn);
+            DataOutputStream d = new DataOutputStream(pending);
+            try {
+                d.writeInt(payload.length);
+                d.writeInt(crc(payload, 0, payload.length));
+                d.write(payload);
+            } catch (IOException e) {
+                throw new AssertionError(e);                   // in-memory stream
+            }
+            records++;
+            return lsn;
+        }
+    }
+
+    /** Block until every record up to {@code lsn} is on disk, flushing the buffered batch if no one else is. */
+    void commit(long lsn) throws IOException {
+        while (true) {
+            byte[] batch;
+            long upTo;
+            synchronized (lock) {
+                while (flushing && durableLsn < lsn) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new InterruptedIOException("interrupted waiting for log commit");
+                    }
+                }
+                if (durableLsn >= lsn) return;
+                if (failed) throw new IOException("write-ahead log is unusable after a failed write");
+                flushing = true;
+                batch = pending.toByteArray();
+                pending = new ByteArrayOutputStream();
+                upTo = lastLsn;
+            }
+            boolean written = false;
+            try {
+                ByteBuffer b = ByteBuffer.wrap(batch);
+                while (b.hasRemaining()) segment.write(b);
+                segment.force(false);
+                written = true;
+            } finally {
+                synchronized (lock) {
+                    flushing = false;
+                    if (written) {
+                        durableLsn = upTo;
+                        bytesSinceRoll += batch.length;
+                        syncs++;
+                    } else {
+                        failed = true;
+                    }
+                    lock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /** @return the LSN of the last appended record */
+    long lastLsn() {
+        synchronized (lock) { return lastLsn; }
+    }
+
+    /** @return bytes written to the log since it was opened or last rolled */
+    long bytesSinceRoll() {
+        synchronized (lock) { return bytesSinceRoll; }
+    }
+
+    /** @return records appended and disk syncs performed since the log was opened */
+    long[] counters() {
+        synchronized (lock) { return new long[] { records, syncs }; }
+    }
+
+    /**
+     * Start a new segment after a checkpoint covering every record so far, and delete the
+     * older segments. No record may be appended concurrently.
+     */
+    void roll() throws IOException {
+        commit(lastLsn());
+        Path next = dir.resolve(segmentName(lastLsn() + 1));
+        List<Path> old = segments(dir);
+        if (!old.contains(next)) {                      // else nothing was logged since the last roll
+            segment.close();
+            segment = open(next);
+        }
+        for (Path p : old) if (!p.equals(next)) Files.deleteIfExists(p);
+        synchronized (lock) { bytesSinceRoll = 0; }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            commit(lastLsn());
+        } finally {
+            segment.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package EXECUTOR;
+
+import CORE.Schema;
+import CORE.Values;
+import PARSER.EXPR.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * ZoneMap
+ *
+ * <p>Per-chunk column metadata of an {@link InMemoryTable}: for every run of
+ * {@link #CHUNK_ROWS} consecutive rows and every column, the minimum and
+ * maximum non-null value and the number of nulls. A selection whose
+ * conjuncts compare a column to a constant asks {@link #mayMatch} and skips
+ * whole chunks that provably hold no qualifying row — on append-ordered data
+ * (ids, timestamps) a range predicate touches only a few chunks.</p>
+ *
+ * <h3>Maintenance</h3>
+ * <ul>
+ *   <li>Built on first use from the table's rows, then extended on every append.</li>
+ *   <li>A removal moves the last row into the gap, so the table drops its zone map and
+ *       rebuilds it the next time it is needed.</li>
+ * </ul>
+ *
+ * <h3>Notes</h3>
+ * <ul>
+ *   <li>Only {@code attr op constant} conjuncts (either operand order) are used; the rest of the
+ *       condition is still evaluated row by row on the chunks that are read.</li>
+ *   <li>Nulls are left out of min/max; a chunk holding only nulls has no bounds and is skipped
+ *       by every comparison.</li>
+ *   <li>Numeric constants are compared across INT and DOUBLE (an INT constant prunes chunks of a
+ *       DOUBLE column and vice versa); constants of any other type than the column are never used
+ *       for skipping.</li>
+ * </ul>
+ *
+ * @author Seydi Cheikh Wade: 101323727
+ * @version Assignment Bonus, 9/17/2025
+ */
+final class ZoneMap {
+    /** Rows per chunk. */
+    static final int CHUNK_ROWS = 1024;
+
+    /** A prunable conjunct: {@code column op value}. */
+    record Bound(int column, Op op, Object value) {}
+
+    private final Schema schema;
+    private Object[][] min;   // [column][chunk]
+    private Object[][] max;
+    private int[][] nulls;
+    private int rows;
+
+    ZoneMap(Schema schema) {
+        this.schema = schema;
+        int cols = schema.size();
+        this.min = new Object[cols][8];
+        this.max = new Object[cols][8];
+        this.nulls = new int[cols][8];
+    }
+
+    /** @return number of chunks (the last one may be partial) */
+    int chunks() { return (rows + CHUNK_ROWS - 1) / CHUNK_ROWS; }
+
+    /** @return number of null values of {@code column} in {@code chunk} */
+    int nullCount(int column, int chunk) { return nulls[column][chunk]; }
+
+    /** Account for a row appended at the end of the table. */
+    void append(InMemoryRow row) {
+        int chunk = rows / CHUNK_ROWS;
+        if (chunk == min[0].length) grow();
+        for (int c = 0; c < min.length; c++) {
+            Object v = row.get(schema.attribute(c).name());
+            if (v == null) {
+                nulls[c][chunk]++;
+                continue;
+            }
+            Object lo = min[c][chunk];
+            if (lo == null || Values.compare(v, lo) < 0) min[c][chunk] = v;
+            Object hi = max[c][chunk];
+            if (hi == null || Values.compare(v, hi) > 0) max[c][chunk] = v;
+        }
+        rows++;
+    }
+
+    private void grow() {
+        for (int c = 0; c < min.length; c++) {
+            min[c] = Arrays.copyOf(min[c], min[c].length * 2);
+            max[c] = Arrays.copyOf(max[c], max[c].length * 2);
+            nulls[c] = Arrays.copyOf(nulls[c], nulls[c].length * 2);
+        }
+    }
+
+    /** @return false if no row of {@code chunk} can satisfy every bound */
+    boolean mayMatch(int chunk, List<Bound> bounds) {
+        for (Bound b : bounds) if (!mayMatch(chunk, b)) return false;
+        return true;
+    }
+
+    private boolean mayMatch(int chunk, Bound b) {
+        Object lo = min[b.column()][chunk], hi = max[b.column()][chunk];
+        if (lo == null) return false;                               // only nulls in this chunk
+        if (!Values.comparable(Values.typeOf(lo), Values.typeOf(b.value()))) return true;
+        int cLo = Values.compare(lo, b.value());
+        int cHi = Values.compare(hi, b.value());
+        return switch (b.op()) {
+            case EQ  -> cLo <= 0 && cHi >= 0;
+            case NEQ -> cLo != 0 || cHi != 0;
+            case LT  -> cLo < 0;
+            case LTE -> cLo <= 0;
+            case GT  -> cHi > 0;
+            case GTE -> cHi >= 0;
+            default  -> true;
+        };
+    }
+
+    /** Extract the {@code attr op constant} conjuncts of {@code cond} over {@code schema}. */
+    static List<Bound> bounds(Expr cond, Schema schema) {
+        List<Bound> out = new ArrayList<>();
+        for (Expr c : JoinKeys.conjuncts(cond)) {
+            if (!(c instanceof Binary b) || b.op() == Op.AND || b.op() == Op.OR) continue;
+            if (b.left() instanceof AttrRef a && b.right() instanceof Literal l
+                    && schema.has(a.name()) && l.value() != null) {
+                out.add(new Bound(schema.indexOf(a.name()), b.op(), l.value()));
+            } else if (b.left() instanceof Literal l && b.right() instanceof AttrRef a
+                    && schema.has(a.name()) && l.value() != null) {
+                out.add(new Bound(schema.indexOf(a.name()), b.op().flipped(), l.value()));
+            }
+        }
+        return out;
+    }
+}
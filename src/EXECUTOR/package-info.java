@@ -12,10 +12,14 @@
  *   <li>Evaluate expressions over base tables held in an {@link EXECUTOR.EvaluationContext}.</li>
  *   <li>Implement core relational algebra operators:
  *       <ul>
- *         <li>Selection (σ) — tuple filtering by condition.</li>
- *         <li>Projection (π) — attribute subset (schema reduction).</li>
+ *         <li>Selection (σ) — tuple filtering by condition, skipping chunks via per-chunk zone maps;
+ *             concurrent scans of one base relation share their pass over it.</li>
+ *         <li>Projection (π) — attribute subset with duplicate elimination (opt-in bag mode).</li>
  *         <li>Rename (ρ) — renaming relations (currently a no-op on schema).</li>
- *         <li>Join (⋈) — nested-loop join with optional θ-condition.</li>
+ *         <li>Aggregation (γ) — hash / streaming / parallel partial grouping.</li>
+ *         <li>Sort (τ) — multi-key ordering with heap-based top-k.</li>
+ *         <li>Join (⋈) — natural and equi θ-joins as hash joins, nested loop otherwise; × for the Cartesian product.</li>
+ *         <li>Semi-/anti-join (⋉, ▷) — existence tests against a hash set of the right side's keys.</li>
  *         <li>Set operations (∪, ∩, −) — schema-compatible set semantics.</li>
  *       </ul>
  *   </li>
@@ -26,7 +30,10 @@
  * <ul>
  *   <li>{@link EXECUTOR.ExprEvaluator} — core engine that walks the AST and executes operators.</li>
  *   <li>{@link EXECUTOR.EvaluationContext} — catalog mapping relation names to base tables.</li>
- *   <li>{@link EXECUTOR.InMemoryTable} — in-memory relation (rows + schema).</li>
+ *   <li>{@link EXECUTOR.InMemoryTable} — in-memory relation (rows + schema), on the heap or off-heap.</li>
+ *   <li>{@link EXECUTOR.Catalog} — versioned named relations; snapshots keep a version readable; relations
+ *       on disk are loaded on first use and evicted least-recently-used above a memory budget.</li>
+ *   <li>{@link EXECUTOR.CatalogStore} — write-ahead log and checkpoints that make a catalog survive restarts.</li>
  *   <li>{@link EXECUTOR.InMemoryRow} — immutable-style in-memory tuple.</li>
  * </ul>
  *
@@ -0,0 +1,46 @@
+package PARSER.EXPR;
+
+import java.util.Objects;
+
+/**
+ * One aggregate of a γ operator, e.g. {@code count(*)} or {@code avg(Age) -> AvgAge}.
+ */
+public class AggCall {
+    private final AggFunc func;
+    private final String attr;  // null for count(*)
+    private final String alias; // output attribute name
+
+    public AggCall(AggFunc func, String attr, String alias) {
+        if (attr == null && func != AggFunc.COUNT)
+            throw new IllegalArgumentException(func + "(*) is not supported; name an attribute");
+        this.func = func;
+        this.attr = attr;
+        this.alias = alias != null ? alias : defaultName(func, attr);
+    }
+
+    public AggFunc func() { return func; }
+    public String attr() { return attr; }
+    public String alias() { return alias; }
+
+    /** count(*) → "count", avg(Age) → "avg_Age". */
+    private static String defaultName(AggFunc func, String attr) {
+        String f = func.name().toLowerCase();
+        return attr == null ? f : f + "_" + attr;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AggCall)) return false;
+        AggCall that = (AggCall) o;
+        return func == that.func && Objects.equals(attr, that.attr) && alias.equals(that.alias);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(func, attr, alias);
+    }
+
+    @Override
+    public String toString() {
+        return func.name().toLowerCase() + "(" + (attr == null ? "*" : attr) + ") -> " + alias;
+    }
+}
@@ -0,0 +1,5 @@
+package PARSER.EXPR;
+
+public enum AggFunc {
+    COUNT, SUM, AVG, MIN, MAX
+}
@@ -0,0 +1,45 @@
+package PARSER.EXPR;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Grouping / aggregation (γ groupAttrs; aggregates (child))
+ */
+public class Aggregation implements Expr {
+    private final List<String> groupBy;
+    private final List<AggCall> aggregates;
+    private final Expr child;
+
+    public Aggregation(List<String> groupBy, List<AggCall> aggregates, Expr child) {
+        this.groupBy = List.copyOf(groupBy);
+        this.aggregates = List.copyOf(aggregates);
+        this.child = child;
+    }
+
+    public List<String> groupBy() { return groupBy; }
+    public List<AggCall> aggregates() { return aggregates; }
+    public Expr child() { return child; }
+
+    @Override
+    public Object eval(Map<String, Object> row) {
+        throw new UnsupportedOperationException("Aggregation eval is handled by Executor");
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Aggregation)) return false;
+        Aggregation that = (Aggregation) o;
+        return groupBy.equals(that.groupBy) && aggregates.equals(that.aggregates) && child.equals(that.child);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(groupBy, aggregates, child);
+    }
+
+    @Override
+    public String toString() {
+        return "γ " + groupBy + "; " + aggregates + " (" + child + ")";
+    }
+}
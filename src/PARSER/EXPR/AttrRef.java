@@ -1,5 +1,6 @@
 package PARSER.EXPR;
 import java.util.Map;
+import java.util.Objects;
 public class AttrRef implements Expr {
     private final String name;
 
@@ -7,11 +8,24 @@ public class AttrRef implements Expr {
         this.name = name;
     }
 
+    public String name() { return name; }
+
     @Override
     public Object eval(Map<String, Object> row) {
         return row.get(name); // Assumes row is Map<String,Object>
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof AttrRef)) return false;
+        AttrRef that = (AttrRef) o;
+        return name.equals(that.name);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(name);
+    }
+
     @Override
     public String toString() {
         return name;
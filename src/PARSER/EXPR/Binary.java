@@ -1,5 +1,8 @@
 package PARSER.EXPR;
+import CORE.Values;
+
 import java.util.Map;
+import java.util.Objects;
 public class Binary implements Expr{
     private final Expr left;
     private final Expr right;
@@ -11,13 +14,25 @@ public class Binary implements Expr{
         this.right = right;
     }
 
+    public Expr left() { return left; }
+    public Op op() { return op; }
+    public Expr right() { return right; }
+
+    /**
+     * Three-valued: null stands for unknown. {@code and} is false if either side is false,
+     * {@code or} true if either side is true, and otherwise unknown if either side is.
+     */
     @Override
     public Object eval(Map<String, Object> row) {
         switch (op) {
             case AND:
-                return (Boolean) left.eval(row) && (Boolean) right.eval(row);
             case OR:
-                return (Boolean) left.eval(row) || (Boolean) right.eval(row);
+                Boolean decisive = op == Op.OR;            // the value that settles the connective
+                Object l = left.eval(row);
+                if (decisive.equals(l)) return decisive;
+                Object r = right.eval(row);
+                if (decisive.equals(r)) return decisive;
+                return l == null || r == null ? null : !decisive;
             default:
                 Object lv = left.eval(row);
                 Object rv = right.eval(row);
@@ -25,18 +40,31 @@ public class Binary implements Expr{
         }
     }
 
-    private boolean compare(Object lv, Object rv) {
+    /** A comparison with a null operand is unknown (null); INT and DOUBLE operands compare numerically. */
+    private Boolean compare(Object lv, Object rv) {
+        if (lv == null || rv == null) return null;
         return switch (op) {
-            case EQ  -> lv.equals(rv);
-            case NEQ -> !lv.equals(rv);
-            case LT  -> ((Comparable) lv).compareTo(rv) < 0;
-            case LTE -> ((Comparable) lv).compareTo(rv) <= 0;
-            case GT  -> ((Comparable) lv).compareTo(rv) > 0;
-            case GTE -> ((Comparable) lv).compareTo(rv) >= 0;
+            case EQ  -> Values.equal(lv, rv);
+            case NEQ -> !Values.equal(lv, rv);
+            case LT  -> Values.compare(lv, rv) < 0;
+            case LTE -> Values.compare(lv, rv) <= 0;
+            case GT  -> Values.compare(lv, rv) > 0;
+            case GTE -> Values.compare(lv, rv) >= 0;
             default  -> throw new IllegalStateException("Unexpected operator: " + op);
         };
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Binary)) return false;
+        Binary that = (Binary) o;
+        return op == that.op && left.equals(that.left) && right.equals(that.right);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(left, op, right);
+    }
+
     @Override
     public String toString() {
         return "(" + left + " " + op + " " + right + ")";
@@ -2,6 +2,8 @@ package PARSER.EXPR;
 import java.util.Map;
 /**
  * Expr is the base interface for all expression nodes.
+ * Nodes are immutable and implement structural {@code equals}/{@code hashCode},
+ * so the executor can recognise identical subtrees within a query.
  */
 public interface Expr {
     Object eval(Map<String, Object> row);
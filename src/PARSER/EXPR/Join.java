@@ -1,21 +1,40 @@
 package PARSER.EXPR;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * Join (⋈) with optional ON condition
+ * Join of two relations.
+ * <ul>
+ *   <li>{@code NATURAL} — {@code L ⋈ R}: equal values on every attribute the inputs share;
+ *       shared attributes appear once in the output.</li>
+ *   <li>{@code THETA} — {@code L ⋈ cond R}: pairs satisfying the ON condition.</li>
+ *   <li>{@code CROSS} — {@code L × R}: the explicit Cartesian product.</li>
+ * </ul>
  */
 public class Join implements Expr {
+    public enum Kind { NATURAL, THETA, CROSS }
+
+    private final Kind kind;
     private final Expr left;
     private final Expr right;
-    private final Expr on; // can be null (natural join)
+    private final Expr on; // null unless THETA
 
+    /** Natural join when {@code on} is null, θ-join otherwise. */
     public Join(Expr left, Expr right, Expr on) {
+        this(on == null ? Kind.NATURAL : Kind.THETA, left, right, on);
+    }
+
+    public Join(Kind kind, Expr left, Expr right, Expr on) {
+        if ((kind == Kind.THETA) != (on != null))
+            throw new IllegalArgumentException(kind + " join " + (on == null ? "needs" : "takes no") + " condition");
+        this.kind = kind;
         this.left = left;
         this.right = right;
         this.on = on;
     }
 
+    public Kind kind() { return kind; }
     public Expr left() { return left; }
     public Expr right() { return right; }
     public Expr on() { return on; }
@@ -25,8 +44,24 @@ public class Join implements Expr {
         throw new UnsupportedOperationException("Join eval is handled by Executor");
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Join)) return false;
+        Join that = (Join) o;
+        return kind == that.kind && left.equals(that.left) && right.equals(that.right) && Objects.equals(on, that.on);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(kind, left, right, on);
+    }
+
     @Override
     public String toString() {
-        return "⋈" + (on != null ? "[" + on + "]" : "") + " (" + left + ", " + right + ")";
+        String op = switch (kind) {
+            case NATURAL -> "⋈";
+            case THETA   -> "⋈[" + on + "]";
+            case CROSS   -> "×";
+        };
+        return op + " (" + left + ", " + right + ")";
     }
 }
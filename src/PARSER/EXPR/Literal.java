@@ -1,5 +1,6 @@
 package PARSER.EXPR;
 import java.util.Map;
+import java.util.Objects;
 public  class Literal implements Expr{
     private final Object value;
 
@@ -7,11 +8,24 @@ public  class Literal implements Expr{
         this.value = value;
     }
 
+    public Object value() { return value; }
+
     @Override
     public Object eval(Map<String, Object> row) {
         return value;
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Literal)) return false;
+        Literal that = (Literal) o;
+        return Objects.equals(value, that.value);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(value);
+    }
+
     @Override
     public String toString() {
         return String.valueOf(value);
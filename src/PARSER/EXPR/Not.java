@@ -1,6 +1,7 @@
 package PARSER.EXPR;
 
 import java.util.Map;
+import java.util.Objects;
 
 public class Not implements Expr{
     private final Expr inner;
@@ -9,9 +10,24 @@ public class Not implements Expr{
         this.inner = inner;
     }
 
+    public Expr inner() { return inner; }
+
+    /** Unknown (null) stays unknown, so {@code not} over a comparison with a null is not true. */
     @Override
     public Object eval(Map<String, Object> row) {
-        return !(Boolean) inner.eval(row);
+        Object v = inner.eval(row);
+        return v == null ? null : !(Boolean) v;
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Not)) return false;
+        Not that = (Not) o;
+        return inner.equals(that.inner);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(inner);
     }
 
     @Override
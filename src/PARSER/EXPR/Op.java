@@ -1,5 +1,29 @@
 package PARSER.EXPR;
 
 public enum Op {
-    EQ, NEQ, LT, LTE, GT, GTE, AND, OR
+    EQ, NEQ, LT, LTE, GT, GTE, AND, OR;
+
+    /** @return the operator to use when the operands are swapped ({@code 3 < x} ⇔ {@code x > 3}) */
+    public Op flipped() {
+        return switch (this) {
+            case LT  -> GT;
+            case LTE -> GTE;
+            case GT  -> LT;
+            case GTE -> LTE;
+            default  -> this;
+        };
+    }
+
+    /** @return the comparison that holds exactly when this one does not ({@code x < 3} ⇔ {@code not (x >= 3)}) */
+    public Op negated() {
+        return switch (this) {
+            case EQ  -> NEQ;
+            case NEQ -> EQ;
+            case LT  -> GTE;
+            case LTE -> GT;
+            case GT  -> LTE;
+            case GTE -> LT;
+            default  -> throw new IllegalStateException("not a comparison: " + this);
+        };
+    }
 }
@@ -2,30 +2,50 @@ package PARSER.EXPR;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 /**
- * Projection (π attrs (child))
+ * Projection (π attrs (child)) — set semantics by default (duplicates removed);
+ * {@code π bag attrs (child)} keeps duplicates and skips the distinct work.
  */
 public class Projection implements Expr {
     private final List<String> attrs;
     private final Expr child;
+    private final boolean distinct;
 
     public Projection(List<String> attrs, Expr child) {
+        this(attrs, child, true);
+    }
+
+    public Projection(List<String> attrs, Expr child, boolean distinct) {
         this.attrs = attrs;
         this.child = child;
+        this.distinct = distinct;
     }
 
     public List<String> attrs() { return attrs; }
     public Expr child() { return child; }
+    /** @return true for set semantics (default), false for bag mode */
+    public boolean distinct() { return distinct; }
 
     @Override
     public Object eval(Map<String, Object> row) {
         throw new UnsupportedOperationException("Projection eval is handled by Executor");
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Projection)) return false;
+        Projection that = (Projection) o;
+        return distinct == that.distinct && attrs.equals(that.attrs) && child.equals(that.child);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(attrs, child, distinct);
+    }
+
     @Override
     public String toString() {
-        return "π " + attrs + " (" + child + ")";
+        return "π " + (distinct ? "" : "bag ") + attrs + " (" + child + ")";
     }
 }
-
@@ -2,6 +2,7 @@ package PARSER.EXPR;
 
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * A reference to a base relation (table) by name.
@@ -21,6 +22,17 @@ public class RelationRef implements Expr {
         throw new UnsupportedOperationException("RelationRef cannot be evaluated directly");
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RelationRef)) return false;
+        RelationRef that = (RelationRef) o;
+        return name.equals(that.name);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(name);
+    }
+
     @Override
     public String toString() {
         return name;
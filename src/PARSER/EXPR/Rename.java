@@ -1,6 +1,7 @@
 package PARSER.EXPR;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Rename (ρ newName (child))
@@ -22,6 +23,17 @@ public class Rename implements Expr {
         throw new UnsupportedOperationException("Rename eval is handled by Executor");
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Rename)) return false;
+        Rename that = (Rename) o;
+        return newName.equals(that.newName) && child.equals(that.child);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(newName, child);
+    }
+
     @Override
     public String toString() {
         return "ρ " + newName + " (" + child + ")";
@@ -1,6 +1,7 @@
 package PARSER.EXPR;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Selection (σ condition (child))
@@ -23,6 +24,17 @@ public class Selection implements Expr {
         throw new UnsupportedOperationException("Selection eval is handled by Executor");
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Selection)) return false;
+        Selection that = (Selection) o;
+        return condition.equals(that.condition) && child.equals(that.child);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(condition, child);
+    }
+
     @Override
     public String toString() {
         return "σ " + condition + " (" + child + ")";
@@ -0,0 +1,50 @@
+package PARSER.EXPR;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Semi-join (⋉) and anti-join (▷): the rows of the left input that have
+ * (semi) or do not have (anti) a matching row on the right. Without a
+ * condition rows match on the attributes both inputs share, as in a natural
+ * join. The output has the left input's schema.
+ */
+public class SemiJoin implements Expr {
+    private final Expr left;
+    private final Expr right;
+    private final Expr on;      // can be null (match on common attributes)
+    private final boolean anti;
+
+    public SemiJoin(Expr left, Expr right, Expr on, boolean anti) {
+        this.left = left;
+        this.right = right;
+        this.on = on;
+        this.anti = anti;
+    }
+
+    public Expr left() { return left; }
+    public Expr right() { return right; }
+    public Expr on() { return on; }
+    public boolean anti() { return anti; }
+
+    @Override
+    public Object eval(Map<String, Object> row) {
+        throw new UnsupportedOperationException("SemiJoin eval is handled by Executor");
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SemiJoin)) return false;
+        SemiJoin that = (SemiJoin) o;
+        return anti == that.anti && left.equals(that.left) && right.equals(that.right) && Objects.equals(on, that.on);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(left, right, on, anti);
+    }
+
+    @Override
+    public String toString() {
+        return (anti ? "▷" : "⋉") + (on != null ? "[" + on + "]" : "") + " (" + left + ", " + right + ")";
+    }
+}
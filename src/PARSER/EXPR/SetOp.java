@@ -2,6 +2,7 @@ package PARSER.EXPR;
 
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * Set operations: UNION, INTERSECT, MINUS
@@ -28,6 +29,17 @@ public class SetOp implements Expr {
         throw new UnsupportedOperationException("SetOp eval is handled by Executor");
     }
 
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SetOp)) return false;
+        SetOp that = (SetOp) o;
+        return kind == that.kind && left.equals(that.left) && right.equals(that.right);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(kind, left, right);
+    }
+
     @Override
     public String toString() {
         return kind + "(" + left + ", " + right + ")";
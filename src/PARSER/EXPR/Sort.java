@@ -0,0 +1,48 @@
+package PARSER.EXPR;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sort / top-k (τ keys [limit n] (child))
+ */
+public class Sort implements Expr {
+    /** Limit value meaning "return every row". */
+    public static final int NO_LIMIT = -1;
+
+    private final List<SortKey> keys;
+    private final int limit;
+    private final Expr child;
+
+    public Sort(List<SortKey> keys, int limit, Expr child) {
+        this.keys = List.copyOf(keys);
+        this.limit = limit;
+        this.child = child;
+    }
+
+    public List<SortKey> keys() { return keys; }
+    public int limit() { return limit; }
+    public Expr child() { return child; }
+
+    @Override
+    public Object eval(Map<String, Object> row) {
+        throw new UnsupportedOperationException("Sort eval is handled by Executor");
+    }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Sort)) return false;
+        Sort that = (Sort) o;
+        return limit == that.limit && keys.equals(that.keys) && child.equals(that.child);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(keys, limit, child);
+    }
+
+    @Override
+    public String toString() {
+        return "τ " + keys + (limit == NO_LIMIT ? "" : " limit " + limit) + " (" + child + ")";
+    }
+}
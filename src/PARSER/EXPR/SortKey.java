@@ -0,0 +1,35 @@
+package PARSER.EXPR;
+
+import java.util.Objects;
+
+/**
+ * One ordering key of a τ operator: an attribute and its direction.
+ */
+public class SortKey {
+    private final String attr;
+    private final boolean descending;
+
+    public SortKey(String attr, boolean descending) {
+        this.attr = attr;
+        this.descending = descending;
+    }
+
+    public String attr() { return attr; }
+    public boolean descending() { return descending; }
+
+    @Override public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof SortKey)) return false;
+        SortKey that = (SortKey) o;
+        return descending == that.descending && attr.equals(that.attr);
+    }
+
+    @Override public int hashCode() {
+        return Objects.hash(attr, descending);
+    }
+
+    @Override
+    public String toString() {
+        return attr + (descending ? " desc" : " asc");
+    }
+}
@@ -23,9 +23,13 @@ import java.util.List;
  *
  * Grammar (simplified):
  *  expr    := joinExpr ( (∪|∩|−) joinExpr )*
- *  joinExpr:= unary ( JOIN cond? unary )*
- *  unary   := (σ cond '(' expr ')') | (π attrs '(' expr ')')
- *             | (ρ IDENT '(' expr ')') | primary
+ *  joinExpr:= unary ( ((JOIN | SEMIJOIN | ANTIJOIN) cond? | CROSS) unary )*
+ *  unary   := (σ cond '(' expr ')') | (π ['bag'] attrs '(' expr ')')
+ *             | (ρ IDENT '(' expr ')') | (γ [attrs ';'] aggs '(' expr ')')
+ *             | (τ keys ['limit' NUMBER] '(' expr ')') | primary
+ *  keys    := IDENT ['asc' | 'desc'] (',' IDENT ['asc' | 'desc'])*
+ *  aggs    := agg (',' agg)*
+ *  agg     := IDENT '(' ('*' | IDENT) ')' [ '->' IDENT ]
  *  primary := IDENT | '(' expr ')'
  *
  * @author Seydi Cheikh Wade: 101323727
@@ -68,18 +72,24 @@ public final class Parser {
     }
 
 
-    // joinExpr := unary ( (⨝ | JOIN) cond? unary )*
-    // joinExpr := unary ( (⨝ | JOIN) cond? unary )*
+    // joinExpr := unary ( (⨝ | ⋉ | ▷) cond? unary | (× | CROSS JOIN) unary )*
     private Expr parseJoin() {
         Expr left = parseUnary();
-        while (match(TokenType.JOIN)) {
+        while (match(TokenType.JOIN, TokenType.CROSS, TokenType.SEMIJOIN, TokenType.ANTIJOIN)) {
+            TokenType op = prev().type();
+            if (op == TokenType.CROSS) {
+                left = new Join(Join.Kind.CROSS, left, parseUnary(), null);
+                continue;
+            }
             Expr on = null;
             // Only parse a condition if it doesn’t look like the start of a relation
             if (startsExpr(peek().type()) && !looksLikeRightRelationStart()) {
                 on = parseExpr();
             }
             Expr right = parseUnary();
-            left = new Join(left, right, on);
+            left = op == TokenType.JOIN
+                    ? new Join(left, right, on)
+                    : new SemiJoin(left, right, on, op == TokenType.ANTIJOIN);
         }
         return left;
     }
@@ -106,12 +116,14 @@ public final class Parser {
             expect(TokenType.RPAREN);
             return new Selection(cond, child);    // EXP.Selection
         }
-        if (match(TokenType.PI)) {                // π a,b '(' expr ')'
+        if (match(TokenType.PI)) {                // π [bag] a,b '(' expr ')'
+            boolean bag = checkWord("bag") && p + 1 < toks.size() && toks.get(p + 1).type() == TokenType.IDENT;
+            if (bag) advance();
             List<String> attrs = parseAttrList();
             expect(TokenType.LPAREN);
             Expr child = parseSet();
             expect(TokenType.RPAREN);
-            return new Projection(attrs, child);  // EXP.Projection
+            return new Projection(attrs, child, !bag);  // EXP.Projection
         }
         if (match(TokenType.RHO)) {               // ρ NewName '(' expr ')'
             String newName = expect(TokenType.IDENT).lexeme();
@@ -120,9 +132,57 @@ public final class Parser {
             expect(TokenType.RPAREN);
             return new Rename(newName, child);    // EXP.Rename
         }
+        if (match(TokenType.GAMMA)) {             // γ a,b ; agg, agg '(' expr ')'
+            List<String> groupBy = new ArrayList<>();
+            if (!match(TokenType.SEMI) && !startsAggregate()) {
+                groupBy = parseAttrList();
+                expect(TokenType.SEMI);
+            }
+            List<AggCall> aggs = parseAggList();
+            expect(TokenType.LPAREN);
+            Expr child = parseSet();
+            expect(TokenType.RPAREN);
+            return new Aggregation(groupBy, aggs, child);
+        }
+        if (match(TokenType.TAU)) {               // τ a desc, b [limit n] '(' expr ')'
+            List<SortKey> keys = new ArrayList<>();
+            do {
+                String attr = expect(TokenType.IDENT).lexeme();
+                boolean desc = false;
+                if (checkWord("desc")) { advance(); desc = true; }
+                else if (checkWord("asc")) advance();
+                keys.add(new SortKey(attr, desc));
+            } while (match(TokenType.COMMA));
+            int limit = Sort.NO_LIMIT;
+            if (checkWord("limit")) {
+                advance();
+                limit = parseLimit();
+            }
+            expect(TokenType.LPAREN);
+            Expr child = parseSet();
+            expect(TokenType.RPAREN);
+            return new Sort(keys, limit, child);
+        }
         return parsePrimary();
     }
 
+    // limit := NUMBER, a whole number of rows that fits an int
+    private int parseLimit() {
+        if (check(TokenType.NUMBER)) {
+            String n = peek().lexeme();
+            if (!n.chars().allMatch(Character::isDigit))
+                throw err("limit must be a whole number of rows, found " + n);
+            try {
+                int limit = Integer.parseInt(n);
+                advance();
+                return limit;
+            } catch (NumberFormatException e) {
+                throw err("limit is too large (at most " + Integer.MAX_VALUE + "): " + n);
+            }
+        }
+        throw err("Expected a row count after limit but found " + peek().type() + " (" + peek().lexeme() + ")");
+    }
+
     // primary := IDENT | '(' expr ')'
     private Expr parsePrimary() {
         if (match(TokenType.IDENT)) {
@@ -225,6 +285,35 @@ public final class Parser {
 
 
 
+    // aggs := agg (',' agg)* ;  agg := func '(' ('*' | IDENT) ')' [ '->' IDENT ]
+    private List<AggCall> parseAggList() {
+        List<AggCall> aggs = new ArrayList<>();
+        do {
+            Token fn = expect(TokenType.IDENT);
+            AggFunc func;
+            try {
+                func = AggFunc.valueOf(fn.lexeme().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw err("Unknown aggregate function: " + fn.lexeme());
+            }
+            expect(TokenType.LPAREN);
+            String attr = match(TokenType.STAR) ? null : expect(TokenType.IDENT).lexeme();
+            expect(TokenType.RPAREN);
+            String alias = match(TokenType.ARROW) ? expect(TokenType.IDENT).lexeme() : null;
+            try {
+                aggs.add(new AggCall(func, attr, alias));
+            } catch (IllegalArgumentException e) {
+                throw err(e.getMessage());
+            }
+        } while (match(TokenType.COMMA));
+        return aggs;
+    }
+
+    /** An aggregate starts with IDENT '(' — group attributes never do. */
+    private boolean startsAggregate() {
+        return check(TokenType.IDENT) && p + 1 < toks.size() && toks.get(p + 1).type() == TokenType.LPAREN;
+    }
+
     // ---------- token helpers ----------
 
     private boolean match(TokenType... types) {
@@ -237,6 +326,10 @@ public final class Parser {
     private boolean check(TokenType t) {
         return peek().type() == t;
     }
+    /** Contextual keyword (e.g. asc/desc/limit): an IDENT with this text, case-insensitive. */
+    private boolean checkWord(String word) {
+        return check(TokenType.IDENT) && peek().lexeme().equalsIgnoreCase(word);
+    }
     private Token advance() {
         if (!isAtEnd()) p++; return prev();
     }
@@ -14,7 +14,10 @@ package PARSER;
  *  - SIGMA (σ or "select")
  *  - PI (π or "project")
  *  - RHO (ρ or "rename")
- *  - JOIN (⨝ or "join")
+ *  - JOIN (⨝ or "join"), CROSS (× or "cross join")
+ *  - SEMIJOIN (⋉ or "semijoin"), ANTIJOIN (▷ or "antijoin")
+ *  - GAMMA (γ or "gamma"), with SEMI (;), STAR (*) and ARROW (-> or →) for aggregates
+ *  - TAU (τ, "tau" or "order by")
  *  - UNION (∪), INTERSECT (∩), MINUS (−)
  *  - IDENT, NUMBER, STRING
  *
@@ -24,9 +27,10 @@ package PARSER;
 public enum TokenType {
     // symbols
     LPAREN, RPAREN, COMMA, DOT, EQUAL, NOT_EQUAL, LT, LTE, GT, GTE,
-    UNION, INTERSECT, MINUS, JOIN, // ⨝, ∪, ∩, −
+    SEMI, STAR, ARROW, // ; * ->
+    UNION, INTERSECT, MINUS, JOIN, CROSS, SEMIJOIN, ANTIJOIN, // ∪, ∩, −, ⨝, ×, ⋉, ▷
     // keywords / operators
-    SIGMA, PI, RHO, SELECT, PROJECT, RENAME, AND, OR, NOT,
+    SIGMA, PI, RHO, GAMMA, TAU, SELECT, PROJECT, RENAME, AND, OR, NOT,
     IDENT, NUMBER, STRING,
     EOF
 }
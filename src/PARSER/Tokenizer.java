@@ -8,7 +8,7 @@ import java.util.*;
  *  - Read raw query input text
  *  - Skip whitespace and ignore irrelevant characters
  *  - Convert ASCII keywords ("select", "project", "join", etc.) and
- *    Greek symbols (σ, π, ρ, ⨝, ∪, ∩, −) into tokens
+ *    Greek symbols (σ, π, ρ, γ, τ, ⨝, ∪, ∩, −) into tokens
  *  - Recognize identifiers, numbers, and string literals
  *
  * Collaborators:
@@ -43,6 +43,8 @@ public final class Tokenizer {
                 case ',' -> { i++; out.add(tok(TokenType.COMMA, ",")); }
                 case '.' -> { i++; out.add(tok(TokenType.DOT, ".")); }
                 case '=' -> { i++; out.add(tok(TokenType.EQUAL, "=")); }
+                case ';' -> { i++; out.add(tok(TokenType.SEMI, ";")); }
+                case '*' -> { i++; out.add(tok(TokenType.STAR, "*")); }
                 case '!' -> { // !=
                     i++;
                     if (!eof() && peek()=='=') { i++; out.add(tok(TokenType.NOT_EQUAL, "!=")); }
@@ -51,15 +53,22 @@ public final class Tokenizer {
                 case '<' -> { i++; if (!eof() && peek()=='=') { i++; out.add(tok(TokenType.LTE,"<=")); } else out.add(tok(TokenType.LT,"<")); }
                 case '>' -> { i++; if (!eof() && peek()=='=') { i++; out.add(tok(TokenType.GTE,">=")); } else out.add(tok(TokenType.GT,">")); }
                 default -> {
-                    // symbols: ∪ ∩ − ⨝ σ π ρ
-                    if (c=='∪') { i++; out.add(tok(TokenType.UNION,"∪")); }
+                    // symbols: ∪ ∩ − ⨝ × ⋉ ▷ σ π ρ γ →
+                    if (c=='-' && i + 1 < s.length() && s.charAt(i + 1)=='>') { i += 2; out.add(tok(TokenType.ARROW,"->")); }
+                    else if (c=='→') { i++; out.add(tok(TokenType.ARROW,"→")); }
+                    else if (c=='∪') { i++; out.add(tok(TokenType.UNION,"∪")); }
                     else if (c=='∩') { i++; out.add(tok(TokenType.INTERSECT,"∩")); }
                     else if (c=='−' || c=='-') { i++; out.add(tok(TokenType.MINUS,"-")); }
                     else if (c=='⨝') { i++; out.add(tok(TokenType.JOIN,"⨝")); }
                     else if (c=='⋈') { i++; out.add(tok(TokenType.JOIN,"⋈")); }
+                    else if (c=='×') { i++; out.add(tok(TokenType.CROSS,"×")); }
+                    else if (c=='⋉') { i++; out.add(tok(TokenType.SEMIJOIN,"⋉")); }
+                    else if (c=='▷') { i++; out.add(tok(TokenType.ANTIJOIN,"▷")); }
                     else if (c=='σ') { i++; out.add(tok(TokenType.SIGMA,"σ")); }
                     else if (c=='π') { i++; out.add(tok(TokenType.PI,"π")); }
                     else if (c=='ρ') { i++; out.add(tok(TokenType.RHO,"ρ")); }
+                    else if (c=='γ') { i++; out.add(tok(TokenType.GAMMA,"γ")); }
+                    else if (c=='τ') { i++; out.add(tok(TokenType.TAU,"τ")); }
                     else if (Character.isDigit(c)) {
                         out.add(number());
                     } else if (c=='\'' || c=='"') {
@@ -84,19 +93,41 @@ public final class Tokenizer {
             case "select", "sigma" -> tok(TokenType.SIGMA, raw);
             case "project", "pi" -> tok(TokenType.PI, raw);
             case "rename", "rho" -> tok(TokenType.RHO, raw);
+            case "gamma" -> tok(TokenType.GAMMA, raw);
+            case "tau" -> tok(TokenType.TAU, raw);
+            case "order" -> consumeWord("by") ? tok(TokenType.TAU, raw + " by") : tok(TokenType.IDENT, raw);
             case "and" -> tok(TokenType.AND, raw);
             case "or"  -> tok(TokenType.OR, raw);
             case "not" -> tok(TokenType.NOT, raw);
             case "join"-> tok(TokenType.JOIN, raw);
+            case "semijoin" -> tok(TokenType.SEMIJOIN, raw);
+            case "antijoin" -> tok(TokenType.ANTIJOIN, raw);
+            case "cross" -> consumeWord("join") ? tok(TokenType.CROSS, raw + " join") : tok(TokenType.IDENT, raw);
             case "union" -> tok(TokenType.UNION, raw);
             case "intersect" -> tok(TokenType.INTERSECT, raw);
             default -> tok(TokenType.IDENT, raw);
         };
     }
 
+    /** If the next word (after whitespace) is {@code word}, consume it and return true. */
+    private boolean consumeWord(String word) {
+        int j = i;
+        while (j < s.length() && Character.isWhitespace(s.charAt(j))) j++;
+        int end = j + word.length();
+        if (end > s.length() || !s.regionMatches(true, j, word, 0, word.length())) return false;
+        if (end < s.length() && (Character.isLetterOrDigit(s.charAt(end)) || s.charAt(end) == '_')) return false;
+        i = end;
+        return true;
+    }
+
     private Token number() {
         int start = i;
         while (!eof() && Character.isDigit(peek())) i++;
+        // decimal part (DOUBLE literal), only when a digit follows the '.'
+        if (i + 1 < s.length() && s.charAt(i) == '.' && Character.isDigit(s.charAt(i + 1))) {
+            i++;
+            while (!eof() && Character.isDigit(peek())) i++;
+        }
         return tok(TokenType.NUMBER, s.substring(start, i));
     }
 
@@ -16,9 +16,15 @@
  * <h3>Supported grammar</h3>
  * <ul>
  *   <li><b>Selection (σ)</b> — <code>σ condition (expr)</code></li>
- *   <li><b>Projection (π)</b> — <code>π attr1, attr2 (expr)</code></li>
+ *   <li><b>Projection (π)</b> — <code>π attr1, attr2 (expr)</code> (duplicates removed);
+ *       <code>π bag attr1, attr2 (expr)</code> keeps duplicates</li>
  *   <li><b>Rename (ρ)</b> — <code>ρ NewName (expr)</code></li>
- *   <li><b>Join (⋈)</b> — <code>expr ⨝ condition expr</code></li>
+ *   <li><b>Sort / top-k (τ, order by)</b> — <code>τ attr1 desc, attr2 [limit n] (expr)</code></li>
+ *   <li><b>Aggregation (γ)</b> — <code>γ attr1, attr2; count(*), avg(attr3) -&gt; Alias (expr)</code></li>
+ *   <li><b>Join (⋈)</b> — <code>expr ⨝ condition expr</code>; without a condition a natural join
+ *       on the common attributes; <code>expr × expr</code> for the Cartesian product</li>
+ *   <li><b>Semi-/anti-join (⋉, ▷)</b> — <code>expr ⋉ [condition] expr</code>,
+ *       <code>expr ▷ [condition] expr</code></li>
  *   <li><b>Set operations</b> — <code>expr ∪ expr</code>, <code>expr ∩ expr</code>, <code>expr − expr</code></li>
  *   <li><b>Parentheses</b> — <code>(expr)</code></li>
  *   <li><b>Base relations</b> — identifiers resolve to {@link PARSER.EXPR.RelationRef} nodes.</li>
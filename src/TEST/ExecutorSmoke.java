@@ -4,12 +4,25 @@ import CORE.*;
 import EXECUTOR.*;
 import PARSER.*;
 import PARSER.EXPR.*;
+import UI.RelaxConsole;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public class ExecutorSmoke {
     public static void main(String[] args) {
+        // partitioned join, set operation and γ paths run (and are checked against serial results) on any machine
+        if (System.getProperty("relax.workers") == null) System.setProperty("relax.workers", "4");
+
         // ------------------ Build base tables ------------------
         Schema empSchema = new Schema(List.of(
                 new Attribute("EID", DataType.STRING),
@@ -93,5 +106,942 @@ public class ExecutorSmoke {
         InMemoryTable res6 = evaluator2.eval(ast6);
         System.out.println("Minus: " + q6);
         res6.rows().forEach(r -> System.out.println(r.asMap()));
+        System.out.println();
+
+        // ------------------ 7) Query limits / cancellation ------------------
+        var limited = new EvaluationContext(Map.of("Employees", employees, "Takes", takes),
+                QueryLimits.NONE.withMaxRows(5));
+        String q7 = "Employees × Takes";
+        try {
+            new ExprEvaluator(limited).eval(new Parser(q7).parse());
+            throw new IllegalStateException("row limit should abort " + q7);
+        } catch (QueryAbortedException e) {
+            System.out.println("Row limit: " + q7 + " -> " + e.getMessage());
+        }
+        QueryGuard cancelled = new QueryGuard(QueryLimits.NONE);
+        cancelled.cancel();
+        try {
+            evaluator.eval(new Parser(q7).parse(), cancelled);
+            throw new IllegalStateException("cancelled guard should abort " + q7);
+        } catch (QueryAbortedException e) {
+            System.out.println("Cancel: " + q7 + " -> " + e.reason());
+        }
+        Schema wideSchema = new Schema(List.of(new Attribute("L", DataType.INT)));
+        InMemoryTable wideL = new InMemoryTable(wideSchema);
+        InMemoryTable wideR = new InMemoryTable(new Schema(List.of(new Attribute("R", DataType.INT))));
+        for (int i = 0; i < 5_000; i++) {
+            wideL.add(InMemoryRow.empty().with("L", i));
+            wideR.add(InMemoryRow.empty().with("R", i));
+        }
+        String q7t = "WideL × WideR";                                      // 25M rows
+        QueryGuard timed = new QueryGuard(QueryLimits.NONE.withTimeoutMillis(50));
+        try {
+            new ExprEvaluator(new EvaluationContext(Map.of("WideL", wideL, "WideR", wideR)))
+                    .eval(new Parser(q7t).parse(), timed);
+            throw new IllegalStateException("timeout should abort " + q7t);
+        } catch (QueryAbortedException e) {
+            System.out.println("Timeout: " + q7t + " -> " + e.reason() + " after " + timed.rowsMaterialized()
+                    + " rows, " + timed.releasedTables() + " intermediate tables released");
+            if (e.reason() != QueryAbortedException.Reason.TIMEOUT || timed.releasedTables() == 0) {
+                throw new IllegalStateException("timeout did not abort " + q7t + " and release its intermediates");
+            }
+        }
+
+
+        // ------------------ 8) Shared subexpressions ------------------
+        String q8 = "(σ X > 1 (A)) ∪ (σ X > 1 (A) ∩ B)";
+        QueryGuard counting = new QueryGuard(QueryLimits.NONE);
+        InMemoryTable res8 = evaluator2.eval(new Parser(q8).parse(), counting);
+        System.out.println("Shared σ: " + q8 + " -> rows materialized " + counting.rowsMaterialized());
+        res8.rows().forEach(r -> System.out.println(r.asMap()));
+        if (counting.rowsMaterialized() != 3) {
+            throw new IllegalStateException("shared σ should be evaluated once");
+        }
+
+
+        // ------------------ 9) Materialized view maintenance ------------------
+        String q9 = "(σ Age > 28 (Employees) ⨝ EID=SID (Takes)) ∪ (Employees ⨝ EID=SID Takes)";
+        MaterializedView view = MaterializedView.create("V", new Parser(q9).parse(), ctx);
+        employees.add(InMemoryRow.empty().with("EID", "E4").with("Name", "Dana").with("Age", 41));
+        takes.remove(InMemoryRow.empty().with("SID", "E1").with("Course", "COMP3005"));
+        takes.add(InMemoryRow.empty().with("SID", "E3").with("Course", "COMP3007"));
+        InMemoryTable fresh = evaluator.eval(new Parser(q9).parse());
+        System.out.println("View: " + q9);
+        view.table().rows().forEach(r -> System.out.println(r.asMap()));
+        if (!new java.util.HashSet<>(view.table().rows()).equals(new java.util.HashSet<>(fresh.rows()))
+                || view.table().size() != fresh.size()) {
+            throw new IllegalStateException("materialized view diverged from re-evaluation");
+        }
+        view.detach();
+
+
+        // ------------------ 10) Aggregation (γ) ------------------
+        Schema bigSchema = new Schema(List.of(
+                new Attribute("G", DataType.INT),
+                new Attribute("V", DataType.INT)
+        ));
+        InMemoryTable big = new InMemoryTable(bigSchema);
+        for (int i = 0; i < 120_000; i++) big.add(InMemoryRow.empty().with("G", i % 3).with("V", i % 1000));
+        var ctx3 = new EvaluationContext(Map.of("Big", big));
+        String q10 = "γ G; count(*), sum(V), min(V), max(V) (Big)";
+        InMemoryTable res10 = new ExprEvaluator(ctx3).eval(new Parser(q10).parse());
+        System.out.println("Aggregation: " + q10);
+        res10.rows().forEach(r -> System.out.println(r.asMap()));
+        for (InMemoryRow r : res10.rows()) {
+            int g = (Integer) r.asMap().get("G");
+            long expectedSum = 0;
+            int expectedMin = Integer.MAX_VALUE;
+            for (int i = g; i < 120_000; i += 3) {
+                expectedSum += i % 1000;
+                expectedMin = Math.min(expectedMin, i % 1000);
+            }
+            if ((Integer) r.asMap().get("count") != 40_000 || (Integer) r.asMap().get("sum_V") != expectedSum
+                    || (Integer) r.asMap().get("min_V") != expectedMin) {
+                throw new IllegalStateException("wrong aggregate for group " + g + ": " + r.asMap());
+            }
+        }
+
+
+        // ------------------ 11) Sort / top-k (τ) ------------------
+        var evaluator3 = new ExprEvaluator(ctx3);
+        InMemoryTable full = evaluator3.eval(new Parser("τ V desc, G (Big)").parse());
+        InMemoryTable top = evaluator3.eval(new Parser("order by V desc, G limit 10 (Big)").parse());
+        System.out.println("Top-k: order by V desc, G limit 10 (Big)");
+        top.rows().forEach(r -> System.out.println(r.asMap()));
+        if (!top.rows().equals(full.rows().subList(0, 10))) {
+            throw new IllegalStateException("top-k must equal the prefix of the full sort");
+        }
+        InMemoryTable streamed = evaluator3.eval(new Parser("γ G; count(*) (τ G (Big))").parse());
+        System.out.println("Streaming γ over τ: " + streamed.rows().size() + " groups");
+        if (streamed.size() != 3 || streamed.rows().stream().anyMatch(r -> (Integer) r.asMap().get("count") != 40_000)) {
+            throw new IllegalStateException("streaming aggregation over sorted input is wrong");
+        }
+
+
+        // ------------------ 12) Projection: set vs bag semantics ------------------
+        InMemoryTable distinctG = evaluator3.eval(new Parser("π G (Big)").parse());
+        InMemoryTable bagG = evaluator3.eval(new Parser("π bag G (Big)").parse());
+        System.out.println("π G (Big): " + distinctG.size() + " rows, π bag G (Big): " + bagG.size() + " rows");
+        if (distinctG.size() != 3 || bagG.size() != 120_000) {
+            throw new IllegalStateException("projection must deduplicate unless in bag mode");
+        }
+        MaterializedView groups = MaterializedView.create("Groups", new Parser("π G (σ V < 2 (Big))").parse(), ctx3);
+        big.remove(InMemoryRow.empty().with("G", 1).with("V", 1));   // one of many rows deriving G=1
+        boolean stillThere = groups.table().rows().contains(InMemoryRow.empty().with("G", 1));
+        System.out.println("View π G after deleting one derivation of G=1: " + groups.table().size() + " rows");
+        if (!stillThere || groups.table().size() != 3) {
+            throw new IllegalStateException("counting-based deletion removed a row that still has derivations");
+        }
+        groups.detach();
+        InMemoryTable viewed = new InMemoryTable(new Schema(List.of(new Attribute("Id", DataType.INT), new Attribute("G", DataType.INT))));
+        for (int i = 0; i < 60_000; i++) viewed.add(InMemoryRow.empty().with("Id", i).with("G", i % 7));
+        var eventCtx = new EvaluationContext(Map.of("Events", viewed));
+        MaterializedView allEvents = MaterializedView.create("AllEvents", new Parser("σ Id >= 0 (Events)").parse(), eventCtx);
+        MaterializedView eventGroups = MaterializedView.create("EventGroups", new Parser("π bag G (Events)").parse(), eventCtx);
+        for (int i = 0; i < 40_000; i++) viewed.remove(InMemoryRow.empty().with("Id", i).with("G", i % 7));   // oldest first
+        for (int i = 0; i < 100; i++) viewed.add(InMemoryRow.empty().with("Id", i).with("G", i % 7));
+        var eventEvaluator = new ExprEvaluator(eventCtx);
+        boolean viewsMatch = counts(allEvents.table()).equals(counts(eventEvaluator.eval(new Parser("σ Id >= 0 (Events)").parse())))
+                && counts(eventGroups.table()).equals(counts(eventEvaluator.eval(new Parser("π bag G (Events)").parse())));
+        System.out.println("Views after deleting 40000 of 60000 rows: " + allEvents.table().size() + " and " + eventGroups.table().size() + " rows");
+        if (!viewsMatch || allEvents.table().size() != 20_100 || eventGroups.table().size() != 20_100) {
+            throw new IllegalStateException("view tables lost track of their rows under deletions");
+        }
+        allEvents.detach();
+        eventGroups.detach();
+
+
+        // ------------------ 13) Natural join (hash join on common attributes) ------------------
+        Schema factSchema = new Schema(List.of(new Attribute("K", DataType.INT), new Attribute("V", DataType.INT)));
+        Schema dimSchema = new Schema(List.of(new Attribute("K", DataType.INT), new Attribute("Label", DataType.STRING)));
+        InMemoryTable fact = new InMemoryTable(factSchema);
+        InMemoryTable dim = new InMemoryTable(dimSchema);
+        for (int i = 0; i < 100_000; i++) fact.add(InMemoryRow.empty().with("K", i % 5_000).with("V", i));
+        for (int k = 0; k < 5_000; k += 2) dim.add(InMemoryRow.empty().with("K", k).with("Label", "k" + k));
+        var ctx4 = new EvaluationContext(Map.of("Fact", fact, "Dim", dim, "Big", big));
+        var evaluator4 = new ExprEvaluator(ctx4);
+        InMemoryTable natural = evaluator4.eval(new Parser("Fact ⋈ Dim").parse());
+        System.out.println("Natural join: Fact ⋈ Dim -> " + natural.size() + " rows, schema " + natural.schema());
+        if (natural.size() != 50_000 || natural.schema().size() != 3
+                || natural.rows().stream().anyMatch(r -> !r.asMap().get("Label").equals("k" + r.asMap().get("K")))) {
+            throw new IllegalStateException("natural join must match on K and emit it once");
+        }
+        try {
+            evaluator4.eval(new Parser("Dim ⋈ Big").parse());
+            throw new IllegalStateException("natural join without common attributes must be rejected");
+        } catch (IllegalArgumentException e) {
+            System.out.println("Dim ⋈ Big -> " + e.getMessage());
+        }
+        InMemoryTable cross = evaluator.eval(new Parser("Employees cross join Takes").parse());
+        System.out.println("Cross join: Employees cross join Takes -> " + cross.size() + " rows");
+        if (cross.size() != employees.size() * takes.size()) {
+            throw new IllegalStateException("explicit cross join must produce the Cartesian product");
+        }
+
+
+        // ------------------ 14) Semi-join / anti-join ------------------
+        InMemoryTable semi = evaluator4.eval(new Parser("Fact ⋉ Dim").parse());
+        InMemoryTable anti = evaluator4.eval(new Parser("Fact antijoin Dim").parse());
+        System.out.println("Fact ⋉ Dim: " + semi.size() + " rows, Fact ▷ Dim: " + anti.size() + " rows");
+        if (semi.size() != 50_000 || anti.size() != 50_000 || semi.schema() != fact.schema()
+                || anti.rows().stream().anyMatch(r -> (Integer) r.asMap().get("K") % 2 == 0)) {
+            throw new IllegalStateException("semi-/anti-join must split Fact by key presence in Dim");
+        }
+        QueryGuard labels = new QueryGuard(QueryLimits.NONE);
+        InMemoryTable usedLabels = evaluator4.eval(new Parser("π Label (Fact ⋈ Dim)").parse(), labels);
+        System.out.println("π Label (Fact ⋈ Dim): " + usedLabels.size() + " rows, materialized " + labels.rowsMaterialized());
+        if (usedLabels.size() != 2_500 || labels.rowsMaterialized() > 5_000) {
+            throw new IllegalStateException("π over a join should be rewritten into a semi-join");
+        }
+        MaterializedView orphans = MaterializedView.create("Orphans", new Parser("Dim ▷ Fact").parse(), ctx4);
+        for (int i = 0; i < 100_000; i += 5_000) fact.remove(InMemoryRow.empty().with("K", 0).with("V", i));
+        System.out.println("View Dim ▷ Fact after deleting K=0 facts: " + orphans.table().rows().get(0).asMap());
+        if (orphans.table().size() != 1 || !orphans.table().rows().get(0).asMap().get("K").equals(0)) {
+            throw new IllegalStateException("anti-join view must gain the row whose last match was deleted");
+        }
+        orphans.detach();
+
+
+        // ------------------ 15) Runtime Bloom filters on a star join ------------------
+        Schema tagSchema = new Schema(List.of(new Attribute("V", DataType.INT), new Attribute("Tag", DataType.STRING)));
+        InMemoryTable tags = new InMemoryTable(tagSchema);
+        for (int v = 0; v < 100_000; v += 10) tags.add(InMemoryRow.empty().with("V", v).with("Tag", "t" + (v % 100)));
+        var ctx5 = new EvaluationContext(Map.of("Fact", fact, "Dim", dim, "Tags", tags));
+        String q15 = "(σ V >= 0 (Fact) ⋈ σ Tag = 't0' (Tags)) ⋈ σ Label = 'k100' (Dim)";
+        QueryGuard star = new QueryGuard(QueryLimits.NONE);
+        InMemoryTable res15 = new ExprEvaluator(ctx5).eval(new Parser(q15).parse(), star);
+        System.out.println("Star join: " + q15 + " -> " + res15.size() + " rows, materialized " + star.rowsMaterialized());
+        if (res15.size() != 20 || star.rowsMaterialized() > 3_000) {
+            throw new IllegalStateException("dimension keys should filter the fact scan before the joins");
+        }
+
+
+        // ------------------ 16) Zone maps: chunk skipping on append-ordered data ------------------
+        Schema seriesSchema = new Schema(List.of(new Attribute("Ts", DataType.INT), new Attribute("Val", DataType.DOUBLE)));
+        InMemoryTable series = new InMemoryTable(seriesSchema);
+        for (int t = 0; t < 200_000; t++) series.add(InMemoryRow.empty().with("Ts", t).with("Val", t * 0.5));
+        var evaluator6 = new ExprEvaluator(new EvaluationContext(Map.of("Series", series)));
+        InMemoryTable recent = evaluator6.eval(new Parser("σ Ts >= 199000 (Series)").parse());
+        InMemoryTable recentScan = evaluator6.eval(new Parser("σ not (Ts < 199000) (Series)").parse());
+        System.out.println("Zone maps: σ Ts >= 199000 -> " + recent.size() + " rows");
+        if (recent.size() != 1_000 || !recent.rows().equals(recentScan.rows())) {
+            throw new IllegalStateException("zone-map skipping changed the result");
+        }
+        series.add(InMemoryRow.empty().with("Ts", 250_000).with("Val", null));  // appended after the map was built
+        series.remove(InMemoryRow.empty().with("Ts", 199_500).with("Val", 99_750.0));
+        InMemoryTable afterChanges = evaluator6.eval(new Parser("σ Ts >= 199000 and 'x' = 'x' (Series)").parse());
+        InMemoryTable between = evaluator6.eval(new Parser("σ 100 > Ts and Ts > 97 (Series)").parse());
+        System.out.println("After append/remove: " + afterChanges.size() + " rows; σ 100 > Ts and Ts > 97: " + between.size() + " rows");
+        if (afterChanges.size() != 1_000 || between.size() != 2) {
+            throw new IllegalStateException("zone map out of date after append/remove");
+        }
+
+
+        // ------------------ 17) Statistics and natural-join ordering ------------------
+        TableStats seriesStats = series.analyze();
+        ColumnStats ts = seriesStats.column("Ts");
+        double recentSel = ts.selectivity(Op.GTE, 150_000, seriesStats.rowCount());
+        System.out.printf("Stats Series: rows=%d, ndv(Ts)=%d, nulls(Val)=%d, sel(Ts >= 150000)=%.4f%n",
+                seriesStats.rowCount(), ts.distinct(), seriesStats.column("Val").nullCount(), recentSel);
+        if (Math.abs(ts.distinct() - 200_000) > 10_000 || ts.distinct() > seriesStats.rowCount()
+                || seriesStats.column("Val").nullCount() != 1
+                || Math.abs(recentSel - 0.25) > 0.02) {
+            throw new IllegalStateException("column statistics are off");
+        }
+        InMemoryTable sparse = new InMemoryTable(new Schema(List.of(new Attribute("V", DataType.INT))));
+        for (int i = 0; i < 4; i++) sparse.add(InMemoryRow.empty().with("V", i < 3 ? null : i));
+        TableStats sparseStats = sparse.analyze();
+        for (int i = 0; i < 3; i++) sparse.remove(InMemoryRow.empty().with("V", null));
+        double sparseSel = sparseStats.column("V").selectivity(Op.LTE, 3, sparseStats.rowCount());
+        if (sparseStats.column("V").nullCount() != 0 || sparseSel < 0 || sparseSel > 1) {
+            throw new IllegalStateException("null count not maintained on removal: sel=" + sparseSel);
+        }
+        fact.analyze();
+        dim.analyze();
+        tags.analyze();
+        String q17 = "Fact ⋈ Tags ⋈ σ Label = 'k100' (Dim)";
+        QueryGuard ordered = new QueryGuard(QueryLimits.NONE);
+        InMemoryTable res17 = new ExprEvaluator(ctx5).eval(new Parser(q17).parse(), ordered);
+        System.out.println("Join order: " + q17 + " -> " + res17.size() + " rows " + res17.schema()
+                + ", materialized " + ordered.rowsMaterialized());
+        if (res17.size() != 20 || !res17.schema().toString().equals("[K:INT, V:INT, Tag:STRING, Label:STRING]")
+                || ordered.rowsMaterialized() > 1_000) {
+            throw new IllegalStateException("natural-join chain should start from the selective dimension");
+        }
+
+        // ------------------ 18) Arrow IPC export ------------------
+        InMemoryTable mixed = new InMemoryTable(new Schema(List.of(
+                new Attribute("Id", DataType.INT), new Attribute("Name", DataType.STRING),
+                new Attribute("Score", DataType.DOUBLE), new Attribute("Active", DataType.BOOL))));
+        mixed.add(InMemoryRow.empty().with("Id", 1).with("Name", "Zoë").with("Score", 1.5).with("Active", true));
+        mixed.add(InMemoryRow.empty().with("Id", 2).with("Name", null).with("Score", null).with("Active", false));
+        mixed.add(InMemoryRow.empty().with("Id", 3).with("Name", "c").with("Score", 2.5).with("Active", null));
+        try {
+            Path file = Files.createTempFile("relax", ".arrow");
+            ArrowWriter.write(mixed, file);
+            ByteBuffer b = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            int footer = b.limit() - 10 - b.getInt(b.limit() - 10);
+            int root = deref(b, footer);
+            int fields = deref(b, field(b, deref(b, field(b, root, 1)), 1));
+            StringBuilder names = new StringBuilder();
+            for (int i = 0; i < b.getInt(fields); i++) {
+                int f = deref(b, fields + 4 + 4 * i);
+                names.append(string(b, deref(b, field(b, f, 0)))).append(':').append(b.get(field(b, f, 2))).append(' ');
+            }
+            int blocks = deref(b, field(b, root, 3));
+            long msg = b.getLong(blocks + 4), meta = b.getInt(blocks + 12);
+            int batch = deref(b, field(b, deref(b, (int) msg + 8), 2));
+            int nodes = deref(b, field(b, batch, 1)), buffers = deref(b, field(b, batch, 2));
+            int body = (int) (msg + meta);
+            // Name column: node 1, buffers 2 (validity), 3 (offsets), 4 (data)
+            int offsets = body + (int) b.getLong(buffers + 4 + 16 * 3), data = body + (int) b.getLong(buffers + 4 + 16 * 4);
+            String first = new String(b.array(), data, b.getInt(offsets + 4), StandardCharsets.UTF_8);
+            System.out.println("Arrow export: " + new String(b.array(), 0, 6, StandardCharsets.US_ASCII) + " "
+                    + names.toString().trim() + ", rows=" + b.getLong(field(b, batch, 0))
+                    + ", Id[2]=" + b.getInt(body + (int) b.getLong(buffers + 4 + 16 + 8 * 0) + 8)
+                    + ", Name[0]=" + first + ", nulls(Name)=" + b.getLong(nodes + 4 + 16 + 8));
+            if (b.getInt(blocks) != 1 || b.getLong(field(b, batch, 0)) != 3 || !first.equals("Zoë")
+                    || !names.toString().equals("Id:2 Name:5 Score:3 Active:6 ")
+                    || b.getLong(nodes + 4 + 16 + 8) != 1 || msg % 8 != 0 || (blocks + 4) % 8 != 0) {
+                throw new IllegalStateException("Arrow file does not read back");
+            }
+
+            ArrowWriter.write(fact, file);
+            ByteBuffer factFile = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+            int factRoot = deref(factFile, factFile.limit() - 10 - factFile.getInt(factFile.limit() - 10));
+            int batches = factFile.getInt(deref(factFile, field(factFile, factRoot, 3)));
+            System.out.println("Arrow export of Fact: " + batches + " record batches, " + factFile.limit() + " bytes");
+            if (batches != (fact.size() + ArrowWriter.BATCH_ROWS - 1) / ArrowWriter.BATCH_ROWS) {
+                throw new IllegalStateException("large results should be split into record batches");
+            }
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // ------------------ 19) Predicate simplification ------------------
+        int older = evaluator.eval(new Parser("σ Age > 30 (Employees)").parse()).size();
+        int folded = evaluator.eval(new Parser("σ not (Age <= 30) and 1 = 1 (Employees)").parse()).size();
+        int small = evaluator4.eval(new Parser("σ V < 10 (Fact)").parse()).size();
+        int doubleNeg = evaluator4.eval(new Parser("σ not (not (V < 10)) or 2 < 1 (Fact)").parse()).size();
+        QueryGuard never = new QueryGuard(QueryLimits.NONE);
+        InMemoryTable none = new ExprEvaluator(ctx4).eval(
+                new Parser("σ V > 3 and 1 = 2 (σ V >= 0 (Fact))").parse(), never);
+        System.out.println("Simplified: not (Age <= 30) and 1 = 1 -> " + folded + " rows (Age > 30: " + older
+                + "), not not (V < 10) -> " + doubleNeg + " rows, contradiction -> " + none.size()
+                + " rows " + none.schema() + ", materialized " + never.rowsMaterialized());
+        if (folded != older || doubleNeg != small || none.size() != 0 || never.rowsMaterialized() != 0
+                || !none.schema().toString().equals(fact.schema().toString())) {
+            throw new IllegalStateException("predicate simplification changed a result");
+        }
+        InMemoryTable withNull = new InMemoryTable(employees.schema());
+        withNull.add(InMemoryRow.empty().with("EID", "N1").with("Name", "Young").with("Age", 20));
+        withNull.add(InMemoryRow.empty().with("EID", "N2").with("Name", "Old").with("Age", 35));
+        withNull.add(InMemoryRow.empty().with("EID", "N3").with("Name", "Unknown").with("Age", null));
+        var nullEvaluator = new ExprEvaluator(new EvaluationContext(Map.of("N", withNull)));
+        for (String c : List.of("not (Age <= 30)", "not (Age = 20)", "not (Age = 20 or Age > 100)", "not (Age < 30 and 1 = 1)")) {
+            Selection sel = (Selection) new Parser("σ " + c + " (N)").parse();
+            int kept = 0;
+            for (InMemoryRow r : withNull.rows()) if (Boolean.TRUE.equals(sel.condition().eval(r.asMap()))) kept++;
+            int simplified = nullEvaluator.eval(sel).size();
+            if (simplified != kept || kept != 1) {
+                throw new IllegalStateException("σ " + c + " kept " + simplified + " rows, the condition holds for " + kept);
+            }
+        }
+
+        // ------------------ 20) Typed comparisons over DOUBLE columns ------------------
+        InMemoryTable readings = new InMemoryTable(new Schema(List.of(
+                new Attribute("Id", DataType.INT), new Attribute("Salary", DataType.DOUBLE))));
+        for (int i = 0; i < 5_000; i++) {
+            readings.add(InMemoryRow.empty().with("Id", i).with("Salary", i % 100 == 7 ? null : i / 2.0));
+        }
+        var evaluator7 = new ExprEvaluator(new EvaluationContext(Map.of("Readings", readings)));
+        int above = evaluator7.eval(new Parser("σ Salary > 30 (Readings)").parse()).size();
+        int crossType = evaluator7.eval(new Parser("σ Salary >= Id and Id < 10 (Readings)").parse()).size();
+        int exact = evaluator7.eval(new Parser("σ Salary = 2 or Salary = 2.5 (Readings)").parse()).size();
+        int notBelow = evaluator7.eval(new Parser("σ not (Salary < 2490.5) (Readings)").parse()).size();
+        readings.analyze();
+        int analyzed = evaluator7.eval(new Parser("σ Salary > 30 (Readings)").parse()).size();
+        System.out.println("DOUBLE column: Salary > 30 -> " + above + " rows (after :analyze " + analyzed
+                + "), Salary >= Id and Id < 10 -> " + crossType + ", Salary = 2 or 2.5 -> " + exact
+                + ", not (Salary < 2490.5) -> " + notBelow);
+        // Salary > 30 ⇔ Id > 60, minus the 50 null salaries (Id % 100 == 7) among Id 61..4999
+        if (above != 4_939 - 49 || analyzed != above || crossType != 1 || exact != 2 || notBelow != 19) {
+            throw new IllegalStateException("typed comparison over DOUBLE is wrong");
+        }
+        try {
+            evaluator7.eval(new Parser("σ Salary > 'high' (Readings)").parse());
+            throw new IllegalStateException("ordering DOUBLE against STRING should be rejected");
+        } catch (IllegalArgumentException expected) {
+            System.out.println("Salary > 'high' -> " + expected.getMessage());
+        }
+
+        // ------------------ 21) Adaptive conjunct ordering ------------------
+        InMemoryTable events = new InMemoryTable(new Schema(List.of(
+                new Attribute("Id", DataType.INT), new Attribute("Bucket", DataType.INT),
+                new Attribute("Path", DataType.STRING))));
+        String prefix = "/var/log/relax/" + "segment/".repeat(20);
+        for (int i = 0; i < 200_000; i++) {
+            events.add(InMemoryRow.empty().with("Id", i).with("Bucket", i % 1000).with("Path", prefix + (i % 1000)));
+        }
+        var evaluator8 = new ExprEvaluator(new EvaluationContext(Map.of("Events", events)));
+        String slowFirst = "σ Path != '" + prefix + "x' and Path >= '" + prefix + "' and Bucket = 7 (Events)";
+        String fastFirst = "σ Bucket = 7 and Path != '" + prefix + "x' and Path >= '" + prefix + "' (Events)";
+        String anyOf = "σ Path = '" + prefix + "x' or Id = 3 or Id = 99999 (Events)";
+        int slowRows = evaluator8.eval(new Parser(slowFirst).parse()).size();
+        int fastRows = evaluator8.eval(new Parser(fastFirst).parse()).size();
+        int orRows = evaluator8.eval(new Parser(anyOf).parse()).size();
+        String learned = evaluator8.explain(new Parser(slowFirst).parse()).lines()
+                .filter(l -> l.contains("terms in learned order")).findFirst().orElse("");
+        System.out.println("Adaptive AND: written slow-first " + slowRows + " rows, fast-first " + fastRows
+                + " rows; OR chain -> " + orRows + " rows; selective term first: " + learned.contains("learned order: (Bucket EQ 7)"));
+        if (slowRows != 200 || fastRows != 200 || orRows != 2) {
+            throw new IllegalStateException("reordering conjuncts changed a result");
+        }
+        if (!learned.contains("learned order: (Bucket EQ 7), ")) {
+            throw new IllegalStateException("the rarely passing Bucket = 7 should be learned to run first: " + learned);
+        }
+
+        // ------------------ 22) Join algorithm picked from actual input sizes ------------------
+        InMemoryTable orders = new InMemoryTable(new Schema(List.of(
+                new Attribute("OK", DataType.INT), new Attribute("Cust", DataType.INT))));
+        InMemoryTable customers = new InMemoryTable(new Schema(List.of(
+                new Attribute("Cust", DataType.INT), new Attribute("Lim", DataType.INT))));
+        InMemoryTable flags = new InMemoryTable(new Schema(List.of(
+                new Attribute("Cust", DataType.INT), new Attribute("Flag", DataType.BOOL))));
+        for (int i = 0; i < 3_000; i++) orders.add(InMemoryRow.empty().with("OK", i).with("Cust", i % 500));
+        for (int c = 0; c < 500; c++) customers.add(InMemoryRow.empty().with("Cust", c).with("Lim", c * 7 % 1000));
+        for (int c = 0; c < 3; c++) flags.add(InMemoryRow.empty().with("Cust", c).with("Flag", c == 1));
+        var evaluator9 = new ExprEvaluator(new EvaluationContext(
+                Map.of("Orders", orders, "Customers", customers, "Flags", flags)));
+
+        String hashPlan = evaluator9.explain(new Parser("Orders ⋈ Customers").parse());
+        String tinyPlan = evaluator9.explain(new Parser("σ Cust < 10 (Customers) ⋈ Flags").parse());
+        String mergePlan = evaluator9.explain(new Parser("τ Cust (Orders) ⋈ τ Cust (Customers)").parse());
+        Set<InMemoryRow> hashed = new HashSet<>(evaluator9.eval(new Parser("Orders ⋈ Customers").parse()).rows());
+        Set<InMemoryRow> merged = new HashSet<>(evaluator9.eval(new Parser("τ Cust (Orders) ⋈ τ Cust (Customers)").parse()).rows());
+        int tinyRows = evaluator9.eval(new Parser("σ Cust < 10 (Customers) ⋈ Flags").parse()).size();
+        System.out.print("Explain Orders ⋈ Customers:\n" + hashPlan);
+        System.out.print("Explain τ Cust (Orders) ⋈ τ Cust (Customers):\n" + mergePlan);
+        if (!hashPlan.contains("hash join, build right: 500 rows") || !tinyPlan.contains("nested loop")
+                || !mergePlan.contains("merge join on [Cust]")) {
+            throw new IllegalStateException("unexpected join algorithms:\n" + hashPlan + tinyPlan + mergePlan);
+        }
+        if (hashed.size() != 3_000 || !hashed.equals(merged) || tinyRows != 3) {
+            throw new IllegalStateException("join algorithms disagree: hash " + hashed.size() + ", merge "
+                    + merged.size() + ", nested loop " + tinyRows);
+        }
+
+        String bandQuery = "Orders ⨝ OK < Lim and OK > 100 (π bag Lim (σ Cust < 50 (Customers)))";
+        String bandPlan = evaluator9.explain(new Parser(bandQuery).parse());
+        int banded = evaluator9.eval(new Parser(bandQuery).parse()).size();
+        int expectedBand = 0;
+        for (int c = 0; c < 50; c++) expectedBand += Math.max(0, Math.min(3_000, c * 7 % 1000) - 101);
+        System.out.println("Band join: " + bandQuery + " -> " + banded + " rows (expected " + expectedBand + ")");
+        if (banded != expectedBand || !bandPlan.contains("band join")) {
+            throw new IllegalStateException("inequality join is wrong:\n" + bandPlan);
+        }
+
+        // ------------------ 23) Parallel radix hash join with a skewed key ------------------
+        InMemoryTable clicks = new InMemoryTable(new Schema(List.of(
+                new Attribute("Page", DataType.INT), new Attribute("Seq", DataType.INT))));
+        InMemoryTable pages = new InMemoryTable(new Schema(List.of(
+                new Attribute("Page", DataType.INT), new Attribute("Title", DataType.STRING))));
+        for (int i = 0; i < 150_000; i++) {
+            clicks.add(InMemoryRow.empty().with("Page", i % 2 == 0 ? 0 : i % 40_000).with("Seq", i));
+        }
+        for (int pg = 0; pg < 30_000; pg++) pages.add(InMemoryRow.empty().with("Page", pg).with("Title", "p" + pg));
+        for (int dup = 0; dup < 3; dup++) pages.add(InMemoryRow.empty().with("Page", 0).with("Title", "home" + dup));
+        for (int dup = 0; dup < 6_000; dup++) pages.add(InMemoryRow.empty().with("Page", -1).with("Title", "draft"));
+        var evaluator10 = new ExprEvaluator(new EvaluationContext(Map.of("Clicks", clicks, "Pages", pages)));
+        long j0 = System.nanoTime();
+        InMemoryTable clicked = evaluator10.eval(new Parser("Clicks ⋈ Pages").parse());
+        long j1 = System.nanoTime();
+        String clickPlan = evaluator10.explain(new Parser("Clicks ⋈ Pages").parse());
+        long expectedClicks = 0, seqSum = 0, expectedSeqSum = 0;
+        for (int i = 0; i < 150_000; i++) {
+            int pg = i % 2 == 0 ? 0 : i % 40_000;
+            int matches = pg == 0 ? 4 : pg < 30_000 ? 1 : 0;
+            expectedClicks += matches;
+            expectedSeqSum += (long) matches * i;
+        }
+        for (InMemoryRow r : clicked.rows()) seqSum += (Integer) r.asMap().get("Seq");
+        System.out.printf("Skewed join: Clicks ⋈ Pages -> %d rows in %.1f ms on %s workers; %s",
+                clicked.size(), (j1 - j0) / 1e6, System.getProperty("relax.workers"),
+                clickPlan.lines().findFirst().orElse("") + System.lineSeparator());
+        if (!clickPlan.contains("parallel radix hash join")) {
+            throw new IllegalStateException("large join did not take the radix path:\n" + clickPlan);
+        }
+        if (clicked.size() != expectedClicks || seqSum != expectedSeqSum) {
+            throw new IllegalStateException("skewed join lost or duplicated rows: " + clicked.size() + " vs " + expectedClicks);
+        }
+
+        // ------------------ 24) Partitioned set operations (snapshot diff) ------------------
+        Schema snapshotSchema = new Schema(List.of(
+                new Attribute("Id", DataType.INT), new Attribute("State", DataType.STRING)));
+        InMemoryTable today = new InMemoryTable(snapshotSchema), yesterday = new InMemoryTable(snapshotSchema);
+        for (int i = 0; i < 60_000; i++) {
+            today.add(InMemoryRow.empty().with("Id", i).with("State", i % 10 == 0 ? "changed" : "same"));
+            yesterday.add(InMemoryRow.empty().with("Id", i + 5_000).with("State", "same"));
+        }
+        today.add(InMemoryRow.empty().with("Id", 1).with("State", "same"));        // duplicate row on the left
+        var evaluator11 = new ExprEvaluator(new EvaluationContext(Map.of("Today", today, "Yesterday", yesterday)));
+        List<InMemoryRow> unionRows = evaluator11.eval(new Parser("Today ∪ Yesterday").parse()).rows();
+        List<InMemoryRow> commonRows = evaluator11.eval(new Parser("Today ∩ Yesterday").parse()).rows();
+        List<InMemoryRow> diffRows = evaluator11.eval(new Parser("Today − Yesterday").parse()).rows();
+        Set<InMemoryRow> yesterdaySet = new HashSet<>(yesterday.rows());
+        Set<InMemoryRow> expectedUnion = new java.util.LinkedHashSet<>(today.rows());
+        expectedUnion.addAll(yesterday.rows());
+        List<InMemoryRow> expectedCommon = today.rows().stream().filter(yesterdaySet::contains).toList();
+        List<InMemoryRow> expectedDiff = today.rows().stream().filter(r -> !yesterdaySet.contains(r)).toList();
+        System.out.println("Snapshot diff: ∪ " + unionRows.size() + ", ∩ " + commonRows.size() + ", − " + diffRows.size()
+                + " rows (partitioned over " + System.getProperty("relax.workers") + " workers)");
+        if (!unionRows.equals(List.copyOf(expectedUnion)) || !commonRows.equals(expectedCommon) || !diffRows.equals(expectedDiff)) {
+            throw new IllegalStateException("set operations differ from the serial definition");
+        }
+
+        // ------------------ 25) Join key encodings: INT, dictionary-coded STRING, fingerprint ------------------
+        InMemoryTable people = new InMemoryTable(new Schema(List.of(
+                new Attribute("City", DataType.STRING), new Attribute("Zip", DataType.INT), new Attribute("Who", DataType.INT))));
+        InMemoryTable offices = new InMemoryTable(new Schema(List.of(
+                new Attribute("Town", DataType.STRING), new Attribute("Code", DataType.INT), new Attribute("Office", DataType.INT))));
+        for (int i = 0; i < 2_000; i++) {
+            people.add(InMemoryRow.empty().with("City", i % 97 == 0 ? null : "c" + i % 50).with("Zip", i % 7).with("Who", i));
+        }
+        for (int i = 0; i < 300; i++) {
+            offices.add(InMemoryRow.empty().with("Town", "c" + i % 60).with("Code", i % 5).with("Office", i));
+        }
+        var evaluator12 = new ExprEvaluator(new EvaluationContext(Map.of("People", people, "Offices", offices)));
+        int byInt = evaluator12.eval(new Parser("People ⨝ Zip = Code (Offices)").parse()).size();
+        int byString = evaluator12.eval(new Parser("People ⨝ City = Town (Offices)").parse()).size();
+        int byBoth = evaluator12.eval(new Parser("People ⨝ City = Town and Zip = Code (Offices)").parse()).size();
+        int semiByString = evaluator12.eval(new Parser("People ⋉ City = Town (Offices)").parse()).size();
+        int[] expectedKeys = new int[4];
+        for (InMemoryRow pr : people.rows()) {
+            Map<String, Object> pm = pr.asMap();
+            boolean any = false;
+            for (InMemoryRow or : offices.rows()) {
+                Map<String, Object> om = or.asMap();
+                boolean zip = pm.get("Zip").equals(om.get("Code")), city = om.get("Town").equals(pm.get("City"));
+                if (zip) expectedKeys[0]++;
+                if (city) expectedKeys[1]++;
+                if (zip && city) expectedKeys[2]++;
+                any |= city;
+            }
+            if (any) expectedKeys[3]++;
+        }
+        System.out.println("Join keys: INT " + byInt + ", STRING " + byString + ", STRING+INT " + byBoth + ", ⋉ STRING " + semiByString);
+        if (byInt != expectedKeys[0] || byString != expectedKeys[1] || byBoth != expectedKeys[2] || semiByString != expectedKeys[3]) {
+            throw new IllegalStateException("join key encodings disagree with a nested loop: " + java.util.Arrays.toString(expectedKeys));
+        }
+        InMemoryTable ints = new InMemoryTable(new Schema(List.of(new Attribute("A", DataType.INT))));
+        InMemoryTable doubles = new InMemoryTable(new Schema(List.of(new Attribute("B", DataType.DOUBLE))));
+        for (int i = 0; i < 500; i++) {
+            ints.add(InMemoryRow.empty().with("A", i));
+            doubles.add(InMemoryRow.empty().with("B", (double) i));
+        }
+        ints.add(InMemoryRow.empty().with("A", 900));                   // no partner
+        var mixedCtx = new EvaluationContext(Map.of("L", ints, "R", doubles));
+        var evaluator15 = new ExprEvaluator(mixedCtx);
+        int mixedHash = evaluator15.eval(new Parser("L ⨝ A = B (R)").parse()).size();
+        int mixedLoop = evaluator15.eval(new Parser("σ A = B (L × R)").parse()).size();
+        int mixedFiltered = evaluator15.eval(new Parser("σ A >= 0 (L) ⨝ A = B (σ B < 100.0 (R))").parse()).size();
+        int mixedSemi = evaluator15.eval(new Parser("L ⋉ A = B (R)").parse()).size();
+        int mixedAnti = evaluator15.eval(new Parser("L ▷ A = B (R)").parse()).size();
+        MaterializedView mixedView = MaterializedView.create("Mixed", new Parser("L ⨝ A = B (R)").parse(), mixedCtx);
+        doubles.add(InMemoryRow.empty().with("B", 900.0));
+        int mixedViewRows = mixedView.table().size();
+        mixedView.detach();
+        System.out.println("INT = DOUBLE keys: ⨝ " + mixedHash + ", σ over × " + mixedLoop + ", with runtime filter "
+                + mixedFiltered + ", ⋉ " + mixedSemi + ", ▷ " + mixedAnti + ", view " + mixedViewRows);
+        if (mixedHash != 500 || mixedLoop != 500 || mixedFiltered != 100 || mixedSemi != 500 || mixedAnti != 1
+                || mixedViewRows != 501) {
+            throw new IllegalStateException("INT and DOUBLE join keys must match numerically on every join path");
+        }
+        Schema ageSchema = new Schema(List.of(new Attribute("Pid", DataType.INT), new Attribute("Age", DataType.INT)));
+        Schema limitSchema = new Schema(List.of(new Attribute("Qid", DataType.INT), new Attribute("Lim", DataType.INT)));
+        InMemoryTable ages = new InMemoryTable(ageSchema), limits = new InMemoryTable(limitSchema);
+        ages.add(InMemoryRow.empty().with("Pid", 1).with("Age", 20));
+        ages.add(InMemoryRow.empty().with("Pid", 2).with("Age", 35));
+        for (int i = 1; i <= 3; i++) limits.add(InMemoryRow.empty().with("Qid", i).with("Lim", 30));
+        var nullCtx = new EvaluationContext(Map.of("P", ages, "Q", limits));
+        MaterializedView notYoung = MaterializedView.create("NotYoung", new Parser("σ not (Age <= 30) (P)").parse(), nullCtx);
+        MaterializedView notYoungJoin = MaterializedView.create("NotYoungJoin",
+                new Parser("P ⨝ Pid = Qid and not (Age <= Lim) (Q)").parse(), nullCtx);
+        ages.add(InMemoryRow.empty().with("Pid", 3).with("Age", null));
+        var evaluator16 = new ExprEvaluator(nullCtx);
+        int nullQuery = evaluator16.eval(new Parser("σ not (Age <= 30) (P)").parse()).size();
+        int nullJoin = evaluator16.eval(new Parser("P ⨝ Pid = Qid and not (Age <= Lim) (Q)").parse()).size();
+        int nullHashSemi = evaluator16.eval(new Parser("P ⋉ Pid = Qid and not (Age <= Lim) (Q)").parse()).size();
+        int nullLoopSemi = evaluator16.eval(new Parser("P ⋉ not (Age <= Lim) (Q)").parse()).size();
+        int nullLoopAnti = evaluator16.eval(new Parser("P ▷ not (Age <= Lim) (Q)").parse()).size();
+        System.out.println("not (Age <= 30) with a null Age: view " + notYoung.table().size() + ", σ " + nullQuery
+                + ", join view " + notYoungJoin.table().size() + ", ⨝ " + nullJoin + ", hash ⋉ " + nullHashSemi
+                + ", nested ⋉ " + nullLoopSemi + ", nested ▷ " + nullLoopAnti);
+        if (notYoung.table().size() != 1 || nullQuery != 1 || notYoungJoin.table().size() != 1 || nullJoin != 1
+                || nullHashSemi != 1 || nullLoopSemi != 1 || nullLoopAnti != 2) {
+            throw new IllegalStateException("views and semi-joins must filter unknown (null) conditions like σ does");
+        }
+        notYoung.detach();
+        notYoungJoin.detach();
+
+        // ------------------ 26) Off-heap storage and catalog versions ------------------
+        Schema mixedSchema = new Schema(List.of(
+                new Attribute("Id", DataType.INT), new Attribute("Score", DataType.DOUBLE),
+                new Attribute("Note", DataType.STRING), new Attribute("Ok", DataType.BOOL)));
+        InMemoryTable onHeap = new InMemoryTable(mixedSchema), offHeap = InMemoryTable.offHeap(mixedSchema);
+        for (int i = 0; i < 3_000; i++) {
+            InMemoryRow r = InMemoryRow.empty().with("Id", i % 11 == 0 ? null : i).with("Score", i * 0.5)
+                    .with("Note", i % 13 == 0 ? null : i % 17 == 0 ? "" : "note-é-" + i % 40).with("Ok", i % 3 == 0);
+            onHeap.add(r);
+            offHeap.add(r);
+        }
+        if (!offHeap.isOffHeap() || offHeap.offHeapBytes() == 0 || !offHeap.rows().equals(onHeap.rows())) {
+            throw new IllegalStateException("off-heap rows differ from the heap copy");
+        }
+        InMemoryRow gone = onHeap.rows().get(5);
+        onHeap.remove(gone);
+        offHeap.remove(gone);
+        Catalog catalog = new Catalog();
+        catalog.put("Mixed", offHeap);
+        int offHeapHits, heapHits;
+        try (Catalog.Snapshot s = catalog.snapshot()) {
+            offHeapHits = new ExprEvaluator(new EvaluationContext(s, QueryLimits.NONE))
+                    .eval(new Parser("σ Id > 100 and Note = \"note-é-9\" (Mixed)").parse()).size();
+        }
+        heapHits = new ExprEvaluator(new EvaluationContext(Map.of("Mixed", onHeap)))
+                .eval(new Parser("σ Id > 100 and Note = \"note-é-9\" (Mixed)").parse()).size();
+        System.out.println("Off-heap: " + offHeap.size() + " rows in " + offHeap.offHeapBytes() + " bytes, σ " + offHeapHits + " rows");
+        if (offHeapHits != heapHits || !offHeap.rows().equals(onHeap.rows())) {
+            throw new IllegalStateException("off-heap table diverged after remove/query: " + offHeapHits + " vs " + heapHits);
+        }
+        Catalog.Snapshot reader = catalog.snapshot();
+        catalog.put("Mixed", onHeap);                        // replaced while `reader` still sees the old version
+        int stillVisible = reader.tables().get("Mixed").rows().size();
+        String secondRow = reader.tables().get("Mixed").rows().get(1).asMap().toString();
+        reader.close();
+        boolean released = false;
+        try {
+            offHeap.rows().get(1);
+        } catch (IllegalStateException expected) {
+            released = true;
+        }
+        System.out.println("Catalog v" + catalog.version() + ": old version read " + stillVisible + " rows (" + secondRow
+                + "), released after close: " + released);
+        if (stillVisible != onHeap.size() || !released || catalog.get("Mixed") != onHeap) {
+            throw new IllegalStateException("retired table was released too early or never");
+        }
+
+        // ------------------ 27) Compressed columns (RLE, frame of reference, dictionary) ------------------
+        Schema sensorSchema = new Schema(List.of(
+                new Attribute("Day", DataType.INT), new Attribute("Temp", DataType.INT),
+                new Attribute("Site", DataType.STRING), new Attribute("Alarm", DataType.BOOL),
+                new Attribute("Reading", DataType.DOUBLE)));
+        InMemoryTable plain = new InMemoryTable(sensorSchema), packed = InMemoryTable.compressed(sensorSchema);
+        for (int i = 0; i < 20_000; i++) {
+            InMemoryRow r = InMemoryRow.empty().with("Day", i / 700)                        // sorted: long runs
+                    .with("Temp", i % 97 == 0 ? null : -20 + (i * 31) % 61)                  // small range: bit-packed
+                    .with("Site", "site-" + (i / 3000) % 4).with("Alarm", i % 500 == 0)
+                    .with("Reading", i % 89 == 0 ? null : i * 0.25);
+            plain.add(r);
+            packed.add(r);
+        }
+        String encodings = packed.describeStorage();
+        if (!encodings.contains("Day RLE×19 FOR×0") || !encodings.contains("Temp RLE×0 FOR×19")) {
+            throw new IllegalStateException("unexpected chunk encodings: " + encodings);
+        }
+        for (int i = 0; i < 1_500; i++) {                                 // removals reopen and re-encode chunks
+            InMemoryRow victim = plain.rows().get((i * 7919) % plain.size());
+            plain.remove(victim);
+            packed.remove(victim);
+        }
+        if (!packed.rows().equals(plain.rows())) {
+            throw new IllegalStateException("compressed rows differ from the heap copy");
+        }
+        Map<String, InMemoryTable> sensorCatalog = Map.of("Sensors", packed), plainCatalog = Map.of("Sensors", plain);
+        String[] sensorQueries = {
+                "σ Day = 12 (Sensors)", "σ Temp >= 35 and Site = \"site-2\" (Sensors)", "σ Temp < 0 (Sensors)",
+                "σ Site != \"site-9\" and Day > 20 and Reading > 4000.0 (Sensors)", "σ 5 > Temp (Sensors)",
+                "γ count(*), count(Temp), sum(Temp), avg(Temp), min(Temp), max(Day) (Sensors)"};
+        var evaluator13 = new ExprEvaluator(new EvaluationContext(sensorCatalog));
+        var evaluator14 = new ExprEvaluator(new EvaluationContext(plainCatalog));
+        for (String q : sensorQueries) {
+            List<InMemoryRow> got = evaluator13.eval(new Parser(q).parse()).rows();
+            List<InMemoryRow> want = evaluator14.eval(new Parser(q).parse()).rows();
+            if (!new HashSet<>(got).equals(new HashSet<>(want)) || got.size() != want.size()) {
+                throw new IllegalStateException("compressed execution differs for " + q + ": " + got.size() + " vs " + want.size());
+            }
+        }
+        String sensorPlan = evaluator13.explain(new Parser("γ count(*), sum(Temp) (σ Day > 3 (Sensors))").parse())
+                + evaluator13.explain(new Parser("γ max(Temp) (Sensors)").parse());
+        System.out.println("Compressed: " + encodings);
+        if (!sensorPlan.contains("scan of compressed columns") || !sensorPlan.contains("on compressed columns")) {
+            throw new IllegalStateException("compressed paths not used:\n" + sensorPlan);
+        }
+
+        // ------------------ 28) Write-ahead log, group commit, checkpoints and recovery ------------------
+        try {
+            Path dataDir = Files.createTempDirectory("relax-store");
+            Catalog live = new Catalog();
+            CatalogStore store = CatalogStore.open(dataDir, live, 1 << 16);
+            InMemoryTable[] logged = new InMemoryTable[4];
+            for (int w = 0; w < logged.length; w++) {
+                logged[w] = new InMemoryTable(mixedSchema);
+                live.put("Log" + w, logged[w]);
+                store.logPut("Log" + w, logged[w]);
+            }
+            List<Thread> writers = new java.util.ArrayList<>();
+            for (int w = 0; w < logged.length; w++) {
+                int id = w;
+                writers.add(Thread.ofPlatform().start(() -> {
+                    try {
+                        for (int i = 0; i < 300; i++) {
+                            InMemoryRow r = InMemoryRow.empty().with("Id", id * 1000 + i).with("Score", i % 7 == 0 ? null : i / 3.0)
+                                    .with("Note", "w" + id).with("Ok", i % 2 == 0);
+                            logged[id].add(r);
+                            store.logInsert("Log" + id, r);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }));
+            }
+            for (Thread t : writers) t.join();
+            MaterializedView firstLog = MaterializedView.create("FirstLog", new Parser("σ Score > 50.0 (Log0)").parse(),
+                    new EvaluationContext(Map.of("Log0", logged[0])));
+            live.putTransient("FirstLog", firstLog.table());
+            long checkpointed = store.checkpoint();
+            firstLog.detach();
+            live.remove("FirstLog");                            // gone with the session, like a console view
+            InMemoryRow dropped = logged[1].rows().get(10);
+            logged[1].remove(dropped);
+            store.logDelete("Log1", dropped);
+            InMemoryTable replacement = InMemoryTable.compressed(mixedSchema);
+            replacement.addAll(logged[2].rows().subList(0, 50));
+            live.put("Log2", replacement);
+            store.logPut("Log2", replacement);
+            live.remove("Log3");
+            store.logDrop("Log3");
+            String status = store.status();
+            store.close();
+            List<Path> segments;
+            try (var files = Files.list(dataDir)) {
+                segments = files.filter(f -> f.getFileName().toString().startsWith("wal-")).sorted().toList();
+            }
+            Files.write(segments.get(segments.size() - 1), new byte[] {0, 0, 0, 42, 1, 2}, java.nio.file.StandardOpenOption.APPEND);
+
+            Catalog recovered = new Catalog();
+            CatalogStore reopened = CatalogStore.open(dataDir, recovered);
+            CatalogStore.Recovery rec = reopened.recovery();
+            System.out.println("Store: " + status + "; recovered " + recovered.names() + " from LSN " + rec.checkpointLsn()
+                    + " + " + rec.replayed() + " records");
+            boolean same = recovered.names().equals(live.names()) && rec.checkpointLsn() == checkpointed && rec.replayed() == 3
+                    && recovered.get("Log2").isCompressed();
+            for (String n : live.names()) same &= recovered.get(n).rows().equals(live.get(n).rows());
+            InMemoryRow extra = InMemoryRow.empty().with("Id", -1).with("Score", 0.0).with("Note", "after").with("Ok", true);
+            recovered.get("Log0").add(extra);
+            reopened.logInsert("Log0", extra);                  // appends after the cut-off torn record
+            reopened.close();
+            Catalog third = new Catalog();
+            CatalogStore.open(dataDir, third).close();
+            if (!same || !third.get("Log0").rows().contains(extra) || third.get("Log0").size() != 301) {
+                throw new IllegalStateException("catalog did not survive a restart: " + recovered.names());
+            }
+            try (var files = Files.walk(dataDir)) {
+                for (Path f : files.sorted(java.util.Comparator.reverseOrder()).toList()) Files.delete(f);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+
+        // ------------------ 29) Lazy relations and the LRU memory budget ------------------
+        try {
+            Path dataDir = Files.createTempDirectory("relax-lazy");
+            Catalog writer = new Catalog();
+            CatalogStore store = CatalogStore.open(dataDir, writer);
+            for (int p = 0; p < 6; p++) {
+                InMemoryTable part = new InMemoryTable(mixedSchema);
+                for (int i = 0; i < 2_000; i++) {
+                    part.add(InMemoryRow.empty().with("Id", p * 10_000 + i).with("Score", i * 0.25)
+                            .with("Note", "part-" + p).with("Ok", i % 4 == 0));
+                }
+                writer.put("Part" + p, part);
+                store.logPut("Part" + p, part);
+            }
+            long partBytes = writer.get("Part0").estimatedBytes();
+            store.checkpoint();
+            store.close();
+
+            Catalog lazy = new Catalog(partBytes * 5 / 2);               // room for two parts
+            store = CatalogStore.open(dataDir, lazy);
+            Catalog.CacheStats opened = lazy.cacheStats();
+            if (opened.resident() != 0 || opened.relations() != 6 || lazy.info("Part3").rows() != 2_000) {
+                throw new IllegalStateException("opening the store loaded relations: " + opened);
+            }
+            Catalog.Snapshot dashboard = lazy.snapshot();                  // a long query keeps Part0 pinned
+            int pinnedRows = dashboard.tables().get("Part0").size();
+            int matched = 0;
+            for (int p = 1; p < 6; p++) {
+                try (Catalog.Snapshot s = lazy.snapshot()) {
+                    matched += new ExprEvaluator(new EvaluationContext(s, QueryLimits.NONE))
+                            .eval(new Parser("σ Id > " + (p * 10_000 + 1_499) + " (Part" + p + ")").parse()).size();
+                }
+            }
+            Catalog.CacheStats scanned = lazy.cacheStats();
+            boolean pinHeld = lazy.info("Part0").table() != null;
+            dashboard.close();
+            System.out.println("Lazy catalog: " + scanned.loads() + " loads, " + scanned.evictions() + " evictions, "
+                    + scanned.resident() + " resident (" + scanned.residentBytes() + " of " + scanned.budget() + " bytes), "
+                    + matched + " rows matched, Part0 pinned: " + pinHeld);
+            if (pinnedRows != 2_000 || matched != 5 * 500 || !pinHeld || scanned.loads() != 6 || scanned.evictions() < 3
+                    || scanned.residentBytes() > scanned.budget() + partBytes) {
+                throw new IllegalStateException("LRU cache misbehaved: " + scanned);
+            }
+            InMemoryRow late = InMemoryRow.empty().with("Id", -7).with("Score", 1.0).with("Note", "late").with("Ok", false);
+            lazy.get("Part2").add(late);
+            store.logInsert("Part2", late);
+            lazy.setMemoryBudget(0);
+            boolean changedKept = lazy.info("Part2").table() != null && lazy.cacheStats().resident() == 1;
+            store.checkpoint();                                            // Part2 is saved: now it may go too
+            boolean allEvicted = lazy.cacheStats().resident() == 0;
+            store.close();
+            Catalog reread = new Catalog();
+            CatalogStore.open(dataDir, reread).close();
+            if (!changedKept || !allEvicted || !lazy.get("Part2").rows().contains(late)
+                    || !reread.get("Part2").rows().contains(late) || reread.get("Part5").size() != 2_000) {
+                throw new IllegalStateException("changed relation evicted before it was saved, or lost");
+            }
+            TableStats part3Stats;
+            try (Catalog.Snapshot s = lazy.snapshot()) {
+                part3Stats = s.analyze("Part3");
+            }
+            boolean analyzedEvicted = lazy.info("Part3").table() == null;  // budget 0: nothing stays loaded
+            TableStats reloadedStats;
+            try (Catalog.Snapshot s = lazy.snapshot()) {
+                reloadedStats = s.tables().get("Part3").statistics();
+            }
+            if (!analyzedEvicted || reloadedStats != part3Stats || part3Stats.rowCount() != 2_000) {
+                throw new IllegalStateException("analyze pinned the relation, or its statistics were lost on eviction");
+            }
+            Catalog replacing = new Catalog();
+            store = CatalogStore.open(dataDir, replacing);
+            Catalog.Snapshot before = replacing.snapshot();                // Part4 not loaded yet
+            InMemoryTable newPart4 = new InMemoryTable(mixedSchema);
+            replacing.put("Part4", newPart4);
+            store.logPut("Part4", newPart4);
+            store.checkpoint();                                            // supersedes the file Part4 was in
+            int oldPart4 = before.tables().get("Part4").size();
+            before.close();
+            store.logDrop("Part5");
+            store.checkpoint();                                            // nothing needs the old one now
+            store.close();
+            long checkpointDirs;
+            try (var list = Files.list(dataDir)) {
+                checkpointDirs = list.filter(p -> p.getFileName().toString().startsWith("checkpoint-")).count();
+            }
+            System.out.println("Snapshot across checkpoint: old Part4 has " + oldPart4 + " rows, "
+                    + checkpointDirs + " checkpoint directory left");
+            if (oldPart4 != 2_000 || checkpointDirs != 1) {
+                throw new IllegalStateException("checkpoint deleted a file an open snapshot still needed, or kept it");
+            }
+            try (var files = Files.walk(dataDir)) {
+                for (Path f : files.sorted(java.util.Comparator.reverseOrder()).toList()) Files.delete(f);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        // ------------------ 30) Shared scans for concurrent dashboard queries ------------------
+        InMemoryTable pageViews = new InMemoryTable(mixedSchema);
+        for (int i = 0; i < 96_000; i++) {
+            pageViews.add(InMemoryRow.empty().with("Id", i).with("Score", (i * 37) % 1000 / 10.0)
+                    .with("Note", "page-" + i % 23).with("Ok", i % 5 == 0));
+        }
+        Map<String, InMemoryTable> viewCatalog = Map.of("PageViews", pageViews);
+        Expr dashboard = new Parser("σ Score > 90.0 and Note != \"page-3\" (PageViews)").parse();
+        List<InMemoryRow> alone = new ExprEvaluator(new EvaluationContext(viewCatalog)).eval(dashboard).rows();
+        java.util.concurrent.atomic.AtomicInteger joins = new java.util.concurrent.atomic.AtomicInteger();
+        java.util.concurrent.atomic.AtomicInteger mismatches = new java.util.concurrent.atomic.AtomicInteger();
+        for (int round = 0; round < 20 && joins.get() == 0; round++) {
+            java.util.concurrent.CountDownLatch go = new java.util.concurrent.CountDownLatch(1);
+            List<Thread> sessions = new java.util.ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                sessions.add(Thread.ofPlatform().start(() -> {
+                    ExprEvaluator session = new ExprEvaluator(new EvaluationContext(viewCatalog));
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    for (int q = 0; q < 4; q++) {
+                        if (session.explain(dashboard).contains("shared scan, joined at chunk")) joins.incrementAndGet();
+                        if (!session.eval(dashboard).rows().equals(alone)) mismatches.incrementAndGet();
+                    }
+                }));
+            }
+            go.countDown();
+            for (Thread t : sessions) {
+                try {
+                    t.join();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        System.out.println("Shared scans: " + alone.size() + " rows per query, " + joins.get()
+                + " queries joined a running scan, " + mismatches.get() + " results differed");
+        if (joins.get() == 0 || mismatches.get() != 0) {
+            throw new IllegalStateException("concurrent scans were not shared, or changed the result order");
+        }
+
+        // ------------------ 31) Script with a γ split across lines ------------------
+        String script = """
+                Staff (Name, Dept) = {
+                  Ann, HR
+                  Ben, IT
+                  Cat, IT
+                };
+                γ Dept;
+                  count(*) -> N (Staff);
+                """;
+        java.io.ByteArrayOutputStream scriptOut = new java.io.ByteArrayOutputStream();
+        try {
+            new RelaxConsole().runScript(new java.io.StringReader(script), scriptOut);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        String printed = scriptOut.toString(StandardCharsets.UTF_8);
+        System.out.println("Multi-line γ script:\n" + printed);
+        if (printed.contains("! ") || !printed.matches("(?s).*IT\\s*\\|\\s*2.*")) {
+            throw new IllegalStateException("γ split across lines was not run as one statement:\n" + printed);
+        }
+    }
+
+    /** Row → number of occurrences: compares tables as bags, whatever their row order. */
+    private static Map<InMemoryRow, Integer> counts(InMemoryTable t) {
+        Map<InMemoryRow, Integer> m = new java.util.HashMap<>();
+        for (InMemoryRow r : t.rows()) m.merge(r, 1, Integer::sum);
+        return m;
+    }
+
+    // --- minimal flatbuffer accessors for reading the Arrow metadata back ---
+
+    /** Follow the uoffset stored at {@code at}. */
+    private static int deref(ByteBuffer b, int at) {
+        return at + b.getInt(at);
+    }
+
+    /** Position of field {@code id} of the table at {@code table}, or -1 if absent. */
+    private static int field(ByteBuffer b, int table, int id) {
+        int vtable = table - b.getInt(table);
+        int slot = 4 + 2 * id;
+        int off = slot < b.getShort(vtable) ? b.getShort(vtable + slot) : 0;
+        return off == 0 ? -1 : table + off;
+    }
+
+    private static String string(ByteBuffer b, int at) {
+        return new String(b.array(), at + 4, b.getInt(at), StandardCharsets.UTF_8);
     }
 }
@@ -13,5 +13,23 @@ public class ParserSmoke {
 
         String s = "A ∪ B ∩ C − D";
         System.out.println(new Parser(s).parse());
+
+        String g = "γ EmpDept; count(*), avg(Age) -> AvgAge (Employees)";
+        System.out.println(new Parser(g).parse());
+
+        String t = "order by Age desc, Name limit 10 (Employees)";
+        System.out.println(new Parser(t).parse());
+
+        String sj = "Employees ⋉ Dept ▷ EID = SID (Takes) × Rooms";
+        System.out.println(new Parser(sj).parse());
+
+        for (String bad : new String[] {"τ Age limit 2.5 (Employees)", "τ Age limit 99999999999 (Employees)", "τ Age limit (Employees)"}) {
+            try {
+                new Parser(bad).parse();
+                throw new IllegalStateException("accepted a bad limit: " + bad);
+            } catch (ParseException e) {
+                System.out.println(e.getMessage());
+            }
+        }
     }
 }
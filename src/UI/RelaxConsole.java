@@ -5,9 +5,15 @@ import EXECUTOR.*;
 import PARSER.*;
 import PARSER.EXPR.*;
 
-import java.io.BufferedReader;
-import java.io.InputStreamReader;
+import java.io.*;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 /**
  * Relax-like console (with ';' as statement terminator):
@@ -15,9 +21,29 @@ import java.util.*;
  * - You can end any command or query with ';'
  * - Multiple statements on one line are supported: ":tables; :show Employees; π Name (Employees);"
  * - Relation blocks still end at '}', optional ';' after '}' is tolerated.
+ * - Batch mode ({@link #runScript(Path)}, {@code :source file;}) runs a script with no
+ *   prompts and writes all output through one buffered stream.
  */
 public class RelaxConsole {
-    private final Map<String, InMemoryTable> catalog = new LinkedHashMap<>();
+    private final Catalog catalog = new Catalog();
+    /** Write-ahead log and checkpoints of {@link #catalog}, if a data directory was opened; else null. */
+    private CatalogStore store;
+    /** Incrementally maintained views; their tables are also registered in {@link #catalog}. */
+    private final Map<String, MaterializedView> views = new LinkedHashMap<>();
+    /** Session-wide query limits, changed with :timeout / :maxrows / :maxbytes. */
+    private QueryLimits limits = QueryLimits.NONE;
+    /** Guard of the query currently executing, so Ctrl-C can cancel it. */
+    private volatile QueryGuard running;
+    /** Where results and messages go: System.out interactively, a large buffer in batch mode. */
+    private PrintStream out = System.out;
+    /** Print per-statement elapsed time (--timing or :timing on). */
+    private boolean timing;
+    /** Nesting of :source, bounded so a script sourcing itself fails instead of overflowing. */
+    private int sourceDepth;
+
+    private static final int OUTPUT_BUFFER = 1 << 16;
+    private static final int INPUT_BUFFER = 1 << 16;
+    private static final int MAX_SOURCE_DEPTH = 16;
 
     public static void main(String[] args) throws Exception {
         new RelaxConsole().run();
@@ -32,104 +58,249 @@ public class RelaxConsole {
                 field.setAccessible(true);
                 @SuppressWarnings("unchecked")
                 Map<String, InMemoryTable> m = (Map<String, InMemoryTable>) field.get(ctx);
-                catalog.putAll(m);
+                m.forEach(catalog::put);
             } catch (Exception ignored) {}
         }
     }
 
     public void run() throws Exception {
-        System.out.println("RELAX-style console. Type :help ;for commands. Each statement should end with ; or } ");
+        out.println("RELAX-style console. Type :help ;for commands. Each statement should end with ; or } ");
+        installInterruptHandler();
         BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
+        execute(br);
+    }
 
-        while (true) {
-            System.out.print("relax> ");
-            String line = br.readLine();
-            if (line == null) break;
+    /**
+     * Batch mode: run {@code script} without banner or prompts, writing every
+     * result to standard output through one large buffer that is flushed at the end.
+     */
+    public void runScript(Path script) throws IOException {
+        try (BufferedReader br = Files.newBufferedReader(script, StandardCharsets.UTF_8)) {
+            runScript(br, new FileOutputStream(FileDescriptor.out));
+        }
+    }
 
-            // ---- accumulate until we have a complete statement:
-            //      relation block => ends with '}', otherwise require a ';'
-            while (line != null) {
-                String trimmed = line.trim();
-                boolean done =
-                        trimmed.endsWith("}") || trimmed.endsWith(";");
+    /** Batch mode over any reader and sink; {@code sink} is flushed but not closed. */
+    public void runScript(Reader script, OutputStream sink) throws IOException {
+        installInterruptHandler();
+        PrintStream saved = out;
+        out = buffered(sink);
+        try {
+            executeScript(script);
+        } finally {
+            out.flush();
+            out = saved;
+        }
+    }
 
-                if (done) break;
+    /**
+     * Keep the catalog in {@code dir}: recover the relations saved there, then log every
+     * relation definition, {@code :insert}, {@code :delete} and {@code :storage} change.
+     */
+    public void openStore(Path dir) throws IOException {
+        store = CatalogStore.open(dir, catalog);
+        CatalogStore.Recovery r = store.recovery();
+        if (r.checkpointLsn() > 0 || r.replayed() > 0) {
+            out.println("recovered " + catalog.names().size() + " relations from " + dir + " (checkpoint at LSN "
+                    + r.checkpointLsn() + " + " + r.replayed() + " log records, " + r.millis() + " ms)");
+        }
+    }
 
-                System.out.print(" "); // continuation prompt
-                String next = br.readLine();
-                if (next == null) break;
-                line += "\n" + next;
-            }
-            if (line == null) break;
-            if (line.trim().isEmpty()) continue;
+    /** Flush and close the data directory opened with {@link #openStore(Path)}, if any. */
+    public void closeStore() throws IOException {
+        if (store != null) store.close();
+        store = null;
+    }
 
-            // ---- split into statements by ';' (outside quotes/braces) ----
-            List<String> statements = splitStatements(line);
+    /**
+     * Evict relations saved in the data directory, least recently used first, while the loaded
+     * ones take more than {@code bytes} (also set with {@code :cache <bytes|off>}).
+     */
+    public void setMemoryBudget(long bytes) { catalog.setMemoryBudget(bytes); }
 
-            for (String rawStmt : statements) {
-                String stmt = rawStmt.trim();
-                if (stmt.isEmpty()) continue;
+    /** Print the elapsed time after every statement (also toggled with {@code :timing on|off}). */
+    public void setTiming(boolean timing) { this.timing = timing; }
 
-                // strip trailing ';' if present
-                if (stmt.endsWith(";")) {
-                    stmt = stmt.substring(0, stmt.length() - 1).trim();
-                    if (stmt.isEmpty()) continue;
-                }
+    private static PrintStream buffered(OutputStream sink) {
+        return new PrintStream(new BufferedOutputStream(sink, OUTPUT_BUFFER), false, StandardCharsets.UTF_8);
+    }
 
-                // ---- commands first (allow with or without ':') ----
-                String low = stmt.toLowerCase(Locale.ROOT);
-                if (low.equals("exit") || low.equals(":exit") || low.equals("quit") || low.equals(":quit")) {
-                    System.out.println("bye");
-                    return;
-                }
-                if (low.equals("help") || low.equals(":help") || low.equals("?")) {
-                    printHelp();
-                    continue;
-                }
-                if (low.equals("tables") || low.equals(":tables")) {
-                    listTables();
-                    continue;
-                }
-                if (low.startsWith(":show") || low.startsWith("show")) {
-                    // handle ":show R" or "show R"
-                    int sp = stmt.indexOf(' ');
-                    if (sp < 0 || sp == stmt.length() - 1) {
-                        System.out.println("Usage: :show <RelationName>");
-                        continue;
-                    }
-                    String name = stmt.substring(sp + 1).trim();
-                    InMemoryTable t = catalog.get(name);
-                    if (t == null) {
-                        System.out.println("Relation \"" + name + "\" does not exist.");
-                    } else {
-                        TablePrinter.print(t);
-                    }
-                    continue;
-                }
+    /**
+     * Interactive input: read lines from {@code br} until end of input or an exit command.
+     * Lines are buffered until they complete a statement (a ';' that no γ owns as its
+     * separator, outside quotes and relation blocks, or a relation block's '}'), and each
+     * statement runs as soon as it is complete.
+     *
+     * @return false if an exit command was read
+     */
+    private boolean execute(BufferedReader br) throws IOException {
+        StatementSplitter splitter = new StatementSplitter();
+        while (true) {
+            out.print(splitter.isOpen() ? " " : "relax> "); // continuation prompt
+            String line = br.readLine();
+            if (line == null) {
+                // a naked query without ';' at the end of input still runs
+                String tail = splitter.finish();
+                return tail == null || runStatement(tail);
+            }
+            for (int i = 0; i <= line.length(); i++) {
+                String stmt = splitter.accept(i < line.length() ? line.charAt(i) : '\n');
+                if (stmt != null && !runStatement(stmt)) return false;
+            }
+        }
+    }
 
-                // ---- relation block? (Relax-style) ----
-                if (looksLikeRelationHeader(stmt)) {
-                    try {
-                        readAndInstallRelation(br, stmt);
-                    } catch (IllegalArgumentException e) {
-                        System.out.println("! " + e.getMessage());
-                    } catch (Exception e) {
-                        System.out.println("! Failed to load relation: " + e.getMessage());
-                    }
-                    continue;
-                }
+    /**
+     * Batch input: stream {@code script} once through the splitter in large blocks, with no
+     * line handling or prompts, running each statement as soon as it is complete.
+     *
+     * @return false if an exit command was read
+     */
+    private boolean executeScript(Reader script) throws IOException {
+        StatementSplitter splitter = new StatementSplitter();
+        char[] buf = new char[INPUT_BUFFER];
+        for (int n; (n = script.read(buf)) >= 0; ) {
+            for (int i = 0; i < n; i++) {
+                String stmt = splitter.accept(buf[i]);
+                if (stmt != null && !runStatement(stmt)) return false;
+            }
+        }
+        String tail = splitter.finish();
+        return tail == null || runStatement(tail);
+    }
 
-                // ---- otherwise: treat as a query ----
-                try {
-                    EvaluationContext ctx = new EvaluationContext(catalog);
-                    Expr ast = new Parser(stmt).parse();
-                    InMemoryTable out = new ExprEvaluator(ctx).eval(ast);
-                    TablePrinter.print(out);
-                } catch (Exception e) {
-                    System.out.println("! " + e.getMessage());
+    /**
+     * Run one statement from the splitter, timing it if asked.
+     *
+     * @return false if the statement was an exit command
+     */
+    private boolean runStatement(String rawStmt) throws IOException {
+        String stmt = rawStmt.trim();
+        // strip trailing ';' if present
+        if (stmt.endsWith(";")) stmt = stmt.substring(0, stmt.length() - 1).trim();
+        if (stmt.isEmpty()) return true;
+
+        long start = System.nanoTime();
+        boolean more = executeStatement(stmt);
+        if (timing) out.printf(Locale.ROOT, "(%.3f ms)%n", (System.nanoTime() - start) / 1e6);
+        return more;
+    }
+
+    /**
+     * Run one statement without its trailing ';': a command, a whole relation block
+     * or a query.
+     *
+     * @return false if the statement was an exit command
+     */
+    private boolean executeStatement(String stmt) throws IOException {
+        // ---- commands first (allow with or without ':') ----
+        String low = stmt.toLowerCase(Locale.ROOT);
+        if (low.equals("exit") || low.equals(":exit") || low.equals("quit") || low.equals(":quit")) {
+            out.println("bye");
+            return false;
+        }
+        if (low.equals("help") || low.equals(":help") || low.equals("?")) {
+            printHelp();
+            return true;
+        }
+        if (low.equals("tables") || low.equals(":tables")) {
+            listTables();
+            return true;
+        }
+        if (low.equals(":analyze") || low.startsWith(":analyze ")) {
+            analyze(stmt.substring(":analyze".length()).trim());
+            return true;
+        }
+        if (low.startsWith(":materialize ")) {
+            materialize(stmt.substring(":materialize".length()).trim());
+            return true;
+        }
+        if (low.startsWith(":insert ") || low.startsWith(":delete ")) {
+            changeRow(stmt, low.startsWith(":insert "));
+            return true;
+        }
+        if (low.startsWith(":explain ")) {
+            explain(stmt.substring(":explain".length()).trim());
+            return true;
+        }
+        if (low.equals(":checkpoint")) {
+            checkpoint();
+            return true;
+        }
+        if (low.equals(":cache") || low.startsWith(":cache ")) {
+            cache(stmt.substring(":cache".length()).trim());
+            return true;
+        }
+        if (low.startsWith(":storage")) {
+            setStorage(stmt);
+            return true;
+        }
+        if (low.startsWith(":export ")) {
+            export(stmt.substring(":export".length()).trim());
+            return true;
+        }
+        if (low.equals(":source") || low.startsWith(":source ")) {
+            source(stmt.substring(":source".length()).trim());
+            return true;
+        }
+        if (low.startsWith(":timing")) {
+            setTiming(stmt);
+            return true;
+        }
+        if (low.startsWith(":timeout") || low.startsWith(":maxrows") || low.startsWith(":maxbytes")
+                || low.equals(":limits")) {
+            setLimit(stmt);
+            return true;
+        }
+        if (low.startsWith(":show") || low.startsWith("show")) {
+            // handle ":show R" or "show R"
+            int sp = stmt.indexOf(' ');
+            if (sp < 0 || sp == stmt.length() - 1) {
+                out.println("Usage: :show <RelationName>");
+                return true;
+            }
+            String name = stmt.substring(sp + 1).trim();
+            try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+                InMemoryTable t = snapshot.tables().get(name);
+                if (t == null) {
+                    out.println("Relation \"" + name + "\" does not exist.");
+                } else {
+                    TablePrinter.print(t, out);
                 }
+            } catch (UncheckedIOException e) {
+                out.println("! " + e.getMessage());
             }
+            return true;
         }
+
+        // ---- relation block? (Relax-style) ----
+        if (looksLikeRelationHeader(stmt)) {
+            try {
+                readAndInstallRelation(stmt);
+            } catch (IllegalArgumentException e) {
+                out.println("! " + e.getMessage());
+            } catch (Exception e) {
+                out.println("! Failed to load relation: " + e.getMessage());
+            }
+            return true;
+        }
+
+        // ---- otherwise: treat as a query ----
+        QueryGuard guard = new QueryGuard(limits);
+        running = guard;
+        try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+            EvaluationContext ctx = new EvaluationContext(snapshot, limits);
+            Expr ast = new Parser(stmt).parse();
+            InMemoryTable result = new ExprEvaluator(ctx).eval(ast, guard);
+            TablePrinter.print(result, out);
+        } catch (QueryAbortedException e) {
+            out.println("! Query aborted: " + e.getMessage());
+        } catch (Exception e) {
+            out.println("! " + e.getMessage());
+        } finally {
+            running = null;
+        }
+        return true;
     }
 
     /* -------------------- relation block parsing -------------------- */
@@ -139,61 +310,48 @@ public class RelaxConsole {
         return line.contains("(") && line.contains(")") && line.contains("=") && line.contains("{");
     }
 
-    private void readAndInstallRelation(BufferedReader br, String headerLine) throws Exception {
+    private void readAndInstallRelation(String block) throws Exception {
         // Parse: Name (a, b, c) = { ... }  (optional trailing ';' is tolerated)
-        Header h = parseHeader(headerLine);
+        Header h = parseHeader(block);
         List<String> rowLines = new ArrayList<>();
 
-        // If header includes a '}' on same line (inline rows), grab inside
-        if (headerLine.contains("}")) {
-            String inside = headerLine.substring(headerLine.indexOf('{') + 1, headerLine.lastIndexOf('}'));
-            if (!inside.isBlank()) {
-                for (String r : inside.split("\\n|;")) {
-                    String t = r.trim();
-                    if (!t.isEmpty()) rowLines.add(t);
-                }
-            }
-        } else {
-            // keep reading lines until a line with '}' is seen
-            String row;
-            while ((row = br.readLine()) != null) {
-                row = row.trim();
-                if (row.contains("}")) {
-                    String before = row.substring(0, row.indexOf('}')).trim();
-                    if (!before.isEmpty()) rowLines.add(before);
-                    break;
-                }
-                if (!row.isEmpty()) rowLines.add(row);
-            }
+        // the splitter hands over whole blocks, so only a block cut off by the end of input lacks its '}'
+        if (!block.contains("}")) {
+            throw new IllegalArgumentException("relation " + h.name + " is missing its closing '}'");
+        }
+        String inside = block.substring(block.indexOf('{') + 1, block.lastIndexOf('}'));
+        for (String r : inside.split("\\n|;")) {
+            String t = r.trim();
+            if (!t.isEmpty()) rowLines.add(t);
         }
 
         if (rowLines.isEmpty()) {
             List<Attribute> attrs = new ArrayList<>();
             for (String an : h.attrs) attrs.add(new Attribute(an, DataType.STRING));
             InMemoryTable t = new InMemoryTable(new Schema(attrs));
-            catalog.put(h.name, t);
-            System.out.println("created empty " + h.name + " :: " + t.schema());
+            installRelation(h.name, t);
+            durable(s -> s.logPut(h.name, t));
+            out.println("created empty " + h.name + " :: " + t.schema());
             return;
         }
 
-        Object[] firstVals = parseRow(rowLines.get(0), h.attrs.size());
+        List<Object[]> parsed = new ArrayList<>(rowLines.size());
+        for (String line : rowLines) parsed.add(parseRow(line, h.attrs.size()));
         List<Attribute> attrs = new ArrayList<>();
         for (int i = 0; i < h.attrs.size(); i++) {
-            attrs.add(new Attribute(h.attrs.get(i), inferType(firstVals[i])));
+            attrs.add(new Attribute(h.attrs.get(i), inferType(parsed, i)));
         }
         InMemoryTable t = new InMemoryTable(new Schema(attrs));
 
-        t.add(buildRow(t.schema(), firstVals));
-
-        for (int i = 1; i < rowLines.size(); i++) {
-            Object[] vals = parseRow(rowLines.get(i), h.attrs.size());
+        for (Object[] vals : parsed) {
             InMemoryRow r = buildRow(t.schema(), vals);
             t.add(r);
         }
 
-        catalog.put(h.name, t);
-        System.out.println("loaded relation: " + h.name + " :: " + t.schema());
-        TablePrinter.print(t);
+        installRelation(h.name, t);
+        durable(s -> s.logPut(h.name, t));
+        out.println("loaded relation: " + h.name + " :: " + t.schema());
+        TablePrinter.print(t, out);
     }
 
     private static class Header {
@@ -248,6 +406,14 @@ public class RelaxConsole {
         return r;
     }
 
+    /** Type of column {@code col}: that of its first value, widened to DOUBLE if INT and any value is decimal. */
+    private static DataType inferType(List<Object[]> rows, int col) {
+        DataType t = inferType(rows.get(0)[col]);
+        if (t != DataType.INT) return t;
+        for (Object[] r : rows) if (inferType(r[col]) == DataType.DOUBLE) return DataType.DOUBLE;
+        return t;
+    }
+
     private static DataType inferType(Object v) {
         String s = String.valueOf(v);
         if (looksInt(s)) return DataType.INT;
@@ -281,17 +447,396 @@ public class RelaxConsole {
         };
     }
 
+    /* -------------------- materialized views -------------------- */
+
+    /** :materialize V := query */
+    private void materialize(String def) {
+        int assign = def.indexOf(":=");
+        if (assign <= 0) {
+            out.println("Usage: :materialize <ViewName> := <query>");
+            return;
+        }
+        String name = def.substring(0, assign).trim();
+        try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+            Expr ast = new Parser(def.substring(assign + 2).trim()).parse();
+            MaterializedView v = MaterializedView.create(name, ast, new EvaluationContext(snapshot, limits));
+            boolean replacesRelation = catalog.contains(name) && !views.containsKey(name);
+            installRelation(name, v.table(), true);
+            if (replacesRelation) durable(s -> s.logDrop(name));     // views themselves are not saved
+            views.put(name, v);
+            out.println("materialized view: " + name + " :: " + v.table().schema());
+            TablePrinter.print(v.table(), out);
+        } catch (Exception e) {
+            out.println("! " + e.getMessage());
+        }
+    }
+
+    /** :insert R v1, v2, ... / :delete R v1, v2, ... — views over R are maintained incrementally. */
+    private void changeRow(String stmt, boolean insert) {
+        String rest = stmt.substring(stmt.indexOf(' ') + 1).trim();
+        int sp = rest.indexOf(' ');
+        if (sp < 0) {
+            out.println("Usage: " + (insert ? ":insert" : ":delete") + " <RelationName> v1, v2, ...");
+            return;
+        }
+        String name = rest.substring(0, sp).trim();
+        InMemoryTable t = catalog.get(name);
+        if (t == null) {
+            out.println("Relation \"" + name + "\" does not exist.");
+            return;
+        }
+        if (views.containsKey(name)) {
+            out.println("! " + name + " is a materialized view; change its base relations instead");
+            return;
+        }
+        try {
+            InMemoryRow r = buildRow(t.schema(), parseRow(rest.substring(sp + 1).trim(), t.schema().size()));
+            if (insert) {
+                t.add(r);
+                durable(s -> s.logInsert(name, r));
+                out.println("inserted 1 row into " + name);
+            } else if (t.remove(r)) {
+                durable(s -> s.logDelete(name, r));
+                out.println("deleted 1 row from " + name);
+            } else {
+                out.println("no matching row in " + name);
+            }
+        } catch (Exception e) {
+            out.println("! " + e.getMessage());
+        }
+    }
+
+    private void installRelation(String name, InMemoryTable t) {
+        installRelation(name, t, false);
+    }
+
+    /**
+     * Register a relation under {@code name}; the table of a view is registered transient, so checkpoints
+     * skip it. Views reading a relation that is replaced are re-materialized over the new table; a view
+     * whose name is redefined stops being maintained.
+     */
+    private void installRelation(String name, InMemoryTable t, boolean view) {
+        InMemoryTable old = view ? catalog.putTransient(name, t) : catalog.put(name, t);
+        MaterializedView replacedView = views.get(name);
+        if (replacedView != null && replacedView.table() != t) {
+            replacedView.detach();
+            views.remove(name);
+        }
+        if (old == null || old == t) return;
+        for (MaterializedView v : List.copyOf(views.values())) {
+            if (!v.dependsOn(old)) continue;
+            v.detach();
+            views.remove(v.name());
+            try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+                MaterializedView fresh = MaterializedView.create(v.name(), v.query(),
+                        new EvaluationContext(snapshot, limits));
+                views.put(v.name(), fresh);
+                installRelation(v.name(), fresh.table(), true);
+                out.println("refreshed view: " + v.name());
+            } catch (Exception e) {
+                out.println("! view " + v.name() + " dropped: " + e.getMessage());
+                catalog.remove(v.name());
+            }
+        }
+    }
+
+    /**
+     * :storage offheap|compressed|heap R — copy R into native-memory, compressed or heap storage and
+     * register the copy; the old table is freed once no running query reads it.
+     */
+    private void setStorage(String stmt) {
+        String[] parts = stmt.trim().split("\\s+");
+        String mode = parts.length == 3 ? parts[1].toLowerCase(Locale.ROOT) : "";
+        if (!mode.equals("offheap") && !mode.equals("compressed") && !mode.equals("heap")) {
+            out.println("Usage: :storage offheap|compressed|heap <RelationName>");
+            return;
+        }
+        String name = parts[2];
+        InMemoryTable t = catalog.get(name);
+        if (t == null) {
+            out.println("Relation \"" + name + "\" does not exist.");
+            return;
+        }
+        if (views.containsKey(name)) {
+            out.println("! " + name + " is a materialized view; its storage follows its query");
+            return;
+        }
+        boolean offHeap = mode.equals("offheap"), compressed = mode.equals("compressed");
+        if (t.isOffHeap() != offHeap || t.isCompressed() != compressed) {
+            InMemoryTable copy = offHeap ? InMemoryTable.offHeap(t.schema())
+                    : compressed ? InMemoryTable.compressed(t.schema()) : new InMemoryTable(t.schema());
+            copy.addAll(t.rows());
+            installRelation(name, copy);
+            durable(s -> s.logPut(name, copy));
+            t = copy;
+        }
+        out.println(name + ": " + t.describeStorage() + ", " + t.size() + " rows");
+    }
+
+    /* -------------------- durability -------------------- */
+
+    private interface StoreWrite { void write(CatalogStore s) throws IOException; }
+
+    /** Log a change already applied to the catalog, and checkpoint if enough log has accumulated. */
+    private void durable(StoreWrite w) {
+        if (store == null) return;
+        try {
+            w.write(store);
+            if (store.checkpointDue()) store.checkpoint();
+        } catch (IOException e) {
+            out.println("! change not saved: " + e.getMessage());
+        }
+    }
+
+    /** :checkpoint — write all relations to the data directory and truncate its log. */
+    private void checkpoint() {
+        if (store == null) {
+            out.println("! no data directory (start with --data <dir>)");
+            return;
+        }
+        try {
+            long lsn = store.checkpoint();
+            out.println("checkpoint at LSN " + lsn + "; " + store.status());
+        } catch (IOException e) {
+            out.println("! checkpoint failed: " + e.getMessage());
+        }
+    }
+
+    /** :cache [bytes|off] — set the memory budget of relations loaded from the data directory; show the cache. */
+    private void cache(String arg) {
+        if (!arg.isEmpty()) {
+            try {
+                long bytes = arg.equalsIgnoreCase("off") ? Long.MAX_VALUE : Long.parseLong(arg);
+                catalog.setMemoryBudget(bytes);
+            } catch (IllegalArgumentException e) {
+                out.println("! expected a non-negative number of bytes or 'off': " + arg);
+                return;
+            }
+        }
+        Catalog.CacheStats c = catalog.cacheStats();
+        out.println("cache: " + c.resident() + " of " + c.relations() + " relations loaded, " + c.residentBytes()
+                + " bytes (budget " + (c.budget() == Long.MAX_VALUE ? "off" : c.budget() + " bytes") + "), "
+                + c.loads() + " loads, " + c.evictions() + " evictions");
+    }
+
+    /* -------------------- statistics -------------------- */
+
+    /**
+     * :analyze [R] — compute column statistics of R (or of every relation) and print them.
+     * Each relation is read through its own snapshot, so it may be evicted again afterwards;
+     * the catalog keeps its statistics.
+     */
+    private void analyze(String name) {
+        List<String> names = name.isEmpty() ? catalog.names() : List.of(name);
+        for (String n : names) {
+            try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+                TableStats stats = snapshot.analyze(n);
+                if (stats == null) {
+                    out.println("Relation \"" + n + "\" does not exist.");
+                    continue;
+                }
+                out.println("analyzed " + n + ": " + stats.rowCount() + " rows");
+                TablePrinter.print(statsTable(stats), out);
+            } catch (UncheckedIOException e) {
+                out.println("! " + e.getMessage());
+            }
+        }
+    }
+
+    /** One row per column: nulls, distinct estimate, range and most common values. */
+    private static InMemoryTable statsTable(TableStats stats) {
+        InMemoryTable out = new InMemoryTable(new Schema(List.of(
+                new Attribute("Column", DataType.STRING), new Attribute("Type", DataType.STRING),
+                new Attribute("Nulls", DataType.INT), new Attribute("Distinct", DataType.INT),
+                new Attribute("Min", DataType.STRING), new Attribute("Max", DataType.STRING),
+                new Attribute("MostCommon", DataType.STRING))));
+        for (ColumnStats c : stats.columns()) {
+            StringJoiner mcv = new StringJoiner(", ");
+            c.mostCommon().forEach((v, n) -> mcv.add(v + "×" + n));
+            out.add(InMemoryRow.empty()
+                    .with("Column", c.name()).with("Type", c.type().toString())
+                    .with("Nulls", (int) c.nullCount()).with("Distinct", (int) c.distinct())
+                    .with("Min", String.valueOf(c.min())).with("Max", String.valueOf(c.max()))
+                    .with("MostCommon", mcv.toString()));
+        }
+        return out;
+    }
+
+    /* -------------------- export -------------------- */
+
+    private static final Pattern EXPORT = Pattern.compile(
+            "(?s)(.+)\\s+to\\s+(?:'([^']+)'|\"([^\"]+)\")");
+
+    /** :export query to 'file' — write the query result as an Arrow IPC file. */
+    private void export(String arg) {
+        Matcher m = EXPORT.matcher(arg);
+        if (!m.matches()) {
+            out.println("Usage: :export <query> to 'file'");
+            return;
+        }
+        String file = m.group(2) != null ? m.group(2) : m.group(3);
+        QueryGuard guard = new QueryGuard(limits);
+        running = guard;
+        try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+            Expr ast = new Parser(m.group(1).trim()).parse();
+            InMemoryTable result = new ExprEvaluator(new EvaluationContext(snapshot, limits)).eval(ast, guard);
+            ArrowWriter.write(result, Path.of(file));
+            out.println("exported " + result.size() + " rows to " + file + " :: " + result.schema());
+        } catch (QueryAbortedException e) {
+            out.println("! Query aborted: " + e.getMessage());
+        } catch (IOException e) {
+            out.println("! cannot write " + file + ": " + e.getMessage());
+        } catch (Exception e) {
+            out.println("! " + e.getMessage());
+        } finally {
+            running = null;
+        }
+    }
+
+    /** :explain query — run the query and print its plan with per-node row counts and join algorithms. */
+    private void explain(String query) {
+        QueryGuard guard = new QueryGuard(limits);
+        running = guard;
+        try (Catalog.Snapshot snapshot = catalog.snapshot()) {
+            Expr ast = new Parser(query).parse();
+            out.print(new ExprEvaluator(new EvaluationContext(snapshot, limits)).explain(ast, guard));
+        } catch (QueryAbortedException e) {
+            out.println("! Query aborted: " + e.getMessage());
+        } catch (Exception e) {
+            out.println("! " + e.getMessage());
+        } finally {
+            running = null;
+        }
+    }
+
+    /* -------------------- scripts -------------------- */
+
+    /**
+     * :source file — run the statements of a script file in this session. Output is
+     * buffered until the script ends; an exit command in the script only ends the script.
+     */
+    private void source(String arg) {
+        String file = arg.length() > 1 && arg.startsWith("\"") && arg.endsWith("\"")
+                ? arg.substring(1, arg.length() - 1) : arg;
+        if (file.isEmpty()) {
+            out.println("Usage: :source <file>");
+            return;
+        }
+        if (sourceDepth >= MAX_SOURCE_DEPTH) {
+            out.println("! :source nested more than " + MAX_SOURCE_DEPTH + " levels deep: " + file);
+            return;
+        }
+        PrintStream saved = out;
+        boolean wrap = saved == System.out;
+        if (wrap) {
+            System.out.flush();
+            out = buffered(new FileOutputStream(FileDescriptor.out));
+        }
+        sourceDepth++;
+        try (Reader script = Files.newBufferedReader(Path.of(file), StandardCharsets.UTF_8)) {
+            executeScript(script);
+        } catch (NoSuchFileException e) {
+            out.println("! no such file: " + file);
+        } catch (IOException | UncheckedIOException e) {
+            out.println("! cannot read " + file + ": " + e.getMessage());
+        } finally {
+            sourceDepth--;
+            out.flush();
+            out = saved;
+        }
+    }
+
+    /** :timing on|off */
+    private void setTiming(String stmt) {
+        String[] parts = stmt.trim().split("\\s+");
+        if (parts.length == 2 && (parts[1].equalsIgnoreCase("on") || parts[1].equalsIgnoreCase("off"))) {
+            timing = parts[1].equalsIgnoreCase("on");
+        } else if (parts.length != 1) {
+            out.println("Usage: :timing on|off");
+            return;
+        }
+        out.println("timing: " + (timing ? "on" : "off"));
+    }
+
+    /* -------------------- query limits -------------------- */
+
+    /** :timeout <ms|off>, :maxrows <n|off>, :maxbytes <n|off>, :limits */
+    private void setLimit(String stmt) {
+        String[] parts = stmt.trim().split("\\s+");
+        String cmd = parts[0].toLowerCase(Locale.ROOT);
+        if (!cmd.equals(":limits")) {
+            if (parts.length != 2) {
+                out.println("Usage: " + cmd + " <number|off>");
+                return;
+            }
+            long v;
+            try {
+                v = parts[1].equalsIgnoreCase("off") ? 0 : Long.parseLong(parts[1]);
+                switch (cmd) {
+                    case ":timeout"  -> limits = limits.withTimeoutMillis(v);
+                    case ":maxrows"  -> limits = limits.withMaxRows(v);
+                    default          -> limits = limits.withMaxBytes(v);
+                }
+            } catch (IllegalArgumentException e) {
+                out.println("! expected a non-negative number or 'off': " + parts[1]);
+                return;
+            }
+        }
+        out.println("limits: " + limits);
+    }
+
+    /**
+     * Ctrl-C cancels the running query instead of killing the JVM; at the prompt it exits as usual.
+     * The JDK signal API ({@code sun.misc.Signal}, module jdk.unsupported) is reached reflectively so
+     * the console compiles without internal-API warnings; where it is missing or inaccessible the
+     * default behaviour silently stays.
+     */
+    private void installInterruptHandler() {
+        try {
+            Class<?> signal = Class.forName("sun.misc.Signal");
+            Class<?> handler = Class.forName("sun.misc.SignalHandler");
+            Object onInterrupt = Proxy.newProxyInstance(handler.getClassLoader(), new Class<?>[] {handler},
+                    (proxy, method, args) -> switch (method.getName()) {
+                        case "handle"   -> { interrupted(); yield null; }
+                        case "equals"   -> proxy == args[0];
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        default         -> "Ctrl-C handler";
+                    });
+            Object sigint = signal.getConstructor(String.class).newInstance("INT");
+            signal.getMethod("handle", signal, handler).invoke(null, sigint, onInterrupt);
+        } catch (ReflectiveOperationException | RuntimeException | LinkageError ignored) {
+            // signal handling unavailable on this platform/JVM
+        }
+    }
+
+    private void interrupted() {
+        QueryGuard g = running;
+        if (g != null) {
+            g.cancel();
+            out.println("\n^C cancelling query...");
+            out.flush();
+        } else {
+            out.println("\nbye");
+            out.flush();
+            System.exit(130);
+        }
+    }
+
     /* -------------------- utilities -------------------- */
 
     private void listTables() {
-        if (catalog.isEmpty()) { System.out.println("(no tables)"); return; }
-        for (var e : catalog.entrySet()) {
-            System.out.println("- " + e.getKey() + " :: " + e.getValue().schema());
+        if (catalog.isEmpty()) { out.println("(no tables)"); return; }
+        for (String name : catalog.names()) {
+            Catalog.Info info = catalog.info(name);
+            if (info == null) continue;                         // dropped meanwhile
+            String storage = info.table() == null ? "on disk, not loaded" : info.table().describeStorage();
+            out.println("- " + name + " :: " + info.schema()
+                    + (storage.equals("heap") ? "" : "  [" + info.rows() + " rows, " + storage + "]"));
         }
     }
 
-    private static void printHelp() {
-        System.out.println("""
+    private void printHelp() {
+        out.println("""
         =================== RELAX HELP ===================
 
         Define a relation (Relax-style):
@@ -309,10 +854,27 @@ public class RelaxConsole {
           • Projection (π / project / pi)
               π Name, Email (Employees);
               project Name, Email (Employees);
+              π bag EmpDept (Employees);   keep duplicates (skips duplicate elimination)
+
+          • Aggregation (γ / gamma)
+              γ EmpDept; count(*), avg(Age) (Employees);
+              γ count(*) -> Total (Employees);
+
+          • Sort / top-k (τ / tau / order by)
+              τ Age desc, Name (Employees);
+              order by Age desc limit 3 (Employees);
 
           • Join (⋈ / join)
               Employees ⋈ EID=SID Takes;
               Employees join EID=SID Takes;
+              Employees ⋈ Contractors;      natural join on the shared attributes
+
+          • Cross product (× / cross join)
+              Employees × Takes;
+
+          • Semi-join / anti-join (⋉ / semijoin, ▷ / antijoin)
+              Employees ⋉ EID=SID Takes;     employees taking a course
+              Contractors ▷ Employees;      contractors who aren't employees
 
           • Union (⋃ / union)
               A ⋃ B;
@@ -334,54 +896,35 @@ public class RelaxConsole {
         Commands (with ;)
           :tables   List loaded relations
           :show R   Print relation R
+          :materialize V := query   Store query as relation V, kept up to date
+          :insert R v1, v2, ...     Add a row to R
+          :delete R v1, v2, ...     Remove a row from R
+          :storage offheap|compressed|heap R
+                            Keep R's columns in native memory (no GC cost),
+                            compressed (RLE / bit-packed, scanned compressed)
+                            or as rows on the Java heap
+          :analyze [R]      Collect column statistics (distinct counts, histograms,
+                            most common values) used to plan joins and scans
+          :timeout ms|off   Abort queries running longer than ms
+          :maxrows n|off    Abort queries materializing more than n rows
+          :maxbytes n|off   Abort queries materializing more than n bytes
+          :limits   Show current query limits
+          :explain query    Run query; show its plan, rows per operator and
+                            the join algorithms picked from the actual sizes
+          :export query to 'file'   Write the result as an Arrow IPC file
+          :checkpoint       Save all relations to the data directory (--data dir)
+                            and truncate its log; changes are logged as they
+                            happen and replayed at the next start (views are not saved)
+          :cache [bytes|off]  Show loaded relations; relations of the data directory
+                            are loaded on first use and the least recently used
+                            are evicted above this budget (--memory bytes)
+          :source file      Run the statements in file (no prompts, buffered output)
+          :timing on|off    Print the elapsed time after every statement
+          Ctrl-C    Cancel the running query
           :help     This help menu
           :exit     Quit console
 
         ==================================================
         """);
     }
-
-
-    /* ===================== NEW HELPERS ===================== */
-
-    /**
-     * Split input into ';'-terminated statements, ignoring semicolons inside quotes or inside a '{...}' block.
-     * Keeps the trailing ';' on each returned statement (caller may strip).
-     */
-    private static List<String> splitStatements(String s) {
-        List<String> out = new ArrayList<>();
-        StringBuilder cur = new StringBuilder();
-
-        boolean inQuotes = false;
-        int braceDepth = 0; // for { ... }
-        for (int i = 0; i < s.length(); i++) {
-            char c = s.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-                cur.append(c);
-                continue;
-            }
-
-            if (!inQuotes) {
-                if (c == '{') braceDepth++;
-                else if (c == '}') braceDepth = Math.max(0, braceDepth - 1);
-
-                if (c == ';' && braceDepth == 0) {
-                    // end of a statement
-                    cur.append(c);
-                    out.add(cur.toString());
-                    cur.setLength(0);
-                    continue;
-                }
-            }
-
-            cur.append(c);
-        }
-
-        // final chunk (could be a relation block ending with '}' or a naked query without ';')
-        String tail = cur.toString().trim();
-        if (!tail.isEmpty()) out.add(tail);
-        return out;
-    }
 }
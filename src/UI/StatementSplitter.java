@@ -0,0 +1,122 @@
+package UI;
+
+/**
+ * Incremental statement splitter for console and script input.
+ *
+ * Characters are fed one at a time; {@link #accept(char)} returns a statement as soon as it
+ * is complete. A statement ends at a ';' outside quotes, outside a '{...}' relation block and
+ * not owned by a γ as the separator between its group list and its aggregates, or at the
+ * '}' that closes a relation block. Returned statements keep their terminator.
+ */
+final class StatementSplitter {
+    private final StringBuilder cur = new StringBuilder();
+    /** Identifier being read, to recognise the keyword {@code gamma}. */
+    private final StringBuilder word = new StringBuilder();
+
+    private boolean inQuotes;
+    private int braceDepth;
+    /** γ separators seen whose ';' has not been read yet. */
+    private int gammaSemis;
+    /** Where the scan is in the operands of the last γ, until it is known to have a group list. */
+    private int gamma = NO_GAMMA;
+
+    private static final int NO_GAMMA = 0;
+    /** After γ, before its first operand. */
+    private static final int GAMMA_START = 1;
+    /** In the first identifier after γ. */
+    private static final int GAMMA_WORD = 2;
+    /** After that identifier: a '(' makes it an aggregate call, anything else a group list. */
+    private static final int GAMMA_AFTER_WORD = 3;
+
+    /** Feed one character; returns the statement it completes, or null. */
+    String accept(char c) {
+        if (c == '"') {
+            inQuotes = !inQuotes;
+            cur.append(c);
+            return null;
+        }
+        cur.append(c);
+        if (inQuotes) return null;
+
+        if (isWordChar(c)) {
+            word.append(c);
+        } else if (word.length() > 0) {
+            boolean isGamma = word.toString().equalsIgnoreCase("gamma");
+            word.setLength(0);
+            if (isGamma) gamma = GAMMA_START;
+        }
+        if (gamma != NO_GAMMA) scanGamma(c);
+        if (c == 'γ') gamma = GAMMA_START;
+
+        if (c == '{') {
+            braceDepth++;
+        } else if (c == '}' && braceDepth > 0) {
+            if (--braceDepth == 0) return take();
+        } else if (c == ';' && braceDepth == 0) {
+            if (gammaSemis > 0) {
+                gammaSemis--;
+                return null;
+            }
+            return take();
+        }
+        return null;
+    }
+
+    /** Has text been buffered that does not yet form a complete statement? */
+    boolean isOpen() {
+        return !cur.toString().isBlank();
+    }
+
+    /** End of input: the unterminated remainder, trimmed, or null if there is none. */
+    String finish() {
+        String tail = cur.toString().trim();
+        reset();
+        return tail.isEmpty() ? null : tail;
+    }
+
+    /** Advance the γ operand scan over {@code c}, deciding whether the γ has a group list. */
+    private void scanGamma(char c) {
+        boolean space = Character.isWhitespace(c);
+        switch (gamma) {
+            case GAMMA_START -> {
+                if (space) return;
+                if (isWordChar(c)) {
+                    gamma = GAMMA_WORD;
+                    return;
+                }
+            }
+            case GAMMA_WORD -> {
+                if (isWordChar(c)) return;
+                if (space) {
+                    gamma = GAMMA_AFTER_WORD;
+                    return;
+                }
+            }
+            default -> {
+                if (space) return;
+            }
+        }
+        // without a group list the operands start directly with an aggregate call such as count(*)
+        if (c != '(') gammaSemis++;
+        gamma = NO_GAMMA;
+    }
+
+    private String take() {
+        String stmt = cur.toString();
+        reset();
+        return stmt;
+    }
+
+    private void reset() {
+        cur.setLength(0);
+        word.setLength(0);
+        inQuotes = false;
+        braceDepth = 0;
+        gammaSemis = 0;
+        gamma = NO_GAMMA;
+    }
+
+    private static boolean isWordChar(char c) {
+        return c != 'γ' && (Character.isLetterOrDigit(c) || c == '_');
+    }
+}
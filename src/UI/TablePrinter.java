@@ -4,29 +4,37 @@ import CORE.Schema;
 import EXECUTOR.InMemoryRow;
 import EXECUTOR.InMemoryTable;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 public final class TablePrinter {
+    private static final String NL = System.lineSeparator();
+
     private TablePrinter() {}
 
     public static void print(InMemoryTable table) {
+        print(table, System.out);
+    }
+
+    /** Render the whole table into one buffer and hand it to {@code out} in a single write. */
+    public static void print(InMemoryTable table, PrintStream out) {
         Schema schema = table.schema();
-        if (schema == null) { System.out.println("(no schema)"); return; }
+        if (schema == null) { out.println("(no schema)"); return; }
 
         // headers
         List<String> headers = new ArrayList<>();
         schema.attributes().forEach(a -> headers.add(a.name()));
 
         // rows
-        List<List<String>> rows = new ArrayList<>();
+        List<String[]> rows = new ArrayList<>(table.size());
         for (InMemoryRow r : table.rows()) {
             Map<String,Object> m = r.asMap();
-            List<String> line = new ArrayList<>();
-            for (String h : headers) {
-                Object v = m.get(h);
-                line.add(v == null ? "" : String.valueOf(v));
+            String[] line = new String[headers.size()];
+            for (int i = 0; i < line.length; i++) {
+                Object v = m.get(headers.get(i));
+                line[i] = v == null ? "" : String.valueOf(v);
             }
             rows.add(line);
         }
@@ -34,30 +42,34 @@ public final class TablePrinter {
         // widths
         int[] w = new int[headers.size()];
         for (int i = 0; i < headers.size(); i++) w[i] = headers.get(i).length();
-        for (var row : rows) for (int i = 0; i < row.size(); i++) w[i] = Math.max(w[i], row.get(i).length());
+        for (var row : rows) for (int i = 0; i < row.length; i++) w[i] = Math.max(w[i], row[i].length());
 
         // draw
         String sep = sep(w);
-        System.out.println(sep);
-        System.out.print("|");
-        for (int i = 0; i < headers.size(); i++) System.out.print(" " + pad(headers.get(i), w[i]) + " |");
-        System.out.println();
-        System.out.println(sep);
-        for (var row : rows) {
-            System.out.print("|");
-            for (int i = 0; i < row.size(); i++) System.out.print(" " + pad(row.get(i), w[i]) + " |");
-            System.out.println();
+        int lineWidth = sep.length() + 1;
+        StringBuilder sb = new StringBuilder(lineWidth * (rows.size() + 4) + 16);
+        sb.append(sep).append(NL);
+        line(sb, headers.toArray(new String[0]), w);
+        sb.append(sep).append(NL);
+        for (var row : rows) line(sb, row, w);
+        sb.append(sep).append(NL);
+        sb.append("(rows: ").append(rows.size()).append(")").append(NL);
+        out.print(sb);
+    }
+
+    private static void line(StringBuilder sb, String[] cells, int[] w) {
+        sb.append('|');
+        for (int i = 0; i < cells.length; i++) {
+            sb.append(' ').append(cells[i]);
+            for (int p = cells[i].length(); p < w[i]; p++) sb.append(' ');
+            sb.append(" |");
         }
-        System.out.println(sep);
-        System.out.println("(rows: " + rows.size() + ")");
+        sb.append(NL);
     }
 
-    private static String pad(String s, int w) { return s + " ".repeat(Math.max(0, w - s.length())); }
     private static String sep(int[] w) {
         StringBuilder sb = new StringBuilder("+");
         for (int width : w) sb.append("-".repeat(width + 2)).append("+");
         return sb.toString();
     }
 }
-
-